@@ -1,6 +1,7 @@
 package com.techhub.app.aiservice.client;
 
 import com.techhub.app.aiservice.config.QdrantProperties;
+import com.techhub.app.aiservice.vector.EmbeddingVector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -23,6 +24,8 @@ public class QdrantClient {
 
     /**
      * Upsert (insert/update) vectors into Qdrant collection
+     * Vectors are written straight from their float arrays; the response
+     * body is not parsed
      */
     public void upsertPoints(String collectionName, List<QdrantPoint> points) {
         String url = qdrantProperties.getHost() + "/collections/" + collectionName + "/points";
@@ -35,7 +38,7 @@ public class QdrantClient {
                     url,
                     HttpMethod.PUT,
                     new HttpEntity<>(body, buildHeaders()),
-                    Map.class);
+                    Void.class);
             log.info("✅ Upserted {} points to collection: {}", points.size(), collectionName);
         } catch (Exception e) {
             log.error("❌ Failed to upsert points to Qdrant collection: {}", collectionName, e);
@@ -46,7 +49,7 @@ public class QdrantClient {
     /**
      * Search similar vectors in Qdrant
      */
-    public List<Map<String, Object>> searchSimilar(String collectionName, List<Double> queryVector, int limit) {
+    public List<Map<String, Object>> searchSimilar(String collectionName, EmbeddingVector queryVector, int limit) {
         String url = qdrantProperties.getHost() + "/collections/" + collectionName + "/points/search";
 
         Map<String, Object> body = new HashMap<>();
@@ -73,6 +76,78 @@ public class QdrantClient {
         }
     }
 
+    /**
+     * Which of the given point IDs exist in a collection (one request,
+     * no payloads or vectors returned)
+     */
+    public Set<String> findExistingPointIds(String collectionName, Collection<String> pointIds) {
+        if (pointIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        String url = qdrantProperties.getHost() + "/collections/" + collectionName + "/points";
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("ids", pointIds);
+        body.put("with_payload", false);
+        body.put("with_vector", false);
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(body, buildHeaders()),
+                Map.class);
+
+        Set<String> existing = new HashSet<>();
+        Object result = response.getBody() != null ? response.getBody().get("result") : null;
+        if (result instanceof List) {
+            for (Map<String, Object> point : (List<Map<String, Object>>) result) {
+                existing.add(String.valueOf(point.get("id")));
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Run several recommend queries against a collection in one request.
+     * Qdrant looks up the example vectors by ID server side, so no vectors
+     * travel over the wire. Results are in query order, with payloads.
+     */
+    public List<List<Map<String, Object>>> recommendBatch(String collectionName, List<RecommendQuery> queries) {
+        if (queries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String url = qdrantProperties.getHost() + "/collections/" + collectionName + "/points/recommend/batch";
+
+        List<Map<String, Object>> searches = new ArrayList<>(queries.size());
+        for (RecommendQuery query : queries) {
+            Map<String, Object> search = new HashMap<>();
+            search.put("positive", query.getPositive());
+            search.put("limit", query.getLimit());
+            search.put("with_payload", true);
+            search.put("with_vector", false);
+            if (!query.getExcludeIds().isEmpty()) {
+                search.put("filter", Map.of("must_not",
+                        Collections.singletonList(Map.of("has_id", query.getExcludeIds()))));
+            }
+            if (query.getLookupFrom() != null) {
+                search.put("lookup_from", Map.of("collection", query.getLookupFrom()));
+            }
+            searches.add(search);
+        }
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("searches", searches), buildHeaders()),
+                Map.class);
+
+        Object result = response.getBody() != null ? response.getBody().get("result") : null;
+        if (!(result instanceof List)) {
+            throw new IllegalStateException("Invalid recommend response for collection: " + collectionName);
+        }
+        return (List<List<Map<String, Object>>>) result;
+    }
+
     /**
      * Delete point by ID
      */
@@ -95,38 +170,180 @@ public class QdrantClient {
     }
 
     /**
-     * Clear all points in a collection (delete and recreate)
-     * Use this before full reindex to remove stale/orphaned embeddings
+     * Delete points by ID in chunks of 1000 per request
      */
-    public void clearCollection(String collectionName, int vectorSize) {
-        String url = qdrantProperties.getHost() + "/collections/" + collectionName;
+    public void deletePoints(String collectionName, Collection<String> pointIds) {
+        String url = qdrantProperties.getHost() + "/collections/" + collectionName + "/points/delete";
 
-        try {
-            // Delete the collection
+        List<String> ids = new ArrayList<>(pointIds);
+        for (int i = 0; i < ids.size(); i += 1000) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("points", ids.subList(i, Math.min(i + 1000, ids.size())));
             restTemplate.exchange(
                     url,
-                    HttpMethod.DELETE,
-                    new HttpEntity<>(buildHeaders()),
-                    Map.class);
-            log.info("🗑️ Deleted collection: {}", collectionName);
+                    HttpMethod.POST,
+                    new HttpEntity<>(body, buildHeaders()),
+                    Void.class);
+        }
+        log.info("🗑️ Deleted {} points from collection: {}", ids.size(), collectionName);
+    }
+
+    /**
+     * IDs of all points in a collection, paged through the scroll API
+     * without payloads or vectors
+     */
+    public Set<String> scrollPointIds(String collectionName) {
+        String url = qdrantProperties.getHost() + "/collections/" + collectionName + "/points/scroll";
 
-            // Recreate the collection
+        Set<String> ids = new HashSet<>();
+        Object offset = null;
+        do {
             Map<String, Object> body = new HashMap<>();
-            Map<String, Object> vectorsConfig = new HashMap<>();
-            vectorsConfig.put("size", vectorSize);
-            vectorsConfig.put("distance", "Cosine");
-            body.put("vectors", vectorsConfig);
+            body.put("limit", 1000);
+            body.put("with_payload", false);
+            body.put("with_vector", false);
+            if (offset != null) {
+                body.put("offset", offset);
+            }
 
-            restTemplate.exchange(
+            ResponseEntity<Map> response = restTemplate.exchange(
                     url,
-                    HttpMethod.PUT,
+                    HttpMethod.POST,
                     new HttpEntity<>(body, buildHeaders()),
                     Map.class);
-            log.info("✅ Recreated collection: {}", collectionName);
-        } catch (Exception e) {
-            log.error("❌ Failed to clear collection: {}", collectionName, e);
-            throw new RuntimeException("Failed to clear collection: " + collectionName, e);
+
+            Map<String, Object> result = response.getBody() != null
+                    ? (Map<String, Object>) response.getBody().get("result")
+                    : null;
+            if (result == null) {
+                break;
+            }
+            for (Map<String, Object> point : (List<Map<String, Object>>) result.get("points")) {
+                ids.add(String.valueOf(point.get("id")));
+            }
+            offset = result.get("next_page_offset");
+        } while (offset != null);
+
+        return ids;
+    }
+
+    /**
+     * Exact number of points in a collection
+     */
+    public long countPoints(String collectionName) {
+        String url = qdrantProperties.getHost() + "/collections/" + collectionName + "/points/count";
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("exact", true), buildHeaders()),
+                Map.class);
+
+        Map<String, Object> result = response.getBody() != null
+                ? (Map<String, Object>) response.getBody().get("result")
+                : null;
+        if (result == null || !(result.get("count") instanceof Number)) {
+            throw new IllegalStateException("Invalid count response for collection: " + collectionName);
+        }
+        return ((Number) result.get("count")).longValue();
+    }
+
+    /**
+     * Names of all collections (aliases not included)
+     */
+    public List<String> listCollections() {
+        String url = qdrantProperties.getHost() + "/collections";
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                new HttpEntity<>(buildHeaders()),
+                Map.class);
+
+        List<String> names = new ArrayList<>();
+        Map<String, Object> result = response.getBody() != null
+                ? (Map<String, Object>) response.getBody().get("result")
+                : null;
+        if (result != null && result.get("collections") != null) {
+            for (Map<String, Object> collection : (List<Map<String, Object>>) result.get("collections")) {
+                names.add(String.valueOf(collection.get("name")));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * All aliases, mapped to the collection each one points to
+     */
+    public Map<String, String> listAliases() {
+        String url = qdrantProperties.getHost() + "/aliases";
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                new HttpEntity<>(buildHeaders()),
+                Map.class);
+
+        Map<String, String> aliases = new HashMap<>();
+        Map<String, Object> result = response.getBody() != null
+                ? (Map<String, Object>) response.getBody().get("result")
+                : null;
+        if (result != null && result.get("aliases") != null) {
+            for (Map<String, Object> alias : (List<Map<String, Object>>) result.get("aliases")) {
+                aliases.put(String.valueOf(alias.get("alias_name")), String.valueOf(alias.get("collection_name")));
+            }
         }
+        return aliases;
+    }
+
+    /**
+     * Point an alias at a collection. Removing the old alias and creating the
+     * new one happen in a single request, which Qdrant applies atomically, so
+     * readers never see the alias missing.
+     */
+    public void switchAlias(String alias, String collectionName, boolean aliasExists) {
+        String url = qdrantProperties.getHost() + "/collections/aliases";
+
+        List<Map<String, Object>> actions = new ArrayList<>();
+        if (aliasExists) {
+            actions.add(Map.of("delete_alias", Map.of("alias_name", alias)));
+        }
+        actions.add(Map.of("create_alias", Map.of("alias_name", alias, "collection_name", collectionName)));
+
+        restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("actions", actions), buildHeaders()),
+                Void.class);
+        log.info("🔀 Alias {} now points to collection: {}", alias, collectionName);
+    }
+
+    /**
+     * Create a cosine-distance collection; fails if it already exists
+     */
+    public void createCollection(String collectionName, int vectorSize) {
+        String url = qdrantProperties.getHost() + "/collections/" + collectionName;
+
+        restTemplate.exchange(
+                url,
+                HttpMethod.PUT,
+                new HttpEntity<>(collectionConfig(vectorSize), buildHeaders()),
+                Void.class);
+        log.info("✅ Collection created: {}", collectionName);
+    }
+
+    /**
+     * Delete a collection (not an alias)
+     */
+    public void deleteCollection(String collectionName) {
+        String url = qdrantProperties.getHost() + "/collections/" + collectionName;
+
+        restTemplate.exchange(
+                url,
+                HttpMethod.DELETE,
+                new HttpEntity<>(buildHeaders()),
+                Void.class);
+        log.info("🗑️ Deleted collection: {}", collectionName);
     }
 
     /**
@@ -248,17 +465,11 @@ public class QdrantClient {
             // Collection doesn't exist, create it
             log.info("📦 Creating collection: {}", collectionName);
 
-            Map<String, Object> body = new HashMap<>();
-            Map<String, Object> vectorsConfig = new HashMap<>();
-            vectorsConfig.put("size", vectorSize);
-            vectorsConfig.put("distance", "Cosine");
-            body.put("vectors", vectorsConfig);
-
             try {
                 restTemplate.exchange(
                         url,
                         HttpMethod.PUT,
-                        new HttpEntity<>(body, buildHeaders()),
+                        new HttpEntity<>(collectionConfig(vectorSize), buildHeaders()),
                         Map.class);
                 log.info("✅ Collection created: {}", collectionName);
             } catch (Exception createEx) {
@@ -267,6 +478,15 @@ public class QdrantClient {
         }
     }
 
+    private Map<String, Object> collectionConfig(int vectorSize) {
+        Map<String, Object> body = new HashMap<>();
+        Map<String, Object> vectorsConfig = new HashMap<>();
+        vectorsConfig.put("size", vectorSize);
+        vectorsConfig.put("distance", "Cosine");
+        body.put("vectors", vectorsConfig);
+        return body;
+    }
+
     private HttpHeaders buildHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -284,10 +504,10 @@ public class QdrantClient {
      */
     public static class QdrantPoint {
         private String id;
-        private List<Double> vector;
+        private EmbeddingVector vector;
         private Map<String, Object> payload;
 
-        public QdrantPoint(String id, List<Double> vector, Map<String, Object> payload) {
+        public QdrantPoint(String id, EmbeddingVector vector, Map<String, Object> payload) {
             this.id = id;
             this.vector = vector;
             this.payload = payload;
@@ -297,7 +517,7 @@ public class QdrantClient {
             return id;
         }
 
-        public List<Double> getVector() {
+        public EmbeddingVector getVector() {
             return vector;
         }
 
@@ -305,4 +525,39 @@ public class QdrantClient {
             return payload;
         }
     }
+
+    /**
+     * Recommend query: points closest to the positive examples (point IDs),
+     * skipping excluded IDs. Examples are looked up in {@code lookupFrom}
+     * when set, otherwise in the searched collection.
+     */
+    public static class RecommendQuery {
+        private final List<String> positive;
+        private final Collection<String> excludeIds;
+        private final int limit;
+        private final String lookupFrom;
+
+        public RecommendQuery(List<String> positive, Collection<String> excludeIds, int limit, String lookupFrom) {
+            this.positive = positive;
+            this.excludeIds = excludeIds;
+            this.limit = limit;
+            this.lookupFrom = lookupFrom;
+        }
+
+        public List<String> getPositive() {
+            return positive;
+        }
+
+        public Collection<String> getExcludeIds() {
+            return excludeIds;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public String getLookupFrom() {
+            return lookupFrom;
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.techhub.app.aiservice.config;
+
+import com.techhub.app.aiservice.enums.AiTaskType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "ai.jobs")
+@Data
+public class AiJobProperties {
+    // Worker threads shared by all task types
+    private int workers = 8;
+    // Max tasks of one type running at once on this instance (default: workers)
+    private Map<AiTaskType, Integer> concurrency = new EnumMap<>(AiTaskType.class);
+    // Higher runs first; tasks of equal priority run in submission order
+    private Map<AiTaskType, Integer> priority = new EnumMap<>(AiTaskType.class);
+    // Fallback poll for tasks submitted on other instances or left by a restart
+    private Duration pollInterval = Duration.ofSeconds(5);
+    // Running tasks refresh heartbeat_at this often...
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+    // ...and are recovered once it is older than this
+    private Duration staleAfter = Duration.ofMinutes(3);
+    // Runs per task, counting runs cut short by a restart
+    private int maxAttempts = 3;
+
+    public int concurrencyFor(AiTaskType type) {
+        return Math.max(1, Math.min(workers, concurrency.getOrDefault(type, workers)));
+    }
+
+    public int priorityFor(AiTaskType type) {
+        return priority.getOrDefault(type, 0);
+    }
+}
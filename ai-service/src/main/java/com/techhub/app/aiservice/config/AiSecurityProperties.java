@@ -4,6 +4,11 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Security configuration properties for AI Service
  */
@@ -25,12 +30,12 @@ public class AiSecurityProperties {
     @Data
     public static class RateLimit {
         /**
-         * Maximum requests per minute per user
+         * Maximum requests per minute per user (endpoints without own limits)
          */
         private int maxRequestsPerMinute = 20;
 
         /**
-         * Maximum requests per hour per user
+         * Maximum requests per hour per user (endpoints without own limits)
          */
         private int maxRequestsPerHour = 100;
 
@@ -38,6 +43,29 @@ public class AiSecurityProperties {
          * Enable rate limiting
          */
         private boolean enabled = true;
+
+        /**
+         * Keep buckets in Redis so all ai-service replicas share one limit;
+         * falls back to the local buckets while Redis is unreachable
+         */
+        private boolean redisEnabled = false;
+
+        /**
+         * Limits per endpoint, then per tier: a tier is a user role (e.g.
+         * admin, matched case-insensitively), checked in the configured order, or "default". Every limit
+         * of the tier must allow the request.
+         */
+        private Map<String, Map<String, List<Limit>>> endpoints = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Limit {
+        /**
+         * Requests allowed per period, also the burst size
+         */
+        private int capacity;
+
+        private Duration period = Duration.ofMinutes(1);
     }
 
     @Data
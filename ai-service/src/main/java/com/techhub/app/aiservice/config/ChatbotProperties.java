@@ -4,11 +4,14 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "chatbot")
 @Data
 public class ChatbotProperties {
     private Embedding embedding = new Embedding();
+    private Context context = new Context();
     private boolean mockEmbeddings;
     private String systemPrompt;
 
@@ -16,5 +19,54 @@ public class ChatbotProperties {
     public static class Embedding {
         private String modelId;
         private int maxSources;
+        private Cache cache = new Cache();
+        private Batch batch = new Batch();
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        // Vectors held in memory (1536 dims = 6 KB each)
+        private long localMaxSize = 2000;
+        // Also keep vectors in Postgres (ai_embedding_cache) across restarts
+        private boolean persistent = true;
+    }
+
+    @Data
+    public static class Batch {
+        // Inputs per embeddings request (API limit: 2048)
+        private int maxItems = 512;
+        // Estimated tokens per request (API limit: 300k)
+        private int maxTokens = 100_000;
+        // Estimated tokens per input (model limit: 8191); longer inputs are truncated
+        private int maxInputTokens = 8000;
+        // Conservative characters-per-token ratio used for estimates
+        private double charsPerToken = 3.0;
+        // Requests in flight at once during bulk embedding
+        private int concurrency = 4;
+        // Retries per request on 429 / 5xx / I/O errors
+        private int maxRetries = 6;
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class Context {
+        // Estimated tokens of recent turns sent verbatim; older turns go into the session summary
+        private int historyTokens = 2000;
+        // Estimated tokens of course snippets in ADVISOR prompts
+        private int ragTokens = 1200;
+        // Courses scoring below this in Qdrant are not sent
+        private double minRelevance = 0.3;
+        // Output tokens of the rolling conversation summary
+        private int summaryTokens = 300;
+        // Estimated input tokens of one summary request: the previous summary plus a chunk of turns
+        private int summaryInputTokens = 4000;
+        // Summary requests per turn at most when folding a long unsummarized backlog
+        private int summaryChunksPerTurn = 3;
+        // Most unsummarized messages loaded per turn
+        private int maxMessages = 40;
+        // Conservative characters-per-token ratio used for estimates (Vietnamese text tokenizes densely)
+        private double charsPerToken = 3.0;
     }
 }
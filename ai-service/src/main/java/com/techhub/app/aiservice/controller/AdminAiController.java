@@ -1,6 +1,7 @@
 package com.techhub.app.aiservice.controller;
 
 import com.techhub.app.aiservice.service.VectorIndexingService;
+import com.techhub.app.aiservice.service.VectorSyncService;
 import com.techhub.app.commonservice.payload.GlobalResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,7 @@ import java.util.Map;
 public class AdminAiController {
 
     private final VectorIndexingService vectorIndexingService;
+    private final VectorSyncService vectorSyncService;
 
     /**
      * Batch index all existing courses into Qdrant
@@ -87,6 +89,26 @@ public class AdminAiController {
                         .withPath(servletRequest.getRequestURI()));
     }
 
+    /**
+     * Incrementally sync courses and lessons changed since the last sync
+     * Only rows whose content fingerprint changed are re-embedded
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<GlobalResponse<Map<String, Object>>> syncChanges(HttpServletRequest servletRequest) {
+        log.info("🔄 Starting incremental vector sync...");
+        Map<String, Map<String, Integer>> counts = vectorSyncService.syncChanges();
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("counts", counts);
+
+        return ResponseEntity.ok(
+                GlobalResponse.success(
+                        "Incremental sync completed successfully",
+                        data)
+                        .withStatus("SYNC_COMPLETED")
+                        .withPath(servletRequest.getRequestURI()));
+    }
+
     /**
      * Get Qdrant collection statistics
      */
@@ -29,9 +29,9 @@ public class AiExerciseController {
             HttpServletRequest servletRequest) {
 
         AiExerciseGenerationResponse response = aiExerciseService.generateForLesson(request);
-        return ResponseEntity.ok(
-                GlobalResponse.success("AI exercise drafts created", response)
-                        .withStatus("AI_EXERCISE_DRAFT")
+        return ResponseEntity.accepted().body(
+                GlobalResponse.success("AI exercise generation queued", response)
+                        .withStatus("AI_EXERCISE_QUEUED")
                         .withPath(servletRequest.getRequestURI())
         );
     }
@@ -0,0 +1,65 @@
+package com.techhub.app.aiservice.controller;
+
+import com.techhub.app.aiservice.dto.response.AiTaskResponse;
+import com.techhub.app.aiservice.job.AiJobEngine;
+import com.techhub.app.commonservice.payload.GlobalResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.UUID;
+
+/**
+ * Trạng thái của AI task chạy nền (exercise / learning path / scheduled recommendation)
+ */
+@RestController
+@RequestMapping("/api/ai/tasks")
+@Validated
+@RequiredArgsConstructor
+public class AiTaskController {
+
+    private final AiJobEngine aiJobEngine;
+
+    /**
+     * Poll trạng thái task
+     *
+     * GET /api/ai/tasks/{taskId}
+     */
+    @GetMapping("/{taskId}")
+    public ResponseEntity<GlobalResponse<AiTaskResponse>> getTask(
+            @PathVariable UUID taskId,
+            HttpServletRequest servletRequest) {
+
+        AiTaskResponse response = aiJobEngine.getTask(taskId);
+        return ResponseEntity.ok(
+                GlobalResponse.success("AI task retrieved", response)
+                        .withStatus("AI_TASK_" + response.getStatus())
+                        .withPath(servletRequest.getRequestURI())
+        );
+    }
+
+    /**
+     * Progress qua Server-Sent Events: event "progress" cho mỗi thay đổi,
+     * event "done" khi task kết thúc (kèm result)
+     *
+     * GET /api/ai/tasks/{taskId}/events
+     */
+    @GetMapping(value = "/{taskId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AiTaskResponse>> streamTask(@PathVariable UUID taskId) {
+        aiJobEngine.getTask(taskId); // 404 before opening the stream
+
+        return aiJobEngine.watch(taskId)
+                .map(task -> ServerSentEvent.<AiTaskResponse>builder()
+                        .event(AiJobEngine.isFinished(task.getStatus()) ? "done" : "progress")
+                        .data(task)
+                        .build());
+    }
+}
@@ -34,18 +34,14 @@ public class ChatStreamingController {
                                 request.getUserId(), request.getSessionId(), request.getMessage());
 
                 return chatStreamingService.sendStreamingMessage(request)
-                                .doOnNext(chunk -> log.info("📦 [AI-SERVICE] Emitting chunk: '{}'", chunk))
                                 .map(chunk -> {
                                         // Wrap content in a JSON object to preserve leading/trailing spaces
                                         // SSE data field may trim whitespace, so we use JSON encoding
                                         String jsonData = "{\"content\":\"" + escapeJsonString(chunk) + "\"}";
-                                        ServerSentEvent<String> sse = ServerSentEvent.<String>builder()
+                                        return ServerSentEvent.<String>builder()
                                                         .event("message")
                                                         .data(jsonData)
                                                         .build();
-                                        log.info("📤 [AI-SERVICE] Built SSE: event={}, data={}", sse.event(),
-                                                        sse.data());
-                                        return sse;
                                 })
                                 .concatWith(Flux.defer(() -> {
                                         log.info("🏁 [AI-SERVICE] Appending DONE signal");
@@ -57,6 +53,7 @@ public class ChatStreamingController {
                                 }))
                                 .doOnSubscribe(sub -> log.info("✅ [AI-SERVICE] Client subscribed to stream"))
                                 .doOnComplete(() -> log.info("✅ [AI-SERVICE] ===== STREAM COMPLETED ====="))
+                                .doOnCancel(() -> log.info("⏹️ [AI-SERVICE] Stream cancelled by client"))
                                 .doOnError(error -> log.error("❌ [AI-SERVICE] Stream error: {}", error.getMessage(),
                                                 error));
         }
@@ -29,9 +29,9 @@ public class LearningPathAiController {
             HttpServletRequest servletRequest) {
 
         LearningPathDraftResponse response = learningPathAiService.generatePath(request);
-        return ResponseEntity.ok(
-                GlobalResponse.success("Learning path draft generated", response)
-                        .withStatus("AI_LEARNING_PATH_DRAFT")
+        return ResponseEntity.accepted().body(
+                GlobalResponse.success("Learning path generation queued", response)
+                        .withStatus("AI_LEARNING_PATH_QUEUED")
                         .withPath(servletRequest.getRequestURI())
         );
     }
@@ -45,8 +45,8 @@ public class RecommendationController {
 
         request.setMode(RecommendationMode.SCHEDULED);
         RecommendationResponse response = aiRecommendationService.generateRecommendations(request);
-        return ResponseEntity.ok(
-                GlobalResponse.success("Scheduled recommendations generated", response)
+        return ResponseEntity.accepted().body(
+                GlobalResponse.success("Scheduled recommendations queued", response)
                         .withStatus("AI_RECOMMENDATION_SCHEDULED")
                         .withPath(servletRequest.getRequestURI())
         );
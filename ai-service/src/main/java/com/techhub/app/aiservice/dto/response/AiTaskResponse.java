@@ -0,0 +1,26 @@
+package com.techhub.app.aiservice.dto.response;
+
+import com.techhub.app.aiservice.enums.AiTaskStatus;
+import com.techhub.app.aiservice.enums.AiTaskType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class AiTaskResponse {
+    private UUID taskId;
+    private AiTaskType taskType;
+    private AiTaskStatus status;
+    private String targetReference;
+    private Integer progress; // 0-100
+    private String progressMessage;
+    private Integer attempts;
+    private Object result; // Chỉ có khi task đã xong
+    private String errorMessage;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime completedAt;
+}
@@ -11,6 +11,7 @@ import java.util.UUID;
 @Builder
 public class RecommendationResponse {
     private UUID recommendationId;
+    private UUID taskId; // Scheduled mode: the background task producing the list
     private RecommendationMode mode;
     private AiTaskStatus status;
     private Object courses;
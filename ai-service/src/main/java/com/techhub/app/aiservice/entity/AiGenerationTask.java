@@ -67,6 +67,28 @@ public class AiGenerationTask {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    // Job engine: higher priority runs first among PENDING tasks
+    @Column(name = "priority", nullable = false, columnDefinition = "integer default 0")
+    private Integer priority = 0;
+
+    @Column(name = "progress", nullable = false, columnDefinition = "integer default 0")
+    private Integer progress = 0; // 0-100
+
+    @Column(name = "progress_message", length = 255)
+    private String progressMessage;
+
+    @Column(name = "attempts", nullable = false, columnDefinition = "integer default 0")
+    private Integer attempts = 0;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private OffsetDateTime heartbeatAt; // Refreshed while RUNNING; stale = worker died
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
     @Column(name = "created", nullable = false)
     private OffsetDateTime created;
 
@@ -85,6 +107,15 @@ public class AiGenerationTask {
         if (isActive == null) {
             isActive = Boolean.TRUE;
         }
+        if (priority == null) {
+            priority = 0;
+        }
+        if (progress == null) {
+            progress = 0;
+        }
+        if (attempts == null) {
+            attempts = 0;
+        }
     }
 
     @PreUpdate
@@ -45,6 +45,13 @@ public class ChatSession {
     @Column(name = "context", columnDefinition = "jsonb")
     private Object context;
 
+    // Rolling summary of the turns up to summarized_until, replaces them in the prompt
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "summarized_until")
+    private OffsetDateTime summarizedUntil;
+
     @Column(name = "created", nullable = false)
     private OffsetDateTime created;
 
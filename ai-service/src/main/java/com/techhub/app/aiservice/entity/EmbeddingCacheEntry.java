@@ -0,0 +1,46 @@
+package com.techhub.app.aiservice.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+
+/**
+ * Persistent tier of the embedding cache. The key is
+ * "{modelId}:{sha256 of normalized text}" and the vector is stored as
+ * little-endian float32 bytes (4 bytes per dimension).
+ */
+@Entity
+@Table(name = "ai_embedding_cache")
+@Getter
+@Setter
+public class EmbeddingCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 200)
+    private String cacheKey;
+
+    @Column(name = "model_id", nullable = false, length = 128)
+    private String modelId;
+
+    @Column(name = "dimensions", nullable = false)
+    private Integer dimensions;
+
+    @Column(name = "vector", nullable = false, columnDefinition = "bytea")
+    private byte[] vector;
+
+    @Column(name = "created", nullable = false)
+    private OffsetDateTime created;
+
+    @PrePersist
+    void beforeInsert() {
+        if (created == null) {
+            created = OffsetDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.techhub.app.aiservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * What was last indexed into Qdrant for one course or lesson: a fingerprint
+ * of the embedded text and payload, and the source row's "updated" value at
+ * that time (the per-row watermark for incremental sync).
+ */
+@Entity
+@Table(name = "ai_vector_sync_state")
+@IdClass(VectorSyncState.Key.class)
+@Getter
+@Setter
+public class VectorSyncState {
+
+    public static final String COURSE = "course";
+    public static final String LESSON = "lesson";
+
+    @Id
+    @Column(name = "kind", length = 16)
+    private String kind;
+
+    @Id
+    @Column(name = "entity_id")
+    private UUID entityId;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "source_updated", nullable = false)
+    private OffsetDateTime sourceUpdated;
+
+    @Column(name = "indexed_at", nullable = false)
+    private OffsetDateTime indexedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String kind;
+        private UUID entityId;
+    }
+}
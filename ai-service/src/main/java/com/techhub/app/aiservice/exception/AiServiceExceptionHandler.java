@@ -43,7 +43,8 @@ public class AiServiceExceptionHandler {
     }
 
     /**
-     * Handle rate limit exceeded
+     * Handle rate limit exceeded (X-RateLimit-* and Retry-After headers are
+     * already set by RateLimitingService)
      */
     @ExceptionHandler(RateLimitExceededException.class)
     public ResponseEntity<GlobalResponse<Map<String, Object>>> handleRateLimitExceeded(
@@ -54,8 +55,10 @@ public class AiServiceExceptionHandler {
                 ex.getMessage(), request.getRemoteAddr());
 
         Map<String, Object> details = new HashMap<>();
-        details.put("remainingPerMinute", ex.getRemainingRequestsPerMinute());
-        details.put("remainingPerHour", ex.getRemainingRequestsPerHour());
+        details.put("limit", ex.getDecision().getLimit());
+        details.put("remaining", ex.getDecision().getRemaining());
+        details.put("resetSeconds", ex.getDecision().resetSeconds());
+        details.put("retryAfterSeconds", ex.getDecision().retryAfterSeconds());
         details.put("message", "You have exceeded the rate limit. Please wait before making more requests.");
 
         return ResponseEntity
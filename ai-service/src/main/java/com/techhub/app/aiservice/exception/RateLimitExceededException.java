@@ -1,24 +1,20 @@
 package com.techhub.app.aiservice.exception;
 
+import com.techhub.app.aiservice.service.RateLimitingService;
+
 /**
  * Exception thrown when rate limit is exceeded
  */
 public class RateLimitExceededException extends RuntimeException {
 
-    private final int remainingRequestsPerMinute;
-    private final int remainingRequestsPerHour;
+    private final RateLimitingService.Decision decision;
 
-    public RateLimitExceededException(String message, int remainingPerMinute, int remainingPerHour) {
+    public RateLimitExceededException(String message, RateLimitingService.Decision decision) {
         super(message);
-        this.remainingRequestsPerMinute = remainingPerMinute;
-        this.remainingRequestsPerHour = remainingPerHour;
-    }
-
-    public int getRemainingRequestsPerMinute() {
-        return remainingRequestsPerMinute;
+        this.decision = decision;
     }
 
-    public int getRemainingRequestsPerHour() {
-        return remainingRequestsPerHour;
+    public RateLimitingService.Decision getDecision() {
+        return decision;
     }
 }
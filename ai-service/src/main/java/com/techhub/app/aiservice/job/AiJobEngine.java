@@ -0,0 +1,363 @@
+package com.techhub.app.aiservice.job;
+
+import com.techhub.app.aiservice.config.AiJobProperties;
+import com.techhub.app.aiservice.dto.response.AiTaskResponse;
+import com.techhub.app.aiservice.entity.AiGenerationTask;
+import com.techhub.app.aiservice.enums.AiTaskStatus;
+import com.techhub.app.aiservice.enums.AiTaskType;
+import com.techhub.app.aiservice.repository.AiGenerationTaskRepository;
+import com.techhub.app.commonservice.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs AI generation tasks off the request thread.
+ *
+ * ai_generation_tasks is the queue: {@link #submit} stores a PENDING task
+ * and returns at once; workers claim tasks with a conditional update (so
+ * several instances can share the table), highest priority first, with a
+ * per-type cap on top of the shared worker pool so long generations of one
+ * type cannot starve the others.
+ *
+ * Running tasks refresh heartbeat_at. Tasks whose heartbeat goes stale
+ * (service killed or restarted mid-run) are put back to PENDING, up to
+ * max-attempts runs, then FAILED.
+ *
+ * Progress is persisted on the task and pushed to {@link #watch}
+ * subscribers; watchers also poll the row, so they see tasks that run on
+ * another instance.
+ */
+@Component
+@Slf4j
+public class AiJobEngine {
+
+    private static final Set<AiTaskStatus> FINISHED = EnumSet.of(AiTaskStatus.DRAFT, AiTaskStatus.COMPLETED,
+            AiTaskStatus.FAILED, AiTaskStatus.APPROVED, AiTaskStatus.REJECTED);
+    private static final Duration WATCH_POLL_INTERVAL = Duration.ofSeconds(2);
+
+    private final AiGenerationTaskRepository aiGenerationTaskRepository;
+    private final AiJobProperties jobProperties;
+    private final ObjectProvider<AiTaskHandler> handlerProvider;
+
+    private final ExecutorService executor;
+    // Tasks claimed by this instance and not finished yet
+    private final Map<UUID, AiTaskType> running = new ConcurrentHashMap<>();
+    private final Sinks.Many<AiTaskResponse> events = Sinks.many().multicast().directBestEffort();
+    private volatile Map<AiTaskType, AiTaskHandler> handlers;
+    private volatile boolean shuttingDown;
+
+    public AiJobEngine(AiGenerationTaskRepository aiGenerationTaskRepository, AiJobProperties jobProperties,
+            ObjectProvider<AiTaskHandler> handlerProvider) {
+        this.aiGenerationTaskRepository = aiGenerationTaskRepository;
+        this.jobProperties = jobProperties;
+        this.handlerProvider = handlerProvider;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, jobProperties.getWorkers()), runnable -> {
+            Thread thread = new Thread(runnable, "ai-job-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a task and return it (status PENDING) without waiting for it to
+     * run. If called inside a transaction, dispatch waits for the commit.
+     */
+    public AiGenerationTask submit(AiTaskType taskType, String targetReference, Object requestPayload) {
+        if (!handlers().containsKey(taskType)) {
+            throw new IllegalArgumentException("No handler for AI task type " + taskType);
+        }
+
+        AiGenerationTask task = new AiGenerationTask();
+        task.setTaskType(taskType);
+        task.setStatus(AiTaskStatus.PENDING);
+        task.setTargetReference(targetReference);
+        task.setRequestPayload(requestPayload);
+        task.setPriority(jobProperties.priorityFor(taskType));
+        task.setProgressMessage("Queued");
+        aiGenerationTaskRepository.save(task);
+        log.info("📥 Queued AI task {} ({})", task.getId(), taskType);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch();
+                }
+            });
+        } else {
+            dispatch();
+        }
+        return task;
+    }
+
+    public AiTaskResponse getTask(UUID taskId) {
+        return aiGenerationTaskRepository.findById(taskId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new NotFoundException("AI task not found"));
+    }
+
+    /**
+     * Snapshots of the task as it progresses, ending with the finished state
+     */
+    public Flux<AiTaskResponse> watch(UUID taskId) {
+        Flux<AiTaskResponse> pushed = events.asFlux()
+                .filter(event -> taskId.equals(event.getTaskId()));
+        Flux<AiTaskResponse> polled = Flux.interval(Duration.ZERO, WATCH_POLL_INTERVAL)
+                .concatMap(tick -> Mono.fromCallable(() -> aiGenerationTaskRepository.findById(taskId)
+                                .map(this::toResponse)
+                                .orElse(null))
+                        .subscribeOn(Schedulers.boundedElastic()));
+
+        return Flux.merge(pushed, polled)
+                .distinctUntilChanged(event -> event.getStatus() + ":" + event.getProgress() + ":"
+                        + event.getProgressMessage())
+                .takeUntil(event -> isFinished(event.getStatus()));
+    }
+
+    /**
+     * Claim PENDING tasks for free worker slots, highest priority first
+     */
+    public synchronized void dispatch() {
+        if (shuttingDown) {
+            return;
+        }
+        int free = jobProperties.getWorkers() - running.size();
+        if (free <= 0) {
+            return;
+        }
+
+        List<AiGenerationTask> candidates = new ArrayList<>();
+        for (AiTaskType type : handlers().keySet()) {
+            int typeFree = jobProperties.concurrencyFor(type) - runningCount(type);
+            if (typeFree > 0) {
+                candidates.addAll(aiGenerationTaskRepository.findByStatusAndTaskTypeInOrderByPriorityDescCreatedAsc(
+                        AiTaskStatus.PENDING, Collections.singleton(type), PageRequest.of(0, Math.min(free, typeFree))));
+            }
+        }
+        candidates.sort(Comparator.comparing(AiGenerationTask::getPriority, Comparator.reverseOrder())
+                .thenComparing(AiGenerationTask::getCreated));
+
+        for (AiGenerationTask task : candidates) {
+            if (free <= 0) {
+                break;
+            }
+            if (runningCount(task.getTaskType()) >= jobProperties.concurrencyFor(task.getTaskType())) {
+                continue;
+            }
+            if (aiGenerationTaskRepository.claim(task.getId(), OffsetDateTime.now()) == 0) {
+                continue; // Claimed by another instance
+            }
+            running.put(task.getId(), task.getTaskType());
+            free--;
+            executor.execute(() -> run(task.getId()));
+        }
+    }
+
+    private void run(UUID taskId) {
+        AiGenerationTask task = null;
+        try {
+            task = aiGenerationTaskRepository.findById(taskId)
+                    .orElseThrow(() -> new IllegalStateException("Task disappeared: " + taskId));
+            AiTaskHandler handler = handlers().get(task.getTaskType());
+            log.info("▶️ Running AI task {} ({}, attempt {})", taskId, task.getTaskType(), task.getAttempts());
+            emit(toResponse(task));
+
+            Object result = handler.execute(task, (percent, message) -> progress(taskId, percent, message));
+
+            task.setResultPayload(result);
+            task.setStatus(handler.getCompletedStatus());
+            task.setProgress(100);
+            task.setProgressMessage("Done");
+            task.setErrorMessage(null);
+            log.info("✅ AI task {} finished as {}", taskId, task.getStatus());
+        } catch (Exception e) {
+            log.error("❌ AI task {} failed", taskId, e);
+            if (task != null) {
+                String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                task.setStatus(AiTaskStatus.FAILED);
+                task.setErrorMessage(message);
+                task.setResultPayload(Map.of("error", message));
+                task.setProgressMessage("Failed");
+            }
+        } finally {
+            // On shutdown the task was already re-queued; the next start runs it again
+            if (task != null && !shuttingDown) {
+                try {
+                    OffsetDateTime now = OffsetDateTime.now();
+                    task.setCompletedAt(now);
+                    task.setHeartbeatAt(now);
+                    int stored = aiGenerationTaskRepository.complete(taskId, task.getAttempts(),
+                            task.getStatus(), task.getResultPayload(), task.getErrorMessage(), task.getPrompt(),
+                            task.getProgress(), task.getProgressMessage(), now);
+                    if (stored == 0) {
+                        // Recovered as stale (and possibly re-run) while this worker was still busy
+                        log.warn("⚠️ AI task {} attempt {} was taken over, discarding its result",
+                                taskId, task.getAttempts());
+                    } else {
+                        emit(toResponse(task));
+                    }
+                } catch (Exception e) {
+                    log.error("❌ Failed to store result of AI task {}", taskId, e);
+                }
+            }
+            running.remove(taskId);
+            dispatch();
+        }
+    }
+
+    private void progress(UUID taskId, int percent, String message) {
+        int progress = Math.max(0, Math.min(99, percent));
+        try {
+            aiGenerationTaskRepository.updateProgress(taskId, progress, message, OffsetDateTime.now());
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to store progress of AI task {}: {}", taskId, e.getMessage());
+        }
+        emit(AiTaskResponse.builder()
+                .taskId(taskId)
+                .taskType(running.get(taskId))
+                .status(AiTaskStatus.RUNNING)
+                .progress(progress)
+                .progressMessage(message)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "#{@aiJobProperties.heartbeatInterval.toMillis()}")
+    public void heartbeat() {
+        if (!running.isEmpty()) {
+            aiGenerationTaskRepository.heartbeat(new ArrayList<>(running.keySet()), OffsetDateTime.now());
+        }
+    }
+
+    /**
+     * Fallback for tasks queued on other instances, plus recovery of tasks
+     * left RUNNING by a dead worker
+     */
+    @Scheduled(fixedDelayString = "#{@aiJobProperties.pollInterval.toMillis()}")
+    public void poll() {
+        try {
+            recoverStale();
+            dispatch();
+        } catch (Exception e) {
+            log.error("Error while polling AI task queue", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        poll();
+    }
+
+    /**
+     * Each stale task is updated only if it is still RUNNING with an old
+     * heartbeat, so a worker that heartbeats or finishes meanwhile wins
+     */
+    private void recoverStale() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(jobProperties.getStaleAfter());
+        List<AiGenerationTask> stale = aiGenerationTaskRepository.findStaleRunning(cutoff);
+        for (AiGenerationTask task : stale) {
+            if (running.containsKey(task.getId())) {
+                continue;
+            }
+            if (task.getAttempts() >= jobProperties.getMaxAttempts()) {
+                String error = "Interrupted " + task.getAttempts() + " times (worker stopped); giving up";
+                if (aiGenerationTaskRepository.failStale(task.getId(), error, Map.of("error", error),
+                        OffsetDateTime.now(), cutoff) > 0) {
+                    log.warn("⚠️ AI task {} interrupted {} times, marked FAILED", task.getId(), task.getAttempts());
+                }
+            } else if (aiGenerationTaskRepository.requeueStale(task.getId(), cutoff) > 0) {
+                log.warn("⚠️ Re-queued interrupted AI task {} ({})", task.getId(), task.getTaskType());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        executor.shutdownNow();
+        if (!running.isEmpty()) {
+            try {
+                int requeued = aiGenerationTaskRepository.requeue(new ArrayList<>(running.keySet()));
+                log.info("⏸️ Re-queued {} running AI tasks on shutdown", requeued);
+            } catch (Exception e) {
+                log.warn("⚠️ Failed to re-queue running AI tasks, they are recovered once stale: {}",
+                        e.getMessage());
+            }
+        }
+    }
+
+    private AiTaskResponse toResponse(AiGenerationTask task) {
+        boolean finished = isFinished(task.getStatus());
+        return AiTaskResponse.builder()
+                .taskId(task.getId())
+                .taskType(task.getTaskType())
+                .status(task.getStatus())
+                .targetReference(task.getTargetReference())
+                .progress(task.getProgress())
+                .progressMessage(task.getProgressMessage())
+                .attempts(task.getAttempts())
+                .result(finished ? task.getResultPayload() : null)
+                .errorMessage(task.getErrorMessage())
+                .createdAt(task.getCreated())
+                .startedAt(task.getStartedAt())
+                .completedAt(task.getCompletedAt())
+                .build();
+    }
+
+    public static boolean isFinished(AiTaskStatus status) {
+        return FINISHED.contains(status);
+    }
+
+    private void emit(AiTaskResponse event) {
+        synchronized (events) {
+            events.tryEmitNext(event);
+        }
+    }
+
+    private int runningCount(AiTaskType type) {
+        int count = 0;
+        for (AiTaskType runningType : running.values()) {
+            if (runningType == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Map<AiTaskType, AiTaskHandler> handlers() {
+        Map<AiTaskType, AiTaskHandler> resolved = handlers;
+        if (resolved == null) {
+            resolved = handlerProvider.orderedStream()
+                    .collect(Collectors.toMap(AiTaskHandler::getTaskType, Function.identity(),
+                            (first, second) -> {
+                                throw new IllegalStateException("Two handlers for " + first.getTaskType());
+                            },
+                            () -> new EnumMap<>(AiTaskType.class)));
+            handlers = resolved;
+        }
+        return resolved;
+    }
+}
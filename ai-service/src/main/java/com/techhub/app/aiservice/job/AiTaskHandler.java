@@ -0,0 +1,38 @@
+package com.techhub.app.aiservice.job;
+
+import com.techhub.app.aiservice.entity.AiGenerationTask;
+import com.techhub.app.aiservice.enums.AiTaskStatus;
+import com.techhub.app.aiservice.enums.AiTaskType;
+
+/**
+ * Executes one type of {@link AiGenerationTask} on the {@link AiJobEngine}
+ * worker pool. Implementations are picked up as Spring beans.
+ */
+public interface AiTaskHandler {
+
+    /**
+     * Reports progress of a running task (0-100 plus a short message).
+     * Persisted and pushed to SSE subscribers.
+     */
+    @FunctionalInterface
+    interface Progress {
+        void update(int percent, String message);
+    }
+
+    AiTaskType getTaskType();
+
+    /**
+     * Status a successful run ends in; DRAFT for output an admin reviews
+     */
+    default AiTaskStatus getCompletedStatus() {
+        return AiTaskStatus.COMPLETED;
+    }
+
+    /**
+     * Run the task. The request is in {@code task.getRequestPayload()} (a
+     * Map once read back from the database); the handler may set fields such
+     * as the prompt on the task. The return value is stored as
+     * result_payload; an exception marks the task FAILED.
+     */
+    Object execute(AiGenerationTask task, Progress progress) throws Exception;
+}
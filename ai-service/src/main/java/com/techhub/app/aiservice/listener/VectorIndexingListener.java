@@ -2,6 +2,7 @@ package com.techhub.app.aiservice.listener;
 
 import com.techhub.app.commonservice.kafka.event.CourseEventPayload;
 import com.techhub.app.commonservice.kafka.event.LessonEventPayload;
+import com.techhub.app.aiservice.service.RecommendationMaterializer;
 import com.techhub.app.aiservice.service.VectorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class VectorIndexingListener {
 
     private final VectorService vectorService;
+    private final RecommendationMaterializer recommendationMaterializer;
     
     // Deduplication cache: courseId -> last processed timestamp
     // Events within 5 seconds of each other for the same course are skipped
@@ -163,6 +165,8 @@ public class VectorIndexingListener {
                     UUID.fromString(event.getCourseId()),
                     event.getStatus(),
                     event.getProgressPercentage());
+            // Enrollments change the user's recommendations; recomputed on the next drain
+            recommendationMaterializer.markStale(UUID.fromString(event.getUserId()));
         } catch (Exception e) {
             log.error("❌ Failed to process EnrollmentEvent", e);
         }
@@ -3,8 +3,14 @@ package com.techhub.app.aiservice.repository;
 import com.techhub.app.aiservice.entity.AiGenerationTask;
 import com.techhub.app.aiservice.enums.AiTaskStatus;
 import com.techhub.app.aiservice.enums.AiTaskType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -33,4 +39,92 @@ public interface AiGenerationTaskRepository extends JpaRepository<AiGenerationTa
      */
     List<AiGenerationTask> findByTargetReferenceInAndStatusAndTaskTypeOrderByCreatedDesc(
             Collection<String> targetReferences, AiTaskStatus status, AiTaskType taskType);
+
+    /**
+     * Hàng đợi của job engine: task PENDING theo priority, rồi thứ tự submit
+     */
+    List<AiGenerationTask> findByStatusAndTaskTypeInOrderByPriorityDescCreatedAsc(
+            AiTaskStatus status, Collection<AiTaskType> taskTypes, Pageable pageable);
+
+    /**
+     * Claim một task PENDING; trả về 0 nếu instance khác đã claim trước
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiGenerationTask t SET t.status = com.techhub.app.aiservice.enums.AiTaskStatus.RUNNING, " +
+            "t.attempts = t.attempts + 1, t.startedAt = :now, t.heartbeatAt = :now, " +
+            "t.progress = 0, t.progressMessage = null, t.errorMessage = null " +
+            "WHERE t.id = :id AND t.status = com.techhub.app.aiservice.enums.AiTaskStatus.PENDING")
+    int claim(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiGenerationTask t SET t.progress = :progress, t.progressMessage = :message, " +
+            "t.heartbeatAt = :now WHERE t.id = :id")
+    int updateProgress(@Param("id") UUID id, @Param("progress") int progress,
+            @Param("message") String message, @Param("now") OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiGenerationTask t SET t.heartbeatAt = :now WHERE t.id IN :ids")
+    int heartbeat(@Param("ids") Collection<UUID> ids, @Param("now") OffsetDateTime now);
+
+    /**
+     * Lưu kết quả của lần chạy {@code attempts}; trả về 0 nếu task đã bị
+     * recover hoặc instance khác đã claim lại (kết quả bị bỏ)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiGenerationTask t SET t.status = :status, t.resultPayload = :result, " +
+            "t.errorMessage = :error, t.prompt = :prompt, t.progress = :progress, " +
+            "t.progressMessage = :message, t.completedAt = :now, t.heartbeatAt = :now " +
+            "WHERE t.id = :id AND t.status = com.techhub.app.aiservice.enums.AiTaskStatus.RUNNING " +
+            "AND t.attempts = :attempts")
+    int complete(@Param("id") UUID id, @Param("attempts") int attempts,
+            @Param("status") AiTaskStatus status, @Param("result") Object result,
+            @Param("error") String error, @Param("prompt") String prompt,
+            @Param("progress") int progress, @Param("message") String message,
+            @Param("now") OffsetDateTime now);
+
+    /**
+     * Trả task đang chạy về hàng đợi (khi service shutdown)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiGenerationTask t SET t.status = com.techhub.app.aiservice.enums.AiTaskStatus.PENDING, " +
+            "t.progress = 0, t.progressMessage = 'Re-queued after shutdown' " +
+            "WHERE t.id IN :ids AND t.status = com.techhub.app.aiservice.enums.AiTaskStatus.RUNNING")
+    int requeue(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Trả task RUNNING có heartbeat cũ về hàng đợi; trả về 0 nếu worker vẫn
+     * còn sống (heartbeat mới) hoặc task đã kết thúc
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiGenerationTask t SET t.status = com.techhub.app.aiservice.enums.AiTaskStatus.PENDING, " +
+            "t.progress = 0, t.progressMessage = 'Re-queued after interruption' " +
+            "WHERE t.id = :id AND t.status = com.techhub.app.aiservice.enums.AiTaskStatus.RUNNING " +
+            "AND (t.heartbeatAt IS NULL OR t.heartbeatAt < :cutoff)")
+    int requeueStale(@Param("id") UUID id, @Param("cutoff") OffsetDateTime cutoff);
+
+    /**
+     * Đánh dấu FAILED một task RUNNING có heartbeat cũ, cùng điều kiện như
+     * {@link #requeueStale}
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiGenerationTask t SET t.status = com.techhub.app.aiservice.enums.AiTaskStatus.FAILED, " +
+            "t.errorMessage = :error, t.resultPayload = :result, t.completedAt = :now " +
+            "WHERE t.id = :id AND t.status = com.techhub.app.aiservice.enums.AiTaskStatus.RUNNING " +
+            "AND (t.heartbeatAt IS NULL OR t.heartbeatAt < :cutoff)")
+    int failStale(@Param("id") UUID id, @Param("error") String error, @Param("result") Object result,
+            @Param("now") OffsetDateTime now, @Param("cutoff") OffsetDateTime cutoff);
+
+    /**
+     * Task RUNNING mà heartbeat đã cũ (worker chết / service restart)
+     */
+    @Query("SELECT t FROM AiGenerationTask t WHERE t.status = com.techhub.app.aiservice.enums.AiTaskStatus.RUNNING " +
+            "AND (t.heartbeatAt IS NULL OR t.heartbeatAt < :cutoff)")
+    List<AiGenerationTask> findStaleRunning(@Param("cutoff") OffsetDateTime cutoff);
 }
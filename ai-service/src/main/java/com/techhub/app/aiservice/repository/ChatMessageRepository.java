@@ -2,8 +2,10 @@ package com.techhub.app.aiservice.repository;
 
 import com.techhub.app.aiservice.entity.ChatMessage;
 import com.techhub.app.aiservice.entity.ChatSession;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,5 +13,14 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID>
 
     List<ChatMessage> findBySessionOrderByTimestampAsc(ChatSession session);
 
-    List<ChatMessage> findTop10BySessionOrderByTimestampDesc(ChatSession session);
+    List<ChatMessage> findBySessionOrderByTimestampDesc(ChatSession session, Pageable pageable);
+
+    List<ChatMessage> findBySessionAndTimestampAfterOrderByTimestampDesc(ChatSession session,
+            OffsetDateTime after, Pageable pageable);
+
+    List<ChatMessage> findBySessionAndTimestampLessThanEqualOrderByTimestampAsc(ChatSession session,
+            OffsetDateTime until, Pageable pageable);
+
+    List<ChatMessage> findBySessionAndTimestampAfterAndTimestampLessThanEqualOrderByTimestampAsc(
+            ChatSession session, OffsetDateTime after, OffsetDateTime until, Pageable pageable);
 }
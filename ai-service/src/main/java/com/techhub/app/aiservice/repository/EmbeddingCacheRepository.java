@@ -0,0 +1,29 @@
+package com.techhub.app.aiservice.repository;
+
+import com.techhub.app.aiservice.entity.EmbeddingCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface EmbeddingCacheRepository extends JpaRepository<EmbeddingCacheEntry, String> {
+
+    /**
+     * Insert without a prior SELECT; a concurrent insert of the same key
+     * (same model and text, so the same vector) is ignored. Runs in its own
+     * transaction so a failure never rolls back the caller's work.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO ai_embedding_cache (cache_key, model_id, dimensions, vector, created) "
+            + "VALUES (:cacheKey, :modelId, :dimensions, :vector, now()) "
+            + "ON CONFLICT (cache_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("cacheKey") String cacheKey,
+            @Param("modelId") String modelId,
+            @Param("dimensions") int dimensions,
+            @Param("vector") byte[] vector);
+}
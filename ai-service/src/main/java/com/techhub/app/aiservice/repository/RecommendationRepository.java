@@ -1,8 +1,13 @@
 package com.techhub.app.aiservice.repository;
 
 import com.techhub.app.aiservice.entity.Recommendation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +17,12 @@ public interface RecommendationRepository extends JpaRepository<Recommendation,
     List<Recommendation> findByUserIdOrderByGeneratedAtDesc(UUID userId);
 
     Optional<Recommendation> findFirstByUserIdOrderByGeneratedAtDesc(UUID userId);
+
+    List<Recommendation> findByUserIdIn(Collection<UUID> userIds);
+
+    /**
+     * Users whose newest recommendation row was generated before the cutoff
+     */
+    @Query("SELECT r.userId FROM Recommendation r GROUP BY r.userId HAVING MAX(r.generatedAt) < :cutoff")
+    List<UUID> findUserIdsGeneratedBefore(@Param("cutoff") OffsetDateTime cutoff, Pageable pageable);
 }
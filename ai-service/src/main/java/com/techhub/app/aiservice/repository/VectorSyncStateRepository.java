@@ -0,0 +1,24 @@
+package com.techhub.app.aiservice.repository;
+
+import com.techhub.app.aiservice.entity.VectorSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface VectorSyncStateRepository extends JpaRepository<VectorSyncState, VectorSyncState.Key> {
+
+    List<VectorSyncState> findByKindAndEntityIdIn(String kind, Collection<UUID> entityIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM VectorSyncState s WHERE s.kind = :kind AND s.entityId IN :entityIds")
+    int deleteByKindAndEntityIds(@Param("kind") String kind, @Param("entityIds") Collection<UUID> entityIds);
+}
@@ -0,0 +1,232 @@
+package com.techhub.app.aiservice.service;
+
+import com.techhub.app.aiservice.config.ChatbotProperties;
+import com.techhub.app.aiservice.entity.ChatMessage;
+import com.techhub.app.aiservice.entity.ChatSession;
+import com.techhub.app.aiservice.enums.ChatSender;
+import com.techhub.app.aiservice.repository.ChatMessageRepository;
+import com.techhub.app.aiservice.repository.ChatSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Assembles the messages of a chat turn within a token budget.
+ *
+ * Recent turns are sent verbatim up to chatbot.context.history-tokens. Older
+ * turns are folded into a rolling per-session summary (chat_sessions.summary)
+ * that is sent instead of them; only unsummarized turns are summarized,
+ * together with the previous summary, so each turn is summarized once. When
+ * folding, history is cut to half the budget so the next few turns fit
+ * without another summary call, and the whole unsummarized backlog before
+ * the kept turns is folded, oldest first, in chunks that fit
+ * chatbot.context.summary-input-tokens.
+ *
+ * Tokens are estimated from characters (chatbot.context.chars-per-token),
+ * like the embedding batches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatContextBuilder {
+
+    // Role/formatting overhead of one chat message
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    private static final String SUMMARY_SYSTEM_PROMPT =
+            "Bạn tóm tắt cuộc trò chuyện giữa người dùng và trợ lý học tập TechHub. "
+                    + "Giữ lại mục tiêu, trình độ, sở thích của người dùng, các khóa học đã được gợi ý (kèm course ID) "
+                    + "và các câu hỏi còn dang dở. Viết ngắn gọn bằng tiếng Việt, không thêm thông tin mới.";
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatSessionRepository chatSessionRepository;
+    private final OpenAiGateway openAiGateway;
+    private final ChatbotProperties chatbotProperties;
+
+    /**
+     * System prompt, session summary and the recent turns of the session
+     * (including the just saved user message), oldest first
+     */
+    public List<Map<String, String>> buildMessages(ChatSession session, String systemPrompt) {
+        ChatbotProperties.Context config = chatbotProperties.getContext();
+
+        PageRequest page = PageRequest.of(0, config.getMaxMessages());
+        List<ChatMessage> pending = session.getSummarizedUntil() == null
+                ? chatMessageRepository.findBySessionOrderByTimestampDesc(session, page)
+                : chatMessageRepository.findBySessionAndTimestampAfterOrderByTimestampDesc(
+                        session, session.getSummarizedUntil(), page);
+
+        // Newest first: the current message is always kept
+        int keep = fit(pending, config.getHistoryTokens());
+        if (keep < pending.size()) {
+            int retained = fit(pending, config.getHistoryTokens() / 2);
+            if (foldBacklog(session, pending.get(retained).getTimestamp())) {
+                keep = retained;
+            }
+        }
+
+        List<Map<String, String>> messages = new ArrayList<>();
+        messages.add(Map.of("role", "system", "content", systemPrompt));
+        if (session.getSummary() != null && !session.getSummary().isBlank()) {
+            messages.add(Map.of("role", "system", "content",
+                    "Tóm tắt phần trước của cuộc trò chuyện:\n" + session.getSummary()));
+        }
+
+        List<ChatMessage> recent = new ArrayList<>(pending.subList(0, keep));
+        Collections.reverse(recent); // Order from oldest to newest
+        for (ChatMessage msg : recent) {
+            String role = msg.getSender() == ChatSender.USER ? "user" : "assistant";
+            messages.add(Map.of("role", role, "content", msg.getContent()));
+        }
+
+        log.info("🧮 Chat context for session {}: {} of {} pending messages, ~{} tokens",
+                session.getId(), keep, pending.size(), countTokens(messages));
+        return messages;
+    }
+
+    /**
+     * Render search results in order of relevance, skipping those below
+     * chatbot.context.min-relevance, until chatbot.context.rag-tokens is used
+     */
+    public List<String> selectSnippets(List<Map<String, Object>> results,
+            Function<Map<String, Object>, String> render) {
+        ChatbotProperties.Context config = chatbotProperties.getContext();
+        if (results == null || results.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Map<String, Object>> ranked = new ArrayList<>(results);
+        ranked.removeIf(result -> score(result) < config.getMinRelevance());
+        ranked.sort(Comparator.comparingDouble(ChatContextBuilder::score).reversed());
+
+        List<String> snippets = new ArrayList<>();
+        int used = 0;
+        for (Map<String, Object> result : ranked) {
+            String snippet = render.apply(result);
+            if (snippet == null) {
+                continue;
+            }
+            int tokens = estimateTokens(snippet);
+            if (used + tokens > config.getRagTokens()) {
+                continue;
+            }
+            snippets.add(snippet);
+            used += tokens;
+        }
+        log.debug("Selected {} of {} search results (~{} tokens)", snippets.size(), results.size(), used);
+        return snippets;
+    }
+
+    public int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (int) Math.ceil(text.length() / chatbotProperties.getContext().getCharsPerToken());
+    }
+
+    private int countTokens(List<Map<String, String>> messages) {
+        return messages.stream()
+                .mapToInt(message -> estimateTokens(message.get("content")) + MESSAGE_OVERHEAD_TOKENS)
+                .sum();
+    }
+
+    /**
+     * Number of leading messages (at least one) that fit in {@code budget}
+     */
+    private int fit(List<ChatMessage> messages, int budget) {
+        int used = 0;
+        int count = 0;
+        for (ChatMessage msg : messages) {
+            used += estimateTokens(msg.getContent()) + MESSAGE_OVERHEAD_TOKENS;
+            if (used > budget && count > 0) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Fold every unsummarized turn up to {@code until} into the session
+     * summary, oldest first, one chunk per summary call, at most
+     * chatbot.context.summary-chunks-per-turn calls
+     *
+     * @return false if the backlog was not folded completely; the folded
+     *         chunks are kept, the rest is left out of this prompt and folded
+     *         on a later turn
+     */
+    private boolean foldBacklog(ChatSession session, OffsetDateTime until) {
+        ChatbotProperties.Context config = chatbotProperties.getContext();
+        PageRequest page = PageRequest.of(0, config.getMaxMessages());
+        for (int chunk = 0; ; chunk++) {
+            List<ChatMessage> backlog = session.getSummarizedUntil() == null
+                    ? chatMessageRepository.findBySessionAndTimestampLessThanEqualOrderByTimestampAsc(
+                            session, until, page)
+                    : chatMessageRepository.findBySessionAndTimestampAfterAndTimestampLessThanEqualOrderByTimestampAsc(
+                            session, session.getSummarizedUntil(), until, page);
+            if (backlog.isEmpty()) {
+                return true;
+            }
+            if (chunk == config.getSummaryChunksPerTurn()) {
+                log.info("Summary backlog of session {} not folded completely, continuing next turn",
+                        session.getId());
+                return false;
+            }
+            int budget = Math.max(config.getSummaryInputTokens() / 2,
+                    config.getSummaryInputTokens() - estimateTokens(session.getSummary()));
+            if (!summarize(session, backlog.subList(0, fit(backlog, budget)), budget)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Fold {@code turns} (oldest first) into the session summary. The turns
+     * fit {@code budget} except possibly a single long one, which is cut.
+     *
+     * @return false if the summary could not be generated; the turns stay
+     *         unsummarized
+     */
+    private boolean summarize(ChatSession session, List<ChatMessage> turns, int budget) {
+        int maxChars = (int) ((budget - MESSAGE_OVERHEAD_TOKENS) * chatbotProperties.getContext().getCharsPerToken());
+        StringBuilder prompt = new StringBuilder();
+        if (session.getSummary() != null && !session.getSummary().isBlank()) {
+            prompt.append("Tóm tắt hiện có:\n").append(session.getSummary()).append("\n\n");
+        }
+        prompt.append("Các lượt trò chuyện tiếp theo:\n");
+        for (ChatMessage msg : turns) {
+            String content = msg.getContent() != null ? msg.getContent() : "";
+            prompt.append(msg.getSender() == ChatSender.USER ? "Người dùng: " : "Trợ lý: ")
+                    .append(content.length() > maxChars ? content.substring(0, maxChars) + "…" : content)
+                    .append("\n");
+        }
+        prompt.append("\nHãy viết bản tóm tắt mới bao gồm cả tóm tắt hiện có và các lượt trên.");
+
+        String summary = openAiGateway.generateText(SUMMARY_SYSTEM_PROMPT, prompt.toString(),
+                chatbotProperties.getContext().getSummaryTokens());
+        if (summary == null || summary.isBlank()) {
+            log.warn("Could not summarize {} messages of session {}", turns.size(), session.getId());
+            return false;
+        }
+
+        session.setSummary(summary.trim());
+        session.setSummarizedUntil(turns.get(turns.size() - 1).getTimestamp());
+        chatSessionRepository.save(session);
+        log.info("📝 Folded {} messages into the summary of session {}", turns.size(), session.getId());
+        return true;
+    }
+
+    private static double score(Map<String, Object> result) {
+        Object score = result.get("score");
+        return score instanceof Number ? ((Number) score).doubleValue() : 1.0; // unscored results are kept
+    }
+}
@@ -30,6 +30,7 @@ public class ChatStreamingService {
     private final VectorService vectorService;
     private final PromptSanitizationService sanitizationService;
     private final RateLimitingService rateLimitingService;
+    private final ChatContextBuilder chatContextBuilder;
 
     /**
      * Send a streaming chat message and return Flux of response chunks
@@ -42,14 +43,12 @@ public class ChatStreamingService {
         log.info("📨 [ChatStreamingService] Message: {}", request.getMessage());
 
         // 1. Check rate limiting
-        if (!rateLimitingService.isAllowed(request.getUserId())) {
-            int remainingPerMin = rateLimitingService.getRemainingRequestsPerMinute(request.getUserId());
-            int remainingPerHour = rateLimitingService.getRemainingRequestsPerHour(request.getUserId());
+        RateLimitingService.Decision rateLimit =
+                rateLimitingService.acquire(RateLimitingService.CHAT, request.getUserId());
+        if (!rateLimit.isAllowed()) {
             log.warn("Rate limit exceeded for user {} in streaming mode", request.getUserId());
             return Flux.error(new RateLimitExceededException(
-                    "Too many requests. Please try again later.",
-                    remainingPerMin,
-                    remainingPerHour));
+                    "Too many requests. Please try again later.", rateLimit));
         }
 
         // 2. Sanitize user input
@@ -83,10 +82,7 @@ public class ChatStreamingService {
 
         log.info("📨 [ChatStreamingService] Calling OpenAiGateway.generateStreamingResponseWithHistory...");
         return openAiGateway.generateStreamingResponseWithHistory(messages)
-                .doOnNext(chunk -> {
-                    log.info("📦 [ChatStreamingService] Received chunk from OpenAI: {}", chunk);
-                    fullResponse.append(chunk);
-                })
+                .doOnNext(fullResponse::append)
                 .doOnComplete(() -> {
                     // Save bot message when stream completes
                     saveBotMessage(session, fullResponse.toString());
@@ -96,6 +92,14 @@ public class ChatStreamingService {
                 .doOnError(error -> {
                     log.error("❌ [ChatStreamingService] Streaming failed: {}", error.getMessage(), error);
                     saveBotMessage(session, "Xin lỗi, đã có lỗi xảy ra khi xử lý yêu cầu của bạn.");
+                })
+                .doOnCancel(() -> {
+                    // Client went away; the OpenAI request is cancelled with this subscription.
+                    // Keep what was generated so the session history stays consistent
+                    log.info("⏹️ [ChatStreamingService] Stream cancelled after {} chars", fullResponse.length());
+                    if (fullResponse.length() > 0) {
+                        saveBotMessage(session, fullResponse.toString());
+                    }
                 });
     }
 
@@ -125,34 +129,19 @@ public class ChatStreamingService {
     }
 
     /**
-     * Build message history with embedding context for ADVISOR mode
+     * Build message history with embedding context for ADVISOR mode, within
+     * the chatbot.context token budget (see {@link ChatContextBuilder})
      */
-    @SuppressWarnings("unchecked")
     private List<Map<String, String>> buildMessageHistoryWithContext(ChatSession session, ChatMessageRequest request,
             String sanitizedMessage) {
-        List<Map<String, String>> messages = new ArrayList<>();
-
         // Build system prompt with context based on mode
         String systemPrompt = buildSystemPromptWithContext(request, sanitizedMessage);
-        messages.add(Map.of("role", "system", "content", systemPrompt));
-
-        // Get recent conversation history (last 10 messages)
-        List<ChatMessage> recentMessages = chatMessageRepository
-                .findTop10BySessionOrderByTimestampDesc(session);
-        Collections.reverse(recentMessages); // Order from oldest to newest
-
-        for (ChatMessage msg : recentMessages) {
-            String role = msg.getSender() == ChatSender.USER ? "user" : "assistant";
-            messages.add(Map.of("role", role, "content", msg.getContent()));
-        }
-
-        return messages;
+        return chatContextBuilder.buildMessages(session, systemPrompt);
     }
 
     /**
      * Build system prompt with embedding context for course recommendations
      */
-    @SuppressWarnings("unchecked")
     private String buildSystemPromptWithContext(ChatMessageRequest request, String sanitizedMessage) {
         StringBuilder prompt = new StringBuilder();
 
@@ -177,24 +166,13 @@ public class ChatStreamingService {
                 relevantCourses = List.of();
             }
 
-            if (relevantCourses != null && !relevantCourses.isEmpty()) {
+            // Most relevant courses first, within the snippet token budget
+            List<String> snippets = chatContextBuilder.selectSnippets(relevantCourses, this::renderCourse);
+            if (!snippets.isEmpty()) {
                 prompt.append("=== CÁC KHÓA HỌC LIÊN QUAN TỪ DATABASE ===\n\n");
                 int count = 0;
-                for (Map<String, Object> course : relevantCourses) {
-                    Map<String, Object> payload = (Map<String, Object>) course.get("payload");
-                    if (payload != null) {
-                        // Sanitize database content
-                        String title = sanitizeDbContent(String.valueOf(payload.get("title")));
-                        String description = sanitizeDbContent(String.valueOf(payload.get("description")));
-                        String level = sanitizeDbContent(String.valueOf(payload.get("level")));
-                        Object courseId = payload.get("id");
-
-                        prompt.append(String.format("**%d. %s**\n", ++count, title));
-                        prompt.append("   - Mô tả: ").append(description).append("\n");
-                        prompt.append("   - Trình độ: ").append(level).append("\n");
-                        prompt.append("   - Course ID: ").append(courseId).append("\n");
-                        prompt.append("   - 🔗 Link: [Xem khóa học](/courses/").append(courseId).append(")\n\n");
-                    }
+                for (String snippet : snippets) {
+                    prompt.append(String.format("**%d. ", ++count)).append(snippet);
                 }
                 prompt.append("==========================================\n\n");
                 prompt.append("Hãy gợi ý các khóa học phù hợp từ danh sách trên dựa trên câu hỏi của người dùng.\n");
@@ -214,6 +192,28 @@ public class ChatStreamingService {
         return prompt.toString();
     }
 
+    /**
+     * One course of the ADVISOR prompt, without its list number
+     */
+    @SuppressWarnings("unchecked")
+    private String renderCourse(Map<String, Object> course) {
+        Map<String, Object> payload = (Map<String, Object>) course.get("payload");
+        if (payload == null) {
+            return null;
+        }
+        // Sanitize database content
+        String title = sanitizeDbContent(String.valueOf(payload.get("title")));
+        String description = sanitizeDbContent(String.valueOf(payload.get("description")));
+        String level = sanitizeDbContent(String.valueOf(payload.get("level")));
+        Object courseId = payload.get("id");
+
+        return title + "**\n"
+                + "   - Mô tả: " + description + "\n"
+                + "   - Trình độ: " + level + "\n"
+                + "   - Course ID: " + courseId + "\n"
+                + "   - 🔗 Link: [Xem khóa học](/courses/" + courseId + ")\n\n";
+    }
+
     /**
      * Sanitize database content to prevent indirect prompt injection
      */
@@ -0,0 +1,140 @@
+package com.techhub.app.aiservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techhub.app.aiservice.config.ChatbotProperties;
+import com.techhub.app.aiservice.entity.EmbeddingCacheEntry;
+import com.techhub.app.aiservice.repository.EmbeddingCacheRepository;
+import com.techhub.app.aiservice.util.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of embedding vectors keyed by (model id, SHA-256 of normalized text).
+ * Local tier: size-bounded Caffeine LRU per instance.
+ * Persistent tier: ai_embedding_cache table, vectors as float32 blobs.
+ * Embeddings are deterministic per model and text, so entries never need
+ * invalidation; changing the model id changes every key.
+ * Returned arrays are shared with the cache and must not be modified.
+ */
+@Service
+@Slf4j
+public class EmbeddingCacheService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final EmbeddingCacheRepository embeddingCacheRepository;
+    private final boolean enabled;
+    private final boolean persistent;
+    private final Cache<String, float[]> localCache;
+
+    public EmbeddingCacheService(EmbeddingCacheRepository embeddingCacheRepository,
+            ChatbotProperties chatbotProperties) {
+        ChatbotProperties.Cache config = chatbotProperties.getEmbedding().getCache();
+        this.embeddingCacheRepository = embeddingCacheRepository;
+        this.enabled = config.isEnabled();
+        this.persistent = config.isPersistent();
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(config.getLocalMaxSize())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cache key for a text under a model. Whitespace differences and Unicode
+     * composition do not change the key.
+     */
+    public String cacheKey(String modelId, String text) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC))
+                .replaceAll(" ")
+                .trim();
+        return modelId + ":" + Hashing.sha256Hex(normalized);
+    }
+
+    /**
+     * Look up vectors for the given keys, local tier first, then Postgres
+     * with one query for all local misses.
+     *
+     * @return the vectors found, by key; keys not cached are absent
+     */
+    public Map<String, float[]> getAll(Collection<String> keys) {
+        Map<String, float[]> found = new HashMap<>();
+        if (!enabled || keys.isEmpty()) {
+            return found;
+        }
+
+        List<String> misses = new ArrayList<>();
+        for (String key : keys) {
+            float[] vector = localCache.getIfPresent(key);
+            if (vector != null) {
+                found.put(key, vector);
+            } else {
+                misses.add(key);
+            }
+        }
+
+        if (persistent && !misses.isEmpty()) {
+            try {
+                for (EmbeddingCacheEntry entry : embeddingCacheRepository.findAllById(misses)) {
+                    float[] vector = decode(entry.getVector());
+                    localCache.put(entry.getCacheKey(), vector);
+                    found.put(entry.getCacheKey(), vector);
+                }
+            } catch (Exception e) {
+                log.warn("Embedding cache lookup failed, treating {} keys as misses: {}", misses.size(),
+                        e.getMessage());
+            }
+        }
+
+        log.debug("Embedding cache: {} of {} keys found", found.size(), keys.size());
+        return found;
+    }
+
+    /**
+     * Store vectors produced by the embedding API. Fallback (dummy) vectors
+     * must never be passed here. Each row is inserted in its own transaction
+     * so one failure does not discard the rest.
+     */
+    public void putAll(String modelId, Map<String, float[]> vectors) {
+        if (!enabled || vectors.isEmpty()) {
+            return;
+        }
+        localCache.putAll(vectors);
+        if (!persistent) {
+            return;
+        }
+        for (Map.Entry<String, float[]> entry : vectors.entrySet()) {
+            try {
+                embeddingCacheRepository.insertIfAbsent(entry.getKey(), modelId, entry.getValue().length,
+                        encode(entry.getValue()));
+            } catch (Exception e) {
+                log.warn("Failed to persist embedding {} to cache: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
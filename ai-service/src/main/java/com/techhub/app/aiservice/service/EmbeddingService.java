@@ -1,13 +1,18 @@
 package com.techhub.app.aiservice.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techhub.app.aiservice.config.ChatbotProperties;
 import com.techhub.app.aiservice.config.OpenAiProperties;
+import com.techhub.app.aiservice.vector.EmbeddingVector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,19 +27,22 @@ public class EmbeddingService {
     private final RestTemplate restTemplate;
     private final OpenAiProperties openAiProperties;
     private final ChatbotProperties chatbotProperties;
+    private final EmbeddingCacheService embeddingCacheService;
+    private final ObjectMapper objectMapper;
 
     private static final int EMBEDDING_DIMENSION = 1536;
 
     /**
-     * Generate embedding vector from text
+     * Generate embedding vector from text, served from the embedding cache
+     * when the same text was embedded before with the same model
      * 
      * @param text Input text to embed
-     * @return List of doubles representing the embedding vector
+     * @return the embedding vector, empty if the text is blank
      */
-    public List<Double> generateEmbedding(String text) {
+    public EmbeddingVector generateEmbedding(String text) {
         if (text == null || text.trim().isEmpty()) {
             log.warn("⚠️ Cannot generate embedding for empty text");
-            return Collections.emptyList();
+            return EmbeddingVector.EMPTY;
         }
 
         if (chatbotProperties.isMockEmbeddings()) {
@@ -42,46 +50,43 @@ public class EmbeddingService {
             return generateDummyEmbedding();
         }
 
-        String url = openAiProperties.getBaseUrl() + "/embeddings";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(getApiKey());
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", chatbotProperties.getEmbedding().getModelId());
-        body.put("input", text);
-
-        try {
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    new HttpEntity<>(body, headers),
-                    Map.class);
-
-            Map<String, Object> responseBody = response.getBody();
-            if (responseBody != null && responseBody.containsKey("data")) {
-                List<Map<String, Object>> data = (List<Map<String, Object>>) responseBody.get("data");
-                if (!data.isEmpty()) {
-                    List<Double> embedding = (List<Double>) data.get(0).get("embedding");
-                    log.debug("✅ Generated embedding with {} dimensions", embedding.size());
-                    return embedding;
-                }
-            }
-
-            log.error("❌ Invalid response from OpenAI Embedding API");
-            return generateDummyEmbedding();
+        String modelId = chatbotProperties.getEmbedding().getModelId();
+        String cacheKey = embeddingCacheService.cacheKey(modelId, text);
+        float[] cached = embeddingCacheService.getAll(List.of(cacheKey)).get(cacheKey);
+        if (cached != null) {
+            log.debug("✅ Embedding cache hit ({} dimensions)", cached.length);
+            return EmbeddingVector.of(cached);
+        }
 
-        } catch (Exception e) {
-            log.error("❌ Failed to generate embedding from OpenAI", e);
+        List<float[]> embeddings = requestEmbeddings(modelId, text);
+        if (embeddings == null || embeddings.isEmpty()) {
             return generateDummyEmbedding();
         }
+        float[] embedding = embeddings.get(0);
+        embeddingCacheService.putAll(modelId, Map.of(cacheKey, embedding));
+        log.debug("✅ Generated embedding with {} dimensions", embedding.length);
+        return EmbeddingVector.of(embedding);
+    }
+
+    /**
+     * Generate embeddings for multiple texts in batch. Cached texts are not
+     * sent to the API, and duplicate texts are embedded once.
+     * Texts the API fails to embed get a dummy vector.
+     */
+    public List<EmbeddingVector> generateEmbeddingsBatch(List<String> texts) {
+        return embedBatch(texts, true);
     }
 
     /**
-     * Generate embeddings for multiple texts in batch
+     * Same as {@link #generateEmbeddingsBatch(List)}, but API failures are
+     * thrown instead of replaced by dummy vectors, so the caller can back
+     * off and retry (e.g. on HTTP 429) rather than index fallback vectors.
      */
-    public List<List<Double>> generateEmbeddingsBatch(List<String> texts) {
+    public List<EmbeddingVector> generateEmbeddingsBatchOrThrow(List<String> texts) {
+        return embedBatch(texts, false);
+    }
+
+    private List<EmbeddingVector> embedBatch(List<String> texts, boolean fallback) {
         if (texts == null || texts.isEmpty()) {
             return Collections.emptyList();
         }
@@ -93,40 +98,147 @@ public class EmbeddingService {
                     .collect(Collectors.toList());
         }
 
-        String url = openAiProperties.getBaseUrl() + "/embeddings";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(getApiKey());
+        String modelId = chatbotProperties.getEmbedding().getModelId();
+        List<String> keys = texts.stream()
+                .map(text -> embeddingCacheService.cacheKey(modelId, text != null ? text : ""))
+                .collect(Collectors.toList());
+        Map<String, float[]> vectors = new HashMap<>(embeddingCacheService.getAll(keys));
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", chatbotProperties.getEmbedding().getModelId());
-        body.put("input", texts);
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            if (!vectors.containsKey(keys.get(i))) {
+                missing.putIfAbsent(keys.get(i), texts.get(i));
+            }
+        }
 
-        try {
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    new HttpEntity<>(body, headers),
-                    Map.class);
-
-            Map<String, Object> responseBody = response.getBody();
-            if (responseBody != null && responseBody.containsKey("data")) {
-                List<Map<String, Object>> data = (List<Map<String, Object>>) responseBody.get("data");
-                List<List<Double>> embeddings = data.stream()
-                        .map(item -> (List<Double>) item.get("embedding"))
-                        .collect(Collectors.toList());
-                log.info("✅ Generated {} embeddings", embeddings.size());
-                return embeddings;
+        if (!missing.isEmpty()) {
+            List<String> inputs = new ArrayList<>(missing.values());
+            List<float[]> embeddings = fallback ? requestEmbeddings(modelId, inputs) : callEmbeddingApi(modelId, inputs);
+            if (!fallback && embeddings.size() != missing.size()) {
+                throw new IllegalStateException("OpenAI returned " + embeddings.size() + " embeddings for "
+                        + missing.size() + " inputs");
             }
+            if (embeddings != null && embeddings.size() == missing.size()) {
+                Map<String, float[]> generated = new HashMap<>();
+                int index = 0;
+                for (String key : missing.keySet()) {
+                    generated.put(key, embeddings.get(index++));
+                }
+                embeddingCacheService.putAll(modelId, generated);
+                vectors.putAll(generated);
+            } else if (embeddings != null) {
+                log.error("❌ OpenAI returned {} embeddings for {} inputs", embeddings.size(), missing.size());
+            }
+        }
 
-            log.error("❌ Invalid response from OpenAI Embedding API");
-            return texts.stream().map(t -> generateDummyEmbedding()).collect(Collectors.toList());
+        log.info("✅ Generated {} embeddings ({} from cache, {} requested)", texts.size(),
+                texts.size() - missing.size(), missing.size());
+        return keys.stream()
+                .map(key -> {
+                    float[] vector = vectors.get(key);
+                    return vector != null ? EmbeddingVector.of(vector) : generateDummyEmbedding();
+                })
+                .collect(Collectors.toList());
+    }
 
+    /**
+     * Call the OpenAI embeddings endpoint, logging and swallowing failures.
+     *
+     * @param input a single text or a list of texts
+     * @return embeddings in input order, or null if the call failed
+     */
+    private List<float[]> requestEmbeddings(String modelId, Object input) {
+        try {
+            return callEmbeddingApi(modelId, input);
         } catch (Exception e) {
-            log.error("❌ Failed to generate batch embeddings from OpenAI", e);
-            return texts.stream().map(t -> generateDummyEmbedding()).collect(Collectors.toList());
+            log.error("❌ Failed to generate embeddings from OpenAI", e);
+            return null;
+        }
+    }
+
+    /**
+     * Call the OpenAI embeddings endpoint. The response is read with a
+     * streaming parser straight into float arrays, so the intermediate
+     * Map/List<Double> tree is never built.
+     *
+     * @param input a single text or a list of texts
+     * @return embeddings in input order
+     * @throws org.springframework.web.client.RestClientException if the call fails
+     * @throws IllegalStateException if the response has no embeddings
+     */
+    private List<float[]> callEmbeddingApi(String modelId, Object input) {
+        String url = openAiProperties.getBaseUrl() + "/embeddings";
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", modelId);
+        body.put("input", input);
+
+        List<float[]> embeddings = restTemplate.execute(url, HttpMethod.POST,
+                request -> {
+                    request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    request.getHeaders().setBearerAuth(getApiKey());
+                    objectMapper.writeValue(request.getBody(), body);
+                },
+                response -> {
+                    try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                        return readEmbeddings(parser);
+                    }
+                });
+
+        if (embeddings == null || embeddings.isEmpty()) {
+            throw new IllegalStateException("Invalid response from OpenAI Embedding API");
+        }
+        return embeddings;
+    }
+
+    /**
+     * Read the "data" array of an embeddings response, ordered by each
+     * item's "index". Other fields are skipped without being materialized.
+     */
+    static List<float[]> readEmbeddings(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        SortedMap<Integer, float[]> byIndex = new TreeMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (!"data".equals(field) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int index = byIndex.size();
+                float[] embedding = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    JsonToken token = parser.nextToken();
+                    if ("index".equals(name) && token == JsonToken.VALUE_NUMBER_INT) {
+                        index = parser.getIntValue();
+                    } else if ("embedding".equals(name) && token == JsonToken.START_ARRAY) {
+                        embedding = readFloatArray(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (embedding != null) {
+                    byIndex.put(index, embedding);
+                }
+            }
+        }
+        return new ArrayList<>(byIndex.values());
+    }
+
+    private static float[] readFloatArray(JsonParser parser) throws IOException {
+        float[] values = new float[EMBEDDING_DIMENSION];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parser.getFloatValue();
         }
+        return size == values.length ? values : Arrays.copyOf(values, size);
     }
 
     /**
@@ -179,12 +291,12 @@ public class EmbeddingService {
     /**
      * Generate dummy embedding for testing when OpenAI is disabled
      */
-    private List<Double> generateDummyEmbedding() {
+    private EmbeddingVector generateDummyEmbedding() {
         Random random = new Random();
-        List<Double> dummy = new ArrayList<>(EMBEDDING_DIMENSION);
+        float[] dummy = new float[EMBEDDING_DIMENSION];
         for (int i = 0; i < EMBEDDING_DIMENSION; i++) {
-            dummy.add(random.nextDouble() * 2 - 1); // Random values between -1 and 1
+            dummy[i] = random.nextFloat() * 2 - 1; // Random values between -1 and 1
         }
-        return dummy;
+        return EmbeddingVector.of(dummy);
     }
 }
@@ -69,6 +69,43 @@ public class OpenAiGateway {
         }
     }
 
+    /**
+     * Plain text completion (blocking), e.g. for conversation summaries
+     *
+     * @return the generated text, or null if the call failed
+     */
+    public String generateText(String systemPrompt, String prompt, int maxTokens) {
+        if (chatbotProperties.isMockEmbeddings()) {
+            log.info("🧠 Mock mode enabled, returning stubbed text");
+            return prompt.length() > maxTokens ? prompt.substring(prompt.length() - maxTokens) : prompt;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(openAiProperties.getApiKey());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", openAiProperties.getChat().getModel());
+        body.put("messages", List.of(
+                Map.of("role", "system", "content", systemPrompt),
+                Map.of("role", "user", "content", prompt)));
+        body.put("temperature", 0.2);
+        body.put("max_tokens", maxTokens);
+
+        try {
+            ResponseEntity<JsonNode> response = restTemplate.postForEntity(
+                    openAiProperties.getBaseUrl() + "/chat/completions",
+                    new HttpEntity<>(body, headers),
+                    JsonNode.class);
+            JsonNode content = response.getBody() == null ? null
+                    : response.getBody().path("choices").path(0).path("message").path("content");
+            return content != null && content.isTextual() ? content.asText() : null;
+        } catch (Exception ex) {
+            log.error("Failed to call OpenAI: {}", ex.getMessage(), ex);
+            return null;
+        }
+    }
+
     /**
      * Generate streaming response from OpenAI (reactive - new method)
      * Returns a Flux of text chunks as they arrive from OpenAI
@@ -157,13 +194,10 @@ public class OpenAiGateway {
                 .bodyToFlux(String.class)
                 .doOnNext(rawLine -> log.debug("🧠 [OpenAiGateway] Raw line from OpenAI: {}", rawLine))
                 .filter(line -> !line.isBlank() && !line.equals("[DONE]"))
-                .map(chunk -> {
-                    String content = extractContentFromStreamChunk(chunk);
-                    log.info("🧠 [OpenAiGateway] Extracted content: {}", content);
-                    return content;
-                })
+                .map(this::extractContentFromStreamChunk)
                 .filter(content -> content != null && !content.isEmpty())
                 .doOnComplete(() -> log.info("🧠 [OpenAiGateway] ===== OPENAI STREAM COMPLETED ====="))
+                .doOnCancel(() -> log.debug("🧠 [OpenAiGateway] OpenAI stream cancelled"))
                 .doOnError(error -> log.error("🧠 [OpenAiGateway] Streaming error: {}", error.getMessage(), error))
                 .onErrorResume(error -> Flux.just("[ERROR] " + error.getMessage()));
     }
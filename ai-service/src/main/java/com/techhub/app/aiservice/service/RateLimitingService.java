@@ -1,157 +1,357 @@
 package com.techhub.app.aiservice.service;
 
+import com.techhub.app.aiservice.config.AiSecurityProperties;
+import com.techhub.app.aiservice.exception.RateLimitExceededException;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Service for rate limiting AI requests to prevent abuse
- * Uses in-memory cache with sliding window algorithm
+ * Service for rate limiting AI requests to prevent abuse.
+ *
+ * Uses GCRA, an exact token bucket that keeps one timestamp per limit (the
+ * theoretical arrival time) instead of a counter and a refill clock. Limits
+ * are configured per endpoint and per tier (user role); a request has to pass
+ * every limit of its tier, e.g. 20/minute and 100/hour.
+ *
+ * Buckets live in this JVM by default, an O(1) check per limit. With
+ * redis-enabled they live in Redis and are checked and updated by one Lua
+ * script, so all replicas share them; a key Redis denied is then denied
+ * locally until its retry time without another round trip. If Redis fails,
+ * the local buckets are used.
+ *
+ * Responses carry X-RateLimit-Limit / -Remaining / -Reset (seconds until the
+ * bucket is full again) for the tightest limit, plus Retry-After when denied.
  */
 @Service
 @Slf4j
 public class RateLimitingService {
 
-    // Store request timestamps per user
-    private final Map<UUID, RequestWindow> userRequestWindows = new ConcurrentHashMap<>();
+    public static final String CHAT = "chat";
+    public static final String GENERATION = "generation";
 
-    // Configuration
-    private static final int MAX_REQUESTS_PER_MINUTE = 20;
-    private static final int MAX_REQUESTS_PER_HOUR = 100;
-    private static final Duration WINDOW_DURATION = Duration.ofMinutes(1);
-    private static final Duration HOURLY_WINDOW_DURATION = Duration.ofHours(1);
+    private static final String DEFAULT_TIER = "default";
+    private static final String REDIS_PREFIX = "ai:ratelimit:";
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String USER_ROLES_HEADER = "X-User-Roles";
 
-    /**
-     * Check if user is allowed to make a request
-     * 
-     * @param userId User ID
-     * @return true if request is allowed, false if rate limit exceeded
-     */
-    public boolean isAllowed(UUID userId) {
-        if (userId == null) {
-            log.warn("Null userId provided for rate limiting check");
-            return false;
-        }
+    private final AiSecurityProperties securityProperties;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final RedisScript<List> script =
+            RedisScript.of(new ClassPathResource("scripts/rate_limit.lua"), List.class);
 
-        RequestWindow window = userRequestWindows.computeIfAbsent(userId, k -> new RequestWindow());
+    // Local buckets: "{endpoint}:{tier}:{subject}" -> theoretical arrival time (ms) per limit
+    private final Map<String, long[]> buckets = new ConcurrentHashMap<>();
+    // Shared mode: denials from Redis, answered locally until they expire
+    private final Map<String, Denial> denials = new ConcurrentHashMap<>();
 
-        Instant now = Instant.now();
+    public RateLimitingService(AiSecurityProperties securityProperties,
+            ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        this.securityProperties = securityProperties;
+        this.redisTemplateProvider = redisTemplateProvider;
+    }
 
-        // Clean up old entries
-        window.cleanupOldRequests(now);
+    /**
+     * Outcome of a check, for the tightest limit of the tier
+     */
+    @Value
+    public static class Decision {
+        boolean allowed;
+        int limit;
+        long remaining;
+        long resetMillis;
+        long retryAfterMillis;
 
-        // Check minute rate limit
-        long requestsInLastMinute = window.countRequestsInWindow(now, WINDOW_DURATION);
-        if (requestsInLastMinute >= MAX_REQUESTS_PER_MINUTE) {
-            log.warn("User {} exceeded per-minute rate limit: {}/{}", userId, requestsInLastMinute,
-                    MAX_REQUESTS_PER_MINUTE);
-            return false;
+        public long resetSeconds() {
+            return (resetMillis + 999) / 1000;
         }
 
-        // Check hourly rate limit
-        long requestsInLastHour = window.countRequestsInWindow(now, HOURLY_WINDOW_DURATION);
-        if (requestsInLastHour >= MAX_REQUESTS_PER_HOUR) {
-            log.warn("User {} exceeded per-hour rate limit: {}/{}", userId, requestsInLastHour, MAX_REQUESTS_PER_HOUR);
-            return false;
+        public long retryAfterSeconds() {
+            return (retryAfterMillis + 999) / 1000;
         }
+    }
 
-        // Record this request
-        window.addRequest(now);
-
-        log.debug("Rate limit check passed for user {}: {}/min, {}/hour",
-                userId, requestsInLastMinute + 1, requestsInLastHour + 1);
-
-        return true;
+    @Value
+    private static class Denial {
+        long until;
+        Decision decision;
     }
 
     /**
-     * Get remaining requests for user in current minute
+     * Take one request from the user's bucket for {@code endpoint} and set
+     * the rate limit headers on the current response
+     *
+     * @param userId the user, or null to use the X-User-Id header
      */
-    public int getRemainingRequestsPerMinute(UUID userId) {
-        if (userId == null) {
-            return 0;
+    public Decision acquire(String endpoint, UUID userId) {
+        AiSecurityProperties.RateLimit config = securityProperties.getRateLimit();
+        if (!config.isEnabled()) {
+            return new Decision(true, 0, Long.MAX_VALUE, 0, 0);
         }
 
-        RequestWindow window = userRequestWindows.get(userId);
-        if (window == null) {
-            return MAX_REQUESTS_PER_MINUTE;
-        }
+        HttpServletRequest request = currentRequest();
+        String tier = resolveTier(endpoint, request);
+        List<AiSecurityProperties.Limit> limits = limitsFor(endpoint, tier);
+        String key = endpoint + ":" + tier + ":" + subject(userId, request);
 
-        Instant now = Instant.now();
-        long used = window.countRequestsInWindow(now, WINDOW_DURATION);
-        return Math.max(0, MAX_REQUESTS_PER_MINUTE - (int) used);
+        Decision decision = config.isRedisEnabled() ? acquireShared(key, limits) : acquireLocal(key, limits);
+        if (decision.isAllowed()) {
+            log.debug("Rate limit check passed for {}: {}/{} remaining", key, decision.getRemaining(),
+                    decision.getLimit());
+        } else {
+            log.warn("Rate limit exceeded for {}, retry in {} ms", key, decision.getRetryAfterMillis());
+        }
+        writeHeaders(decision);
+        return decision;
     }
 
     /**
-     * Get remaining requests for user in current hour
+     * Like {@link #acquire}, throwing when the request is not allowed
+     *
+     * @throws RateLimitExceededException if the limit is exceeded
      */
-    public int getRemainingRequestsPerHour(UUID userId) {
-        if (userId == null) {
-            return 0;
-        }
-
-        RequestWindow window = userRequestWindows.get(userId);
-        if (window == null) {
-            return MAX_REQUESTS_PER_HOUR;
+    public void check(String endpoint, UUID userId) {
+        Decision decision = acquire(endpoint, userId);
+        if (!decision.isAllowed()) {
+            throw new RateLimitExceededException("Too many requests. Please try again later.", decision);
         }
-
-        Instant now = Instant.now();
-        long used = window.countRequestsInWindow(now, HOURLY_WINDOW_DURATION);
-        return Math.max(0, MAX_REQUESTS_PER_HOUR - (int) used);
     }
 
     /**
      * Reset rate limit for a specific user (admin function)
      */
     public void resetUserLimit(UUID userId) {
-        userRequestWindows.remove(userId);
+        String suffix = ":" + userId;
+        buckets.keySet().removeIf(key -> key.endsWith(suffix));
+        denials.keySet().removeIf(key -> key.endsWith(suffix));
+
+        StringRedisTemplate redisTemplate = securityProperties.getRateLimit().isRedisEnabled()
+                ? redisTemplateProvider.getIfAvailable() : null;
+        if (redisTemplate != null) {
+            List<String> keys = new ArrayList<>();
+            securityProperties.getRateLimit().getEndpoints().forEach((endpoint, tiers) -> {
+                keys.add(REDIS_PREFIX + endpoint + ":" + DEFAULT_TIER + suffix);
+                tiers.keySet().forEach(tier -> keys.add(REDIS_PREFIX + endpoint + ":" + tier + suffix));
+            });
+            try {
+                redisTemplate.delete(keys);
+            } catch (Exception e) {
+                log.warn("Failed to reset shared rate limit for user {}: {}", userId, e.getMessage());
+            }
+        }
         log.info("Rate limit reset for user {}", userId);
     }
 
     /**
-     * Clean up old entries periodically (should be called by scheduled task)
+     * Drop local buckets that are full again (should be called by scheduled task)
      */
     public void cleanupOldEntries() {
-        Instant cutoff = Instant.now().minus(HOURLY_WINDOW_DURATION);
-        userRequestWindows.entrySet().removeIf(entry -> {
-            entry.getValue().cleanupOldRequests(cutoff);
-            return entry.getValue().isEmpty();
+        long now = System.currentTimeMillis();
+        buckets.entrySet().removeIf(entry -> {
+            long[] tats = entry.getValue();
+            synchronized (tats) {
+                for (long tat : tats) {
+                    if (tat > now) {
+                        return false;
+                    }
+                }
+                return true;
+            }
         });
-        log.debug("Cleaned up rate limiting cache, remaining users: {}", userRequestWindows.size());
+        denials.values().removeIf(denial -> denial.getUntil() <= now);
+        log.debug("Cleaned up rate limiting cache, remaining buckets: {}", buckets.size());
+    }
+
+    private Decision acquireLocal(String key, List<AiSecurityProperties.Limit> limits) {
+        long[] tats = buckets.compute(key, (k, existing) ->
+                existing != null && existing.length == limits.size() ? existing : new long[limits.size()]);
+        synchronized (tats) {
+            return apply(tats, limits, System.currentTimeMillis());
+        }
+    }
+
+    private Decision acquireShared(String key, List<AiSecurityProperties.Limit> limits) {
+        long now = System.currentTimeMillis();
+        Denial denial = denials.get(key);
+        if (denial != null) {
+            if (now < denial.getUntil()) {
+                Decision denied = denial.getDecision();
+                long elapsed = denied.getRetryAfterMillis() - (denial.getUntil() - now);
+                return new Decision(false, denied.getLimit(), 0,
+                        Math.max(0, denied.getResetMillis() - elapsed), denial.getUntil() - now);
+            }
+            denials.remove(key, denial);
+        }
+
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return acquireLocal(key, limits);
+        }
+        try {
+            List<String> args = new ArrayList<>(1 + limits.size() * 2);
+            args.add(String.valueOf(limits.size()));
+            for (AiSecurityProperties.Limit limit : limits) {
+                args.add(String.valueOf(interval(limit)));
+                args.add(String.valueOf(limit.getPeriod().toMillis()));
+            }
+            List<?> result = redisTemplate.execute(script, Collections.singletonList(REDIS_PREFIX + key),
+                    args.toArray());
+
+            boolean allowed = ((Number) result.get(0)).longValue() == 1;
+            long retryAfter = ((Number) result.get(1)).longValue();
+            long[] remaining = new long[limits.size()];
+            long[] reset = new long[limits.size()];
+            for (int i = 0; i < limits.size(); i++) {
+                remaining[i] = ((Number) result.get(2 + i * 2)).longValue();
+                reset[i] = ((Number) result.get(3 + i * 2)).longValue();
+            }
+            Decision decision = tightest(limits, allowed, retryAfter, remaining, reset);
+            if (!allowed) {
+                denials.put(key, new Denial(now + retryAfter, decision));
+            }
+            return decision;
+        } catch (Exception e) {
+            log.warn("Shared rate limit unavailable for {}, using local bucket: {}", key, e.getMessage());
+            return acquireLocal(key, limits);
+        }
     }
 
     /**
-     * Inner class to track request timestamps for a user
+     * GCRA step over all limits: allowed only if every limit allows it, and
+     * only then are the buckets updated
      */
-    private static class RequestWindow {
-        private final ConcurrentHashMap<Long, Integer> requestCounts = new ConcurrentHashMap<>();
+    static Decision apply(long[] tats, List<AiSecurityProperties.Limit> limits, long now) {
+        boolean allowed = true;
+        long retryAfter = 0;
+        for (int i = 0; i < limits.size(); i++) {
+            long period = limits.get(i).getPeriod().toMillis();
+            long allowAt = Math.max(tats[i], now) + interval(limits.get(i)) - period;
+            if (now < allowAt) {
+                allowed = false;
+                retryAfter = Math.max(retryAfter, allowAt - now);
+            }
+        }
+
+        long[] remaining = new long[limits.size()];
+        long[] reset = new long[limits.size()];
+        for (int i = 0; i < limits.size(); i++) {
+            long interval = interval(limits.get(i));
+            long tat = Math.max(tats[i], now);
+            if (allowed) {
+                tat += interval;
+                tats[i] = tat;
+            }
+            remaining[i] = Math.max(0, (now + limits.get(i).getPeriod().toMillis() - tat) / interval);
+            reset[i] = tat - now;
+        }
+        return tightest(limits, allowed, retryAfter, remaining, reset);
+    }
 
-        public void addRequest(Instant timestamp) {
-            // Store by second for efficient counting
-            long secondKey = timestamp.getEpochSecond();
-            requestCounts.merge(secondKey, 1, Integer::sum);
+    private static Decision tightest(List<AiSecurityProperties.Limit> limits, boolean allowed, long retryAfter,
+            long[] remaining, long[] reset) {
+        int index = 0;
+        for (int i = 1; i < limits.size(); i++) {
+            if (remaining[i] < remaining[index] || (remaining[i] == remaining[index] && reset[i] > reset[index])) {
+                index = i;
+            }
+        }
+        return new Decision(allowed, limits.get(index).getCapacity(), remaining[index], reset[index], retryAfter);
+    }
+
+    private static long interval(AiSecurityProperties.Limit limit) {
+        return Math.max(1, limit.getPeriod().toMillis() / Math.max(1, limit.getCapacity()));
+    }
+
+    /**
+     * First configured tier of the endpoint that matches one of the user's
+     * roles, otherwise "default"
+     */
+    String resolveTier(String endpoint, HttpServletRequest request) {
+        Map<String, List<AiSecurityProperties.Limit>> tiers =
+                securityProperties.getRateLimit().getEndpoints().get(endpoint);
+        String header = request != null ? request.getHeader(USER_ROLES_HEADER) : null;
+        if (tiers == null || header == null || header.isEmpty()) {
+            return DEFAULT_TIER;
+        }
+        Set<String> roles = new HashSet<>();
+        for (String role : header.split(",")) {
+            String trimmed = role.trim();
+            roles.add((trimmed.startsWith("ROLE_") ? trimmed.substring(5) : trimmed).toUpperCase(Locale.ROOT));
+        }
+        for (String tier : tiers.keySet()) {
+            if (!DEFAULT_TIER.equals(tier) && roles.contains(tier.toUpperCase(Locale.ROOT))) {
+                return tier;
+            }
         }
+        return DEFAULT_TIER;
+    }
 
-        public long countRequestsInWindow(Instant now, Duration window) {
-            long cutoffSecond = now.minus(window).getEpochSecond();
-            return requestCounts.entrySet().stream()
-                    .filter(entry -> entry.getKey() >= cutoffSecond)
-                    .mapToLong(Map.Entry::getValue)
-                    .sum();
+    private List<AiSecurityProperties.Limit> limitsFor(String endpoint, String tier) {
+        AiSecurityProperties.RateLimit config = securityProperties.getRateLimit();
+        Map<String, List<AiSecurityProperties.Limit>> tiers = config.getEndpoints().get(endpoint);
+        List<AiSecurityProperties.Limit> limits = tiers != null ? tiers.getOrDefault(tier, tiers.get(DEFAULT_TIER))
+                : null;
+        if (limits != null && !limits.isEmpty()) {
+            return limits;
         }
 
-        public void cleanupOldRequests(Instant cutoff) {
-            long cutoffSecond = cutoff.getEpochSecond();
-            requestCounts.entrySet().removeIf(entry -> entry.getKey() < cutoffSecond);
+        AiSecurityProperties.Limit perMinute = new AiSecurityProperties.Limit();
+        perMinute.setCapacity(config.getMaxRequestsPerMinute());
+        perMinute.setPeriod(Duration.ofMinutes(1));
+        AiSecurityProperties.Limit perHour = new AiSecurityProperties.Limit();
+        perHour.setCapacity(config.getMaxRequestsPerHour());
+        perHour.setPeriod(Duration.ofHours(1));
+        return Arrays.asList(perMinute, perHour);
+    }
+
+    private static String subject(UUID userId, HttpServletRequest request) {
+        if (userId != null) {
+            return userId.toString();
         }
+        if (request != null) {
+            String header = request.getHeader(USER_ID_HEADER);
+            if (header != null && !header.isEmpty()) {
+                return header;
+            }
+            return request.getRemoteAddr();
+        }
+        return "anonymous";
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) attributes).getRequest() : null;
+    }
 
-        public boolean isEmpty() {
-            return requestCounts.isEmpty();
+    private static void writeHeaders(Decision decision) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return;
+        }
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.getLimit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        if (!decision.isAllowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
         }
     }
 }
@@ -0,0 +1,239 @@
+package com.techhub.app.aiservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techhub.app.aiservice.entity.Recommendation;
+import com.techhub.app.aiservice.repository.RecommendationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a precomputed recommendation list per user in the recommendations
+ * table, so the dashboard is served with one indexed read.
+ *
+ * Users are marked stale when their enrollments change; a scheduled drain
+ * refreshes stale users in batch from stored vectors (see
+ * {@link VectorService#getRecommendationsForUsers}), plus users whose list
+ * is older than max-age so catalog changes are picked up. LLM re-ranking of
+ * the vector candidates is optional and happens here, never on a request.
+ *
+ * Each refresh updates the user's newest materialized row in place;
+ * generated_at is the watermark of when the list was computed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationMaterializer {
+
+    private final VectorService vectorService;
+    private final RecommendationRepository recommendationRepository;
+    private final OpenAiGateway openAiGateway;
+    private final ObjectMapper objectMapper;
+
+    private final Set<UUID> staleUsers = ConcurrentHashMap.newKeySet();
+
+    @Value("${ai.recommendations.materialize.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.recommendations.materialize.limit:20}")
+    private int limit;
+
+    @Value("${ai.recommendations.materialize.batch-size:200}")
+    private int batchSize;
+
+    @Value("${ai.recommendations.materialize.max-age:24h}")
+    private Duration maxAge;
+
+    @Value("${ai.recommendations.materialize.llm-rerank:false}")
+    private boolean llmRerank;
+
+    /**
+     * Queue a user for refresh on the next drain (e.g. after an enrollment
+     * or profile change). Repeated calls before the drain coalesce.
+     */
+    public void markStale(UUID userId) {
+        if (userId != null) {
+            staleUsers.add(userId);
+        }
+    }
+
+    /**
+     * Refresh queued users, then users with expired lists, up to batch-size
+     * per run (every 30 seconds by default)
+     */
+    @Scheduled(fixedDelayString = "${ai.recommendations.materialize.interval-ms:30000}")
+    public void refreshStale() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<UUID> users = new ArrayList<>();
+            Iterator<UUID> queued = staleUsers.iterator();
+            while (queued.hasNext() && users.size() < batchSize) {
+                users.add(queued.next());
+                queued.remove();
+            }
+            if (users.size() < batchSize) {
+                for (UUID userId : recommendationRepository.findUserIdsGeneratedBefore(
+                        OffsetDateTime.now().minus(maxAge), PageRequest.of(0, batchSize - users.size()))) {
+                    if (!users.contains(userId)) {
+                        users.add(userId);
+                    }
+                }
+            }
+            if (!users.isEmpty()) {
+                refresh(users);
+            }
+        } catch (Exception e) {
+            log.error("Error during recommendation materialization", e);
+        }
+    }
+
+    /**
+     * Vector-only list for a user with nothing materialized yet, served
+     * right away without re-ranking; the user is queued so the next drain
+     * stores (and, if enabled, re-ranks) it
+     */
+    public List<Map<String, Object>> candidatesFor(UUID userId) {
+        markStale(userId);
+        return toCourseSummaries(vectorService.getRecommendationsForUser(userId, limit));
+    }
+
+    /**
+     * Recompute and store recommendations for the given users. Users missing
+     * from the vector results (Qdrant or database failure) keep their
+     * current row and are queued again.
+     *
+     * @return the stored row per refreshed user
+     */
+    public Map<UUID, Recommendation> refresh(Collection<UUID> userIds) {
+        Map<UUID, List<Map<String, Object>>> results = vectorService.getRecommendationsForUsers(
+                userIds, limit, Collections.emptyList());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID userId : userIds) {
+            if (!results.containsKey(userId)) {
+                missing.add(userId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            missing.forEach(this::markStale);
+            log.warn("⚠️ No vector results for {} of {} users, keeping their recommendations",
+                    missing.size(), userIds.size());
+        }
+        if (results.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<UUID, Recommendation> latest = new HashMap<>();
+        for (Recommendation row : recommendationRepository.findByUserIdIn(results.keySet())) {
+            if (!(row.getRecommendedCourses() instanceof List)) {
+                continue; // LLM output of a scheduled run, kept as is
+            }
+            Recommendation current = latest.get(row.getUserId());
+            if (current == null || isNewer(row, current)) {
+                latest.put(row.getUserId(), row);
+            }
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Recommendation> rows = new ArrayList<>(results.size());
+        for (Map.Entry<UUID, List<Map<String, Object>>> result : results.entrySet()) {
+            UUID userId = result.getKey();
+            List<Map<String, Object>> courses = toCourseSummaries(result.getValue());
+            if (llmRerank && courses.size() > 1) {
+                courses = rerank(userId, courses);
+            }
+
+            Recommendation row = latest.get(userId);
+            if (row == null) {
+                row = new Recommendation();
+                row.setUserId(userId);
+            }
+            row.setRecommendedCourses(courses);
+            row.setRecommendedPaths(Collections.emptyList());
+            row.setGeneratedAt(now);
+            rows.add(row);
+        }
+
+        Map<UUID, Recommendation> stored = new LinkedHashMap<>();
+        for (Recommendation row : recommendationRepository.saveAll(rows)) {
+            stored.put(row.getUserId(), row);
+        }
+        log.info("📌 Materialized recommendations for {} users{}", stored.size(), llmRerank ? " (LLM re-ranked)" : "");
+        return stored;
+    }
+
+    /**
+     * Compact course list from Qdrant results (payload fields plus score)
+     */
+    public static List<Map<String, Object>> toCourseSummaries(List<Map<String, Object>> results) {
+        List<Map<String, Object>> courses = new ArrayList<>(results.size());
+        for (Map<String, Object> result : results) {
+            Map<String, Object> payload = (Map<String, Object>) result.get("payload");
+            if (payload == null) {
+                continue;
+            }
+            Map<String, Object> course = new LinkedHashMap<>();
+            course.put("course_id", String.valueOf(result.get("id")));
+            course.put("title", payload.get("title"));
+            course.put("description", payload.get("description"));
+            course.put("level", payload.get("level"));
+            course.put("language", payload.get("language"));
+            course.put("score", result.get("score"));
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    /**
+     * Ask the LLM to order the vector candidates. Only the order changes;
+     * on any failure the vector order is kept.
+     */
+    private List<Map<String, Object>> rerank(UUID userId, List<Map<String, Object>> courses) {
+        StringJoiner prompt = new StringJoiner("\n");
+        prompt.add("Sắp xếp các khóa học sau theo mức độ phù hợp với người học (phù hợp nhất trước).");
+        prompt.add("Chỉ trả về JSON dạng {\"ranked_course_ids\": [\"...\"]}, dùng đúng các ID bên dưới.");
+        prompt.add("");
+        for (Map<String, Object> course : courses) {
+            prompt.add("- ID: " + course.get("course_id") + " | " + course.get("title")
+                    + " | Level: " + course.get("level"));
+        }
+
+        try {
+            Object response = openAiGateway.generateStructuredJson(prompt.toString(), Map.of("userId", userId));
+            JsonNode content = objectMapper.readTree(objectMapper.valueToTree(response)
+                    .path("choices").path(0).path("message").path("content").asText());
+
+            Map<String, Map<String, Object>> byId = new LinkedHashMap<>();
+            courses.forEach(course -> byId.put(String.valueOf(course.get("course_id")), course));
+            List<Map<String, Object>> ranked = new ArrayList<>(courses.size());
+            for (JsonNode id : content.path("ranked_course_ids")) {
+                Map<String, Object> course = byId.remove(id.asText());
+                if (course != null) {
+                    ranked.add(course);
+                }
+            }
+            ranked.addAll(byId.values());
+            return ranked;
+        } catch (Exception e) {
+            log.warn("⚠️ LLM re-ranking failed for user {}, keeping vector order: {}", userId, e.getMessage());
+            return courses;
+        }
+    }
+
+    private static boolean isNewer(Recommendation row, Recommendation current) {
+        if (row.getGeneratedAt() == null) {
+            return false;
+        }
+        return current.getGeneratedAt() == null || row.getGeneratedAt().isAfter(current.getGeneratedAt());
+    }
+}
@@ -2,6 +2,8 @@ package com.techhub.app.aiservice.service;
 
 import com.techhub.app.aiservice.client.QdrantClient;
 import com.techhub.app.aiservice.config.QdrantProperties;
+import com.techhub.app.aiservice.vector.BlueGreenReindexer;
+import com.techhub.app.aiservice.vector.EmbeddingVector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -22,32 +24,53 @@ public class VectorIndexingService {
     private final VectorService vectorService;
     private final QdrantProperties qdrantProperties;
     private final QdrantClient qdrantClient;
-    private final EmbeddingService embeddingService;
+    private final BlueGreenReindexer blueGreenReindexer;
 
     /**
      * Reindex all existing courses from PostgreSQL into Qdrant
-     * This method CLEARS the collection first to remove stale/orphaned embeddings
+     * Builds a fresh collection behind the course alias and switches to it only
+     * once it is complete, so course search keeps working during the reindex
      */
     public int reindexAllCourses() {
         log.info("📊 Starting full course reindexing...");
-        
-        // Step 1: Clear the collection to remove stale embeddings
-        log.info("🗑️ Clearing course embeddings collection to remove stale data...");
-        try {
-            int dimension = embeddingService.getEmbeddingDimension();
-            qdrantClient.clearCollection(qdrantProperties.getRecommendationCollection(), dimension);
-            log.info("✅ Collection cleared successfully");
-        } catch (Exception e) {
-            log.error("❌ Failed to clear collection, continuing with upsert only...", e);
+
+        BlueGreenReindexer.Result result = blueGreenReindexer.rebuild(BlueGreenReindexer.Source.builder()
+                .alias(qdrantProperties.getRecommendationCollection())
+                .rows(this::loadPublishedCourses)
+                .pointId(course -> course.get("id").toString())
+                .text(vectorService::buildCourseText)
+                .point(vectorService::buildCoursePoint)
+                .build());
+
+        if (!result.isSwitched()) {
+            throw new IllegalStateException("Course reindex incomplete (" + result.getPoints() + "/"
+                    + result.getRows() + " indexed); run it again to resume");
         }
 
-        // Step 2: Fetch all published courses from database
-        log.info("📊 Fetching all published courses from database...");
+        log.info("🎉 Reindexing completed: {} courses indexed ({} embedded this run)",
+                result.getPoints(), result.getEmbedded());
+        return (int) result.getPoints();
+    }
 
+    private List<Map<String, Object>> loadPublishedCourses() {
+        List<Map<String, Object>> courses = queryPublishedCourses(false);
+        log.info("📦 Found {} published courses", courses.size());
+        return courses;
+    }
+
+    /**
+     * Published courses never synced, or updated since they were last synced
+     * (see ai_vector_sync_state)
+     */
+    List<Map<String, Object>> loadChangedCourses() {
+        return queryPublishedCourses(true);
+    }
+
+    private List<Map<String, Object>> queryPublishedCourses(boolean changedOnly) {
         // Query courses with tags and skills aggregated as JSON arrays
         String sql = "SELECT " +
                 "c.id, c.title, c.description, c.objectives, c.requirements, " +
-                "c.level, c.language, c.instructor_id, c.status, " +
+                "c.level, c.language, c.instructor_id, c.status, c.updated, " +
                 "COALESCE(json_agg(DISTINCT t.name) FILTER (WHERE t.name IS NOT NULL), '[]'::json) as tags, " +
                 "COALESCE(json_agg(DISTINCT s.name) FILTER (WHERE s.name IS NOT NULL), '[]'::json) as skills " +
                 "FROM courses c " +
@@ -55,179 +78,102 @@ public class VectorIndexingService {
                 "LEFT JOIN tags t ON ct.tag_id = t.id AND t.is_active = 'Y' " +
                 "LEFT JOIN course_skills cs ON c.id = cs.course_id " +
                 "LEFT JOIN skills s ON cs.skill_id = s.id AND s.is_active = 'Y' " +
+                (changedOnly
+                        ? "LEFT JOIN ai_vector_sync_state st ON st.kind = 'course' AND st.entity_id = c.id "
+                        : "") +
                 "WHERE c.status = 'PUBLISHED' AND c.is_active = 'Y' " +
+                (changedOnly ? "AND (st.entity_id IS NULL OR c.updated > st.source_updated) " : "") +
                 "GROUP BY c.id, c.title, c.description, c.objectives, c.requirements, " +
-                "c.level, c.language, c.instructor_id, c.status " +
+                "c.level, c.language, c.instructor_id, c.status, c.updated " +
                 "ORDER BY c.created DESC";
 
-        List<Map<String, Object>> courses = jdbcTemplate.queryForList(sql);
-
-        if (courses.isEmpty()) {
-            log.warn("⚠️ No published courses found in database");
-            return 0;
-        }
-
-        log.info("📦 Found {} published courses. Starting batch indexing...", courses.size());
-
-        int successCount = 0;
-        int batchSize = 10;
-
-        for (int i = 0; i < courses.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, courses.size());
-            List<Map<String, Object>> batch = courses.subList(i, end);
-
-            try {
-                vectorService.batchIndexCourses(batch);
-                successCount += batch.size();
-                log.info("✅ Indexed batch {}/{} ({} courses)",
-                        (i / batchSize) + 1,
-                        (courses.size() + batchSize - 1) / batchSize,
-                        batch.size());
-            } catch (Exception e) {
-                log.error("❌ Failed to index batch {}/{}: {}",
-                        (i / batchSize) + 1,
-                        (courses.size() + batchSize - 1) / batchSize,
-                        e.getMessage());
-            }
-        }
-
-        log.info("🎉 Reindexing completed: {}/{} courses indexed successfully",
-                successCount, courses.size());
-
-        return successCount;
+        return jdbcTemplate.queryForList(sql);
     }
 
     /**
      * Reindex all lessons from database to Qdrant
-     * This method CLEARS the lesson collection first to remove stale/orphaned embeddings
-     * OPTIMIZED: Uses batch embeddings to reduce API calls
+     * Same blue/green rebuild as courses, behind the lesson alias
      */
     @Transactional(readOnly = true)
     public int reindexAllLessons() {
         log.info("🔄 Starting full lesson reindexing...");
 
-        // Step 1: Clear the lesson collection to remove stale embeddings
-        log.info("🗑️ Clearing lesson embeddings collection to remove stale data...");
-        try {
-            int dimension = embeddingService.getEmbeddingDimension();
-            qdrantClient.clearCollection(qdrantProperties.getLessonCollection(), dimension);
-            log.info("✅ Lesson collection cleared successfully");
-        } catch (Exception e) {
-            log.error("❌ Failed to clear lesson collection, continuing with upsert only...", e);
-        }
-
         try {
-            // Fetch all lessons with course_id via JOIN with chapters table
-            String sql = "SELECT l.id, l.title, l.content, l.video_url, l.chapter_id, l.content_type, c.course_id " +
-                    "FROM lessons l " +
-                    "JOIN chapters c ON l.chapter_id = c.id " +
-                    "WHERE l.is_active = 'Y'";
-
-            List<Map<String, Object>> lessons = jdbcTemplate.queryForList(sql);
-            log.info("📊 Found {} lessons to reindex", lessons.size());
-
-            if (lessons.isEmpty()) {
-                return 0;
+            BlueGreenReindexer.Result result = blueGreenReindexer.rebuild(BlueGreenReindexer.Source.builder()
+                    .alias(qdrantProperties.getLessonCollection())
+                    .rows(this::loadActiveLessons)
+                    .pointId(lesson -> lesson.get("id").toString())
+                    .text(VectorIndexingService::lessonText)
+                    .point(this::buildLessonPoint)
+                    .build());
+
+            if (!result.isSwitched()) {
+                throw new IllegalStateException("Lesson reindex incomplete (" + result.getPoints() + "/"
+                        + result.getRows() + " indexed); run it again to resume");
             }
 
-            // Process in batches of 20 lessons
-            int batchSize = 20;
-            int successCount = 0;
-
-            for (int i = 0; i < lessons.size(); i += batchSize) {
-                int end = Math.min(i + batchSize, lessons.size());
-                List<Map<String, Object>> batch = lessons.subList(i, end);
-
-                try {
-                    int batchSuccess = batchIndexLessons(batch);
-                    successCount += batchSuccess;
-                    log.info("✅ Indexed lesson batch {}/{} ({} lessons)",
-                            (i / batchSize) + 1,
-                            (lessons.size() + batchSize - 1) / batchSize,
-                            batchSuccess);
-                } catch (Exception e) {
-                    log.error("❌ Failed to index lesson batch {}/{}: {}",
-                            (i / batchSize) + 1,
-                            (lessons.size() + batchSize - 1) / batchSize,
-                            e.getMessage());
-                }
-            }
-
-            log.info("✅ Lesson reindexing completed: {}/{} lessons indexed", successCount, lessons.size());
-            return successCount;
+            log.info("✅ Lesson reindexing completed: {} lessons indexed ({} embedded this run)",
+                    result.getPoints(), result.getEmbedded());
+            return (int) result.getPoints();
         } catch (Exception e) {
             log.error("❌ Lesson reindexing failed", e);
             throw new RuntimeException("Lesson reindexing failed", e);
         }
     }
 
+    private List<Map<String, Object>> loadActiveLessons() {
+        List<Map<String, Object>> lessons = queryActiveLessons(false);
+        log.info("📊 Found {} lessons to reindex", lessons.size());
+        return lessons;
+    }
+
     /**
-     * Batch index lessons using batch embeddings (reduces API calls)
+     * Active lessons never synced, or updated since they were last synced
      */
-    private int batchIndexLessons(List<Map<String, Object>> lessons) {
-        // Step 1: Prepare texts for batch embedding
-        List<String> texts = new ArrayList<>();
-        List<Map<String, Object>> validLessons = new ArrayList<>();
-
-        for (Map<String, Object> lesson : lessons) {
-            UUID lessonId = (UUID) lesson.get("id");
-            String title = (String) lesson.get("title");
-            String content = (String) lesson.get("content");
-
-            String text = title + " " + (content != null ? content : "");
-            if (text.trim().isEmpty()) {
-                continue;
-            }
-
-            texts.add(text);
-            validLessons.add(lesson);
-        }
-
-        if (texts.isEmpty()) {
-            return 0;
-        }
-
-        // Step 2: Generate embeddings in batch (1 API call!)
-        List<List<Double>> embeddings = embeddingService.generateEmbeddingsBatch(texts);
+    List<Map<String, Object>> loadChangedLessons() {
+        return queryActiveLessons(true);
+    }
 
-        if (embeddings.size() != validLessons.size()) {
-            log.error("❌ Lesson embedding count mismatch");
-            return 0;
+    private List<Map<String, Object>> queryActiveLessons(boolean changedOnly) {
+        // Fetch all lessons with course_id via JOIN with chapters table
+        String sql = "SELECT l.id, l.title, l.content, l.video_url, l.chapter_id, l.content_type, l.updated, " +
+                "c.course_id " +
+                "FROM lessons l " +
+                "JOIN chapters c ON l.chapter_id = c.id " +
+                (changedOnly
+                        ? "LEFT JOIN ai_vector_sync_state st ON st.kind = 'lesson' AND st.entity_id = l.id "
+                        : "") +
+                "WHERE l.is_active = 'Y'" +
+                (changedOnly ? " AND (st.entity_id IS NULL OR l.updated > st.source_updated)" : "");
+
+        List<Map<String, Object>> lessons = new ArrayList<>();
+        for (Map<String, Object> lesson : jdbcTemplate.queryForList(sql)) {
+            if (!lessonText(lesson).trim().isEmpty()) {
+                lessons.add(lesson);
+            }
         }
+        return lessons;
+    }
 
-        // Step 3: Build points and upsert
-        List<QdrantClient.QdrantPoint> points = new ArrayList<>();
-
-        for (int i = 0; i < validLessons.size(); i++) {
-            Map<String, Object> lesson = validLessons.get(i);
-            List<Double> embedding = embeddings.get(i);
-
-            if (embedding.isEmpty()) {
-                continue;
-            }
+    static String lessonText(Map<String, Object> lesson) {
+        String title = (String) lesson.get("title");
+        String content = (String) lesson.get("content");
+        return title + " " + (content != null ? content : "");
+    }
 
-            UUID lessonId = (UUID) lesson.get("id");
-            String title = (String) lesson.get("title");
-            String content = (String) lesson.get("content");
-            String videoUrl = (String) lesson.get("video_url");
-
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("lesson_id", lessonId.toString());
-            payload.put("title", title);
-            payload.put("content", content);
-            payload.put("video_url", videoUrl);
-            payload.put("course_id", lesson.get("course_id") != null ? lesson.get("course_id").toString() : null);
-            payload.put("chapter_id", lesson.get("chapter_id") != null ? lesson.get("chapter_id").toString() : null);
-            payload.put("content_type", lesson.get("content_type"));
-
-            points.add(new QdrantClient.QdrantPoint(lessonId.toString(), embedding, payload));
-        }
+    QdrantClient.QdrantPoint buildLessonPoint(Map<String, Object> lesson, EmbeddingVector embedding) {
+        UUID lessonId = (UUID) lesson.get("id");
 
-        if (!points.isEmpty()) {
-            qdrantClient.upsertPoints(qdrantProperties.getLessonCollection(), points);
-        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("lesson_id", lessonId.toString());
+        payload.put("title", lesson.get("title"));
+        payload.put("content", lesson.get("content"));
+        payload.put("video_url", lesson.get("video_url"));
+        payload.put("course_id", lesson.get("course_id") != null ? lesson.get("course_id").toString() : null);
+        payload.put("chapter_id", lesson.get("chapter_id") != null ? lesson.get("chapter_id").toString() : null);
+        payload.put("content_type", lesson.get("content_type"));
 
-        return points.size();
+        return new QdrantClient.QdrantPoint(lessonId.toString(), embedding, payload);
     }
 
     /**
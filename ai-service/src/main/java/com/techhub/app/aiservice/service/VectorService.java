@@ -3,8 +3,11 @@ package com.techhub.app.aiservice.service;
 import com.techhub.app.aiservice.client.QdrantClient;
 import com.techhub.app.aiservice.client.QdrantClient.QdrantPoint;
 import com.techhub.app.aiservice.config.QdrantProperties;
+import com.techhub.app.aiservice.vector.EmbeddingVector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
@@ -22,6 +25,12 @@ public class VectorService {
     private final QdrantClient qdrantClient;
     private final EmbeddingService embeddingService;
     private final QdrantProperties qdrantProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Recommend queries per Qdrant request in batch mode
+    private static final int RECOMMEND_BATCH_SIZE = 100;
+    // Most recent enrollments used as examples when a user has no profile vector
+    private static final int MAX_ENROLLMENT_EXAMPLES = 10;
 
     @PostConstruct
     public void initializeCollections() {
@@ -51,7 +60,7 @@ public class VectorService {
             String text = embeddingService.buildCourseText(title, description, objectives, requirements);
 
             // Generate embedding
-            List<Double> embedding = embeddingService.generateEmbedding(text);
+            EmbeddingVector embedding = embeddingService.generateEmbedding(text);
 
             if (embedding.isEmpty()) {
                 log.warn("⚠️ Skipping course indexing due to empty embedding: {}", courseId);
@@ -103,7 +112,7 @@ public class VectorService {
             String text = embeddingService.buildUserProfileText(
                     userId.toString(), skills, interests, completedCourses);
 
-            List<Double> embedding = embeddingService.generateEmbedding(text);
+            EmbeddingVector embedding = embeddingService.generateEmbedding(text);
 
             if (embedding.isEmpty()) {
                 log.warn("⚠️ Skipping user profile indexing due to empty embedding: {}", userId);
@@ -133,7 +142,7 @@ public class VectorService {
     public List<Map<String, Object>> searchCourses(String query, int limit) {
         try {
             // Generate embedding for query
-            List<Double> queryEmbedding = embeddingService.generateEmbedding(query);
+            EmbeddingVector queryEmbedding = embeddingService.generateEmbedding(query);
 
             if (queryEmbedding.isEmpty()) {
                 log.warn("⚠️ Cannot search with empty embedding");
@@ -156,49 +165,133 @@ public class VectorService {
 
     /**
      * Get personalized recommendations based on user profile
+     * See {@link #getRecommendationsForUsers(Collection, int, Collection)}
      */
     public List<Map<String, Object>> getRecommendationsForUser(UUID userId, int limit) {
-        try {
-            // Get user profile embedding
-            List<Map<String, Object>> userProfile = qdrantClient.searchSimilar(
-                    qdrantProperties.getProfileCollection(),
-                    Collections.emptyList(),
-                    1);
+        return getRecommendationsForUser(userId, limit, Collections.emptyList());
+    }
 
-            if (userProfile.isEmpty()) {
-                log.warn("⚠️ User profile not found in Qdrant: {}", userId);
-                return Collections.emptyList();
+    public List<Map<String, Object>> getRecommendationsForUser(UUID userId, int limit,
+            Collection<UUID> excludeCourseIds) {
+        return getRecommendationsForUsers(Collections.singletonList(userId), limit, excludeCourseIds)
+                .getOrDefault(userId, Collections.emptyList());
+    }
+
+    /**
+     * Personalized course recommendations for many users in one pass, using
+     * only vectors already stored in Qdrant (no embedding or LLM call).
+     *
+     * Each user's examples are their stored profile vector if one exists,
+     * otherwise the vectors of their most recently enrolled courses. Enrolled
+     * and excluded courses are filtered out. All users' queries go to Qdrant
+     * as recommend batches, so this costs one enrollment query, two ID
+     * lookups and one Qdrant call per {@value #RECOMMEND_BATCH_SIZE} users.
+     *
+     * @return search results (id, score, payload) per user; users with no
+     *         profile and no indexed enrollment get an empty list
+     */
+    public Map<UUID, List<Map<String, Object>>> getRecommendationsForUsers(Collection<UUID> userIds, int limit,
+            Collection<UUID> excludeCourseIds) {
+        Map<UUID, List<Map<String, Object>>> recommendations = new LinkedHashMap<>();
+        if (userIds.isEmpty()) {
+            return recommendations;
+        }
+
+        try {
+            String courseCollection = qdrantProperties.getRecommendationCollection();
+            String profileCollection = qdrantProperties.getProfileCollection();
+
+            Map<UUID, List<String>> enrolled = loadEnrolledCourseIds(userIds);
+            Set<String> profiles = qdrantClient.findExistingPointIds(profileCollection,
+                    userIds.stream().map(UUID::toString).collect(Collectors.toList()));
+            Set<String> indexedCourses = qdrantClient.findExistingPointIds(courseCollection,
+                    enrolled.values().stream().flatMap(List::stream).collect(Collectors.toSet()));
+
+            List<UUID> queried = new ArrayList<>();
+            List<QdrantClient.RecommendQuery> queries = new ArrayList<>();
+            for (UUID userId : userIds) {
+                List<String> enrolledIds = enrolled.getOrDefault(userId, Collections.emptyList());
+                Set<String> exclude = new HashSet<>(enrolledIds);
+                excludeCourseIds.forEach(id -> exclude.add(id.toString()));
+
+                QdrantClient.RecommendQuery query;
+                if (profiles.contains(userId.toString())) {
+                    query = new QdrantClient.RecommendQuery(Collections.singletonList(userId.toString()),
+                            exclude, limit, profileCollection);
+                } else {
+                    List<String> examples = enrolledIds.stream()
+                            .filter(indexedCourses::contains)
+                            .limit(MAX_ENROLLMENT_EXAMPLES)
+                            .collect(Collectors.toList());
+                    if (examples.isEmpty()) {
+                        recommendations.put(userId, Collections.emptyList());
+                        continue;
+                    }
+                    query = new QdrantClient.RecommendQuery(examples, exclude, limit, null);
+                }
+                queried.add(userId);
+                queries.add(query);
             }
 
-            // Extract user vector from profile
-            // Note: This is simplified - in real implementation, you'd fetch the vector
-            // directly
-            log.info("🎯 Generating recommendations for user: {}", userId);
+            for (int i = 0; i < queries.size(); i += RECOMMEND_BATCH_SIZE) {
+                int end = Math.min(i + RECOMMEND_BATCH_SIZE, queries.size());
+                List<List<Map<String, Object>>> results = qdrantClient.recommendBatch(courseCollection,
+                        queries.subList(i, end));
+                for (int j = 0; j < results.size(); j++) {
+                    recommendations.put(queried.get(i + j), results.get(j));
+                }
+            }
 
-            // For now, return empty - this would need the actual vector from the user
-            // profile
-            return Collections.emptyList();
+            log.info("🎯 Generated vector recommendations for {} users ({} without signal)",
+                    queried.size(), userIds.size() - queried.size());
         } catch (Exception e) {
-            log.error("❌ Failed to get recommendations for user: {}", userId, e);
-            return Collections.emptyList();
+            log.error("❌ Failed to get recommendations for {} users", userIds.size(), e);
         }
+        return recommendations;
     }
 
     /**
      * Search similar courses based on a course ID (for "similar courses" feature)
+     * Uses the course's stored vector; the course itself is not returned
      */
     public List<Map<String, Object>> findSimilarCourses(UUID courseId, int limit) {
         try {
-            // This would require fetching the course vector first, then searching
-            // Simplified implementation
-            log.info("🔍 Finding similar courses to: {}", courseId);
-            return Collections.emptyList();
+            String collection = qdrantProperties.getRecommendationCollection();
+            String id = courseId.toString();
+            if (qdrantClient.findExistingPointIds(collection, Collections.singletonList(id)).isEmpty()) {
+                log.warn("⚠️ Course not indexed in Qdrant: {}", courseId);
+                return Collections.emptyList();
+            }
+
+            List<List<Map<String, Object>>> results = qdrantClient.recommendBatch(collection,
+                    Collections.singletonList(new QdrantClient.RecommendQuery(
+                            Collections.singletonList(id), Collections.singleton(id), limit, null)));
+            log.info("🔍 Found {} courses similar to: {}", results.get(0).size(), courseId);
+            return results.get(0);
         } catch (Exception e) {
             log.error("❌ Failed to find similar courses", e);
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Active enrollments per user, most recent first
+     */
+    private Map<UUID, List<String>> loadEnrolledCourseIds(Collection<UUID> userIds) {
+        Map<UUID, List<String>> enrolled = new HashMap<>();
+        RowCallbackHandler collect = rs -> enrolled
+                .computeIfAbsent((UUID) rs.getObject("user_id"), key -> new ArrayList<>())
+                .add(rs.getObject("course_id").toString());
+        String userIdArray = userIds.stream().map(UUID::toString).collect(Collectors.joining(",", "{", "}"));
+        jdbcTemplate.query(
+                "SELECT user_id, course_id FROM enrollments " +
+                        "WHERE user_id = ANY(CAST(? AS uuid[])) AND is_active = 'Y' " +
+                        "ORDER BY user_id, enrolled_at DESC NULLS LAST",
+                collect,
+                userIdArray);
+        return enrolled;
+    }
+
     /**
      * Batch index multiple courses - OPTIMIZED with batch embeddings
      * This significantly reduces API calls by batching multiple texts into one embedding request
@@ -214,21 +307,12 @@ public class VectorService {
             List<Map<String, Object>> validCourses = new ArrayList<>();
             
             for (Map<String, Object> course : courses) {
-                Object idObj = course.get("id");
-                String courseId = idObj != null ? idObj.toString() : null;
-
-                if (courseId == null) {
+                if (course.get("id") == null) {
                     log.warn("⚠️ Skipping course with null ID");
                     continue;
                 }
 
-                String title = getStringValue(course.get("title"));
-                String description = getStringValue(course.get("description"));
-                String objectives = getStringValue(course.get("objectives"));
-                String requirements = getStringValue(course.get("requirements"));
-
-                String text = embeddingService.buildCourseText(title, description, objectives, requirements);
-                texts.add(text);
+                texts.add(buildCourseText(course));
                 validCourses.add(course);
             }
 
@@ -238,7 +322,7 @@ public class VectorService {
 
             // Step 2: Generate embeddings in batch (1 API call for all!)
             log.info("📦 Generating {} embeddings in batch...", texts.size());
-            List<List<Double>> embeddings = embeddingService.generateEmbeddingsBatch(texts);
+            List<EmbeddingVector> embeddings = embeddingService.generateEmbeddingsBatch(texts);
 
             if (embeddings.size() != validCourses.size()) {
                 log.error("❌ Embedding count mismatch: {} texts vs {} embeddings", 
@@ -249,28 +333,13 @@ public class VectorService {
             // Step 3: Build points and upsert
             List<QdrantPoint> points = new ArrayList<>();
             for (int i = 0; i < validCourses.size(); i++) {
-                Map<String, Object> course = validCourses.get(i);
-                List<Double> embedding = embeddings.get(i);
+                EmbeddingVector embedding = embeddings.get(i);
                 
                 if (embedding.isEmpty()) {
                     continue;
                 }
 
-                String courseId = course.get("id").toString();
-                String title = getStringValue(course.get("title"));
-
-                Map<String, Object> coursePayload = new HashMap<>(course);
-                coursePayload.put("id", courseId);
-
-                for (Map.Entry<String, Object> entry : coursePayload.entrySet()) {
-                    Object value = entry.getValue();
-                    if (value != null && !isPrimitiveOrString(value)) {
-                        coursePayload.put(entry.getKey(), value.toString());
-                    }
-                }
-
-                points.add(new QdrantPoint(courseId, embedding, coursePayload));
-                log.debug("📦 Prepared course for indexing: {} - {}", courseId, title);
+                points.add(buildCoursePoint(validCourses.get(i), embedding));
             }
 
             if (!points.isEmpty()) {
@@ -284,6 +353,39 @@ public class VectorService {
         }
     }
 
+    /**
+     * Text to embed for a course row (title, description, objectives,
+     * requirements columns)
+     */
+    public String buildCourseText(Map<String, Object> course) {
+        return embeddingService.buildCourseText(
+                getStringValue(course.get("title")),
+                getStringValue(course.get("description")),
+                getStringValue(course.get("objectives")),
+                getStringValue(course.get("requirements")));
+    }
+
+    /**
+     * Qdrant point for a course row; every column goes into the payload,
+     * with non-primitive values stored as strings
+     */
+    public QdrantPoint buildCoursePoint(Map<String, Object> course, EmbeddingVector embedding) {
+        String courseId = course.get("id").toString();
+
+        Map<String, Object> coursePayload = new HashMap<>(course);
+        coursePayload.put("id", courseId);
+
+        for (Map.Entry<String, Object> entry : coursePayload.entrySet()) {
+            Object value = entry.getValue();
+            if (value != null && !isPrimitiveOrString(value)) {
+                coursePayload.put(entry.getKey(), value.toString());
+            }
+        }
+
+        log.debug("📦 Prepared course for indexing: {} - {}", courseId, getStringValue(course.get("title")));
+        return new QdrantPoint(courseId, embedding, coursePayload);
+    }
+
     /**
      * Index a lesson into Qdrant
      */
@@ -294,7 +396,7 @@ public class VectorService {
             String text = title + " " + (content != null ? content : "");
 
             // Generate embedding
-            List<Double> embedding = embeddingService.generateEmbedding(text);
+            EmbeddingVector embedding = embeddingService.generateEmbedding(text);
 
             if (embedding.isEmpty()) {
                 log.warn("⚠️ Skipping lesson indexing due to empty embedding: {}", lessonId);
@@ -0,0 +1,40 @@
+package com.techhub.app.aiservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VectorSyncScheduler {
+
+    private final VectorSyncService vectorSyncService;
+
+    @Value("${ai.vector-sync.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Periodically sync courses and lessons changed since the last run
+     * (every 15 minutes by default). Catches changes whose Kafka events
+     * were lost or failed; only changed rows are re-embedded.
+     */
+    @Scheduled(cron = "${ai.vector-sync.cron:0 */15 * * * ?}")
+    public void syncChanges() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Map<String, Map<String, Integer>> result = vectorSyncService.syncChanges();
+            log.debug("Scheduled vector sync finished: {}", result);
+        } catch (IllegalStateException e) {
+            log.info("Skipping scheduled vector sync: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Error during scheduled vector sync", e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.techhub.app.aiservice.service;
+
+import com.techhub.app.aiservice.client.QdrantClient;
+import com.techhub.app.aiservice.config.QdrantProperties;
+import com.techhub.app.aiservice.entity.VectorSyncState;
+import com.techhub.app.aiservice.repository.VectorSyncStateRepository;
+import com.techhub.app.aiservice.util.Hashing;
+import com.techhub.app.aiservice.vector.EmbeddingBatcher;
+import com.techhub.app.aiservice.vector.EmbeddingVector;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental sync of courses and lessons into Qdrant.
+ *
+ * ai_vector_sync_state keeps, per row, a fingerprint of what was indexed and
+ * the row's "updated" value at that time. A sync only loads rows that are new
+ * or updated since then, re-embeds those whose fingerprint changed, and
+ * deletes points for rows that are gone or no longer eligible, in batch.
+ *
+ * Only "updated" on the course/lesson row itself is watched, so e.g. a tag
+ * rename that does not touch the course is picked up by the next full
+ * reindex. Points indexed before the first sync seeded the state table are
+ * likewise only cleaned up by a full reindex.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VectorSyncService {
+
+    private static final String COURSE_ORPHANS_SQL = "SELECT st.entity_id FROM ai_vector_sync_state st " +
+            "WHERE st.kind = 'course' AND NOT EXISTS (" +
+            "SELECT 1 FROM courses c WHERE c.id = st.entity_id AND c.status = 'PUBLISHED' AND c.is_active = 'Y')";
+
+    private static final String LESSON_ORPHANS_SQL = "SELECT st.entity_id FROM ai_vector_sync_state st " +
+            "WHERE st.kind = 'lesson' AND NOT EXISTS (" +
+            "SELECT 1 FROM lessons l JOIN chapters c ON l.chapter_id = c.id " +
+            "WHERE l.id = st.entity_id AND l.is_active = 'Y')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VectorIndexingService vectorIndexingService;
+    private final VectorService vectorService;
+    private final QdrantClient qdrantClient;
+    private final QdrantProperties qdrantProperties;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final VectorSyncStateRepository vectorSyncStateRepository;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value
+    @Builder
+    private static class SyncSource {
+        String kind;
+        String collection;
+        Supplier<List<Map<String, Object>>> changedRows;
+        String orphansSql;
+        Function<Map<String, Object>, String> text;
+        BiFunction<Map<String, Object>, EmbeddingVector, QdrantClient.QdrantPoint> point;
+    }
+
+    /**
+     * Sync courses and lessons changed since their last sync
+     *
+     * @return per kind: rows changed, re-embedded, unchanged (fingerprint
+     *         matched) and deleted
+     * @throws IllegalStateException if a sync is already running
+     */
+    public Map<String, Map<String, Integer>> syncChanges() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Vector sync already running");
+        }
+        try {
+            Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+            result.put("courses", sync(SyncSource.builder()
+                    .kind(VectorSyncState.COURSE)
+                    .collection(qdrantProperties.getRecommendationCollection())
+                    .changedRows(vectorIndexingService::loadChangedCourses)
+                    .orphansSql(COURSE_ORPHANS_SQL)
+                    .text(vectorService::buildCourseText)
+                    .point(vectorService::buildCoursePoint)
+                    .build()));
+            result.put("lessons", sync(SyncSource.builder()
+                    .kind(VectorSyncState.LESSON)
+                    .collection(qdrantProperties.getLessonCollection())
+                    .changedRows(vectorIndexingService::loadChangedLessons)
+                    .orphansSql(LESSON_ORPHANS_SQL)
+                    .text(VectorIndexingService::lessonText)
+                    .point(vectorIndexingService::buildLessonPoint)
+                    .build()));
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Integer> sync(SyncSource source) {
+        List<Map<String, Object>> changed = source.getChangedRows().get();
+
+        Map<UUID, VectorSyncState> states = new HashMap<>();
+        if (!changed.isEmpty()) {
+            List<UUID> ids = changed.stream().map(row -> (UUID) row.get("id")).collect(Collectors.toList());
+            for (VectorSyncState state : vectorSyncStateRepository.findByKindAndEntityIdIn(source.getKind(), ids)) {
+                states.put(state.getEntityId(), state);
+            }
+        }
+
+        // Rows whose content is unchanged only move their watermark forward
+        List<VectorSyncState> unchanged = new ArrayList<>();
+        List<Map<String, Object>> pending = new ArrayList<>();
+        List<String> fingerprints = new ArrayList<>();
+        for (Map<String, Object> row : changed) {
+            String fingerprint = fingerprint(source, row);
+            VectorSyncState state = states.get((UUID) row.get("id"));
+            if (state != null && state.getFingerprint().equals(fingerprint)) {
+                state.setSourceUpdated(updatedOf(row));
+                unchanged.add(state);
+            } else {
+                pending.add(row);
+                fingerprints.add(fingerprint);
+            }
+        }
+        if (!unchanged.isEmpty()) {
+            vectorSyncStateRepository.saveAll(unchanged);
+        }
+
+        int embedded = 0;
+        if (!pending.isEmpty()) {
+            List<String> texts = pending.stream().map(source.getText()).collect(Collectors.toList());
+            EmbeddingBatcher.Report report = embeddingBatcher.embedAll(texts, (indices, embeddings) -> {
+                List<QdrantClient.QdrantPoint> points = new ArrayList<>(indices.size());
+                List<VectorSyncState> synced = new ArrayList<>(indices.size());
+                OffsetDateTime now = OffsetDateTime.now();
+                for (int i = 0; i < indices.size(); i++) {
+                    Map<String, Object> row = pending.get(indices.get(i));
+                    points.add(source.getPoint().apply(row, embeddings.get(i)));
+
+                    VectorSyncState state = new VectorSyncState();
+                    state.setKind(source.getKind());
+                    state.setEntityId((UUID) row.get("id"));
+                    state.setFingerprint(fingerprints.get(indices.get(i)));
+                    state.setSourceUpdated(updatedOf(row));
+                    state.setIndexedAt(now);
+                    synced.add(state);
+                }
+                qdrantClient.upsertPoints(source.getCollection(), points);
+                vectorSyncStateRepository.saveAll(synced);
+            });
+            embedded = report.getEmbedded();
+        }
+
+        List<UUID> orphans = jdbcTemplate.queryForList(source.getOrphansSql(), UUID.class);
+        if (!orphans.isEmpty()) {
+            qdrantClient.deletePoints(source.getCollection(),
+                    orphans.stream().map(UUID::toString).collect(Collectors.toList()));
+            vectorSyncStateRepository.deleteByKindAndEntityIds(source.getKind(), orphans);
+        }
+
+        if (!changed.isEmpty() || !orphans.isEmpty()) {
+            log.info("🔄 Synced {}s: {} changed, {} re-embedded, {} unchanged, {} deleted", source.getKind(),
+                    changed.size(), embedded, unchanged.size(), orphans.size());
+        } else {
+            log.debug("No {} changes to sync", source.getKind());
+        }
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("changed", changed.size());
+        counts.put("embedded", embedded);
+        counts.put("unchanged", unchanged.size());
+        counts.put("deleted", orphans.size());
+        return counts;
+    }
+
+    /**
+     * SHA-256 over the embedded text and the point payload. The "updated"
+     * column is left out so a touch without a content change does not count.
+     */
+    private static String fingerprint(SyncSource source, Map<String, Object> row) {
+        Map<String, String> payload = new TreeMap<>();
+        source.getPoint().apply(row, EmbeddingVector.EMPTY).getPayload()
+                .forEach((key, value) -> {
+                    if (!"updated".equals(key)) {
+                        payload.put(key, String.valueOf(value));
+                    }
+                });
+        String content = source.getText().apply(row) + "\n" + payload;
+        return Hashing.sha256Hex(content);
+    }
+
+    private static OffsetDateTime updatedOf(Map<String, Object> row) {
+        Object updated = row.get("updated");
+        if (updated instanceof Timestamp) {
+            return ((Timestamp) updated).toInstant().atOffset(ZoneOffset.UTC);
+        }
+        if (updated instanceof OffsetDateTime) {
+            return (OffsetDateTime) updated;
+        }
+        return OffsetDateTime.now();
+    }
+}
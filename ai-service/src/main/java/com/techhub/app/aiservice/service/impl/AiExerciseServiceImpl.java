@@ -1,36 +1,75 @@
 package com.techhub.app.aiservice.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techhub.app.aiservice.dto.request.AiExerciseGenerateRequest;
 import com.techhub.app.aiservice.dto.response.AiExerciseGenerationResponse;
 import com.techhub.app.aiservice.entity.AiGenerationTask;
 import com.techhub.app.aiservice.enums.AiTaskStatus;
 import com.techhub.app.aiservice.enums.AiTaskType;
-import com.techhub.app.aiservice.repository.AiGenerationTaskRepository;
+import com.techhub.app.aiservice.job.AiJobEngine;
+import com.techhub.app.aiservice.job.AiTaskHandler;
 import com.techhub.app.aiservice.service.AiExerciseService;
 import com.techhub.app.aiservice.service.OpenAiGateway;
+import com.techhub.app.aiservice.service.RateLimitingService;
 import com.techhub.app.aiservice.service.VectorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class AiExerciseServiceImpl implements AiExerciseService {
+public class AiExerciseServiceImpl implements AiExerciseService, AiTaskHandler {
 
-    private final AiGenerationTaskRepository aiGenerationTaskRepository;
     private final OpenAiGateway openAiGateway;
     private final VectorService vectorService;
+    private final AiJobEngine aiJobEngine;
+    private final RateLimitingService rateLimitingService;
+    private final ObjectMapper objectMapper;
 
     @Override
-    @Transactional
     public AiExerciseGenerationResponse generateForLesson(AiExerciseGenerateRequest request) {
-        log.info("🤖 Generating AI exercises for lesson: {}", request.getLessonId());
+        log.info("🤖 Queueing AI exercise generation for lesson: {}", request.getLessonId());
+
+        // Fail fast if the lesson is not indexed; the generation itself runs in the background
+        if (vectorService.getLesson(request.getLessonId()) == null) {
+            throw new RuntimeException("Lesson content not found in AI index. Please ask admin to reindex lessons.");
+        }
+
+        rateLimitingService.check(RateLimitingService.GENERATION, null);
+
+        AiGenerationTask task = aiJobEngine.submit(
+                AiTaskType.EXERCISE_GENERATION,
+                request.getLessonId().toString(), // Save lesson_id để query sau
+                request);
+
+        return AiExerciseGenerationResponse.builder()
+                .taskId(task.getId())
+                .status(task.getStatus())
+                .message("Exercise generation queued. Track it at /api/ai/tasks/" + task.getId()
+                        + "; the result becomes a draft for admin review.")
+                .build();
+    }
+
+    @Override
+    public AiTaskType getTaskType() {
+        return AiTaskType.EXERCISE_GENERATION;
+    }
+
+    @Override
+    public AiTaskStatus getCompletedStatus() {
+        return AiTaskStatus.DRAFT; // Chờ admin approve
+    }
+
+    @Override
+    public Object execute(AiGenerationTask task, Progress progress) {
+        AiExerciseGenerateRequest request = objectMapper.convertValue(
+                task.getRequestPayload(), AiExerciseGenerateRequest.class);
 
         // 1. Fetch lesson content from Qdrant
+        progress.update(10, "Loading lesson content");
         Map<String, Object> lessonData = vectorService.getLesson(request.getLessonId());
         if (lessonData == null) {
             throw new RuntimeException("Lesson content not found in AI index. Please ask admin to reindex lessons.");
@@ -39,42 +78,13 @@ public class AiExerciseServiceImpl implements AiExerciseService {
         String lessonTitle = (String) lessonData.get("title");
         String lessonContent = (String) lessonData.get("content");
 
-        // 2. Create draft task
-        AiGenerationTask task = new AiGenerationTask();
-        task.setTaskType(AiTaskType.EXERCISE_GENERATION);
-        task.setStatus(AiTaskStatus.DRAFT);
-        task.setTargetReference(request.getLessonId().toString()); // Save lesson_id để query sau
-        task.setRequestPayload(request);
-
-        // Build prompt with fetched content
+        // 2. Build prompt with fetched content
         String prompt = buildPrompt(request, lessonTitle, lessonContent);
         task.setPrompt(prompt);
 
-        aiGenerationTaskRepository.save(task);
-
-        try {
-            // 3. Call OpenAI
-            Object aiResponse = openAiGateway.generateStructuredJson(prompt, request);
-
-            // 4. Save result as DRAFT - chờ admin approve
-            task.setResultPayload(aiResponse);
-            task.setStatus(AiTaskStatus.DRAFT);
-            aiGenerationTaskRepository.save(task);
-
-            return AiExerciseGenerationResponse.builder()
-                    .taskId(task.getId())
-                    .status(AiTaskStatus.DRAFT)
-                    .drafts(aiResponse)
-                    .message("Exercise draft created successfully. Admin can review and approve.")
-                    .build();
-
-        } catch (Exception e) {
-            log.error("❌ AI generation failed", e);
-            task.setStatus(AiTaskStatus.FAILED);
-            task.setResultPayload(Map.of("error", e.getMessage()));
-            aiGenerationTaskRepository.save(task);
-            throw new RuntimeException("AI generation failed: " + e.getMessage(), e);
-        }
+        // 3. Call OpenAI; the result is stored as DRAFT by the job engine
+        progress.update(30, "Generating exercises");
+        return openAiGateway.generateStructuredJson(prompt, request);
     }
 
     private String buildPrompt(AiExerciseGenerateRequest request, String title, String content) {
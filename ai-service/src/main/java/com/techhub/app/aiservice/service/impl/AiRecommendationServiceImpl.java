@@ -1,5 +1,6 @@
 package com.techhub.app.aiservice.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techhub.app.aiservice.dto.request.RecommendationRequest;
 import com.techhub.app.aiservice.dto.response.RecommendationResponse;
 import com.techhub.app.aiservice.entity.AiGenerationTask;
@@ -7,62 +8,103 @@ import com.techhub.app.aiservice.entity.Recommendation;
 import com.techhub.app.aiservice.enums.AiTaskStatus;
 import com.techhub.app.aiservice.enums.AiTaskType;
 import com.techhub.app.aiservice.enums.RecommendationMode;
-import com.techhub.app.aiservice.repository.AiGenerationTaskRepository;
+import com.techhub.app.aiservice.job.AiJobEngine;
+import com.techhub.app.aiservice.job.AiTaskHandler;
 import com.techhub.app.aiservice.repository.RecommendationRepository;
 import com.techhub.app.aiservice.service.AiRecommendationService;
 import com.techhub.app.aiservice.service.OpenAiGateway;
+import com.techhub.app.aiservice.service.RateLimitingService;
+import com.techhub.app.aiservice.service.RecommendationMaterializer;
 import com.techhub.app.aiservice.service.VectorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class AiRecommendationServiceImpl implements AiRecommendationService {
+public class AiRecommendationServiceImpl implements AiRecommendationService, AiTaskHandler {
 
-    private final AiGenerationTaskRepository aiGenerationTaskRepository;
     private final RecommendationRepository recommendationRepository;
     private final OpenAiGateway openAiGateway;
     private final VectorService vectorService;
+    private final RecommendationMaterializer recommendationMaterializer;
+    private final AiJobEngine aiJobEngine;
+    private final RateLimitingService rateLimitingService;
+    private final ObjectMapper objectMapper;
 
     @Override
-    @Transactional
     public RecommendationResponse generateRecommendations(RecommendationRequest request) {
-        AiTaskType taskType = request.getMode() == RecommendationMode.SCHEDULED
-                ? AiTaskType.RECOMMENDATION_SCHEDULED
-                : AiTaskType.RECOMMENDATION_REALTIME;
-
-        AiGenerationTask task = new AiGenerationTask();
-        task.setTaskType(taskType);
-        task.setStatus(AiTaskStatus.PENDING);
-        task.setTargetReference(request.getUserId().toString());
-        task.setRequestPayload(request);
-        aiGenerationTaskRepository.save(task);
-
-        // Step 1: Search similar courses using Qdrant vector search
-        log.info("🔍 Searching for recommended courses using Qdrant for user {}", request.getUserId());
-        List<Map<String, Object>> similarCourses = vectorService.searchCourses(
-                buildUserQuery(request),
-                20 // Get top 20 similar courses
-        );
+        if (request.getMode() == RecommendationMode.REALTIME) {
+            List<Map<String, Object>> courses = materializedCourses(request);
+            if (courses.isEmpty()) {
+                // No history to recommend from yet: semantic search on preferences, still no LLM call
+                courses = RecommendationMaterializer.toCourseSummaries(
+                        vectorService.searchCourses(buildUserQuery(request), 20));
+            }
+            log.info("⚡ Serving {} precomputed recommendations for user {}", courses.size(), request.getUserId());
+            return RecommendationResponse.builder()
+                    .mode(request.getMode())
+                    .status(AiTaskStatus.COMPLETED)
+                    .courses(courses)
+                    .paths(Collections.emptyList())
+                    .build();
+        }
+
+        rateLimitingService.check(RateLimitingService.GENERATION, request.getUserId());
+
+        AiGenerationTask task = aiJobEngine.submit(
+                AiTaskType.RECOMMENDATION_SCHEDULED,
+                request.getUserId().toString(),
+                request);
+
+        return RecommendationResponse.builder()
+                .taskId(task.getId())
+                .mode(request.getMode())
+                .status(task.getStatus())
+                .build();
+    }
+
+    @Override
+    public AiTaskType getTaskType() {
+        return AiTaskType.RECOMMENDATION_SCHEDULED;
+    }
+
+    @Override
+    public Object execute(AiGenerationTask task, Progress progress) {
+        RecommendationRequest request = objectMapper.convertValue(
+                task.getRequestPayload(), RecommendationRequest.class);
+
+        // Step 1: Candidates from stored vectors, or semantic search on preferences for new users
+        progress.update(10, "Finding candidate courses");
+        List<Map<String, Object>> similarCourses = vectorService.getRecommendationsForUser(
+                request.getUserId(),
+                20,
+                request.getExcludeCourseIds() != null ? request.getExcludeCourseIds() : Collections.emptyList());
+        if (similarCourses.isEmpty()) {
+            log.info("🔍 Searching for recommended courses using Qdrant for user {}", request.getUserId());
+            similarCourses = vectorService.searchCourses(
+                    buildUserQuery(request),
+                    20 // Get top 20 similar courses
+            );
+        }
 
         // Step 2: Build prompt with Qdrant results
         String prompt = buildPromptWithContext(request, similarCourses);
         task.setPrompt(prompt);
-        aiGenerationTaskRepository.save(task);
 
         // Step 3: Ask OpenAI to rank and explain recommendations
+        progress.update(30, "Ranking recommendations");
         Object aiResponse = openAiGateway.generateStructuredJson(prompt, request);
-        task.setResultPayload(aiResponse);
-        task.setStatus(AiTaskStatus.COMPLETED);
-        aiGenerationTaskRepository.save(task);
 
         Recommendation recommendation = new Recommendation();
         recommendation.setUserId(request.getUserId());
@@ -70,13 +112,31 @@ public class AiRecommendationServiceImpl implements AiRecommendationService {
         recommendation.setRecommendedPaths(aiResponse);
         recommendationRepository.save(recommendation);
 
-        return RecommendationResponse.builder()
-                .recommendationId(recommendation.getId())
-                .mode(request.getMode())
-                .status(AiTaskStatus.COMPLETED)
-                .courses(recommendation.getRecommendedCourses())
-                .paths(recommendation.getRecommendedPaths())
-                .build();
+        return aiResponse;
+    }
+
+    /**
+     * The user's materialized list (one indexed read). Users with none yet
+     * get the vector candidates, unranked, and are queued for the background
+     * refresh. Excluded courses are filtered at serve time.
+     */
+    private List<Map<String, Object>> materializedCourses(RecommendationRequest request) {
+        List<?> stored = recommendationRepository
+                .findFirstByUserIdOrderByGeneratedAtDesc(request.getUserId())
+                .map(Recommendation::getRecommendedCourses)
+                .filter(List.class::isInstance)
+                .map(List.class::cast)
+                .orElseGet(() -> recommendationMaterializer.candidatesFor(request.getUserId()));
+
+        Set<String> excluded = request.getExcludeCourseIds() == null ? Collections.emptySet()
+                : request.getExcludeCourseIds().stream().map(UUID::toString).collect(Collectors.toSet());
+        List<Map<String, Object>> courses = new ArrayList<>();
+        for (Object course : stored) {
+            if (course instanceof Map && !excluded.contains(String.valueOf(((Map<?, ?>) course).get("course_id")))) {
+                courses.add((Map<String, Object>) course);
+            }
+        }
+        return courses;
     }
 
     private String buildUserQuery(RecommendationRequest request) {
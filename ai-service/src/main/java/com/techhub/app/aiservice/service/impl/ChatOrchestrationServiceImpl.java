@@ -7,7 +7,6 @@ import com.techhub.app.aiservice.entity.ChatMessage;
 import com.techhub.app.aiservice.entity.ChatSession;
 import com.techhub.app.aiservice.enums.ChatMode;
 import com.techhub.app.aiservice.enums.ChatSender;
-import com.techhub.app.aiservice.exception.RateLimitExceededException;
 import com.techhub.app.aiservice.repository.ChatMessageRepository;
 import com.techhub.app.aiservice.repository.ChatSessionRepository;
 import com.techhub.app.aiservice.service.ChatOrchestrationService;
@@ -44,15 +43,7 @@ public class ChatOrchestrationServiceImpl implements ChatOrchestrationService {
     @Transactional
     public ChatMessageResponse sendMessage(ChatMessageRequest request) {
         // 1. Check rate limiting first
-        if (!rateLimitingService.isAllowed(request.getUserId())) {
-            int remainingPerMin = rateLimitingService.getRemainingRequestsPerMinute(request.getUserId());
-            int remainingPerHour = rateLimitingService.getRemainingRequestsPerHour(request.getUserId());
-            log.warn("Rate limit exceeded for user {}", request.getUserId());
-            throw new RateLimitExceededException(
-                    "Too many requests. Please try again later.",
-                    remainingPerMin,
-                    remainingPerHour);
-        }
+        rateLimitingService.check(RateLimitingService.CHAT, request.getUserId());
 
         // 2. Sanitize user input (additional layer beyond @SafePrompt validation)
         String sanitizedMessage = sanitizationService.sanitize(request.getMessage());
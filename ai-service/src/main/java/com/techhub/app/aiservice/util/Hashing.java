@@ -0,0 +1,33 @@
+package com.techhub.app.aiservice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content hashes used as cache keys and change fingerprints.
+ */
+public final class Hashing {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Hashing() {
+    }
+
+    /**
+     * Lowercase hex SHA-256 of the UTF-8 bytes of {@code text}
+     */
+    public static String sha256Hex(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
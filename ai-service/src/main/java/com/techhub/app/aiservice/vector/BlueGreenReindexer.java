@@ -0,0 +1,252 @@
+package com.techhub.app.aiservice.vector;
+
+import com.techhub.app.aiservice.client.QdrantClient;
+import com.techhub.app.aiservice.service.EmbeddingService;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds a Qdrant collection without taking it offline.
+ *
+ * The configured collection name (e.g. course_embeddings) is used as an
+ * alias. A rebuild fills a new versioned collection ({alias}_v{UTC start
+ * time}) while searches keep hitting the old one, checks the point count
+ * against the source rows, switches the alias in one atomic request, then
+ * drops the previous collection.
+ *
+ * Resumable: if a rebuild fails or is interrupted, the half-built version
+ * is left in place and the next rebuild continues it, embedding only rows
+ * that are missing or changed since that version was started.
+ *
+ * Rows written while a rebuild runs go through the alias to the old
+ * collection, so after the switch a catch-up pass re-applies rows whose
+ * "updated" column moved during the build (the embedding cache makes
+ * re-embedding unchanged text free).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlueGreenReindexer {
+
+    private static final String VERSION_SEPARATOR = "_v";
+    private static final DateTimeFormatter VERSION_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+    // Tolerates clock skew between this service and whoever sets "updated"
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(1);
+
+    private final QdrantClient qdrantClient;
+    private final EmbeddingService embeddingService;
+    private final EmbeddingBatcher embeddingBatcher;
+
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * What to index. Rows should carry an "updated" timestamp column for the
+     * resume and catch-up passes; rows without one are treated as unchanged.
+     */
+    @Value
+    @Builder
+    public static class Source {
+        String alias;
+        Supplier<List<Map<String, Object>>> rows;
+        Function<Map<String, Object>, String> pointId;
+        Function<Map<String, Object>, String> text;
+        BiFunction<Map<String, Object>, EmbeddingVector, QdrantClient.QdrantPoint> point;
+    }
+
+    @Value
+    @Builder
+    public static class Result {
+        String collection;
+        int rows;
+        int embedded;
+        long points;
+        boolean switched;
+    }
+
+    /**
+     * Rebuild the collection behind {@code source.alias}.
+     *
+     * @return the outcome; {@code switched} is false when validation failed,
+     *         in which case the alias is untouched and the next call resumes
+     * @throws IllegalStateException if a rebuild of the same alias is running
+     */
+    public Result rebuild(Source source) {
+        String alias = source.getAlias();
+        if (!running.add(alias)) {
+            throw new IllegalStateException("Reindex already running for " + alias);
+        }
+        try {
+            return doRebuild(source);
+        } finally {
+            running.remove(alias);
+        }
+    }
+
+    private Result doRebuild(Source source) {
+        String alias = source.getAlias();
+        String prefix = alias + VERSION_SEPARATOR;
+
+        Map<String, String> aliases = qdrantClient.listAliases();
+        List<String> collections = qdrantClient.listCollections();
+        String current = aliases.get(alias);
+
+        // Newest version the alias does not point to yet = an unfinished build
+        String target = collections.stream()
+                .filter(name -> name.startsWith(prefix) && !name.equals(current))
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+
+        Instant buildStarted;
+        Set<String> existing;
+        if (target != null) {
+            buildStarted = versionTime(target, prefix);
+            existing = qdrantClient.scrollPointIds(target);
+            log.info("⏯️ Resuming reindex of {} into {} ({} points already indexed)", alias, target,
+                    existing.size());
+        } else {
+            buildStarted = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            target = prefix + VERSION_FORMAT.format(buildStarted);
+            existing = Collections.emptySet();
+            qdrantClient.createCollection(target, embeddingService.getEmbeddingDimension());
+            log.info("🆕 Reindexing {} into new collection {}", alias, target);
+        }
+
+        Instant loaded = Instant.now();
+        List<Map<String, Object>> rows = source.getRows().get();
+        Map<String, Map<String, Object>> rowsById = byId(source, rows);
+
+        List<Map<String, Object>> pending = rows.stream()
+                .filter(row -> !existing.contains(source.getPointId().apply(row))
+                        || changedSince(row, buildStarted))
+                .collect(Collectors.toList());
+        Set<String> orphans = new HashSet<>(existing);
+        orphans.removeAll(rowsById.keySet());
+        if (!orphans.isEmpty()) {
+            qdrantClient.deletePoints(target, orphans);
+        }
+
+        int embedded = index(source, target, pending);
+
+        long points = qdrantClient.countPoints(target);
+        if (points != rowsById.size()) {
+            log.error("❌ Reindex of {} incomplete: {} has {} points for {} rows; alias left on {}. "
+                    + "Run the reindex again to resume.", alias, target, points, rowsById.size(), current);
+            return Result.builder().collection(target).rows(rowsById.size()).embedded(embedded)
+                    .points(points).switched(false).build();
+        }
+
+        if (current == null && collections.contains(alias)) {
+            // One-time migration: a plain collection holds the alias name, so it
+            // has to go before the alias can be created (brief gap)
+            log.warn("⚠️ Replacing plain collection {} with an alias", alias);
+            qdrantClient.deleteCollection(alias);
+        }
+        qdrantClient.switchAlias(alias, target, current != null);
+
+        catchUp(source, target, rowsById, loaded.minus(CATCH_UP_MARGIN));
+
+        for (String name : collections) {
+            if (!name.equals(target) && (name.equals(current) || name.startsWith(prefix))) {
+                try {
+                    qdrantClient.deleteCollection(name);
+                } catch (Exception e) {
+                    log.warn("⚠️ Failed to drop old collection {}: {}", name, e.getMessage());
+                }
+            }
+        }
+
+        log.info("🎉 Alias {} switched to {} ({} points, {} embedded this run)", alias, target, points,
+                embedded);
+        return Result.builder().collection(target).rows(rowsById.size()).embedded(embedded)
+                .points(points).switched(true).build();
+    }
+
+    /**
+     * Apply source changes made while the new collection was being built:
+     * rows added or updated since {@code since}, and rows that disappeared.
+     */
+    private void catchUp(Source source, String target, Map<String, Map<String, Object>> indexed,
+            Instant since) {
+        try {
+            Map<String, Map<String, Object>> latest = byId(source, source.getRows().get());
+            List<Map<String, Object>> changed = latest.entrySet().stream()
+                    .filter(entry -> !indexed.containsKey(entry.getKey()) || changedSince(entry.getValue(), since))
+                    .map(Map.Entry::getValue)
+                    .collect(Collectors.toList());
+            Set<String> removed = new HashSet<>(indexed.keySet());
+            removed.removeAll(latest.keySet());
+
+            if (!removed.isEmpty()) {
+                qdrantClient.deletePoints(target, removed);
+            }
+            int applied = index(source, target, changed);
+            if (applied > 0 || !removed.isEmpty()) {
+                log.info("🔁 Catch-up for {}: {} upserted, {} removed", source.getAlias(), applied,
+                        removed.size());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Catch-up after reindex of {} failed, live updates will converge: {}",
+                    source.getAlias(), e.getMessage());
+        }
+    }
+
+    private int index(Source source, String target, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<String> texts = rows.stream().map(source.getText()).collect(Collectors.toList());
+        EmbeddingBatcher.Report report = embeddingBatcher.embedAll(texts, (indices, embeddings) -> {
+            List<QdrantClient.QdrantPoint> points = new ArrayList<>(indices.size());
+            for (int i = 0; i < indices.size(); i++) {
+                points.add(source.getPoint().apply(rows.get(indices.get(i)), embeddings.get(i)));
+            }
+            qdrantClient.upsertPoints(target, points);
+        });
+        return report.getEmbedded();
+    }
+
+    private static Map<String, Map<String, Object>> byId(Source source, List<Map<String, Object>> rows) {
+        Map<String, Map<String, Object>> byId = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            byId.put(source.getPointId().apply(row), row);
+        }
+        return byId;
+    }
+
+    private static boolean changedSince(Map<String, Object> row, Instant since) {
+        Object updated = row.get("updated");
+        if (updated instanceof Date) {
+            return !((Date) updated).toInstant().isBefore(since);
+        }
+        if (updated instanceof OffsetDateTime) {
+            return !((OffsetDateTime) updated).toInstant().isBefore(since);
+        }
+        return false;
+    }
+
+    private static Instant versionTime(String collection, String prefix) {
+        try {
+            return VERSION_FORMAT.parse(collection.substring(prefix.length()), Instant::from);
+        } catch (Exception e) {
+            // Unknown suffix: treat every existing point as possibly stale
+            return Instant.EPOCH;
+        }
+    }
+}
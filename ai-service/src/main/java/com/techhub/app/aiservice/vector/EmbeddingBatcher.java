@@ -0,0 +1,273 @@
+package com.techhub.app.aiservice.vector;
+
+import com.techhub.app.aiservice.config.ChatbotProperties;
+import com.techhub.app.aiservice.service.EmbeddingService;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk embedding for reindexing. Inputs are packed into requests up to the
+ * configured item and (estimated) token limits, requests run on a small
+ * bounded pool, and 429 / 5xx / I/O failures are retried with exponential
+ * backoff. A 429 pauses every worker until the backoff (or Retry-After)
+ * elapses, so the pool slows down as a whole instead of hammering the API.
+ *
+ * Token counts are estimated from text length; no tokenizer is bundled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmbeddingBatcher {
+
+    private final EmbeddingService embeddingService;
+    private final ChatbotProperties chatbotProperties;
+
+    /**
+     * Receives each embedded batch, on a worker thread. Indices refer to
+     * positions in the list passed to {@link #embedAll}.
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+        void accept(List<Integer> indices, List<EmbeddingVector> vectors);
+    }
+
+    @Value
+    @Builder
+    public static class Report {
+        int items;
+        int batches;
+        int embedded;
+        int failed;
+        int retries;
+        long estimatedTokens;
+        Duration elapsed;
+
+        public double itemsPerSecond() {
+            return perSecond(embedded);
+        }
+
+        public double tokensPerSecond() {
+            return perSecond(items == 0 ? 0 : estimatedTokens * embedded / items);
+        }
+
+        private double perSecond(long count) {
+            long millis = Math.max(1, elapsed.toMillis());
+            return count * 1000.0 / millis;
+        }
+    }
+
+    /**
+     * Embed all texts and hand each batch to the sink as it completes.
+     * Batches that still fail after the retry budget are counted in
+     * {@link Report#getFailed()} and never reach the sink, so callers do
+     * not index fallback vectors.
+     */
+    public Report embedAll(List<String> texts, BatchSink sink) {
+        ChatbotProperties.Batch config = chatbotProperties.getEmbedding().getBatch();
+        long start = System.nanoTime();
+
+        List<String> inputs = new ArrayList<>(texts.size());
+        int[] tokens = new int[texts.size()];
+        long totalTokens = 0;
+        for (int i = 0; i < texts.size(); i++) {
+            String input = truncate(texts.get(i) != null ? texts.get(i) : "", config);
+            inputs.add(input);
+            tokens[i] = estimateTokens(input, config);
+            totalTokens += tokens[i];
+        }
+
+        List<List<Integer>> batches = pack(tokens, config);
+        if (batches.isEmpty()) {
+            return Report.builder().elapsed(Duration.ZERO).build();
+        }
+
+        AtomicInteger embedded = new AtomicInteger();
+        AtomicInteger retries = new AtomicInteger();
+        AtomicLong pausedUntil = new AtomicLong();
+
+        int threads = Math.max(1, Math.min(config.getConcurrency(), batches.size()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "embedding-batch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("📦 Embedding {} inputs (~{} tokens) in {} requests, {} at a time",
+                inputs.size(), totalTokens, batches.size(), threads);
+
+        List<Future<?>> futures = new ArrayList<>(batches.size());
+        try {
+            for (List<Integer> indices : batches) {
+                futures.add(executor.submit(() -> runBatch(indices, inputs, sink, config,
+                        pausedUntil, embedded, retries)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Embedding interrupted, {} of {} inputs embedded", embedded.get(), inputs.size());
+        } catch (ExecutionException e) {
+            log.error("❌ Embedding worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Report report = Report.builder()
+                .items(inputs.size())
+                .batches(batches.size())
+                .embedded(embedded.get())
+                .failed(inputs.size() - embedded.get())
+                .retries(retries.get())
+                .estimatedTokens(totalTokens)
+                .elapsed(Duration.ofNanos(System.nanoTime() - start))
+                .build();
+        log.info("✅ Embedded {}/{} inputs in {} ms ({} retries, {} inputs/s, ~{} tokens/s)",
+                report.getEmbedded(), report.getItems(), report.getElapsed().toMillis(), report.getRetries(),
+                Math.round(report.itemsPerSecond()), Math.round(report.tokensPerSecond()));
+        return report;
+    }
+
+    private void runBatch(List<Integer> indices, List<String> inputs, BatchSink sink,
+            ChatbotProperties.Batch config, AtomicLong pausedUntil,
+            AtomicInteger embedded, AtomicInteger retries) {
+        List<String> batch = new ArrayList<>(indices.size());
+        for (Integer index : indices) {
+            batch.add(inputs.get(index));
+        }
+
+        List<EmbeddingVector> vectors = null;
+        for (int attempt = 0; vectors == null; attempt++) {
+            try {
+                awaitPause(pausedUntil);
+                vectors = embeddingService.generateEmbeddingsBatchOrThrow(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!isRetryable(e) || attempt >= config.getMaxRetries()) {
+                    log.error("❌ Embedding request for {} inputs failed after {} attempts: {}",
+                            indices.size(), attempt + 1, e.getMessage());
+                    return;
+                }
+                long delay = backoffMillis(e, attempt, config);
+                if (isRateLimited(e)) {
+                    pausedUntil.accumulateAndGet(System.currentTimeMillis() + delay, Math::max);
+                }
+                retries.incrementAndGet();
+                log.warn("⚠️ Embedding request failed ({}), retry {}/{} in {} ms",
+                        e.getMessage(), attempt + 1, config.getMaxRetries(), delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        try {
+            sink.accept(indices, vectors);
+            embedded.addAndGet(indices.size());
+        } catch (Exception e) {
+            log.error("❌ Failed to store {} embedded inputs: {}", indices.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Greedy packing in input order: a request is closed when the next
+     * input would exceed the item or token limit.
+     */
+    static List<List<Integer>> pack(int[] tokens, ChatbotProperties.Batch config) {
+        List<List<Integer>> batches = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        long currentTokens = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (!current.isEmpty()
+                    && (current.size() >= config.getMaxItems() || currentTokens + tokens[i] > config.getMaxTokens())) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentTokens = 0;
+            }
+            current.add(i);
+            currentTokens += tokens[i];
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    private static int estimateTokens(String text, ChatbotProperties.Batch config) {
+        return Math.max(1, (int) Math.ceil(text.length() / config.getCharsPerToken()));
+    }
+
+    private static String truncate(String text, ChatbotProperties.Batch config) {
+        int maxChars = (int) (config.getMaxInputTokens() * config.getCharsPerToken());
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    private static void awaitPause(AtomicLong pausedUntil) throws InterruptedException {
+        long wait = pausedUntil.get() - System.currentTimeMillis();
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+    }
+
+    private static boolean isRateLimited(Exception e) {
+        return e instanceof HttpStatusCodeException
+                && ((HttpStatusCodeException) e).getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static boolean isRetryable(Exception e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpStatusCodeException) {
+            int status = ((HttpStatusCodeException) e).getRawStatusCode();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= 500;
+        }
+        return false;
+    }
+
+    /**
+     * Retry-After when the API sends it, otherwise exponential backoff with
+     * jitter so concurrent workers do not retry in lockstep.
+     */
+    private static long backoffMillis(Exception e, int attempt, ChatbotProperties.Batch config) {
+        long max = config.getMaxBackoff().toMillis();
+        if (e instanceof HttpStatusCodeException) {
+            HttpHeaders headers = ((HttpStatusCodeException) e).getResponseHeaders();
+            String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+            if (retryAfter != null) {
+                try {
+                    return Math.min(max, Long.parseLong(retryAfter.trim()) * 1000);
+                } catch (NumberFormatException ignored) {
+                    // HTTP-date form; fall back to exponential backoff
+                }
+            }
+        }
+        long base = config.getInitialBackoff().toMillis() << Math.min(attempt, 20);
+        long capped = Math.min(max, base);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+}
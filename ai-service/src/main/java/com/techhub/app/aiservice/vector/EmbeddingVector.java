@@ -0,0 +1,40 @@
+package com.techhub.app.aiservice.vector;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * An embedding as a primitive float array (4 bytes per dimension, versus
+ * 16+ for a boxed Double in a List). Serialized by Jackson as a plain JSON
+ * number array, so it can be placed directly in Qdrant request bodies.
+ * The array is shared, not copied: callers must not modify it.
+ */
+public final class EmbeddingVector {
+
+    public static final EmbeddingVector EMPTY = new EmbeddingVector(new float[0]);
+
+    private final float[] values;
+
+    private EmbeddingVector(float[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Wrap an array without copying; the caller gives up ownership of it.
+     */
+    public static EmbeddingVector of(float[] values) {
+        return values.length == 0 ? EMPTY : new EmbeddingVector(values);
+    }
+
+    @JsonValue
+    public float[] values() {
+        return values;
+    }
+
+    public int dimension() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+}
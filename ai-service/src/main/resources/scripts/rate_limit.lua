@@ -0,0 +1,54 @@
+-- GCRA (token bucket) over one or more limits, checked and applied atomically.
+-- KEYS[1]: hash holding the theoretical arrival time (ms) per limit, field "1".."n"
+-- ARGV[1]: number of limits n, then per limit: emission interval (ms), period (ms)
+-- Returns {allowed (1/0), retry after (ms), then per limit: remaining, ms until full}
+-- Uses the Redis clock so every replica sees the same time.
+
+redis.replicate_commands()
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local n = tonumber(ARGV[1])
+local fields = {}
+for i = 1, n do
+    fields[i] = tostring(i)
+end
+local stored = redis.call('HMGET', KEYS[1], unpack(fields))
+
+local allowed = 1
+local retryAfter = 0
+local maxPeriod = 0
+local tats = {}
+for i = 1, n do
+    local interval = tonumber(ARGV[2 * i])
+    local period = tonumber(ARGV[2 * i + 1])
+    local tat = math.max(tonumber(stored[i]) or 0, now)
+    tats[i] = tat
+    local allowAt = tat + interval - period
+    if now < allowAt then
+        allowed = 0
+        retryAfter = math.max(retryAfter, allowAt - now)
+    end
+    maxPeriod = math.max(maxPeriod, period)
+end
+
+local result = { allowed, retryAfter }
+local updates = {}
+for i = 1, n do
+    local interval = tonumber(ARGV[2 * i])
+    local period = tonumber(ARGV[2 * i + 1])
+    local tat = tats[i]
+    if allowed == 1 then
+        tat = tat + interval
+        updates[#updates + 1] = fields[i]
+        updates[#updates + 1] = string.format('%.0f', tat)
+    end
+    result[#result + 1] = math.max(0, math.floor((now + period - tat) / interval))
+    result[#result + 1] = tat - now
+end
+
+if allowed == 1 then
+    redis.call('HSET', KEYS[1], unpack(updates))
+    redis.call('PEXPIRE', KEYS[1], maxPeriod)
+end
+return result
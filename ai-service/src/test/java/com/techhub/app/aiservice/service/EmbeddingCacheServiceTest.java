@@ -0,0 +1,162 @@
+package com.techhub.app.aiservice.service;
+
+import com.techhub.app.aiservice.config.ChatbotProperties;
+import com.techhub.app.aiservice.entity.EmbeddingCacheEntry;
+import com.techhub.app.aiservice.repository.EmbeddingCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingCacheServiceTest {
+
+    private static final String MODEL = "text-embedding-3-small";
+
+    @Mock
+    private EmbeddingCacheRepository embeddingCacheRepository;
+
+    private ChatbotProperties chatbotProperties;
+
+    @BeforeEach
+    void setUp() {
+        chatbotProperties = new ChatbotProperties();
+    }
+
+    @Test
+    void encode_writesLittleEndianFloat32() {
+        byte[] bytes = EmbeddingCacheService.encode(new float[]{1.0f, -2.5f});
+
+        // 1.0f = 0x3F800000, -2.5f = 0xC0200000
+        assertThat(bytes).containsExactly(0x00, 0x00, (byte) 0x80, 0x3F, 0x00, 0x00, 0x20, (byte) 0xC0);
+    }
+
+    @Test
+    void decode_roundTripsEncodedVector() {
+        float[] vector = {0.0f, -0.0f, 1.5e-8f, -3.25f, Float.MAX_VALUE, Float.MIN_VALUE, Float.NaN};
+
+        assertThat(EmbeddingCacheService.decode(EmbeddingCacheService.encode(vector))).containsExactly(vector);
+        assertThat(EmbeddingCacheService.decode(EmbeddingCacheService.encode(new float[0]))).isEmpty();
+    }
+
+    @Test
+    void cacheKey_ignoresWhitespaceAndUnicodeComposition() {
+        EmbeddingCacheService service = service();
+
+        String key = service.cacheKey(MODEL, "L\u1EADp trình Java");
+
+        // "ậ" decomposed into a + combining dot below + combining circumflex
+        assertThat(service.cacheKey(MODEL, "  La\u0323\u0302p  trình\n\tJava ")).isEqualTo(key);
+        assertThat(key).startsWith(MODEL + ":").matches(MODEL + ":[0-9a-f]{64}");
+        assertThat(service.cacheKey("other-model", "Lập trình Java")).isNotEqualTo(key);
+        assertThat(service.cacheKey(MODEL, "Lập trình Python")).isNotEqualTo(key);
+    }
+
+    @Test
+    void getAll_fallsBackToPostgresOnlyForLocalMisses() {
+        EmbeddingCacheService service = service();
+        float[] local = {1f, 2f};
+        float[] stored = {3f, 4f};
+        service.putAll(MODEL, Map.of("local", local));
+        when(embeddingCacheRepository.findAllById(List.of("stored", "missing")))
+                .thenReturn(List.of(entry("stored", stored)));
+
+        Map<String, float[]> found = service.getAll(List.of("local", "stored", "missing"));
+
+        assertThat(found).containsOnlyKeys("local", "stored");
+        assertThat(found.get("local")).isSameAs(local);
+        assertThat(found.get("stored")).containsExactly(stored);
+
+        // The stored vector is now held locally
+        assertThat(service.getAll(List.of("stored")).get("stored")).containsExactly(stored);
+        verify(embeddingCacheRepository).findAllById(List.of("stored", "missing"));
+    }
+
+    @Test
+    void getAll_treatsPostgresFailureAsMisses() {
+        EmbeddingCacheService service = service();
+        when(embeddingCacheRepository.findAllById(any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertThat(service.getAll(List.of("a", "b"))).isEmpty();
+    }
+
+    @Test
+    void putAll_persistsEncodedVectors() {
+        EmbeddingCacheService service = service();
+        float[] vector = {0.5f, -1f, 2f};
+
+        service.putAll(MODEL, Map.of("key", vector));
+
+        verify(embeddingCacheRepository).insertIfAbsent(eq("key"), eq(MODEL), eq(3),
+                eq(EmbeddingCacheService.encode(vector)));
+    }
+
+    @Test
+    void putAll_keepsGoingWhenOneInsertFails() {
+        EmbeddingCacheService service = service();
+        when(embeddingCacheRepository.insertIfAbsent(anyString(), anyString(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    if ("bad".equals(invocation.getArgument(0))) {
+                        throw new DataAccessResourceFailureException("connection refused");
+                    }
+                    return 1;
+                });
+
+        service.putAll(MODEL, Map.of("bad", new float[]{1f}, "good", new float[]{2f}));
+
+        verify(embeddingCacheRepository).insertIfAbsent(eq("good"), eq(MODEL), eq(1), any());
+        assertThat(service.getAll(List.of("bad", "good"))).containsOnlyKeys("bad", "good");
+    }
+
+    @Test
+    void nonPersistentCacheNeverTouchesPostgres() {
+        chatbotProperties.getEmbedding().getCache().setPersistent(false);
+        EmbeddingCacheService service = service();
+
+        service.putAll(MODEL, Map.of("key", new float[]{1f}));
+
+        assertThat(service.getAll(List.of("key", "missing"))).containsOnlyKeys("key");
+        verify(embeddingCacheRepository, never()).insertIfAbsent(anyString(), anyString(), anyInt(), any());
+        verify(embeddingCacheRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        chatbotProperties.getEmbedding().getCache().setEnabled(false);
+        EmbeddingCacheService service = service();
+
+        service.putAll(MODEL, Map.of("key", new float[]{1f}));
+
+        assertThat(service.isEnabled()).isFalse();
+        assertThat(service.getAll(List.of("key"))).isEmpty();
+        verify(embeddingCacheRepository, never()).insertIfAbsent(anyString(), anyString(), anyInt(), any());
+    }
+
+    private EmbeddingCacheService service() {
+        return new EmbeddingCacheService(embeddingCacheRepository, chatbotProperties);
+    }
+
+    private static EmbeddingCacheEntry entry(String key, float[] vector) {
+        EmbeddingCacheEntry entry = new EmbeddingCacheEntry();
+        entry.setCacheKey(key);
+        entry.setModelId(MODEL);
+        entry.setDimensions(vector.length);
+        entry.setVector(EmbeddingCacheService.encode(vector));
+        return entry;
+    }
+}
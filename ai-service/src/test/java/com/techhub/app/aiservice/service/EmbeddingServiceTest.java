@@ -0,0 +1,89 @@
+package com.techhub.app.aiservice.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingServiceTest {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Test
+    void readEmbeddings_ordersByIndexAndSkipsOtherFields() throws IOException {
+        String json = "{"
+                + "\"object\":\"list\","
+                + "\"data\":["
+                + "{\"object\":\"embedding\",\"index\":1,\"embedding\":[0.5,-0.25]},"
+                + "{\"embedding\":[1.0,2.0],\"meta\":{\"nested\":[1,{\"a\":[]}]},\"index\":0}"
+                + "],"
+                + "\"model\":\"text-embedding-3-small\","
+                + "\"usage\":{\"prompt_tokens\":8,\"total_tokens\":8}"
+                + "}";
+
+        List<float[]> embeddings = read(json);
+
+        assertThat(embeddings).hasSize(2);
+        assertThat(embeddings.get(0)).containsExactly(1.0f, 2.0f);
+        assertThat(embeddings.get(1)).containsExactly(0.5f, -0.25f);
+    }
+
+    @Test
+    void readEmbeddings_dataAfterOtherFieldsAndWithoutIndex() throws IOException {
+        String json = "{\"usage\":{\"total_tokens\":3},\"data\":["
+                + "{\"embedding\":[3e-2]},"
+                + "{\"embedding\":[-1]}"
+                + "]}";
+
+        List<float[]> embeddings = read(json);
+
+        assertThat(embeddings).hasSize(2);
+        assertThat(embeddings.get(0)).containsExactly(0.03f);
+        assertThat(embeddings.get(1)).containsExactly(-1.0f);
+    }
+
+    @Test
+    void readEmbeddings_keepsFullVectorsOfAnyDimension() throws IOException {
+        String values = IntStream.range(0, 3000)
+                .mapToObj(i -> Float.toString(i / 1000f))
+                .collect(Collectors.joining(","));
+
+        List<float[]> embeddings = read("{\"data\":[{\"index\":0,\"embedding\":[" + values + "]}]}");
+
+        assertThat(embeddings).hasSize(1);
+        assertThat(embeddings.get(0)).hasSize(3000);
+        assertThat(embeddings.get(0)[0]).isEqualTo(0f);
+        assertThat(embeddings.get(0)[2999]).isEqualTo(2.999f);
+    }
+
+    @Test
+    void readEmbeddings_itemsWithoutEmbeddingAreDropped() throws IOException {
+        String json = "{\"data\":[{\"index\":0,\"embedding\":null},{\"index\":1,\"embedding\":[1]}]}";
+
+        List<float[]> embeddings = read(json);
+
+        assertThat(embeddings).hasSize(1);
+        assertThat(embeddings.get(0)).containsExactly(1.0f);
+    }
+
+    @Test
+    void readEmbeddings_responsesWithoutData() throws IOException {
+        assertThat(read("{\"error\":{\"message\":\"Rate limit reached\",\"code\":null}}")).isEmpty();
+        assertThat(read("{\"data\":[]}")).isEmpty();
+        assertThat(read("{\"data\":{\"index\":0}}")).isEmpty();
+        assertThat(read("[]")).isNull();
+        assertThat(read("")).isNull();
+    }
+
+    private static List<float[]> read(String json) throws IOException {
+        try (JsonParser parser = JSON.createParser(json)) {
+            return EmbeddingService.readEmbeddings(parser);
+        }
+    }
+}
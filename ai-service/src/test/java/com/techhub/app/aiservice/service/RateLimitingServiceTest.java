@@ -0,0 +1,227 @@
+package com.techhub.app.aiservice.service;
+
+import com.techhub.app.aiservice.config.AiSecurityProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitingServiceTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    private AiSecurityProperties properties;
+    private RateLimitingService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AiSecurityProperties();
+        service = new RateLimitingService(properties, redisTemplateProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void apply_allowsBurstUpToCapacity() {
+        List<AiSecurityProperties.Limit> limits = List.of(limit(3, Duration.ofMinutes(1)));
+        long[] tats = new long[1];
+
+        for (int expectedRemaining = 2; expectedRemaining >= 0; expectedRemaining--) {
+            RateLimitingService.Decision decision = RateLimitingService.apply(tats, limits, NOW);
+            assertThat(decision.isAllowed()).isTrue();
+            assertThat(decision.getRemaining()).isEqualTo(expectedRemaining);
+        }
+
+        RateLimitingService.Decision denied = RateLimitingService.apply(tats, limits, NOW);
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(denied.getLimit()).isEqualTo(3);
+        assertThat(denied.getRemaining()).isZero();
+        // One request every 20 s; the whole bucket is back after a minute
+        assertThat(denied.getRetryAfterMillis()).isEqualTo(20_000);
+        assertThat(denied.getResetMillis()).isEqualTo(60_000);
+        assertThat(tats[0]).isEqualTo(NOW + 60_000);
+    }
+
+    @Test
+    void apply_refillsOneRequestPerInterval() {
+        List<AiSecurityProperties.Limit> limits = List.of(limit(3, Duration.ofMinutes(1)));
+        long[] tats = {NOW + 60_000}; // empty bucket
+
+        assertThat(RateLimitingService.apply(tats, limits, NOW + 19_999).getRetryAfterMillis()).isEqualTo(1);
+
+        RateLimitingService.Decision refilled = RateLimitingService.apply(tats, limits, NOW + 20_000);
+        assertThat(refilled.isAllowed()).isTrue();
+        assertThat(refilled.getRemaining()).isZero();
+        assertThat(RateLimitingService.apply(tats, limits, NOW + 20_000).isAllowed()).isFalse();
+
+        // Idle for longer than the period: full burst again, not more
+        RateLimitingService.Decision idle = RateLimitingService.apply(tats, limits, NOW + 600_000);
+        assertThat(idle.isAllowed()).isTrue();
+        assertThat(idle.getRemaining()).isEqualTo(2);
+        assertThat(idle.getResetMillis()).isEqualTo(20_000);
+    }
+
+    @Test
+    void apply_deniedRequestConsumesNoLimit() {
+        List<AiSecurityProperties.Limit> limits = List.of(
+                limit(2, Duration.ofMinutes(1)),
+                limit(10, Duration.ofHours(1)));
+        long[] tats = new long[2];
+        RateLimitingService.apply(tats, limits, NOW);
+        RateLimitingService.apply(tats, limits, NOW);
+        long[] before = tats.clone();
+
+        RateLimitingService.Decision denied = RateLimitingService.apply(tats, limits, NOW);
+
+        // The hourly limit alone would allow it, but must not be charged
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(tats).containsExactly(before);
+        assertThat(denied.getLimit()).isEqualTo(2);
+        assertThat(denied.getRemaining()).isZero();
+        assertThat(denied.getRetryAfterMillis()).isEqualTo(30_000);
+    }
+
+    @Test
+    void apply_deniedByEitherLimit() {
+        List<AiSecurityProperties.Limit> limits = List.of(
+                limit(5, Duration.ofMinutes(1)),
+                limit(2, Duration.ofHours(1)));
+        long[] tats = new long[2];
+        RateLimitingService.apply(tats, limits, NOW);
+        RateLimitingService.apply(tats, limits, NOW + 60_000);
+        long[] before = tats.clone();
+
+        RateLimitingService.Decision denied = RateLimitingService.apply(tats, limits, NOW + 120_000);
+
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(tats).containsExactly(before);
+        assertThat(denied.getLimit()).isEqualTo(2);
+        // Next hourly slot opens 30 minutes after the first request
+        assertThat(denied.getRetryAfterMillis()).isEqualTo(1_800_000 - 120_000);
+    }
+
+    @Test
+    void apply_reportsTightestLimit() {
+        List<AiSecurityProperties.Limit> limits = List.of(
+                limit(5, Duration.ofMinutes(1)),
+                limit(5, Duration.ofHours(1)));
+        long[] tats = new long[2];
+
+        RateLimitingService.Decision decision = RateLimitingService.apply(tats, limits, NOW);
+
+        // Same remaining count: the limit that takes longer to refill wins
+        assertThat(decision.getRemaining()).isEqualTo(4);
+        assertThat(decision.getResetMillis()).isEqualTo(720_000);
+        assertThat(decision.resetSeconds()).isEqualTo(720);
+    }
+
+    @Test
+    void decision_roundsSecondsUp() {
+        RateLimitingService.Decision decision = new RateLimitingService.Decision(false, 1, 0, 20_001, 1);
+
+        assertThat(decision.resetSeconds()).isEqualTo(21);
+        assertThat(decision.retryAfterSeconds()).isEqualTo(1);
+        assertThat(new RateLimitingService.Decision(true, 1, 0, 20_000, 0).resetSeconds()).isEqualTo(20);
+    }
+
+    @Test
+    void resolveTier_firstConfiguredTierMatchingARole() {
+        Map<String, List<AiSecurityProperties.Limit>> tiers = new LinkedHashMap<>();
+        tiers.put("default", List.of(limit(5, Duration.ofMinutes(1))));
+        tiers.put("Premium", List.of(limit(50, Duration.ofMinutes(1))));
+        tiers.put("admin", List.of(limit(500, Duration.ofMinutes(1))));
+        properties.getRateLimit().getEndpoints().put(RateLimitingService.CHAT, tiers);
+
+        assertThat(service.resolveTier(RateLimitingService.CHAT, withRoles("ROLE_ADMIN, ROLE_PREMIUM")))
+                .isEqualTo("Premium");
+        assertThat(service.resolveTier(RateLimitingService.CHAT, withRoles("Admin"))).isEqualTo("admin");
+        assertThat(service.resolveTier(RateLimitingService.CHAT, withRoles("ROLE_STUDENT"))).isEqualTo("default");
+        assertThat(service.resolveTier(RateLimitingService.CHAT, withRoles("DEFAULT"))).isEqualTo("default");
+        assertThat(service.resolveTier(RateLimitingService.CHAT, withRoles(""))).isEqualTo("default");
+        assertThat(service.resolveTier(RateLimitingService.CHAT, new MockHttpServletRequest())).isEqualTo("default");
+        assertThat(service.resolveTier(RateLimitingService.CHAT, null)).isEqualTo("default");
+        assertThat(service.resolveTier(RateLimitingService.GENERATION, withRoles("ROLE_ADMIN")))
+                .isEqualTo("default");
+    }
+
+    @Test
+    void acquire_usesTierLimitsPerUserAndSetsHeaders() {
+        Map<String, List<AiSecurityProperties.Limit>> tiers = new LinkedHashMap<>();
+        tiers.put("default", List.of(limit(2, Duration.ofMinutes(1))));
+        tiers.put("admin", List.of(limit(100, Duration.ofMinutes(1))));
+        properties.getRateLimit().getEndpoints().put(RateLimitingService.CHAT, tiers);
+        UUID userId = UUID.randomUUID();
+
+        bindRequest(withRoles("ROLE_USER"));
+        service.acquire(RateLimitingService.CHAT, userId);
+        service.acquire(RateLimitingService.CHAT, userId);
+        MockHttpServletResponse response = bindRequest(withRoles("ROLE_USER"));
+        RateLimitingService.Decision denied = service.acquire(RateLimitingService.CHAT, userId);
+
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("2");
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(response.getHeader("X-RateLimit-Reset")).isEqualTo("60");
+        assertThat(response.getHeader("Retry-After")).isEqualTo("30");
+
+        // Other users and other tiers have their own buckets
+        assertThat(service.acquire(RateLimitingService.CHAT, UUID.randomUUID()).isAllowed()).isTrue();
+        response = bindRequest(withRoles("ROLE_ADMIN"));
+        assertThat(service.acquire(RateLimitingService.CHAT, userId).isAllowed()).isTrue();
+        assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("100");
+        assertThat(response.getHeader("Retry-After")).isNull();
+    }
+
+    @Test
+    void acquire_fallsBackToGlobalLimitsForUnconfiguredEndpoints() {
+        properties.getRateLimit().setMaxRequestsPerMinute(1);
+
+        RateLimitingService.Decision first = service.acquire(RateLimitingService.GENERATION, UUID.randomUUID());
+
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getLimit()).isEqualTo(1);
+        assertThat(first.getRemaining()).isZero();
+    }
+
+    private static AiSecurityProperties.Limit limit(int capacity, Duration period) {
+        AiSecurityProperties.Limit limit = new AiSecurityProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPeriod(period);
+        return limit;
+    }
+
+    private static MockHttpServletRequest withRoles(String roles) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Roles", roles);
+        return request;
+    }
+
+    private static MockHttpServletResponse bindRequest(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+}
@@ -0,0 +1,65 @@
+package com.techhub.app.aiservice.vector;
+
+import com.techhub.app.aiservice.config.ChatbotProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingBatcherTest {
+
+    @Test
+    void pack_closesBatchAtItemLimit() {
+        List<List<Integer>> batches = EmbeddingBatcher.pack(new int[]{1, 1, 1, 1, 1}, config(2, 100));
+
+        assertThat(batches).containsExactly(List.of(0, 1), List.of(2, 3), List.of(4));
+    }
+
+    @Test
+    void pack_closesBatchBeforeTokenLimitIsExceeded() {
+        List<List<Integer>> batches = EmbeddingBatcher.pack(new int[]{40, 60, 1, 50, 50}, config(10, 100));
+
+        // 40 + 60 fills the budget exactly; 1 + 50 + 50 would exceed it
+        assertThat(batches).containsExactly(List.of(0, 1), List.of(2, 3), List.of(4));
+    }
+
+    @Test
+    void pack_oversizedInputGetsItsOwnBatch() {
+        List<List<Integer>> batches = EmbeddingBatcher.pack(new int[]{10, 250, 10}, config(10, 100));
+
+        assertThat(batches).containsExactly(List.of(0), List.of(1), List.of(2));
+    }
+
+    @Test
+    void pack_keepsInputOrderAndEveryIndexOnce() {
+        int[] tokens = new int[1000];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = 1 + (i * 37) % 90;
+        }
+
+        List<List<Integer>> batches = EmbeddingBatcher.pack(tokens, config(16, 400));
+
+        int next = 0;
+        for (List<Integer> batch : batches) {
+            assertThat(batch).isNotEmpty().hasSizeLessThanOrEqualTo(16);
+            assertThat(batch.stream().mapToInt(i -> tokens[i]).sum()).isLessThanOrEqualTo(400);
+            for (int index : batch) {
+                assertThat(index).isEqualTo(next++);
+            }
+        }
+        assertThat(next).isEqualTo(tokens.length);
+    }
+
+    @Test
+    void pack_noInputsNoBatches() {
+        assertThat(EmbeddingBatcher.pack(new int[0], config(10, 100))).isEmpty();
+    }
+
+    private static ChatbotProperties.Batch config(int maxItems, int maxTokens) {
+        ChatbotProperties.Batch config = new ChatbotProperties.Batch();
+        config.setMaxItems(maxItems);
+        config.setMaxTokens(maxTokens);
+        return config;
+    }
+}
@@ -5,6 +5,7 @@ import com.techhub.app.blogservice.dto.response.BlogResponse;
 import com.techhub.app.blogservice.service.BlogService;
 import com.techhub.app.commonservice.payload.GlobalResponse;
 import com.techhub.app.commonservice.payload.PageGlobalResponse;
+import com.techhub.app.commonservice.sql.CursorPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -64,6 +65,23 @@ public class BlogController {
         );
     }
 
+    // Keyset mode: selected whenever a cursor parameter is sent (empty for the first page)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PageGlobalResponse<BlogResponse>> getBlogsByCursor(@RequestParam String cursor,
+                                                                             @RequestParam(defaultValue = "10") int size,
+                                                                             @RequestParam(required = false) String keyword,
+                                                                             @RequestParam(required = false) List<String> tags,
+                                                                             @RequestParam(defaultValue = "false") boolean includeDrafts,
+                                                                             @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                                             HttpServletRequest request) {
+        CursorPage<BlogResponse> blogPage = blogService.getBlogsByCursor(keyword, tags, includeDrafts, cursor, size,
+                includeTotal);
+        return ResponseEntity.ok(
+                PageGlobalResponse.success("Blogs retrieved successfully", blogPage)
+                        .withPath(request.getRequestURI())
+        );
+    }
+
     @GetMapping("/tags")
     public ResponseEntity<GlobalResponse<List<String>>> getBlogTags(HttpServletRequest request) {
         List<String> tags = blogService.getTags();
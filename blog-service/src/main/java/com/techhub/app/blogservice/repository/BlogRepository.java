@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -119,6 +121,52 @@ public interface BlogRepository extends JpaRepository<Blog, UUID> {
                          @Param("tags") List<String> tags,
                          Pageable pageable);
 
+    // Keyset pages ordered by (created, id) DESC; see commonservice.sql.Cursor
+    @Query("SELECT b FROM Blog b " +
+            "WHERE b.isActive = true " +
+            "AND b.status IN :statuses " +
+            "AND (b.created < :afterCreated OR (b.created = :afterCreated AND b.id < :afterId)) " +
+            "ORDER BY b.created DESC, b.id DESC")
+    List<Blog> findPageAfter(@Param("statuses") Collection<BlogStatus> statuses,
+                             @Param("afterCreated") OffsetDateTime afterCreated,
+                             @Param("afterId") UUID afterId,
+                             Pageable pageable);
+
+    @Query(
+            value = "SELECT * FROM blogs " +
+                    "WHERE is_active = 'Y' " +
+                    "  AND (:status IS NULL OR status = CAST(:status AS blog_status)) " +
+                    "  AND ( " +
+                    "        :keyword IS NULL " +
+                    "        OR :keyword = '' " +
+                    "        OR LOWER(title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                    "        OR EXISTS ( " +
+                    "            SELECT 1 FROM UNNEST(tags) AS tag(tag_value) " +
+                    "            WHERE LOWER(tag_value) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                    "        ) " +
+                    "      ) " +
+                    "  AND ( " +
+                    "        :tags IS NULL " +
+                    "        OR CARDINALITY(:tags) = 0 " +
+                    "        OR EXISTS ( " +
+                    "            SELECT 1 " +
+                    "            FROM UNNEST(tags) AS tag(tag_value) " +
+                    "            WHERE LOWER(tag_value) = ANY(COALESCE(:tags, ARRAY[]::text[])) " +
+                    "        ) " +
+                    "      ) " +
+                    "  AND (created < :afterCreated " +
+                    "       OR (created = :afterCreated AND id < CAST(:afterId AS uuid))) " +
+                    "ORDER BY created DESC, id DESC " +
+                    "LIMIT :limit",
+            nativeQuery = true
+    )
+    List<Blog> searchAfter(@Param("status") String status,
+                           @Param("keyword") String keyword,
+                           @Param("tags") List<String> tags,
+                           @Param("afterCreated") OffsetDateTime afterCreated,
+                           @Param("afterId") UUID afterId,
+                           @Param("limit") int limit);
+
     @Query(
             value = "SELECT DISTINCT tag_value " +
                     "FROM blogs CROSS JOIN LATERAL UNNEST(tags) AS tag(tag_value) " +
@@ -2,6 +2,7 @@ package com.techhub.app.blogservice.service;
 
 import com.techhub.app.blogservice.dto.request.BlogRequest;
 import com.techhub.app.blogservice.dto.response.BlogResponse;
+import com.techhub.app.commonservice.sql.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,6 +13,9 @@ public interface BlogService {
 
     Page<BlogResponse> getBlogs(String keyword, List<String> tags, boolean includeDrafts, Pageable pageable);
 
+    CursorPage<BlogResponse> getBlogsByCursor(String keyword, List<String> tags, boolean includeDrafts,
+                                              String cursor, int size, boolean includeTotal);
+
     BlogResponse getBlog(UUID blogId);
 
     BlogResponse createBlog(BlogRequest request);
@@ -8,6 +8,7 @@ import com.techhub.app.blogservice.mapper.BlogMapper;
 import com.techhub.app.blogservice.repository.BlogRepository;
 import com.techhub.app.blogservice.service.BlogService;
 import com.techhub.app.commonservice.context.UserContext;
+import com.techhub.app.commonservice.exception.BadRequestException;
 import com.techhub.app.commonservice.exception.ForbiddenException;
 import com.techhub.app.commonservice.exception.NotFoundException;
 import com.techhub.app.commonservice.exception.UnauthorizedException;
@@ -16,9 +17,12 @@ import com.techhub.app.commonservice.kafka.event.notification.NotificationDelive
 import com.techhub.app.commonservice.kafka.event.notification.NotificationRecipient;
 import com.techhub.app.commonservice.kafka.event.notification.NotificationType;
 import com.techhub.app.commonservice.kafka.publisher.NotificationCommandPublisher;
+import com.techhub.app.commonservice.sql.Cursor;
+import com.techhub.app.commonservice.sql.CursorPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -68,6 +72,49 @@ public class BlogServiceImpl implements BlogService {
         return blogs.map(blogMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BlogResponse> getBlogsByCursor(String keyword, List<String> tags, boolean includeDrafts,
+                                                     String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > 100) {
+            throw new BadRequestException("Page size must be between 1 and 100");
+        }
+        String normalizedKeyword = normalize(keyword);
+        List<String> normalizedTags = normalizeTags(tags);
+        boolean allStatuses = includeDrafts && UserContext.hasAnyRole(ROLE_ADMIN, ROLE_INSTRUCTOR);
+        boolean hasFilters = normalizedKeyword != null || !normalizedTags.isEmpty();
+        Cursor after = Cursor.decode(cursor);
+
+        List<Blog> rows;
+        if (hasFilters) {
+            rows = blogRepository.searchAfter(allStatuses ? null : BlogStatus.PUBLISHED.name(),
+                    normalizedKeyword, normalizedTags, after.getCreated(), after.getId(), size + 1);
+        } else {
+            rows = blogRepository.findPageAfter(
+                    allStatuses ? EnumSet.allOf(BlogStatus.class) : EnumSet.of(BlogStatus.PUBLISHED),
+                    after.getCreated(), after.getId(), PageRequest.of(0, size + 1));
+        }
+        CursorPage<BlogResponse> page = CursorPage.fromLookahead(rows, size,
+                blog -> Cursor.of(blog.getCreated(), blog.getId())).map(blogMapper::toResponse);
+
+        if (includeTotal) {
+            Pageable probe = PageRequest.of(0, 1);
+            Page<Blog> counted;
+            if (allStatuses) {
+                counted = hasFilters
+                        ? blogRepository.searchAll(normalizedKeyword, normalizedTags, probe)
+                        : blogRepository.findByIsActiveTrueOrderByCreatedDesc(probe);
+            } else {
+                counted = hasFilters
+                        ? blogRepository.searchPublished(BlogStatus.PUBLISHED.name(), normalizedKeyword,
+                        normalizedTags, probe)
+                        : blogRepository.findByStatusAndIsActiveTrueOrderByCreatedDesc(BlogStatus.PUBLISHED, probe);
+            }
+            page.withTotalElements(counted.getTotalElements());
+        }
+        return page;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BlogResponse getBlog(UUID blogId) {
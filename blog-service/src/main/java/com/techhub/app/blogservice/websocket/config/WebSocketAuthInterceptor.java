@@ -1,13 +1,13 @@
 package com.techhub.app.blogservice.websocket.config;
 
+import com.techhub.app.commonservice.jwt.JwtPrincipal;
 import com.techhub.app.commonservice.jwt.JwtUtil;
 import com.techhub.app.commonservice.websocket.interceptor.BaseWebSocketAuthInterceptor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 /**
  * WebSocket Authentication Interceptor cho Blog Service.
@@ -23,19 +23,16 @@ public class WebSocketAuthInterceptor extends BaseWebSocketAuthInterceptor {
     @Override
     protected TokenValidationResult validateToken(String token) {
         try {
-            // Validate token
-            if (!jwtUtil.validateToken(token)) {
+            // Validate token and extract user info in one parse
+            Optional<JwtPrincipal> principal = jwtUtil.verify(token);
+            if (principal.isEmpty()) {
                 log.warn("Invalid JWT token for WebSocket connection");
                 return TokenValidationResult.invalid();
             }
 
-            // Extract user info từ token
-            UUID userId = jwtUtil.getUserIdFromToken(token);
-            String email = jwtUtil.getEmailFromToken(token);
-            List<String> roles = jwtUtil.getRolesFromToken(token);
-
-            log.debug("WebSocket token validated for user: {} ({})", email, userId);
-            return TokenValidationResult.valid(userId, email, roles);
+            JwtPrincipal user = principal.get();
+            log.debug("WebSocket token validated for user: {} ({})", user.getEmail(), user.getUserId());
+            return TokenValidationResult.valid(user.getUserId(), user.getEmail(), user.getRoles());
 
         } catch (Exception e) {
             log.error("Error validating WebSocket JWT token: {}", e.getMessage());
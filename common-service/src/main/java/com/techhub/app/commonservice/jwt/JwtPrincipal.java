@@ -0,0 +1,47 @@
+package com.techhub.app.commonservice.jwt;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable result of verifying a JWT once: everything callers read from the
+ * token, so it does not need to be parsed again.
+ */
+public final class JwtPrincipal {
+
+    private final UUID userId;
+    private final String email;
+    private final List<String> roles;
+    private final String type;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(UUID userId, String email, List<String> roles, String type, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.roles = roles != null ? Collections.unmodifiableList(roles) : Collections.emptyList();
+        this.type = type;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+}
@@ -1,15 +1,26 @@
 package com.techhub.app.commonservice.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -26,10 +37,112 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration:604800000}") // 7 days
     private long refreshExpiration;
 
+    // Verified-token cache: SHA-256(token) -> principal, bounded and expiry-aware
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    @Value("${jwt.verified-cache.ttl:600000}") // 10 minutes
+    private long verifiedCacheTtl;
+
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new TokenExpiry(Duration.ofMillis(verifiedCacheTtl)))
+                .build();
+    }
 
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    /**
+     * Verify the token once and return everything read from it. Recently
+     * verified tokens are served from a bounded cache keyed by the token's
+     * SHA-256 hash; cached entries never outlive the token's own expiry.
+     *
+     * @return the principal, or empty if the token is invalid or expired
+     */
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = hash(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        JwtPrincipal principal;
+        try {
+            principal = toPrincipal(getAllClaimsFromToken(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("JWT validation failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+        verifiedTokens.put(key, principal);
+        return Optional.of(principal);
+    }
+
+    @SuppressWarnings("unchecked")
+    private JwtPrincipal toPrincipal(Claims claims) {
+        List<String> roles = claims.get("roles", List.class);
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(
+                UUID.fromString(claims.getSubject()),
+                claims.get("email", String.class),
+                roles != null ? new ArrayList<>(roles) : null,
+                claims.get("type", String.class),
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Keeps a verified principal for the configured TTL, but never past the
+     * token's own expiry.
+     */
+    private static final class TokenExpiry implements Expiry<String, JwtPrincipal> {
+        private final Duration ttl;
+
+        TokenExpiry(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            if (principal.getExpiresAt() == null) {
+                return ttl.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), principal.getExpiresAt());
+            return Math.max(0L, Math.min(ttl.toNanos(), remaining.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
     }
 
     public String generateToken(UUID userId, String email, List<String> roles) {
@@ -71,27 +184,23 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("JWT validation failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     public UUID getUserIdFromToken(String token) {
-        String subject = getClaimFromToken(token, Claims::getSubject);
-        return UUID.fromString(subject);
+        return requirePrincipal(token).getUserId();
     }
 
     public String getEmailFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("email", String.class));
+        return requirePrincipal(token).getEmail();
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("roles", List.class));
+        return requirePrincipal(token).getRoles();
+    }
+
+    private JwtPrincipal requirePrincipal(String token) {
+        return verify(token).orElseThrow(() -> new JwtException("Invalid or expired JWT token"));
     }
 
     public Date getExpirationDateFromToken(String token) {
@@ -104,12 +213,7 @@ public class JwtUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String extractTokenFromHeader(String authHeader) {
@@ -120,25 +224,12 @@ public class JwtUtil {
     }
 
     public boolean validateRefreshToken(String token) {
-        try {
-            Claims claims = getAllClaimsFromToken(token);
-            String type = claims.get("type", String.class);
-            return "refresh".equals(type) && !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Refresh token validation failed: {}", e.getMessage());
-            return false;
-        }
+        // verify() already rejects expired tokens
+        return isRefreshToken(token);
     }
 
     public boolean isRefreshToken(String token) {
-        try {
-            Claims claims = getAllClaimsFromToken(token);
-            String type = claims.get("type", String.class);
-            return "refresh".equals(type);
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Failed to check token type: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).map(JwtPrincipal::isRefreshToken).orElse(false);
     }
 
     public java.time.LocalDateTime getExpirationDateFromRefreshToken(String token) {
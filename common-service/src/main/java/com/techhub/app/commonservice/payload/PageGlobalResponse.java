@@ -1,6 +1,7 @@
 package com.techhub.app.commonservice.payload;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.techhub.app.commonservice.sql.CursorPage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,6 +22,7 @@ public class PageGlobalResponse<T> {
     private String message;
     private List<T> data;
     private PaginationInfo pagination;
+    private CursorInfo cursor;
     private LocalDateTime timestamp;
     private String path;
     private Integer code;
@@ -40,6 +42,18 @@ public class PageGlobalResponse<T> {
         private boolean hasPrevious;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CursorInfo {
+        private int size;
+        private boolean hasNext;
+        private String nextCursor;
+        private Long totalElements;
+    }
+
     public static <T> PageGlobalResponse<T> success(List<T> data, PaginationInfo pagination) {
         return PageGlobalResponse.<T>builder()
                 .success(true)
@@ -64,6 +78,24 @@ public class PageGlobalResponse<T> {
                 .build();
     }
 
+    public static <T> PageGlobalResponse<T> success(String message, CursorPage<T> page) {
+        CursorInfo cursor = CursorInfo.builder()
+                .size(page.getSize())
+                .hasNext(page.isHasNext())
+                .nextCursor(page.getNextCursor())
+                .totalElements(page.getTotalElements())
+                .build();
+        return PageGlobalResponse.<T>builder()
+                .success(true)
+                .status("SUCCESS")
+                .message(message)
+                .data(page.getContent())
+                .cursor(cursor)
+                .timestamp(LocalDateTime.now())
+                .code(200)
+                .build();
+    }
+
     public static <T> PageGlobalResponse<T> error(String message) {
         return PageGlobalResponse.<T>builder()
                 .success(false)
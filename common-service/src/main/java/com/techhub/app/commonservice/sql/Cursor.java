@@ -0,0 +1,94 @@
+package com.techhub.app.commonservice.sql;
+
+import com.techhub.app.commonservice.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position over {@code (created, id)} for listings ordered by
+ * {@code created DESC, id DESC}. Clients only ever see the opaque
+ * {@link #encode()} form.
+ * <p>
+ * {@link #start()} sorts after every real row, so "created &lt; :created OR
+ * (created = :created AND id &lt; :id)" also selects the first page and a
+ * single query serves every page.
+ */
+public final class Cursor {
+
+    private static final Cursor START = new Cursor(
+            OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC).toInstant(),
+            new UUID(-1L, -1L));
+
+    private final Instant created;
+    private final UUID id;
+
+    private Cursor(Instant created, UUID id) {
+        this.created = created;
+        this.id = id;
+    }
+
+    public static Cursor start() {
+        return START;
+    }
+
+    public static Cursor of(OffsetDateTime created, UUID id) {
+        return new Cursor(created.toInstant(), id);
+    }
+
+    /**
+     * For entities mapping {@code created} as a zone-less
+     * {@link LocalDateTime} in the JVM's default zone.
+     */
+    public static Cursor of(LocalDateTime created, UUID id) {
+        return new Cursor(created.atZone(ZoneId.systemDefault()).toInstant(), id);
+    }
+
+    /**
+     * Decode a client cursor; blank means the first page.
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new Cursor(Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = created + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public OffsetDateTime getCreated() {
+        return created.atOffset(ZoneOffset.UTC);
+    }
+
+    public LocalDateTime getCreatedLocal() {
+        return LocalDateTime.ofInstant(created, ZoneId.systemDefault());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
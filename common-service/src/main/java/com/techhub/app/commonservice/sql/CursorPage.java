@@ -0,0 +1,47 @@
+package com.techhub.app.commonservice.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset listing. Unlike {@code Page}, no count query is run:
+ * {@code totalElements} is only filled when a caller explicitly asks for it.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    List<T> content;
+    int size;
+    boolean hasNext;
+    String nextCursor;
+    Long totalElements;
+
+    /**
+     * Build a page from a query that fetched {@code size + 1} rows; the extra
+     * row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> fromLookahead(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor, null);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPage<>(mapped, size, hasNext, nextCursor, totalElements);
+    }
+
+    public CursorPage<T> withTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+        return this;
+    }
+}
@@ -0,0 +1,65 @@
+package com.techhub.app.commonservice.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTest {
+
+    private static final OffsetDateTime CREATED = OffsetDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+    private final Function<UUID, Cursor> cursorOf = id -> Cursor.of(CREATED, id);
+
+    @Test
+    void fromLookahead_extraRowSignalsNextPage() {
+        CursorPage<UUID> page = CursorPage.fromLookahead(ids, 2, cursorOf);
+
+        assertThat(page.getContent()).containsExactly(ids.get(0), ids.get(1));
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(Cursor.decode(page.getNextCursor()).getId()).isEqualTo(ids.get(1));
+        assertThat(page.getTotalElements()).isNull();
+    }
+
+    @Test
+    void fromLookahead_lastPageHasNoCursor() {
+        CursorPage<UUID> exact = CursorPage.fromLookahead(ids, 3, cursorOf);
+        CursorPage<UUID> shorter = CursorPage.fromLookahead(ids, 5, cursorOf);
+
+        assertThat(exact.getContent()).containsExactlyElementsOf(ids);
+        assertThat(exact.isHasNext()).isFalse();
+        assertThat(exact.getNextCursor()).isNull();
+        assertThat(shorter.isHasNext()).isFalse();
+        assertThat(shorter.getNextCursor()).isNull();
+    }
+
+    @Test
+    void fromLookahead_emptyResult() {
+        CursorPage<UUID> page = CursorPage.fromLookahead(List.of(), 2, cursorOf);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void map_keepsPagingState() {
+        CursorPage<UUID> page = CursorPage.fromLookahead(ids, 2, cursorOf).withTotalElements(3L);
+
+        CursorPage<Map<String, UUID>> mapped = page.map(id -> Map.of("id", id));
+
+        assertThat(mapped.getContent()).containsExactly(Map.of("id", ids.get(0)), Map.of("id", ids.get(1)));
+        assertThat(mapped.isHasNext()).isTrue();
+        assertThat(mapped.getNextCursor()).isEqualTo(page.getNextCursor());
+        assertThat(mapped.getTotalElements()).isEqualTo(3L);
+    }
+}
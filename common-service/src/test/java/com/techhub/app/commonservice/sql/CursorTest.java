@@ -0,0 +1,82 @@
+package com.techhub.app.commonservice.sql;
+
+import com.techhub.app.commonservice.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+
+    @Test
+    void decode_roundTripsEncodedCursor() {
+        OffsetDateTime created = OffsetDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000, ZoneOffset.ofHours(7));
+        UUID id = UUID.randomUUID();
+
+        Cursor decoded = Cursor.decode(Cursor.of(created, id).encode());
+
+        assertThat(decoded.getCreated()).isEqualTo(created.withOffsetSameInstant(ZoneOffset.UTC));
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void decode_roundTripsLocalDateTime() {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 30, 15);
+        UUID id = UUID.randomUUID();
+
+        Cursor decoded = Cursor.decode(Cursor.of(created, id).encode());
+
+        assertThat(decoded.getCreatedLocal()).isEqualTo(created);
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void encode_isUrlSafeWithoutPadding() {
+        String token = Cursor.of(OffsetDateTime.now(), UUID.randomUUID()).encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void decode_blankMeansStart() {
+        assertThat(Cursor.decode(null)).isSameAs(Cursor.start());
+        assertThat(Cursor.decode("")).isSameAs(Cursor.start());
+        assertThat(Cursor.decode("  ")).isSameAs(Cursor.start());
+    }
+
+    @Test
+    void start_sortsAfterEveryRealRow() {
+        Cursor start = Cursor.start();
+
+        assertThat(start.getCreated()).isAfter(OffsetDateTime.now().plusYears(1000));
+        assertThat(start.getId()).isEqualTo(UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+    }
+
+    @Test
+    void decode_rejectsMalformedTokens() {
+        List<String> tokens = List.of(
+                "not base64 !",
+                encodeRaw("no-separator"),
+                encodeRaw("yesterday|" + UUID.randomUUID()),
+                encodeRaw("2024-05-01T10:30:15Z|not-a-uuid"));
+
+        for (String token : tokens) {
+            assertThatThrownBy(() -> Cursor.decode(token))
+                    .as(token)
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("Invalid pagination cursor");
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
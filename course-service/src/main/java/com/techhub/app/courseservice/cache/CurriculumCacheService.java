@@ -0,0 +1,174 @@
+package com.techhub.app.courseservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Two-tier cache of {@link CurriculumSnapshot}s.
+ * Local tier: size-bounded Caffeine cache, key "{courseId}:{version}".
+ * Shared tier (optional): Redis, keys "curriculum:version:{courseId}" and
+ * "curriculum:snapshot:{courseId}:{version}".
+ * Invalidation bumps the course version, so stale snapshots are never read
+ * again and simply age out.
+ */
+@Service
+@Slf4j
+public class CurriculumCacheService {
+
+    private static final String VERSION_PREFIX = "curriculum:version:";
+    private static final String SNAPSHOT_PREFIX = "curriculum:snapshot:";
+
+    private final Cache<String, CurriculumSnapshot> localCache;
+    private final Map<UUID, AtomicLong> localVersions = new ConcurrentHashMap<>();
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    public CurriculumCacheService(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+            ObjectMapper objectMapper,
+            @Value("${app.curriculum-cache.max-size:500}") long maxSize,
+            @Value("${app.curriculum-cache.ttl:10m}") Duration ttl,
+            @Value("${app.curriculum-cache.redis-enabled:false}") boolean redisEnabled,
+            @Value("${app.curriculum-cache.redis-ttl:1h}") Duration redisTtl) {
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Return the snapshot for the current version of the course, building it
+     * with {@code loader} (which receives that version) on a miss in both tiers.
+     */
+    public CurriculumSnapshot get(UUID courseId, LongFunction<CurriculumSnapshot> loader) {
+        long version = currentVersion(courseId);
+        return localCache.get(localKey(courseId, version), key -> {
+            CurriculumSnapshot shared = readShared(courseId, version);
+            if (shared != null) {
+                return shared;
+            }
+            CurriculumSnapshot snapshot = loader.apply(version);
+            writeShared(courseId, version, snapshot);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Invalidate the course once the surrounding transaction commits, so a
+     * concurrent reader cannot re-cache the pre-commit state under the new
+     * version.
+     */
+    public void invalidateAfterCommit(UUID courseId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(courseId);
+                }
+            });
+        } else {
+            invalidate(courseId);
+        }
+    }
+
+    public void invalidate(UUID courseId) {
+        long version = localVersions.computeIfAbsent(courseId, id -> new AtomicLong()).incrementAndGet();
+        if (redisEnabled) {
+            StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+            if (redisTemplate != null) {
+                try {
+                    Long shared = redisTemplate.opsForValue().increment(VERSION_PREFIX + courseId);
+                    if (shared != null) {
+                        version = shared;
+                        localVersions.get(courseId).accumulateAndGet(shared, Math::max);
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to bump shared curriculum version for course {}: {}", courseId, e.getMessage());
+                }
+            }
+        }
+        String prefix = courseId + ":";
+        localCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        log.debug("Curriculum cache invalidated for course {} (version {})", courseId, version);
+    }
+
+    private long currentVersion(UUID courseId) {
+        AtomicLong local = localVersions.computeIfAbsent(courseId, id -> new AtomicLong());
+        if (!redisEnabled) {
+            return local.get();
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return local.get();
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(VERSION_PREFIX + courseId);
+            long shared = value != null ? Long.parseLong(value) : 0L;
+            return local.accumulateAndGet(shared, Math::max);
+        } catch (Exception e) {
+            log.warn("Failed to read shared curriculum version for course {}: {}", courseId, e.getMessage());
+            return local.get();
+        }
+    }
+
+    private CurriculumSnapshot readShared(UUID courseId, long version) {
+        if (!redisEnabled) {
+            return null;
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(snapshotKey(courseId, version));
+            return json != null ? objectMapper.readValue(json, CurriculumSnapshot.class) : null;
+        } catch (Exception e) {
+            log.warn("Failed to read shared curriculum snapshot for course {}: {}", courseId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeShared(UUID courseId, long version, CurriculumSnapshot snapshot) {
+        if (!redisEnabled || snapshot == null) {
+            return;
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(snapshotKey(courseId, version),
+                    objectMapper.writeValueAsString(snapshot), redisTtl);
+        } catch (Exception e) {
+            log.warn("Failed to write shared curriculum snapshot for course {}: {}", courseId, e.getMessage());
+        }
+    }
+
+    private String localKey(UUID courseId, long version) {
+        return courseId + ":" + version;
+    }
+
+    private String snapshotKey(UUID courseId, long version) {
+        return SNAPSHOT_PREFIX + courseId + ":" + version;
+    }
+}
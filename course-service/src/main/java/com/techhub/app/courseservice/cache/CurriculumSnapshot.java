@@ -0,0 +1,46 @@
+package com.techhub.app.courseservice.cache;
+
+import com.techhub.app.courseservice.dto.response.LessonResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * User-independent view of a course's chapters, lessons and assets.
+ * Lessons are stored as progress-free templates; callers must copy them before
+ * applying per-user progress or lock rules, since one snapshot is shared by
+ * every learner of the course.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CurriculumSnapshot {
+
+    private UUID courseId;
+    private long version;
+    private long totalLessons;
+    private long totalEstimatedDurationMinutes;
+    private List<ChapterNode> chapters;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChapterNode {
+        private UUID id;
+        private String title;
+        private Integer orderIndex;
+        private Float minCompletionThreshold;
+        private Boolean autoUnlock;
+        private Boolean locked;
+        private OffsetDateTime created;
+        private OffsetDateTime updated;
+        private List<LessonResponse> lessons;
+    }
+}
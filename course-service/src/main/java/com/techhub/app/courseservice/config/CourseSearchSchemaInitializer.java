@@ -0,0 +1,97 @@
+package com.techhub.app.courseservice.config;
+
+import com.techhub.app.courseservice.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ensures the catalog search column and indexes exist (Hibernate's
+ * {@code ddl-auto} cannot create tsvector/GIN objects) and backfills
+ * {@code courses.search_vector} for rows written before it was maintained.
+ * The full-text objects and the optional pg_trgm title index are prepared
+ * independently, so a missing extension only disables typo matching.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseSearchSchemaInitializer implements CommandLineRunner {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CourseRepository courseRepository;
+
+    private volatile boolean trigramAvailable;
+
+    @Override
+    public void run(String... args) {
+        prepareFullText();
+        backfillSearchVectors();
+        prepareTrigram();
+    }
+
+    /**
+     * Whether pg_trgm is installed, i.e. search may also match titles by
+     * trigram similarity
+     */
+    public boolean isTrigramAvailable() {
+        return trigramAvailable;
+    }
+
+    private void prepareFullText() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE courses ADD COLUMN IF NOT EXISTS search_vector tsvector");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_courses_search_vector "
+                    + "ON courses USING GIN (search_vector)");
+        } catch (Exception e) {
+            log.error("Failed to prepare course search_vector, ranked search may be unavailable", e);
+        }
+    }
+
+    private void backfillSearchVectors() {
+        try {
+            int total = 0;
+            int updated;
+            do {
+                Integer batch = transactionTemplate.execute(
+                        status -> courseRepository.refreshMissingSearchVectors(BACKFILL_BATCH_SIZE));
+                updated = batch != null ? batch : 0;
+                total += updated;
+            } while (updated == BACKFILL_BATCH_SIZE);
+            if (total > 0) {
+                log.info("Backfilled search_vector for {} courses", total);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill course search_vector", e);
+        }
+    }
+
+    /**
+     * The app role may not be allowed to create extensions; the extension may
+     * still have been installed by an administrator, so check afterwards.
+     */
+    private void prepareTrigram() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (Exception e) {
+            log.warn("Could not create extension pg_trgm: {}", e.getMessage());
+        }
+        try {
+            trigramAvailable = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class));
+            if (trigramAvailable) {
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_courses_title_trgm "
+                        + "ON courses USING GIN (title gin_trgm_ops)");
+            } else {
+                log.warn("pg_trgm is not installed, course search will not match titles with typos");
+            }
+        } catch (Exception e) {
+            log.error("Failed to prepare course title trigram index", e);
+        }
+    }
+}
@@ -2,12 +2,14 @@ package com.techhub.app.courseservice.controller;
 
 import com.techhub.app.commonservice.payload.GlobalResponse;
 import com.techhub.app.commonservice.payload.PageGlobalResponse;
+import com.techhub.app.commonservice.sql.CursorPage;
 import com.techhub.app.courseservice.dto.request.ChapterRequest;
 import com.techhub.app.courseservice.dto.request.CourseRequest;
 import com.techhub.app.courseservice.dto.request.LessonAssetRequest;
 import com.techhub.app.courseservice.dto.request.LessonRequest;
 import com.techhub.app.courseservice.dto.response.ChapterResponse;
 import com.techhub.app.courseservice.dto.response.CourseDetailResponse;
+import com.techhub.app.courseservice.dto.response.CourseSearchPageResponse;
 import com.techhub.app.courseservice.dto.response.CourseSummaryResponse;
 import com.techhub.app.courseservice.dto.response.LessonAssetResponse;
 import com.techhub.app.courseservice.dto.response.LessonResponse;
@@ -71,6 +73,33 @@ public class CourseController {
                                                 .withPath(request.getRequestURI()));
         }
 
+        // Keyset mode: selected whenever a cursor parameter is sent (empty for the first page)
+        @GetMapping(params = "cursor")
+        public ResponseEntity<PageGlobalResponse<CourseSummaryResponse>> getCoursesByCursor(
+                        @RequestParam String cursor,
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(required = false) String search,
+                        @RequestParam(defaultValue = "false") boolean includeTotal,
+                        HttpServletRequest request) {
+                CursorPage<CourseSummaryResponse> coursePage = courseService.getCoursesByCursor(search, cursor, size,
+                                includeTotal);
+                return ResponseEntity.ok(
+                                PageGlobalResponse.success("Courses retrieved successfully", coursePage)
+                                                .withPath(request.getRequestURI()));
+        }
+
+        @GetMapping("/search")
+        public ResponseEntity<GlobalResponse<CourseSearchPageResponse>> searchCourses(
+                        @RequestParam("q") String query,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "10") int size,
+                        HttpServletRequest request) {
+                CourseSearchPageResponse response = courseService.getCourses(query, cursor, size);
+                return ResponseEntity.ok(
+                                GlobalResponse.success("Courses retrieved successfully", response)
+                                                .withPath(request.getRequestURI()));
+        }
+
         @GetMapping("/my-courses")
         public ResponseEntity<PageGlobalResponse<CourseSummaryResponse>> getMyCourses(
                         @RequestParam(defaultValue = "0") int page,
@@ -3,6 +3,7 @@ package com.techhub.app.courseservice.controller;
 import com.techhub.app.commonservice.payload.GlobalResponse;
 import com.techhub.app.courseservice.dto.request.LessonProgressRequest;
 import com.techhub.app.courseservice.dto.response.CourseDetailResponse;
+import com.techhub.app.courseservice.dto.response.LessonProgressDeltaResponse;
 import com.techhub.app.courseservice.service.CourseProgressService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -52,6 +53,19 @@ public class CourseProgressController {
         );
     }
 
+    @PutMapping("/lessons/{lessonId}/progress/delta")
+    public ResponseEntity<GlobalResponse<LessonProgressDeltaResponse>> updateLessonProgressDelta(@PathVariable UUID courseId,
+                                                                                                 @PathVariable UUID lessonId,
+                                                                                                 @Valid @RequestBody LessonProgressRequest progressRequest,
+                                                                                                 HttpServletRequest request) {
+        LessonProgressDeltaResponse response = courseProgressService.updateLessonProgressDelta(courseId, lessonId, progressRequest);
+        return ResponseEntity.ok(
+                GlobalResponse.success("Lesson progress updated", response)
+                        .withStatus("LESSON_PROGRESS_UPDATED")
+                        .withPath(request.getRequestURI())
+        );
+    }
+
     @PostMapping("/lessons/{lessonId}/progress/complete")
     public ResponseEntity<GlobalResponse<CourseDetailResponse>> markLessonComplete(@PathVariable UUID courseId,
                                                                                    @PathVariable UUID lessonId,
@@ -0,0 +1,23 @@
+package com.techhub.app.courseservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseSearchPageResponse {
+
+    private List<CourseSummaryResponse> items;
+    private int size;
+    private boolean hasNext;
+    // Opaque token for the next page; null on the last page
+    private String nextCursor;
+}
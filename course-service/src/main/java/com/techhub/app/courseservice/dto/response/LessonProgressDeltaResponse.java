@@ -0,0 +1,32 @@
+package com.techhub.app.courseservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LessonProgressDeltaResponse {
+
+    private UUID courseId;
+    private UUID chapterId;
+    private UUID lessonId;
+    private Float completion;
+    private Boolean completed;
+    private OffsetDateTime completedAt;
+    private Double chapterCompletionRatio;
+    private Double overallProgress;
+    private long completedLessons;
+    private long totalLessons;
+    private UUID currentChapterId;
+    private List<UUID> newlyUnlockedChapterIds;
+}
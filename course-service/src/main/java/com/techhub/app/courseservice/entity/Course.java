@@ -24,6 +24,7 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import javax.persistence.OrderBy;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import javax.persistence.Table;
@@ -77,9 +78,11 @@ public class Course {
     private Language language = Language.VI;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("assignedAt ASC, id ASC")
     private List<CourseSkill> courseSkills = new ArrayList<>();
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("assignedAt ASC, id ASC")
     private List<CourseTag> courseTags = new ArrayList<>();
 
     @Column(name = "discount_price", precision = 10, scale = 2)
@@ -0,0 +1,74 @@
+package com.techhub.app.courseservice.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Materialized enrollment and rating counters of a course. Written only through
+ * the atomic upserts in {@code CourseStatsRepository}.
+ */
+@Entity
+@Table(name = "course_stats")
+@Getter
+@Setter
+public class CourseStats {
+
+    @Id
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    @Column(name = "enrollment_count", nullable = false)
+    private long enrollmentCount;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_1", nullable = false)
+    private long rating1;
+
+    @Column(name = "rating_2", nullable = false)
+    private long rating2;
+
+    @Column(name = "rating_3", nullable = false)
+    private long rating3;
+
+    @Column(name = "rating_4", nullable = false)
+    private long rating4;
+
+    @Column(name = "rating_5", nullable = false)
+    private long rating5;
+
+    @Column(name = "updated", nullable = false)
+    private OffsetDateTime updated;
+
+    public Double getAverageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
+
+    public long getRatingCount(int score) {
+        switch (score) {
+            case 1:
+                return rating1;
+            case 2:
+                return rating2;
+            case 3:
+                return rating3;
+            case 4:
+                return rating4;
+            case 5:
+                return rating5;
+            default:
+                return 0L;
+        }
+    }
+}
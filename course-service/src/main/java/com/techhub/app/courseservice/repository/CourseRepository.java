@@ -4,14 +4,29 @@ import com.techhub.app.courseservice.entity.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CourseRepository extends JpaRepository<Course, UUID> {
 
+       // Weighted document of course c: title (A), skills and tags (B), objectives (C), description (D)
+       String SEARCH_VECTOR = "setweight(to_tsvector('simple', COALESCE(c.title, '')), 'A') || " +
+                     "setweight(to_tsvector('simple', COALESCE((SELECT string_agg(s.name, ' ') " +
+                     "FROM course_skills cs JOIN skills s ON s.id = cs.skill_id WHERE cs.course_id = c.id), '') " +
+                     "|| ' ' || COALESCE((SELECT string_agg(t.name, ' ') " +
+                     "FROM course_tags ct JOIN tags t ON t.id = ct.tag_id WHERE ct.course_id = c.id), '')), 'B') || " +
+                     "setweight(to_tsvector('simple', CASE WHEN jsonb_typeof(c.objectives) = 'array' " +
+                     "THEN COALESCE((SELECT string_agg(o, ' ') FROM jsonb_array_elements_text(c.objectives) o), '') " +
+                     "ELSE '' END), 'C') || " +
+                     "setweight(to_tsvector('simple', COALESCE(c.description, '')), 'D')";
+
        @Query(value = "SELECT * FROM courses c " +
                      "WHERE c.is_active = 'Y' " +
                      "AND (:status IS NULL OR c.status = CAST(:status AS course_status)) " +
@@ -31,6 +46,25 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
                      @Param("search") String search,
                      Pageable pageable);
 
+       // Keyset page ordered by (created, id) DESC; see commonservice.sql.Cursor
+       @Query(value = "SELECT * FROM courses c " +
+                     "WHERE c.is_active = 'Y' " +
+                     "AND (:status IS NULL OR c.status = CAST(:status AS course_status)) " +
+                     "AND (" +
+                     "  :search IS NULL OR " +
+                     "  LOWER(c.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                     "  LOWER(COALESCE(c.description, '')) LIKE LOWER(CONCAT('%', :search, '%'))" +
+                     ") " +
+                     "AND (c.created < :afterCreated " +
+                     "  OR (c.created = :afterCreated AND c.id < CAST(:afterId AS uuid))) " +
+                     "ORDER BY c.created DESC, c.id DESC " +
+                     "LIMIT :limit", nativeQuery = true)
+       List<Course> searchCoursesAfter(@Param("status") String status,
+                     @Param("search") String search,
+                     @Param("afterCreated") OffsetDateTime afterCreated,
+                     @Param("afterId") UUID afterId,
+                     @Param("limit") int limit);
+
        @Query(value = "SELECT * FROM courses c " +
                      "WHERE c.is_active = 'Y' " +
                      "AND c.instructor_id = CAST(:instructorId AS uuid) " +
@@ -51,4 +85,68 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
                      Pageable pageable);
 
        Optional<Course> findByIdAndIsActiveTrue(UUID id);
+
+       /**
+        * Ranked catalog search page as [id, rank], ordered by rank then id.
+        * Matches the prefix tsquery against search_vector, or the raw text by
+        * trigram similarity on the title (typos); rank is the larger of both
+        * scores, each normalized to [0, 1). Rows strictly after
+        * (afterRank, afterId) are returned, so pages are stable keyset seeks.
+        */
+       @Query(value = "SELECT r.id, r.search_rank FROM (" +
+                     "  SELECT c.id, GREATEST(ts_rank_cd(c.search_vector, q.query, 32), " +
+                     "    similarity(c.title, :search)) AS search_rank " +
+                     "  FROM courses c, to_tsquery('simple', :tsQuery) q(query) " +
+                     "  WHERE c.is_active = 'Y' " +
+                     "  AND (:status IS NULL OR c.status = CAST(:status AS course_status)) " +
+                     "  AND (c.search_vector @@ q.query OR c.title % :search)" +
+                     ") r " +
+                     "WHERE r.search_rank < :afterRank " +
+                     "OR (r.search_rank = :afterRank AND r.id > CAST(:afterId AS uuid)) " +
+                     "ORDER BY r.search_rank DESC, r.id " +
+                     "LIMIT :limit", nativeQuery = true)
+       List<Object[]> searchRanked(@Param("status") String status,
+                     @Param("search") String search,
+                     @Param("tsQuery") String tsQuery,
+                     @Param("afterRank") float afterRank,
+                     @Param("afterId") UUID afterId,
+                     @Param("limit") int limit);
+
+       /**
+        * {@link #searchRanked} without the trigram part, for databases
+        * without pg_trgm
+        */
+       @Query(value = "SELECT r.id, r.search_rank FROM (" +
+                     "  SELECT c.id, ts_rank_cd(c.search_vector, q.query, 32) AS search_rank " +
+                     "  FROM courses c, to_tsquery('simple', :tsQuery) q(query) " +
+                     "  WHERE c.is_active = 'Y' " +
+                     "  AND (:status IS NULL OR c.status = CAST(:status AS course_status)) " +
+                     "  AND c.search_vector @@ q.query" +
+                     ") r " +
+                     "WHERE r.search_rank < :afterRank " +
+                     "OR (r.search_rank = :afterRank AND r.id > CAST(:afterId AS uuid)) " +
+                     "ORDER BY r.search_rank DESC, r.id " +
+                     "LIMIT :limit", nativeQuery = true)
+       List<Object[]> searchRankedFullText(@Param("status") String status,
+                     @Param("tsQuery") String tsQuery,
+                     @Param("afterRank") float afterRank,
+                     @Param("afterId") UUID afterId,
+                     @Param("limit") int limit);
+
+       @Modifying
+       @Query(value = "UPDATE courses c SET search_vector = " + SEARCH_VECTOR + " " +
+                     "WHERE c.id IN (:courseIds)", nativeQuery = true)
+       int refreshSearchVectors(@Param("courseIds") Collection<UUID> courseIds);
+
+       @Modifying
+       @Query(value = "UPDATE courses c SET search_vector = " + SEARCH_VECTOR + " " +
+                     "WHERE c.id IN (SELECT id FROM courses WHERE search_vector IS NULL LIMIT :limit)",
+                     nativeQuery = true)
+       int refreshMissingSearchVectors(@Param("limit") int limit);
+
+       @Query("SELECT cs.course.id FROM CourseSkill cs WHERE cs.skill.id = :skillId")
+       List<UUID> findIdsBySkillId(@Param("skillId") UUID skillId);
+
+       @Query("SELECT ct.course.id FROM CourseTag ct WHERE ct.tag.id = :tagId")
+       List<UUID> findIdsByTagId(@Param("tagId") UUID tagId);
 }
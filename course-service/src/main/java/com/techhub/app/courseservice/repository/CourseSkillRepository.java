@@ -0,0 +1,20 @@
+package com.techhub.app.courseservice.repository;
+
+import com.techhub.app.courseservice.entity.CourseSkill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CourseSkillRepository extends JpaRepository<CourseSkill, UUID> {
+
+    @Query("SELECT cs FROM CourseSkill cs " +
+            "JOIN FETCH cs.skill s " +
+            "WHERE cs.course.id IN :courseIds " +
+            // Same order as Course.courseSkills
+            "ORDER BY cs.assignedAt ASC, cs.id ASC")
+    List<CourseSkill> findWithSkillByCourseIds(@Param("courseIds") Collection<UUID> courseIds);
+}
@@ -0,0 +1,82 @@
+package com.techhub.app.courseservice.repository;
+
+import com.techhub.app.courseservice.entity.CourseStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface CourseStatsRepository extends JpaRepository<CourseStats, UUID> {
+
+    // Recomputes counters from enrollments and ratings, one row per course
+    String AGGREGATE_SELECT = "SELECT c.id, COALESCE(e.cnt, 0), COALESCE(r.cnt, 0), COALESCE(r.total, 0), " +
+            "COALESCE(r.s1, 0), COALESCE(r.s2, 0), COALESCE(r.s3, 0), COALESCE(r.s4, 0), COALESCE(r.s5, 0), " +
+            "CURRENT_TIMESTAMP " +
+            "FROM courses c " +
+            "LEFT JOIN (SELECT course_id, COUNT(*) AS cnt FROM enrollments " +
+            "WHERE is_active = 'Y' GROUP BY course_id) e ON e.course_id = c.id " +
+            "LEFT JOIN (SELECT target_id, COUNT(*) AS cnt, SUM(score) AS total, " +
+            "COUNT(*) FILTER (WHERE score = 1) AS s1, COUNT(*) FILTER (WHERE score = 2) AS s2, " +
+            "COUNT(*) FILTER (WHERE score = 3) AS s3, COUNT(*) FILTER (WHERE score = 4) AS s4, " +
+            "COUNT(*) FILTER (WHERE score = 5) AS s5 " +
+            "FROM ratings WHERE target_type = 'COURSE' AND is_active = 'Y' GROUP BY target_id) r " +
+            "ON r.target_id = c.id ";
+
+    String INSERT_COLUMNS = "INSERT INTO course_stats (course_id, enrollment_count, rating_count, rating_sum, " +
+            "rating_1, rating_2, rating_3, rating_4, rating_5, updated) ";
+
+    @Modifying
+    @Query(value = INSERT_COLUMNS + AGGREGATE_SELECT +
+            "WHERE c.id = CAST(:courseId AS uuid) " +
+            "ON CONFLICT (course_id) DO NOTHING", nativeQuery = true)
+    int initialize(@Param("courseId") UUID courseId);
+
+    @Modifying
+    @Query(value = INSERT_COLUMNS + AGGREGATE_SELECT +
+            "ON CONFLICT (course_id) DO UPDATE SET " +
+            "enrollment_count = EXCLUDED.enrollment_count, " +
+            "rating_count = EXCLUDED.rating_count, " +
+            "rating_sum = EXCLUDED.rating_sum, " +
+            "rating_1 = EXCLUDED.rating_1, " +
+            "rating_2 = EXCLUDED.rating_2, " +
+            "rating_3 = EXCLUDED.rating_3, " +
+            "rating_4 = EXCLUDED.rating_4, " +
+            "rating_5 = EXCLUDED.rating_5, " +
+            "updated = EXCLUDED.updated " +
+            "WHERE (course_stats.enrollment_count, course_stats.rating_count, course_stats.rating_sum, " +
+            "course_stats.rating_1, course_stats.rating_2, course_stats.rating_3, " +
+            "course_stats.rating_4, course_stats.rating_5) IS DISTINCT FROM " +
+            "(EXCLUDED.enrollment_count, EXCLUDED.rating_count, EXCLUDED.rating_sum, " +
+            "EXCLUDED.rating_1, EXCLUDED.rating_2, EXCLUDED.rating_3, " +
+            "EXCLUDED.rating_4, EXCLUDED.rating_5)", nativeQuery = true)
+    int reconcileAll();
+
+    @Modifying
+    @Query(value = "UPDATE course_stats SET " +
+            "enrollment_count = GREATEST(enrollment_count + :delta, 0), " +
+            "updated = CURRENT_TIMESTAMP " +
+            "WHERE course_id = CAST(:courseId AS uuid)", nativeQuery = true)
+    int addEnrollments(@Param("courseId") UUID courseId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE course_stats SET " +
+            "rating_count = rating_count + :countDelta, " +
+            "rating_sum = rating_sum + :sumDelta, " +
+            "rating_1 = rating_1 + :d1, " +
+            "rating_2 = rating_2 + :d2, " +
+            "rating_3 = rating_3 + :d3, " +
+            "rating_4 = rating_4 + :d4, " +
+            "rating_5 = rating_5 + :d5, " +
+            "updated = CURRENT_TIMESTAMP " +
+            "WHERE course_id = CAST(:courseId AS uuid)", nativeQuery = true)
+    int addRatings(@Param("courseId") UUID courseId,
+            @Param("countDelta") long countDelta,
+            @Param("sumDelta") long sumDelta,
+            @Param("d1") long d1,
+            @Param("d2") long d2,
+            @Param("d3") long d3,
+            @Param("d4") long d4,
+            @Param("d5") long d5);
+}
@@ -0,0 +1,20 @@
+package com.techhub.app.courseservice.repository;
+
+import com.techhub.app.courseservice.entity.CourseTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CourseTagRepository extends JpaRepository<CourseTag, UUID> {
+
+    @Query("SELECT ct FROM CourseTag ct " +
+            "JOIN FETCH ct.tag t " +
+            "WHERE ct.course.id IN :courseIds " +
+            // Same order as Course.courseTags
+            "ORDER BY ct.assignedAt ASC, ct.id ASC")
+    List<CourseTag> findWithTagByCourseIds(@Param("courseIds") Collection<UUID> courseIds);
+}
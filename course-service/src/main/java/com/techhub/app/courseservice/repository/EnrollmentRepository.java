@@ -4,7 +4,10 @@ import com.techhub.app.courseservice.entity.Course;
 import com.techhub.app.courseservice.entity.Enrollment;
 import com.techhub.app.courseservice.enums.EnrollmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,6 +28,12 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
 
     long countByCourseAndIsActiveTrue(Course course);
 
+    // Active enrollment count per course: [courseId, count]
+    @Query("SELECT e.course.id, COUNT(e) FROM Enrollment e " +
+            "WHERE e.course.id IN :courseIds AND e.isActive = true " +
+            "GROUP BY e.course.id")
+    List<Object[]> countActiveByCourseIds(@Param("courseIds") Collection<UUID> courseIds);
+
     long countByCourseAndStatus(Course course, EnrollmentStatus status);
 
     // Get all enrolled user IDs for a specific course
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,19 @@ public interface LessonAssetRepository extends JpaRepository<LessonAsset, UUID>
 
     List<LessonAsset> findByLesson_IdAndIsActiveTrueOrderByOrderIndexAsc(UUID lessonId);
 
+    @Query("SELECT a FROM LessonAsset a " +
+           "JOIN a.lesson l " +
+           "JOIN l.chapter c " +
+           "WHERE c.course.id = :courseId " +
+           "AND c.isActive = true AND l.isActive = true AND a.isActive = true " +
+           "ORDER BY a.orderIndex ASC")
+    List<LessonAsset> findActiveByCourseId(@Param("courseId") UUID courseId);
+
+    @Query("SELECT a FROM LessonAsset a " +
+           "WHERE a.lesson.id IN :lessonIds AND a.isActive = true " +
+           "ORDER BY a.orderIndex ASC")
+    List<LessonAsset> findActiveByLessonIds(@Param("lessonIds") Collection<UUID> lessonIds);
+
     Optional<LessonAsset> findByIdAndLesson_IdAndIsActiveTrue(UUID id, UUID lessonId);
 
     @Query("SELECT COALESCE(MAX(a.orderIndex), 0) FROM LessonAsset a " +
@@ -13,6 +13,13 @@ public interface LessonRepository extends JpaRepository<Lesson, UUID> {
 
     List<Lesson> findByChapter_IdAndIsActiveTrueOrderByOrderIndexAsc(UUID chapterId);
 
+    @Query("SELECT l FROM Lesson l " +
+           "JOIN FETCH l.chapter c " +
+           "WHERE c.course.id = :courseId " +
+           "AND c.isActive = true AND l.isActive = true " +
+           "ORDER BY c.orderIndex ASC, l.orderIndex ASC")
+    List<Lesson> findActiveByCourseId(@Param("courseId") UUID courseId);
+
     Optional<Lesson> findByIdAndChapter_IdAndIsActiveTrue(UUID id, UUID chapterId);
 
     @Query("SELECT COALESCE(MAX(l.orderIndex), 0) FROM Lesson l " +
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,4 +25,22 @@ public interface RatingRepository extends JpaRepository<Rating, UUID> {
         Double getAverageScore(@Param("targetId") UUID targetId, @Param("targetType") String targetType);
 
         long countByTargetIdAndTargetTypeAndIsActiveTrue(UUID targetId, RatingTarget targetType);
+
+        // Rating aggregates per target: [targetId, average, count]
+        @Query("SELECT r.targetId, AVG(r.score), COUNT(r) FROM Rating r " +
+                        "WHERE r.targetId IN :targetIds " +
+                        "AND r.targetType = :targetType " +
+                        "AND r.isActive = true " +
+                        "GROUP BY r.targetId")
+        List<Object[]> getScoreStatsByTargetIds(@Param("targetIds") Collection<UUID> targetIds,
+                        @Param("targetType") RatingTarget targetType);
+
+        // Score histogram of one target: [score, count]
+        @Query("SELECT r.score, COUNT(r) FROM Rating r " +
+                        "WHERE r.targetId = :targetId " +
+                        "AND r.targetType = :targetType " +
+                        "AND r.isActive = true " +
+                        "GROUP BY r.score")
+        List<Object[]> countByScore(@Param("targetId") UUID targetId,
+                        @Param("targetType") RatingTarget targetType);
 }
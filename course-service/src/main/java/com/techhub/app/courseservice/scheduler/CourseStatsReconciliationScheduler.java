@@ -0,0 +1,30 @@
+package com.techhub.app.courseservice.scheduler;
+
+import com.techhub.app.courseservice.service.CourseStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes {@code course_stats} from enrollments and ratings,
+ * repairing drift from writes that bypass the incremental updates (manual
+ * SQL, other services, failed transactions racing the seed).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseStatsReconciliationScheduler {
+
+    private final CourseStatsService courseStatsService;
+
+    @Scheduled(fixedDelayString = "${app.course-stats.reconcile-interval:3600000}",
+            initialDelayString = "${app.course-stats.reconcile-initial-delay:60000}")
+    public void reconcile() {
+        try {
+            courseStatsService.reconcile();
+        } catch (Exception e) {
+            log.error("Error reconciling course stats", e);
+        }
+    }
+}
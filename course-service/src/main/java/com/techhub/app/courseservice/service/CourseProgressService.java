@@ -2,6 +2,7 @@ package com.techhub.app.courseservice.service;
 
 import com.techhub.app.courseservice.dto.request.LessonProgressRequest;
 import com.techhub.app.courseservice.dto.response.CourseDetailResponse;
+import com.techhub.app.courseservice.dto.response.LessonProgressDeltaResponse;
 
 import java.util.UUID;
 
@@ -9,6 +10,12 @@ public interface CourseProgressService {
 
     CourseDetailResponse updateLessonProgress(UUID courseId, UUID lessonId, LessonProgressRequest request);
 
+    /**
+     * Same write as {@link #updateLessonProgress} but returns only what changed,
+     * without rebuilding the course tree. Intended for frequent player heartbeats.
+     */
+    LessonProgressDeltaResponse updateLessonProgressDelta(UUID courseId, UUID lessonId, LessonProgressRequest request);
+
     CourseDetailResponse markLessonComplete(UUID courseId, UUID lessonId);
 
     CourseDetailResponse getCourseProgress(UUID courseId);
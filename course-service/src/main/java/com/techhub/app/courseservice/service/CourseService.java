@@ -1,14 +1,18 @@
 package com.techhub.app.courseservice.service;
 
+import com.techhub.app.commonservice.sql.CursorPage;
+import com.techhub.app.courseservice.cache.CurriculumSnapshot;
 import com.techhub.app.courseservice.dto.request.ChapterRequest;
 import com.techhub.app.courseservice.dto.request.CourseRequest;
 import com.techhub.app.courseservice.dto.request.LessonAssetRequest;
 import com.techhub.app.courseservice.dto.request.LessonRequest;
 import com.techhub.app.courseservice.dto.response.ChapterResponse;
 import com.techhub.app.courseservice.dto.response.CourseDetailResponse;
+import com.techhub.app.courseservice.dto.response.CourseSearchPageResponse;
 import com.techhub.app.courseservice.dto.response.CourseSummaryResponse;
 import com.techhub.app.courseservice.dto.response.LessonAssetResponse;
 import com.techhub.app.courseservice.dto.response.LessonResponse;
+import com.techhub.app.courseservice.entity.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -19,10 +23,28 @@ public interface CourseService {
 
     Page<CourseSummaryResponse> getCourses(String search, Pageable pageable);
 
+    /**
+     * Ranked full-text search with prefix matching. {@code cursor} is the
+     * {@code nextCursor} of the previous page, or null for the first page.
+     */
+    CourseSearchPageResponse getCourses(String search, String cursor, int size);
+
+    /**
+     * Newest-first listing paged by an opaque (created, id) cursor instead of
+     * OFFSET; the total is only counted when {@code includeTotal} is set.
+     */
+    CursorPage<CourseSummaryResponse> getCoursesByCursor(String search, String cursor, int size,
+            boolean includeTotal);
+
     Page<CourseSummaryResponse> getMyCourses(String search, Pageable pageable);
 
     CourseDetailResponse getCourse(UUID courseId);
 
+    /**
+     * Cached, user-independent curriculum of the course (no access checks).
+     */
+    CurriculumSnapshot getCurriculumSnapshot(Course course);
+
     CourseDetailResponse createCourse(CourseRequest request);
 
     CourseDetailResponse updateCourse(UUID courseId, CourseRequest request);
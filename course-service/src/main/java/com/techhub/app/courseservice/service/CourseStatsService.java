@@ -0,0 +1,29 @@
+package com.techhub.app.courseservice.service;
+
+import com.techhub.app.courseservice.entity.CourseStats;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CourseStatsService {
+
+    Optional<CourseStats> getStats(UUID courseId);
+
+    Map<UUID, CourseStats> getStats(Collection<UUID> courseIds);
+
+    /**
+     * Record enrollments becoming active ({@code delta > 0}) or inactive
+     * ({@code delta < 0}). Call after the enrollment change has been flushed.
+     */
+    void recordEnrollmentChange(UUID courseId, long delta);
+
+    /**
+     * Record a rating being created ({@code previousScore == null}) or
+     * re-scored. Call after the rating change has been flushed.
+     */
+    void recordRatingChange(UUID courseId, Integer previousScore, int newScore);
+
+    int reconcile();
+}
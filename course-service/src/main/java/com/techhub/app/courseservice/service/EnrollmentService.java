@@ -22,11 +22,14 @@ public class EnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
+    private final CourseStatsService courseStatsService;
 
     public EnrollmentService(EnrollmentRepository enrollmentRepository,
-            CourseRepository courseRepository) {
+            CourseRepository courseRepository,
+            CourseStatsService courseStatsService) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseRepository = courseRepository;
+        this.courseStatsService = courseStatsService;
     }
 
     @Transactional
@@ -68,7 +71,10 @@ public class EnrollmentService {
         enrollment.setCreatedBy(request.getUserId());
         enrollment.setUpdatedBy(request.getUserId());
 
-        Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        Enrollment savedEnrollment = enrollmentRepository.saveAndFlush(enrollment);
+        if (Boolean.TRUE.equals(savedEnrollment.getIsActive())) {
+            courseStatsService.recordEnrollmentChange(course.getId(), 1);
+        }
         log.info("✅ Successfully created enrollment with ID: {} for user: {} and course: {}",
                 savedEnrollment.getId(), request.getUserId(), request.getCourseId());
 
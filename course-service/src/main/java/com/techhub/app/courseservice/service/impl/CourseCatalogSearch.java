@@ -0,0 +1,132 @@
+package com.techhub.app.courseservice.service.impl;
+
+import com.techhub.app.commonservice.exception.BadRequestException;
+import com.techhub.app.courseservice.config.CourseSearchSchemaInitializer;
+import com.techhub.app.courseservice.entity.Course;
+import com.techhub.app.courseservice.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked catalog search over {@code courses.search_vector}. Every search term
+ * is matched as a prefix so partially typed words already hit (autocomplete),
+ * and pages are seeked by (rank, id) instead of OFFSET, with no count query.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseCatalogSearch {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS = 8;
+    // Ranks are normalized to [0, 1], so the first page starts above any of them
+    private static final float FIRST_PAGE_RANK = 2f;
+    private static final UUID FIRST_PAGE_ID = new UUID(0L, 0L);
+
+    private final CourseRepository courseRepository;
+    private final CourseSearchSchemaInitializer schemaInitializer;
+
+    public Result search(String status, String search, String cursor, int size) {
+        String tsQuery = toPrefixQuery(search);
+        float afterRank = FIRST_PAGE_RANK;
+        UUID afterId = FIRST_PAGE_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterRank = Float.parseFloat(parts[0]);
+            afterId = UUID.fromString(parts[1]);
+        }
+
+        List<Object[]> rows = schemaInitializer.isTrigramAvailable()
+                ? courseRepository.searchRanked(status, search, tsQuery, afterRank, afterId, size + 1)
+                : courseRepository.searchRankedFullText(status, tsQuery, afterRank, afterId, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Object[]> page = hasNext ? rows.subList(0, size) : rows;
+        if (page.isEmpty()) {
+            return new Result(Collections.emptyList(), false, null);
+        }
+
+        List<UUID> ids = page.stream().map(row -> (UUID) row[0]).collect(Collectors.toList());
+        Map<UUID, Course> coursesById = courseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        List<Course> courses = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Course course = coursesById.get(id);
+            if (course != null) {
+                courses.add(course);
+            }
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(((Number) last[1]).floatValue(), (UUID) last[0]);
+        }
+        return new Result(courses, hasNext, nextCursor);
+    }
+
+    /**
+     * "java spr" -> "java:* & spr:*". Input is reduced to letters and digits,
+     * so user text can never inject tsquery operators.
+     */
+    private String toPrefixQuery(String search) {
+        return NON_WORD.splitAsStream(search)
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private String encodeCursor(float rank, UUID id) {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            Float.parseFloat(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid search cursor");
+        }
+    }
+
+    public static final class Result {
+        private final List<Course> courses;
+        private final boolean hasNext;
+        private final String nextCursor;
+
+        Result(List<Course> courses, boolean hasNext, String nextCursor) {
+            this.courses = courses;
+            this.hasNext = hasNext;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Course> getCourses() {
+            return courses;
+        }
+
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.techhub.app.courseservice.service.impl;
+
+import com.techhub.app.courseservice.entity.Chapter;
+import com.techhub.app.courseservice.entity.Lesson;
+import com.techhub.app.courseservice.entity.LessonAsset;
+import com.techhub.app.courseservice.repository.ChapterRepository;
+import com.techhub.app.courseservice.repository.LessonAssetRepository;
+import com.techhub.app.courseservice.repository.LessonRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the active chapter/lesson/asset tree of a course with a fixed number of
+ * set queries and groups it in memory, instead of querying lessons per chapter
+ * and assets per lesson.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseCurriculumLoader {
+
+    private final ChapterRepository chapterRepository;
+    private final LessonRepository lessonRepository;
+    private final LessonAssetRepository lessonAssetRepository;
+
+    /**
+     * Whole course: one query each for chapters, lessons and assets.
+     */
+    public CourseCurriculum load(UUID courseId) {
+        List<Chapter> chapters = chapterRepository.findByCourse_IdAndIsActiveTrueOrderByOrderIndexAsc(courseId);
+        if (chapters.isEmpty()) {
+            return new CourseCurriculum(chapters, Collections.emptyMap(), Collections.emptyMap());
+        }
+        List<Lesson> lessons = lessonRepository.findActiveByCourseId(courseId);
+        List<LessonAsset> assets = lessons.isEmpty()
+                ? Collections.emptyList()
+                : lessonAssetRepository.findActiveByCourseId(courseId);
+        return new CourseCurriculum(chapters, groupLessons(lessons), groupAssets(assets));
+    }
+
+    /**
+     * Single chapter: one query for its lessons and one for their assets.
+     */
+    public CourseCurriculum loadChapter(Chapter chapter) {
+        List<Lesson> lessons = lessonRepository.findByChapter_IdAndIsActiveTrueOrderByOrderIndexAsc(chapter.getId());
+        List<LessonAsset> assets = lessons.isEmpty()
+                ? Collections.emptyList()
+                : lessonAssetRepository.findActiveByLessonIds(
+                        lessons.stream().map(Lesson::getId).collect(Collectors.toList()));
+        return new CourseCurriculum(List.of(chapter), groupLessons(lessons), groupAssets(assets));
+    }
+
+    private Map<UUID, List<Lesson>> groupLessons(List<Lesson> lessons) {
+        Map<UUID, List<Lesson>> lessonsByChapter = new LinkedHashMap<>();
+        for (Lesson lesson : lessons) {
+            lessonsByChapter.computeIfAbsent(lesson.getChapter().getId(), id -> new ArrayList<>()).add(lesson);
+        }
+        return lessonsByChapter;
+    }
+
+    private Map<UUID, List<LessonAsset>> groupAssets(List<LessonAsset> assets) {
+        Map<UUID, List<LessonAsset>> assetsByLesson = new LinkedHashMap<>();
+        for (LessonAsset asset : assets) {
+            assetsByLesson.computeIfAbsent(asset.getLesson().getId(), id -> new ArrayList<>()).add(asset);
+        }
+        return assetsByLesson;
+    }
+
+    public static final class CourseCurriculum {
+        private final List<Chapter> chapters;
+        private final Map<UUID, List<Lesson>> lessonsByChapter;
+        private final Map<UUID, List<LessonAsset>> assetsByLesson;
+
+        CourseCurriculum(List<Chapter> chapters,
+                Map<UUID, List<Lesson>> lessonsByChapter,
+                Map<UUID, List<LessonAsset>> assetsByLesson) {
+            this.chapters = chapters;
+            this.lessonsByChapter = lessonsByChapter;
+            this.assetsByLesson = assetsByLesson;
+        }
+
+        public List<Chapter> getChapters() {
+            return chapters;
+        }
+
+        public List<Lesson> getLessons(UUID chapterId) {
+            return lessonsByChapter.getOrDefault(chapterId, Collections.emptyList());
+        }
+
+        public List<LessonAsset> getAssets(UUID lessonId) {
+            return assetsByLesson.getOrDefault(lessonId, Collections.emptyList());
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.techhub.app.commonservice.context.UserContext;
 import com.techhub.app.commonservice.exception.ForbiddenException;
 import com.techhub.app.commonservice.exception.NotFoundException;
 import com.techhub.app.commonservice.exception.UnauthorizedException;
+import com.techhub.app.courseservice.cache.CurriculumSnapshot;
 import com.techhub.app.courseservice.dto.request.LessonProgressRequest;
 import com.techhub.app.courseservice.dto.response.CourseDetailResponse;
+import com.techhub.app.courseservice.dto.response.LessonProgressDeltaResponse;
 import com.techhub.app.courseservice.entity.Chapter;
 import com.techhub.app.courseservice.entity.Course;
 import com.techhub.app.courseservice.entity.Enrollment;
@@ -23,7 +25,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +42,8 @@ public class CourseProgressServiceImpl implements CourseProgressService {
     private final ProgressRepository progressRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final CourseService courseService;
+    private final CurriculumProgressEvaluator curriculumProgressEvaluator;
+    private final ProgressWriteBuffer progressWriteBuffer;
 
     @Override
     public CourseDetailResponse updateLessonProgress(UUID courseId, UUID lessonId, LessonProgressRequest request) {
@@ -43,18 +51,101 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         Lesson lesson = resolveLesson(courseId, lessonId);
         ensureEnrollment(userId, courseId, lesson.getChapter().getCourse());
 
+        // Land any buffered heartbeat first so this write and the response see it;
+        // this also upserts the row, so it is never inserted twice
+        progressWriteBuffer.flush(userId, lessonId);
+        Progress progress = findFlushedProgress(userId, lessonId);
+        applyProgressUpdate(progress, request, userId);
+
+        return courseService.getCourse(courseId);
+    }
+
+    @Override
+    public LessonProgressDeltaResponse updateLessonProgressDelta(UUID courseId, UUID lessonId,
+            LessonProgressRequest request) {
+        UUID userId = requireCurrentUser();
+        Lesson lesson = resolveLesson(courseId, lessonId);
+        Course course = lesson.getChapter().getCourse();
+        ensureEnrollment(userId, courseId, course);
+        boolean isManager = userId.equals(course.getInstructorId()) || UserContext.hasAnyRole("ADMIN");
+
+        CurriculumSnapshot curriculum = courseService.getCurriculumSnapshot(course);
+        Map<UUID, Progress> progressByLesson = new HashMap<>();
+        for (Progress existing : progressRepository.findByUserAndCourse(userId, courseId)) {
+            progressByLesson.putIfAbsent(existing.getLesson().getId(), existing);
+        }
+        CurriculumProgressEvaluator.Evaluation before = curriculumProgressEvaluator.evaluate(curriculum,
+                progressByLesson, isManager);
+
+        Progress progress = progressByLesson.get(lessonId);
+        if (completesLesson(request)) {
+            progressWriteBuffer.flush(userId, lessonId);
+            if (progress == null) {
+                // New row, or an inactive one (not returned by findByUserAndCourse)
+                progress = findFlushedProgress(userId, lessonId);
+            }
+            applyProgressUpdate(progress, request, userId);
+        } else {
+            // Heartbeat: persist through the write-behind buffer and evaluate on a detached view,
+            // never on the managed entity, so the transaction does not flush it again.
+            Progress view = newProgress(userId, lesson);
+            float completion = progress != null ? curriculumProgressEvaluator.lessonCompletion(progress) : 0f;
+            if (request.getCompletion() != null) {
+                float buffered = progressWriteBuffer.submit(userId, lessonId,
+                        Math.max(0f, Math.min(1f, request.getCompletion())));
+                completion = Math.max(completion, buffered);
+            }
+            view.setCompletion(completion);
+            view.setCompletedAt(progress != null ? progress.getCompletedAt() : null);
+            progress = view;
+        }
+        progressByLesson.put(lessonId, progress);
+
+        CurriculumProgressEvaluator.Evaluation after = curriculumProgressEvaluator.evaluate(curriculum,
+                progressByLesson, isManager);
+        List<UUID> newlyUnlocked = after.getUnlockedChapterIds().stream()
+                .filter(chapterId -> !before.isUnlocked(chapterId))
+                .collect(Collectors.toList());
+        UUID chapterId = lesson.getChapter().getId();
+
+        return LessonProgressDeltaResponse.builder()
+                .courseId(courseId)
+                .chapterId(chapterId)
+                .lessonId(lessonId)
+                .completion(curriculumProgressEvaluator.lessonCompletion(progress))
+                .completed(curriculumProgressEvaluator.isLessonCompleted(progress))
+                .completedAt(progress.getCompletedAt())
+                .chapterCompletionRatio(after.getChapterCompletionRatio(chapterId))
+                .overallProgress(after.getOverallProgress())
+                .completedLessons(after.getCompletedLessons())
+                .totalLessons(curriculum.getTotalLessons())
+                .currentChapterId(after.getCurrentChapterId())
+                .newlyUnlockedChapterIds(newlyUnlocked)
+                .build();
+    }
+
+    private boolean completesLesson(LessonProgressRequest request) {
+        return Boolean.TRUE.equals(request.getMarkComplete())
+                || (request.getCompletion() != null && request.getCompletion() >= 1f);
+    }
+
+    private Progress findFlushedProgress(UUID userId, UUID lessonId) {
+        return progressRepository.findByUserIdAndLessonId(userId, lessonId)
+                .orElseThrow(() -> new IllegalStateException("Progress row missing after flush"));
+    }
+
+    private Progress newProgress(UUID userId, Lesson lesson) {
+        Progress entity = new Progress();
+        entity.setUserId(userId);
+        entity.setLesson(lesson);
+        entity.setCreatedBy(userId);
+        return entity;
+    }
+
+    private void applyProgressUpdate(Progress progress, LessonProgressRequest request, UUID userId) {
         Float completionValue = request.getCompletion();
         boolean markComplete = Boolean.TRUE.equals(request.getMarkComplete());
 
-        Progress progress = progressRepository.findByUserIdAndLessonId(userId, lessonId)
-                .orElseGet(() -> {
-                    Progress entity = new Progress();
-                    entity.setUserId(userId);
-                    entity.setLesson(lesson);
-                    entity.setCreatedBy(userId);
-                    return entity;
-                });
-
         if (completionValue != null) {
             completionValue = Math.max(0f, Math.min(1f, completionValue));
             progress.setCompletion(completionValue);
@@ -71,9 +162,8 @@ public class CourseProgressServiceImpl implements CourseProgressService {
 
         progress.setUpdatedBy(userId);
         progressRepository.save(progress);
-        log.debug("Progress updated for lesson {} by {} - completion {}", lessonId, userId, progress.getCompletion());
-
-        return courseService.getCourse(courseId);
+        log.debug("Progress updated for lesson {} by {} - completion {}", progress.getLesson().getId(), userId,
+                progress.getCompletion());
     }
 
     @Override
@@ -7,6 +7,7 @@ import com.techhub.app.commonservice.exception.UnauthorizedException;
 import com.techhub.app.courseservice.dto.request.RatingRequest;
 import com.techhub.app.courseservice.dto.response.CourseRatingResponse;
 import com.techhub.app.courseservice.entity.Course;
+import com.techhub.app.courseservice.entity.CourseStats;
 import com.techhub.app.courseservice.entity.Enrollment;
 import com.techhub.app.courseservice.entity.Rating;
 import com.techhub.app.courseservice.enums.CourseStatus;
@@ -16,12 +17,15 @@ import com.techhub.app.courseservice.repository.CourseRepository;
 import com.techhub.app.courseservice.repository.EnrollmentRepository;
 import com.techhub.app.courseservice.repository.RatingRepository;
 import com.techhub.app.courseservice.service.CourseRatingService;
+import com.techhub.app.courseservice.service.CourseStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -33,15 +37,13 @@ public class CourseRatingServiceImpl implements CourseRatingService {
     private final CourseRepository courseRepository;
     private final RatingRepository ratingRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final CourseStatsService courseStatsService;
 
     @Override
     @Transactional(readOnly = true)
     public CourseRatingResponse getCourseRating(UUID courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new NotFoundException("Course not found"));
-        Double average = ratingRepository.getAverageScore(course.getId(), RatingTarget.COURSE.name());
-        long count = ratingRepository.countByTargetIdAndTargetTypeAndIsActiveTrue(course.getId(), RatingTarget.COURSE);
-
         UUID currentUserId = UserContext.getCurrentUserId();
         Integer userScore = null;
         if (currentUserId != null) {
@@ -51,8 +53,29 @@ public class CourseRatingServiceImpl implements CourseRatingService {
                     .orElse(null);
         }
 
-        // Calculate rating distribution
-        java.util.Map<Integer, Long> distribution = calculateRatingDistribution(courseId);
+        Map<Integer, Long> distribution = newDistribution();
+        long count;
+        Double average;
+        CourseStats stats = courseStatsService.getStats(course.getId()).orElse(null);
+        if (stats != null) {
+            distribution.replaceAll((score, ignored) -> stats.getRatingCount(score));
+            count = stats.getRatingCount();
+            average = stats.getAverageRating();
+        } else {
+            // Not materialized yet: aggregate in the database instead of loading every rating
+            long sum = 0;
+            count = 0;
+            for (Object[] row : ratingRepository.countByScore(course.getId(), RatingTarget.COURSE)) {
+                int score = ((Number) row[0]).intValue();
+                long scoreCount = ((Number) row[1]).longValue();
+                if (distribution.containsKey(score)) {
+                    distribution.put(score, scoreCount);
+                }
+                count += scoreCount;
+                sum += score * scoreCount;
+            }
+            average = count > 0 ? (double) sum / count : null;
+        }
 
         return CourseRatingResponse.builder()
                 .courseId(courseId)
@@ -83,10 +106,12 @@ public class CourseRatingServiceImpl implements CourseRatingService {
                     return entity;
                 });
 
+        Integer previousScore = rating.getId() != null ? rating.getScore() : null;
         rating.setScore(request.getScore());
         rating.setUpdatedBy(userId);
         rating.setUpdated(OffsetDateTime.now());
-        ratingRepository.save(rating);
+        ratingRepository.saveAndFlush(rating);
+        courseStatsService.recordRatingChange(courseId, previousScore, rating.getScore());
         log.debug("Course rating {} updated by {}", rating.getId(), userId);
 
         return getCourseRating(courseId);
@@ -122,27 +147,11 @@ public class CourseRatingServiceImpl implements CourseRatingService {
         return userId;
     }
 
-    private java.util.Map<Integer, Long> calculateRatingDistribution(UUID courseId) {
-        // Initialize distribution map with all star ratings (1-5)
-        java.util.Map<Integer, Long> distribution = new java.util.HashMap<>();
-        distribution.put(1, 0L);
-        distribution.put(2, 0L);
-        distribution.put(3, 0L);
-        distribution.put(4, 0L);
-        distribution.put(5, 0L);
-
-        // Get all ratings for this course
-        java.util.List<Rating> ratings = ratingRepository
-                .findByTargetIdAndTargetTypeAndIsActiveTrue(courseId, RatingTarget.COURSE);
-
-        // Count ratings by score
-        for (Rating rating : ratings) {
-            Integer score = rating.getScore();
-            if (score != null && score >= 1 && score <= 5) {
-                distribution.put(score, distribution.get(score) + 1);
-            }
+    private Map<Integer, Long> newDistribution() {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int score = 1; score <= 5; score++) {
+            distribution.put(score, 0L);
         }
-
         return distribution;
     }
 }
@@ -5,6 +5,10 @@ import com.techhub.app.commonservice.exception.BadRequestException;
 import com.techhub.app.commonservice.exception.ForbiddenException;
 import com.techhub.app.commonservice.exception.NotFoundException;
 import com.techhub.app.commonservice.exception.UnauthorizedException;
+import com.techhub.app.commonservice.sql.Cursor;
+import com.techhub.app.commonservice.sql.CursorPage;
+import com.techhub.app.courseservice.cache.CurriculumCacheService;
+import com.techhub.app.courseservice.cache.CurriculumSnapshot;
 import com.techhub.app.courseservice.dto.request.ChapterRequest;
 import com.techhub.app.courseservice.dto.request.CourseRequest;
 import com.techhub.app.courseservice.dto.request.LessonAssetRequest;
@@ -12,11 +16,10 @@ import com.techhub.app.courseservice.dto.request.LessonRequest;
 import com.techhub.app.courseservice.dto.response.ChapterResponse;
 import com.techhub.app.courseservice.dto.response.CourseDetailResponse;
 import com.techhub.app.courseservice.dto.response.CourseFileResource;
+import com.techhub.app.courseservice.dto.response.CourseSearchPageResponse;
 import com.techhub.app.courseservice.dto.response.CourseSummaryResponse;
 import com.techhub.app.courseservice.dto.response.LessonAssetResponse;
 import com.techhub.app.courseservice.dto.response.LessonResponse;
-import com.techhub.app.courseservice.dto.response.SkillDTO;
-import com.techhub.app.courseservice.dto.response.TagDTO;
 import com.techhub.app.courseservice.entity.Chapter;
 import com.techhub.app.courseservice.entity.Course;
 import com.techhub.app.courseservice.entity.CourseSkill;
@@ -33,7 +36,6 @@ import com.techhub.app.courseservice.entity.Tag;
 import com.techhub.app.courseservice.enums.CourseStatus;
 import com.techhub.app.courseservice.enums.EnrollmentStatus;
 import com.techhub.app.courseservice.enums.LessonAssetType;
-import com.techhub.app.courseservice.enums.RatingTarget;
 import com.techhub.app.courseservice.mapper.CourseMapper;
 import com.techhub.app.courseservice.repository.ChapterRepository;
 import com.techhub.app.courseservice.repository.CourseRepository;
@@ -41,14 +43,17 @@ import com.techhub.app.courseservice.repository.EnrollmentRepository;
 import com.techhub.app.courseservice.repository.LessonAssetRepository;
 import com.techhub.app.courseservice.repository.LessonRepository;
 import com.techhub.app.courseservice.repository.ProgressRepository;
-import com.techhub.app.courseservice.repository.RatingRepository;
 import com.techhub.app.courseservice.repository.SkillRepository;
 import com.techhub.app.courseservice.repository.TagRepository;
 import com.techhub.app.courseservice.service.CourseNotificationService;
 import com.techhub.app.courseservice.service.CourseService;
+import com.techhub.app.courseservice.service.CourseStatsService;
+import com.techhub.app.courseservice.service.impl.CourseCurriculumLoader.CourseCurriculum;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -79,11 +84,16 @@ public class CourseServiceImpl implements CourseService {
     private final EnrollmentRepository enrollmentRepository;
     private final CourseMapper courseMapper;
     private final ProgressRepository progressRepository;
-    private final RatingRepository ratingRepository;
     private final EventPublisher eventPublisher;
     private final SkillRepository skillRepository;
     private final TagRepository tagRepository;
     private final CourseNotificationService courseNotificationService;
+    private final CourseSummaryAssembler courseSummaryAssembler;
+    private final CourseCurriculumLoader courseCurriculumLoader;
+    private final CurriculumCacheService curriculumCacheService;
+    private final CurriculumProgressEvaluator curriculumProgressEvaluator;
+    private final CourseStatsService courseStatsService;
+    private final CourseCatalogSearch courseCatalogSearch;
 
     @Override
     @Transactional(readOnly = true)
@@ -99,7 +109,52 @@ public class CourseServiceImpl implements CourseService {
             // INSTRUCTOR, LEARNER, Guest: Xem tất cả courses PUBLISHED
             courses = courseRepository.searchCourses(CourseStatus.PUBLISHED.name(), normalized, pageable);
         }
-        return courses.map(this::buildCourseSummary);
+        return toSummaryPage(courses);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseSearchPageResponse getCourses(String search, String cursor, int size) {
+        String normalized = normalizeSearch(search);
+        if (normalized == null) {
+            throw new BadRequestException("Search text is required");
+        }
+        if (size < 1 || size > 100) {
+            throw new BadRequestException("Page size must be between 1 and 100");
+        }
+        String status = UserContext.hasAnyRole(ROLE_ADMIN) ? null : CourseStatus.PUBLISHED.name();
+        CourseCatalogSearch.Result result = courseCatalogSearch.search(status, normalized, cursor, size);
+        return CourseSearchPageResponse.builder()
+                .items(courseSummaryAssembler.toSummaries(result.getCourses()))
+                .size(size)
+                .hasNext(result.hasNext())
+                .nextCursor(result.getNextCursor())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseSummaryResponse> getCoursesByCursor(String search, String cursor, int size,
+            boolean includeTotal) {
+        if (size < 1 || size > 100) {
+            throw new BadRequestException("Page size must be between 1 and 100");
+        }
+        String normalized = normalizeSearch(search);
+        String status = UserContext.hasAnyRole(ROLE_ADMIN) ? null : CourseStatus.PUBLISHED.name();
+        Cursor after = Cursor.decode(cursor);
+
+        List<Course> rows = courseRepository.searchCoursesAfter(status, normalized, after.getCreated(),
+                after.getId(), size + 1);
+        CursorPage<Course> page = CursorPage.fromLookahead(rows, size,
+                course -> Cursor.of(course.getCreated(), course.getId()));
+        CursorPage<CourseSummaryResponse> result = new CursorPage<>(
+                courseSummaryAssembler.toSummaries(page.getContent()), size, page.isHasNext(),
+                page.getNextCursor(), null);
+        if (includeTotal) {
+            result.withTotalElements(courseRepository
+                    .searchCourses(status, normalized, PageRequest.of(0, 1)).getTotalElements());
+        }
+        return result;
     }
 
     @Override
@@ -120,7 +175,7 @@ public class CourseServiceImpl implements CourseService {
             // Không có user -> trả về rỗng
             courses = Page.empty(pageable);
         }
-        return courses.map(this::buildCourseSummary);
+        return toSummaryPage(courses);
     }
 
     @Override
@@ -140,7 +195,7 @@ public class CourseServiceImpl implements CourseService {
                 : Collections.emptyList();
 
         CourseProgressSnapshot snapshot = buildChapterSnapshot(course, currentUserId, isManager, userProgress);
-        CourseSummaryResponse summary = buildCourseSummary(course);
+        CourseSummaryResponse summary = courseSummaryAssembler.toSummary(course);
         EnrollmentStatus enrollmentStatus = null;
         boolean enrolled = false;
         if (currentUserId != null) {
@@ -167,6 +222,12 @@ public class CourseServiceImpl implements CourseService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CurriculumSnapshot getCurriculumSnapshot(Course course) {
+        return curriculumCacheService.get(course.getId(), version -> buildCurriculumSnapshot(course, version));
+    }
+
     @Override
     public CourseDetailResponse createCourse(CourseRequest request) {
         log.info("========== CourseServiceImpl.createCourse START ==========");
@@ -215,7 +276,8 @@ public class CourseServiceImpl implements CourseService {
                 course.getCourseTags().size());
 
         log.info("CourseServiceImpl.createCourse - Saving course with skills and tags...");
-        courseRepository.save(course);
+        courseRepository.saveAndFlush(course);
+        courseRepository.refreshSearchVectors(List.of(course.getId()));
         log.info("CourseServiceImpl.createCourse - Course saved. Final skills count: {}, tags count: {}",
                 course.getCourseSkills().size(),
                 course.getCourseTags().size());
@@ -286,14 +348,16 @@ public class CourseServiceImpl implements CourseService {
 
         log.info("updateCourse - After mapTagsToCourse, course tags count: {}", course.getCourseTags().size());
 
-        courseRepository.save(course);
+        courseRepository.saveAndFlush(course);
+        courseRepository.refreshSearchVectors(List.of(courseId));
         log.info("Course {} updated by {} with {} skills and {} tags",
                 courseId, currentUserId,
                 course.getCourseSkills().size(),
                 course.getCourseTags().size());
         log.info("========== CourseServiceImpl.updateCourse END ==========");
 
-        // Publish event for AI re-indexing
+        // Drop cached curriculum and publish event for AI re-indexing
+        curriculumCacheService.invalidateAfterCommit(courseId);
         publishCourseUpdatedEvent(course);
 
         // Send notification if course was just published (status changed from
@@ -317,6 +381,7 @@ public class CourseServiceImpl implements CourseService {
         course.setUpdated(OffsetDateTime.now());
         courseRepository.save(course);
         log.info("Course {} soft-deleted by {}", courseId, currentUserId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
 
         // Publish event for AI de-indexing
         publishCourseDeletedEvent(course);
@@ -347,6 +412,7 @@ public class CourseServiceImpl implements CourseService {
             throw new BadRequestException("User already enrolled in this course");
         }
 
+        boolean wasActive = enrollment.getId() != null && Boolean.TRUE.equals(enrollment.getIsActive());
         enrollment.setStatus(EnrollmentStatus.ENROLLED);
         enrollment.setIsActive(true);
         enrollment.setEnrolledAt(OffsetDateTime.now());
@@ -355,7 +421,10 @@ public class CourseServiceImpl implements CourseService {
         if (enrollment.getCreatedBy() == null) {
             enrollment.setCreatedBy(currentUserId);
         }
-        enrollmentRepository.save(enrollment);
+        enrollmentRepository.saveAndFlush(enrollment);
+        if (!wasActive) {
+            courseStatsService.recordEnrollmentChange(courseId, 1);
+        }
         log.info("User {} enrolled in course {}", currentUserId, courseId);
     }
 
@@ -390,6 +459,7 @@ public class CourseServiceImpl implements CourseService {
         Chapter chapter = courseMapper.toChapterEntity(request, course, currentUserId, nextOrder);
         chapterRepository.save(chapter);
         log.info("Chapter {} created for course {}", chapter.getId(), courseId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
         return buildChapterResponseForManager(chapter, course);
     }
 
@@ -405,6 +475,7 @@ public class CourseServiceImpl implements CourseService {
         courseMapper.updateChapter(chapter, request, currentUserId);
         chapterRepository.save(chapter);
         log.info("Chapter {} updated for course {}", chapterId, courseId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
         return buildChapterResponseForManager(chapter, course);
     }
 
@@ -418,6 +489,7 @@ public class CourseServiceImpl implements CourseService {
                 .orElseThrow(() -> new NotFoundException("Chapter not found"));
 
         chapterRepository.delete(chapter);
+        curriculumCacheService.invalidateAfterCommit(courseId);
 
         List<Chapter> remainingChapters = chapterRepository
                 .findByCourse_IdAndIsActiveTrueOrderByOrderIndexAsc(courseId);
@@ -469,6 +541,7 @@ public class CourseServiceImpl implements CourseService {
         Lesson lesson = courseMapper.toLessonEntity(request, chapter, currentUserId, orderIndex);
         lessonRepository.save(lesson);
         log.info("Lesson {} created in chapter {}", lesson.getId(), chapterId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
 
         // Send notification to enrolled students about new lesson
         if (course.getStatus() == CourseStatus.PUBLISHED) {
@@ -513,6 +586,7 @@ public class CourseServiceImpl implements CourseService {
         courseMapper.updateLesson(lesson, request, currentUserId);
         lessonRepository.save(lesson);
         log.info("Lesson {} updated in chapter {}", lessonId, chapterId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
         
         // Publish lesson event for AI indexing
         try {
@@ -553,6 +627,7 @@ public class CourseServiceImpl implements CourseService {
         // ✅ HARD DELETE - Xóa cứng luôn
         lessonRepository.delete(lesson);
         log.info("✅ Lesson {} hard-deleted (CASCADE will delete all assets & progress)", lessonId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
         
         // Publish lesson delete event for AI indexing (remove from vector DB)
         try {
@@ -611,6 +686,7 @@ public class CourseServiceImpl implements CourseService {
         LessonAsset asset = courseMapper.toLessonAssetEntity(request, lesson, currentUserId, orderIndex);
         lessonAssetRepository.save(asset);
         log.info("Asset {} created for lesson {}", asset.getId(), lessonId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
 
         // Send notification to enrolled students about new content
         if (course.getStatus() == CourseStatus.PUBLISHED) {
@@ -644,6 +720,7 @@ public class CourseServiceImpl implements CourseService {
         courseMapper.updateLessonAsset(asset, request, currentUserId);
         lessonAssetRepository.save(asset);
         log.info("Asset {} updated for lesson {}", assetId, lessonId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
         return buildAssetResponse(asset, course);
     }
 
@@ -662,6 +739,7 @@ public class CourseServiceImpl implements CourseService {
         asset.setUpdated(OffsetDateTime.now());
         lessonAssetRepository.save(asset);
         log.info("Asset {} soft-deleted for lesson {}", assetId, lessonId);
+        curriculumCacheService.invalidateAfterCommit(courseId);
     }
 
     private Lesson resolveLesson(UUID courseId, UUID chapterId, UUID lessonId) {
@@ -675,63 +753,9 @@ public class CourseServiceImpl implements CourseService {
                 .orElseThrow(() -> new NotFoundException("Chapter not found"));
     }
 
-    private CourseSummaryResponse buildCourseSummary(Course course) {
-        CourseFileResource thumbnail = buildFileResourceFromUrl(course.getThumbnail());
-        CourseFileResource intro = buildFileResourceFromUrl(course.getIntroVideoFile());
-        long totalEnrollments = enrollmentRepository.countByCourseAndIsActiveTrue(course);
-        Double averageRating = ratingRepository.getAverageScore(course.getId(), RatingTarget.COURSE.name());
-        long ratingCount = ratingRepository.countByTargetIdAndTargetTypeAndIsActiveTrue(course.getId(),
-                RatingTarget.COURSE);
-        return CourseSummaryResponse.builder()
-                .id(course.getId())
-                .title(course.getTitle())
-                .description(course.getDescription())
-                .price(course.getPrice())
-                .discountPrice(course.getDiscountPrice())
-                .promoEndDate(course.getPromoEndDate())
-                .status(course.getStatus())
-                .level(course.getLevel())
-                .language(course.getLanguage())
-                .skills(course.getCourseSkills() != null ? course.getCourseSkills().stream()
-                        .map(cs -> {
-                            SkillDTO dto = null;
-                            if (cs.getSkill() != null) {
-                                dto = new SkillDTO(
-                                        cs.getSkill().getId(),
-                                        cs.getSkill().getName(),
-                                        cs.getSkill().getThumbnail(),
-                                        cs.getSkill().getCategory());
-                            }
-                            return dto;
-                        })
-                        .filter(java.util.Objects::nonNull)
-                        .collect(java.util.stream.Collectors.toList())
-                        : java.util.Collections.emptyList())
-                .tags(course.getCourseTags() != null ? course.getCourseTags().stream()
-                        .map(ct -> {
-                            TagDTO dto = null;
-                            if (ct.getTag() != null) {
-                                dto = new TagDTO(
-                                        ct.getTag().getId(),
-                                        ct.getTag().getName());
-                            }
-                            return dto;
-                        })
-                        .filter(java.util.Objects::nonNull)
-                        .collect(java.util.stream.Collectors.toList())
-                        : java.util.Collections.emptyList())
-                .objectives(course.getObjectives() != null ? List.copyOf(course.getObjectives()) : List.of())
-                .requirements(course.getRequirements() != null ? List.copyOf(course.getRequirements()) : List.of())
-                .instructorId(course.getInstructorId())
-                .thumbnail(thumbnail)
-                .introVideo(intro)
-                .created(course.getCreated())
-                .updated(course.getUpdated())
-                .active(course.getIsActive())
-                .totalEnrollments(totalEnrollments)
-                .averageRating(averageRating != null ? Math.round(averageRating * 100d) / 100d : null)
-                .ratingCount(ratingCount)
-                .build();
+    private Page<CourseSummaryResponse> toSummaryPage(Page<Course> courses) {
+        List<CourseSummaryResponse> summaries = courseSummaryAssembler.toSummaries(courses.getContent());
+        return new PageImpl<>(summaries, courses.getPageable(), courses.getTotalElements());
     }
 
     private CourseProgressSnapshot buildChapterSnapshot(Course course, UUID userId, boolean isManager,
@@ -741,93 +765,25 @@ public class CourseServiceImpl implements CourseService {
                 .collect(Collectors.toMap(progress -> progress.getLesson().getId(), Function.identity(),
                         (left, right) -> left));
 
-        List<Chapter> chapterEntities = chapterRepository
-                .findByCourse_IdAndIsActiveTrueOrderByOrderIndexAsc(course.getId());
-        List<ChapterResponse> chapterResponses = new ArrayList<>();
-        List<UUID> unlockedChapters = new ArrayList<>();
-        List<UUID> lockedChapters = new ArrayList<>();
-
-        long totalLessons = 0;
-        long totalEstimatedMinutes = 0;
-        double totalMandatoryWeight = 0;
-        double totalCompletedWeight = 0;
-        long completedLessons = 0;
-
-        boolean previousUnlocked = true;
-        double previousCompletion = 1d;
-        UUID currentChapterId = null;
-
-        for (int index = 0; index < chapterEntities.size(); index++) {
-            Chapter chapter = chapterEntities.get(index);
-            List<Lesson> lessonEntities = lessonRepository
-                    .findByChapter_IdAndIsActiveTrueOrderByOrderIndexAsc(chapter.getId());
+        CurriculumSnapshot curriculum = getCurriculumSnapshot(course);
+        CurriculumProgressEvaluator.Evaluation evaluation = curriculumProgressEvaluator.evaluate(curriculum,
+                progressByLesson, isManager);
 
+        List<ChapterResponse> chapterResponses = new ArrayList<>();
+        for (CurriculumSnapshot.ChapterNode chapter : curriculum.getChapters()) {
+            boolean unlocked = evaluation.isUnlocked(chapter.getId());
             List<LessonResponse> lessonResponses = new ArrayList<>();
-            double chapterMandatoryWeight = 0;
-            double chapterCompletedWeight = 0;
-
-            for (Lesson lesson : lessonEntities) {
-                Progress progress = progressByLesson.get(lesson.getId());
-                LessonResponse lessonResponse = buildLessonResponse(lesson, course, progress);
-                lessonResponses.add(lessonResponse);
-
-                boolean mandatory = lesson.getMandatory() == null || lesson.getMandatory();
-                float weight = lesson.getCompletionWeight() != null ? lesson.getCompletionWeight() : 1f;
-                float completionValue = lessonResponse.getCompletion() != null
-                        ? Math.max(0f, Math.min(1f, lessonResponse.getCompletion()))
-                        : 0f;
-
-                totalLessons++;
-                if (lesson.getEstimatedDuration() != null) {
-                    totalEstimatedMinutes += lesson.getEstimatedDuration();
-                }
-                if (Boolean.TRUE.equals(lessonResponse.getCompleted())) {
-                    completedLessons++;
-                }
-
-                if (mandatory) {
-                    chapterMandatoryWeight += weight;
-                    totalMandatoryWeight += weight;
-                    chapterCompletedWeight += weight * completionValue;
-                    totalCompletedWeight += weight * completionValue;
-                }
-            }
-
-            double chapterCompletionRatio = chapterMandatoryWeight == 0 ? 1d
-                    : chapterCompletedWeight / chapterMandatoryWeight;
-            chapterCompletionRatio = Math.min(1d, Math.max(0d, chapterCompletionRatio));
-
-            boolean baseLocked = chapter.getLocked() != null ? chapter.getLocked() : Boolean.FALSE;
-            boolean unlocked = isManager || !baseLocked;
-
-            if (!unlocked) {
-                double threshold = chapter.getMinCompletionThreshold() != null ? chapter.getMinCompletionThreshold()
-                        : 0.7d;
-                if (index == 0) {
-                    unlocked = true;
-                } else if (Boolean.TRUE.equals(chapter.getAutoUnlock())) {
-                    unlocked = previousUnlocked && previousCompletion >= threshold;
-                }
-            }
-
-            if (unlocked) {
-                unlockedChapters.add(chapter.getId());
-                if (currentChapterId == null && chapterCompletionRatio < 1d) {
-                    currentChapterId = chapter.getId();
-                }
-            } else {
-                lockedChapters.add(chapter.getId());
-            }
-
-            if (!unlocked) {
-                lessonResponses.forEach(lessonResponse -> {
+            for (LessonResponse template : chapter.getLessons()) {
+                LessonResponse lessonResponse = applyProgress(template, progressByLesson.get(template.getId()));
+                if (!unlocked) {
                     lessonResponse.setAssets(List.of());
                     lessonResponse.setVideoUrl(null);
                     lessonResponse.setDocumentUrls(List.of());
-                });
+                }
+                lessonResponses.add(lessonResponse);
             }
 
-            ChapterResponse chapterResponse = ChapterResponse.builder()
+            chapterResponses.add(ChapterResponse.builder()
                     .id(chapter.getId())
                     .title(chapter.getTitle())
                     .orderIndex(chapter.getOrderIndex())
@@ -835,47 +791,105 @@ public class CourseServiceImpl implements CourseService {
                     .autoUnlock(chapter.getAutoUnlock())
                     .locked(!unlocked)
                     .unlocked(unlocked)
-                    .completionRatio(chapterCompletionRatio)
-                    .currentChapter(false)
+                    .completionRatio(evaluation.getChapterCompletionRatio(chapter.getId()))
+                    .currentChapter(chapter.getId().equals(evaluation.getCurrentChapterId()))
                     .created(chapter.getCreated())
                     .updated(chapter.getUpdated())
                     .lessons(lessonResponses)
-                    .build();
+                    .build());
+        }
 
-            chapterResponses.add(chapterResponse);
+        return new CourseProgressSnapshot(
+                chapterResponses,
+                curriculum.getTotalLessons(),
+                curriculum.getTotalEstimatedDurationMinutes(),
+                evaluation.getOverallProgress(),
+                evaluation.getCurrentChapterId(),
+                new ArrayList<>(evaluation.getUnlockedChapterIds()),
+                new ArrayList<>(evaluation.getLockedChapterIds()),
+                evaluation.getCompletedLessons());
+    }
 
-            previousUnlocked = unlocked;
-            previousCompletion = chapterCompletionRatio;
-        }
+    /**
+     * Build the user-independent curriculum of a course. Lessons are rendered
+     * without progress and shared through {@link CurriculumCacheService}.
+     */
+    private CurriculumSnapshot buildCurriculumSnapshot(Course course, long version) {
+        CourseCurriculum curriculum = courseCurriculumLoader.load(course.getId());
+        List<CurriculumSnapshot.ChapterNode> chapterNodes = new ArrayList<>();
+        long totalLessons = 0;
+        long totalEstimatedMinutes = 0;
 
-        if (currentChapterId == null && !unlockedChapters.isEmpty()) {
-            currentChapterId = unlockedChapters.get(unlockedChapters.size() - 1);
-        } else if (currentChapterId == null && !chapterResponses.isEmpty()) {
-            currentChapterId = chapterResponses.get(0).getId();
-        }
+        for (Chapter chapter : curriculum.getChapters()) {
+            List<LessonResponse> lessons = new ArrayList<>();
+            for (Lesson lesson : curriculum.getLessons(chapter.getId())) {
+                LessonResponse template = buildLessonResponse(lesson, course, null,
+                        curriculum.getAssets(lesson.getId()));
+                template.setAssets(List.copyOf(template.getAssets()));
+                lessons.add(template);
+
+                totalLessons++;
+                if (lesson.getEstimatedDuration() != null) {
+                    totalEstimatedMinutes += lesson.getEstimatedDuration();
+                }
+            }
 
-        for (ChapterResponse response : chapterResponses) {
-            response.setCurrentChapter(response.getId().equals(currentChapterId));
+            chapterNodes.add(CurriculumSnapshot.ChapterNode.builder()
+                    .id(chapter.getId())
+                    .title(chapter.getTitle())
+                    .orderIndex(chapter.getOrderIndex())
+                    .minCompletionThreshold(chapter.getMinCompletionThreshold())
+                    .autoUnlock(chapter.getAutoUnlock())
+                    .locked(chapter.getLocked())
+                    .created(chapter.getCreated())
+                    .updated(chapter.getUpdated())
+                    .lessons(List.copyOf(lessons))
+                    .build());
         }
 
-        double overallProgress = totalMandatoryWeight == 0 ? 1d : totalCompletedWeight / totalMandatoryWeight;
-        overallProgress = Math.min(1d, Math.max(0d, overallProgress));
+        return CurriculumSnapshot.builder()
+                .courseId(course.getId())
+                .version(version)
+                .totalLessons(totalLessons)
+                .totalEstimatedDurationMinutes(totalEstimatedMinutes)
+                .chapters(List.copyOf(chapterNodes))
+                .build();
+    }
 
-        return new CourseProgressSnapshot(
-                chapterResponses,
-                totalLessons,
-                totalEstimatedMinutes,
-                overallProgress,
-                currentChapterId,
-                unlockedChapters,
-                lockedChapters,
-                completedLessons);
+    /**
+     * Copy a cached lesson template and overlay the learner's progress on it.
+     */
+    private LessonResponse applyProgress(LessonResponse template, Progress progress) {
+        return LessonResponse.builder()
+                .id(template.getId())
+                .title(template.getTitle())
+                .description(template.getDescription())
+                .orderIndex(template.getOrderIndex())
+                .contentType(template.getContentType())
+                .content(template.getContent())
+                .isFree(template.getIsFree())
+                .mandatory(template.getMandatory())
+                .completionWeight(template.getCompletionWeight())
+                .estimatedDuration(template.getEstimatedDuration())
+                .workspaceEnabled(template.getWorkspaceEnabled())
+                .workspaceLanguages(template.getWorkspaceLanguages())
+                .workspaceTemplate(template.getWorkspaceTemplate())
+                .videoUrl(template.getVideoUrl())
+                .documentUrls(template.getDocumentUrls())
+                .created(template.getCreated())
+                .updated(template.getUpdated())
+                .assets(template.getAssets())
+                .completion(curriculumProgressEvaluator.lessonCompletion(progress))
+                .completed(curriculumProgressEvaluator.isLessonCompleted(progress))
+                .completedAt(progress != null ? progress.getCompletedAt() : null)
+                .progressUpdatedAt(progress != null ? progress.getUpdated() : null)
+                .build();
     }
 
     private ChapterResponse buildChapterResponseForManager(Chapter chapter, Course course) {
-        List<LessonResponse> lessons = lessonRepository
-                .findByChapter_IdAndIsActiveTrueOrderByOrderIndexAsc(chapter.getId()).stream()
-                .map(lesson -> buildLessonResponse(lesson, course, null))
+        CourseCurriculum curriculum = courseCurriculumLoader.loadChapter(chapter);
+        List<LessonResponse> lessons = curriculum.getLessons(chapter.getId()).stream()
+                .map(lesson -> buildLessonResponse(lesson, course, null, curriculum.getAssets(lesson.getId())))
                 .collect(Collectors.toList());
 
         boolean locked = chapter.getLocked() != null ? chapter.getLocked() : Boolean.FALSE;
@@ -896,17 +910,18 @@ public class CourseServiceImpl implements CourseService {
     }
 
     private LessonResponse buildLessonResponse(Lesson lesson, Course course, Progress progress) {
-        List<LessonAssetResponse> assets = lessonAssetRepository
-                .findByLesson_IdAndIsActiveTrueOrderByOrderIndexAsc(lesson.getId()).stream()
+        return buildLessonResponse(lesson, course, progress,
+                lessonAssetRepository.findByLesson_IdAndIsActiveTrueOrderByOrderIndexAsc(lesson.getId()));
+    }
+
+    private LessonResponse buildLessonResponse(Lesson lesson, Course course, Progress progress,
+            List<LessonAsset> assetEntities) {
+        List<LessonAssetResponse> assets = assetEntities.stream()
                 .map(asset -> buildAssetResponse(asset, course))
                 .collect(Collectors.toList());
 
-        Float completion = progress != null && progress.getCompletion() != null
-                ? Math.max(0f, Math.min(1f, progress.getCompletion()))
-                : 0f;
-        boolean completed = progress != null && (progress.isCompleted()
-                || progress.getCompletedAt() != null
-                || (progress.getCompletion() != null && progress.getCompletion() >= 1f));
+        Float completion = curriculumProgressEvaluator.lessonCompletion(progress);
+        boolean completed = curriculumProgressEvaluator.isLessonCompleted(progress);
 
         return LessonResponse.builder()
                 .id(lesson.getId())
@@ -958,13 +973,6 @@ public class CourseServiceImpl implements CourseService {
         return CourseFileResource.builder().fileId(fileId).build();
     }
 
-    private CourseFileResource buildFileResourceFromUrl(String url) {
-        if (url == null || url.trim().isEmpty()) {
-            return null;
-        }
-        return CourseFileResource.builder().url(url).build();
-    }
-
     private Course getActiveCourse(UUID courseId) {
         return courseRepository.findByIdAndIsActiveTrue(courseId)
                 .orElseThrow(() -> new NotFoundException("Course not found"));
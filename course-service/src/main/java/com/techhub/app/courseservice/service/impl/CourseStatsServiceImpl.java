@@ -0,0 +1,87 @@
+package com.techhub.app.courseservice.service.impl;
+
+import com.techhub.app.courseservice.entity.CourseStats;
+import com.techhub.app.courseservice.repository.CourseStatsRepository;
+import com.techhub.app.courseservice.service.CourseStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@code course_stats} projection with atomic in-place
+ * increments. A course without a row is first seeded from the base tables;
+ * since callers flush their own write beforehand, the seed already includes
+ * it and no increment is applied on top.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CourseStatsServiceImpl implements CourseStatsService {
+
+    private final CourseStatsRepository courseStatsRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CourseStats> getStats(UUID courseId) {
+        return courseStatsRepository.findById(courseId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, CourseStats> getStats(Collection<UUID> courseIds) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return courseStatsRepository.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(CourseStats::getCourseId, Function.identity()));
+    }
+
+    @Override
+    public void recordEnrollmentChange(UUID courseId, long delta) {
+        if (delta == 0 || seeded(courseId)) {
+            return;
+        }
+        courseStatsRepository.addEnrollments(courseId, delta);
+    }
+
+    @Override
+    public void recordRatingChange(UUID courseId, Integer previousScore, int newScore) {
+        if ((previousScore != null && previousScore == newScore) || seeded(courseId)) {
+            return;
+        }
+        long[] histogram = new long[6];
+        histogram[newScore]++;
+        long sumDelta = newScore;
+        long countDelta = 1;
+        if (previousScore != null) {
+            histogram[previousScore]--;
+            sumDelta -= previousScore;
+            countDelta = 0;
+        }
+        courseStatsRepository.addRatings(courseId, countDelta, sumDelta,
+                histogram[1], histogram[2], histogram[3], histogram[4], histogram[5]);
+    }
+
+    @Override
+    public int reconcile() {
+        int corrected = courseStatsRepository.reconcileAll();
+        if (corrected > 0) {
+            log.info("Reconciled course_stats, {} rows inserted or corrected", corrected);
+        }
+        return corrected;
+    }
+
+    private boolean seeded(UUID courseId) {
+        return courseStatsRepository.initialize(courseId) > 0;
+    }
+}
@@ -0,0 +1,166 @@
+package com.techhub.app.courseservice.service.impl;
+
+import com.techhub.app.courseservice.dto.response.CourseFileResource;
+import com.techhub.app.courseservice.dto.response.CourseSummaryResponse;
+import com.techhub.app.courseservice.dto.response.SkillDTO;
+import com.techhub.app.courseservice.dto.response.TagDTO;
+import com.techhub.app.courseservice.entity.Course;
+import com.techhub.app.courseservice.entity.CourseSkill;
+import com.techhub.app.courseservice.entity.CourseStats;
+import com.techhub.app.courseservice.entity.CourseTag;
+import com.techhub.app.courseservice.enums.RatingTarget;
+import com.techhub.app.courseservice.repository.CourseSkillRepository;
+import com.techhub.app.courseservice.repository.CourseTagRepository;
+import com.techhub.app.courseservice.repository.EnrollmentRepository;
+import com.techhub.app.courseservice.repository.RatingRepository;
+import com.techhub.app.courseservice.service.CourseStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link CourseSummaryResponse}s for a whole page of courses at once.
+ * Enrollment counts and rating aggregates come from the materialized
+ * {@code course_stats} rows (grouped queries only for courses not yet
+ * materialized); skills and tags are each loaded with a single query keyed by
+ * course id, so the number of round trips does not grow with the page size.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseSummaryAssembler {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final RatingRepository ratingRepository;
+    private final CourseSkillRepository courseSkillRepository;
+    private final CourseTagRepository courseTagRepository;
+    private final CourseStatsService courseStatsService;
+
+    public CourseSummaryResponse toSummary(Course course) {
+        return toSummaries(List.of(course)).get(0);
+    }
+
+    public List<CourseSummaryResponse> toSummaries(List<Course> courses) {
+        if (courses == null || courses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<UUID> courseIds = courses.stream().map(Course::getId).collect(Collectors.toSet());
+
+        Map<UUID, Long> enrollmentCounts = new HashMap<>();
+        Map<UUID, RatingStats> ratingStats = new HashMap<>();
+        Set<UUID> missing = new HashSet<>(courseIds);
+        for (CourseStats stats : courseStatsService.getStats(courseIds).values()) {
+            enrollmentCounts.put(stats.getCourseId(), stats.getEnrollmentCount());
+            ratingStats.put(stats.getCourseId(), new RatingStats(stats.getAverageRating(), stats.getRatingCount()));
+            missing.remove(stats.getCourseId());
+        }
+
+        if (!missing.isEmpty()) {
+            for (Object[] row : enrollmentRepository.countActiveByCourseIds(missing)) {
+                enrollmentCounts.put((UUID) row[0], ((Number) row[1]).longValue());
+            }
+            for (Object[] row : ratingRepository.getScoreStatsByTargetIds(missing, RatingTarget.COURSE)) {
+                Double average = row[1] != null ? ((Number) row[1]).doubleValue() : null;
+                ratingStats.put((UUID) row[0], new RatingStats(average, ((Number) row[2]).longValue()));
+            }
+        }
+
+        Map<UUID, List<SkillDTO>> skillsByCourse = new HashMap<>();
+        for (CourseSkill cs : courseSkillRepository.findWithSkillByCourseIds(courseIds)) {
+            if (cs.getSkill() == null) {
+                continue;
+            }
+            skillsByCourse.computeIfAbsent(cs.getCourse().getId(), id -> new ArrayList<>())
+                    .add(new SkillDTO(
+                            cs.getSkill().getId(),
+                            cs.getSkill().getName(),
+                            cs.getSkill().getThumbnail(),
+                            cs.getSkill().getCategory()));
+        }
+
+        Map<UUID, List<TagDTO>> tagsByCourse = new HashMap<>();
+        for (CourseTag ct : courseTagRepository.findWithTagByCourseIds(courseIds)) {
+            if (ct.getTag() == null) {
+                continue;
+            }
+            tagsByCourse.computeIfAbsent(ct.getCourse().getId(), id -> new ArrayList<>())
+                    .add(new TagDTO(ct.getTag().getId(), ct.getTag().getName()));
+        }
+
+        List<CourseSummaryResponse> summaries = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            RatingStats stats = ratingStats.getOrDefault(course.getId(), RatingStats.EMPTY);
+            summaries.add(buildSummary(course,
+                    enrollmentCounts.getOrDefault(course.getId(), 0L),
+                    stats,
+                    skillsByCourse.getOrDefault(course.getId(), Collections.emptyList()),
+                    tagsByCourse.getOrDefault(course.getId(), Collections.emptyList())));
+        }
+        return summaries;
+    }
+
+    private CourseSummaryResponse buildSummary(Course course, long totalEnrollments, RatingStats ratingStats,
+            List<SkillDTO> skills, List<TagDTO> tags) {
+        Double averageRating = ratingStats.getAverage();
+        return CourseSummaryResponse.builder()
+                .id(course.getId())
+                .title(course.getTitle())
+                .description(course.getDescription())
+                .price(course.getPrice())
+                .discountPrice(course.getDiscountPrice())
+                .promoEndDate(course.getPromoEndDate())
+                .status(course.getStatus())
+                .level(course.getLevel())
+                .language(course.getLanguage())
+                .skills(skills)
+                .tags(tags)
+                .objectives(course.getObjectives() != null ? List.copyOf(course.getObjectives()) : List.of())
+                .requirements(course.getRequirements() != null ? List.copyOf(course.getRequirements()) : List.of())
+                .instructorId(course.getInstructorId())
+                .thumbnail(buildFileResourceFromUrl(course.getThumbnail()))
+                .introVideo(buildFileResourceFromUrl(course.getIntroVideoFile()))
+                .created(course.getCreated())
+                .updated(course.getUpdated())
+                .active(course.getIsActive())
+                .totalEnrollments(totalEnrollments)
+                .averageRating(averageRating != null ? Math.round(averageRating * 100d) / 100d : null)
+                .ratingCount(ratingStats.getCount())
+                .build();
+    }
+
+    private CourseFileResource buildFileResourceFromUrl(String url) {
+        if (url == null || url.trim().isEmpty()) {
+            return null;
+        }
+        return CourseFileResource.builder().url(url).build();
+    }
+
+    private static final class RatingStats {
+        private static final RatingStats EMPTY = new RatingStats(null, 0L);
+
+        private final Double average;
+        private final long count;
+
+        RatingStats(Double average, long count) {
+            this.average = average;
+            this.count = count;
+        }
+
+        Double getAverage() {
+            return average;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.techhub.app.courseservice.service.impl;
+
+import com.techhub.app.courseservice.cache.CurriculumSnapshot;
+import com.techhub.app.courseservice.dto.response.LessonResponse;
+import com.techhub.app.courseservice.entity.Progress;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies a learner's progress to a cached {@link CurriculumSnapshot}:
+ * weighted chapter/course completion and chapter unlock rules. Works purely
+ * in memory so it can be run on every progress write.
+ */
+@Component
+public class CurriculumProgressEvaluator {
+
+    private static final double DEFAULT_UNLOCK_THRESHOLD = 0.7d;
+
+    public Evaluation evaluate(CurriculumSnapshot curriculum, Map<UUID, Progress> progressByLesson,
+            boolean isManager) {
+        Map<UUID, Double> chapterRatios = new LinkedHashMap<>();
+        List<UUID> unlockedChapters = new ArrayList<>();
+        List<UUID> lockedChapters = new ArrayList<>();
+
+        double totalMandatoryWeight = 0;
+        double totalCompletedWeight = 0;
+        long completedLessons = 0;
+
+        boolean previousUnlocked = true;
+        double previousCompletion = 1d;
+        UUID currentChapterId = null;
+
+        List<CurriculumSnapshot.ChapterNode> chapters = curriculum.getChapters();
+        for (int index = 0; index < chapters.size(); index++) {
+            CurriculumSnapshot.ChapterNode chapter = chapters.get(index);
+            double chapterMandatoryWeight = 0;
+            double chapterCompletedWeight = 0;
+
+            for (LessonResponse lesson : chapter.getLessons()) {
+                Progress progress = progressByLesson.get(lesson.getId());
+                boolean mandatory = lesson.getMandatory() == null || lesson.getMandatory();
+                float weight = lesson.getCompletionWeight() != null ? lesson.getCompletionWeight() : 1f;
+                float completionValue = lessonCompletion(progress);
+
+                if (isLessonCompleted(progress)) {
+                    completedLessons++;
+                }
+
+                if (mandatory) {
+                    chapterMandatoryWeight += weight;
+                    totalMandatoryWeight += weight;
+                    chapterCompletedWeight += weight * completionValue;
+                    totalCompletedWeight += weight * completionValue;
+                }
+            }
+
+            double chapterCompletionRatio = chapterMandatoryWeight == 0 ? 1d
+                    : chapterCompletedWeight / chapterMandatoryWeight;
+            chapterCompletionRatio = Math.min(1d, Math.max(0d, chapterCompletionRatio));
+
+            boolean baseLocked = chapter.getLocked() != null ? chapter.getLocked() : Boolean.FALSE;
+            boolean unlocked = isManager || !baseLocked;
+
+            if (!unlocked) {
+                double threshold = chapter.getMinCompletionThreshold() != null ? chapter.getMinCompletionThreshold()
+                        : DEFAULT_UNLOCK_THRESHOLD;
+                if (index == 0) {
+                    unlocked = true;
+                } else if (Boolean.TRUE.equals(chapter.getAutoUnlock())) {
+                    unlocked = previousUnlocked && previousCompletion >= threshold;
+                }
+            }
+
+            if (unlocked) {
+                unlockedChapters.add(chapter.getId());
+                if (currentChapterId == null && chapterCompletionRatio < 1d) {
+                    currentChapterId = chapter.getId();
+                }
+            } else {
+                lockedChapters.add(chapter.getId());
+            }
+            chapterRatios.put(chapter.getId(), chapterCompletionRatio);
+
+            previousUnlocked = unlocked;
+            previousCompletion = chapterCompletionRatio;
+        }
+
+        if (currentChapterId == null && !unlockedChapters.isEmpty()) {
+            currentChapterId = unlockedChapters.get(unlockedChapters.size() - 1);
+        } else if (currentChapterId == null && !chapters.isEmpty()) {
+            currentChapterId = chapters.get(0).getId();
+        }
+
+        double overallProgress = totalMandatoryWeight == 0 ? 1d : totalCompletedWeight / totalMandatoryWeight;
+        overallProgress = Math.min(1d, Math.max(0d, overallProgress));
+
+        return new Evaluation(chapterRatios, unlockedChapters, lockedChapters, currentChapterId, overallProgress,
+                completedLessons);
+    }
+
+    public float lessonCompletion(Progress progress) {
+        return progress != null && progress.getCompletion() != null
+                ? Math.max(0f, Math.min(1f, progress.getCompletion()))
+                : 0f;
+    }
+
+    public boolean isLessonCompleted(Progress progress) {
+        return progress != null && (progress.isCompleted()
+                || progress.getCompletedAt() != null
+                || (progress.getCompletion() != null && progress.getCompletion() >= 1f));
+    }
+
+    public static final class Evaluation {
+        private final Map<UUID, Double> chapterCompletionRatios;
+        private final List<UUID> unlockedChapterIds;
+        private final List<UUID> lockedChapterIds;
+        private final Set<UUID> unlockedLookup;
+        private final UUID currentChapterId;
+        private final double overallProgress;
+        private final long completedLessons;
+
+        Evaluation(Map<UUID, Double> chapterCompletionRatios,
+                List<UUID> unlockedChapterIds,
+                List<UUID> lockedChapterIds,
+                UUID currentChapterId,
+                double overallProgress,
+                long completedLessons) {
+            this.chapterCompletionRatios = Collections.unmodifiableMap(chapterCompletionRatios);
+            this.unlockedChapterIds = Collections.unmodifiableList(unlockedChapterIds);
+            this.lockedChapterIds = Collections.unmodifiableList(lockedChapterIds);
+            this.unlockedLookup = new HashSet<>(unlockedChapterIds);
+            this.currentChapterId = currentChapterId;
+            this.overallProgress = overallProgress;
+            this.completedLessons = completedLessons;
+        }
+
+        public Double getChapterCompletionRatio(UUID chapterId) {
+            return chapterCompletionRatios.get(chapterId);
+        }
+
+        public boolean isUnlocked(UUID chapterId) {
+            return unlockedLookup.contains(chapterId);
+        }
+
+        public List<UUID> getUnlockedChapterIds() {
+            return unlockedChapterIds;
+        }
+
+        public List<UUID> getLockedChapterIds() {
+            return lockedChapterIds;
+        }
+
+        public UUID getCurrentChapterId() {
+            return currentChapterId;
+        }
+
+        public double getOverallProgress() {
+            return overallProgress;
+        }
+
+        public long getCompletedLessons() {
+            return completedLessons;
+        }
+    }
+}
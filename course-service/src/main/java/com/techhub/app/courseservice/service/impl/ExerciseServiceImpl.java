@@ -303,7 +303,7 @@ public class ExerciseServiceImpl implements ExerciseService {
             if (completion >= 1f) {
                 progressRequest.setMarkComplete(true);
             }
-            courseProgressService.updateLessonProgress(courseId, lessonId, progressRequest);
+            courseProgressService.updateLessonProgressDelta(courseId, lessonId, progressRequest);
         }
 
         return ExerciseSubmissionResponse.builder()
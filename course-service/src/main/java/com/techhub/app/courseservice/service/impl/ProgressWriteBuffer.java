@@ -0,0 +1,270 @@
+package com.techhub.app.courseservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for lesson progress heartbeats.
+ * Updates are coalesced per (user, lesson) keeping the highest completion and
+ * written with batched {@code INSERT ... ON CONFLICT} upserts, either on a
+ * fixed interval or once the buffer reaches {@code max-pending} entries.
+ * Completions are never buffered: callers flush the pending entry, which also
+ * creates the row, and then update it synchronously.
+ */
+@Component
+@Slf4j
+public class ProgressWriteBuffer {
+
+    private static final String UPSERT_SQL = "INSERT INTO progress " +
+            "(id, user_id, lesson_id, completion, created, updated, created_by, updated_by, is_active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'Y') " +
+            "ON CONFLICT (user_id, lesson_id) DO UPDATE SET " +
+            "completion = GREATEST(COALESCE(progress.completion, 0), EXCLUDED.completion), " +
+            "updated = EXCLUDED.updated, " +
+            "updated_by = EXCLUDED.updated_by";
+
+    private static final String INSERT_IF_ABSENT_SQL = "INSERT INTO progress " +
+            "(id, user_id, lesson_id, completion, created, updated, created_by, updated_by, is_active) " +
+            "VALUES (?, ?, ?, 0, ?, ?, ?, ?, 'Y') " +
+            "ON CONFLICT (user_id, lesson_id) DO NOTHING";
+
+    private final ConcurrentMap<Key, Float> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-buffer-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final Counter receivedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    public ProgressWriteBuffer(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.progress-buffer.max-pending:500}") int maxPending,
+            @Value("${app.progress-buffer.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        this.receivedCounter = Counter.builder("course.progress.buffer.received")
+                .description("Progress updates accepted into the buffer")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("course.progress.buffer.written")
+                .description("Progress rows upserted by buffer flushes")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("course.progress.buffer.failed")
+                .description("Buffered progress rows whose flush failed and were re-queued")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("course.progress.buffer.flush")
+                .description("Latency of progress buffer flushes")
+                .register(meterRegistry);
+        Gauge.builder("course.progress.buffer.depth", pending, ConcurrentMap::size)
+                .description("Distinct (user, lesson) pairs waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("course.progress.buffer.coalescing.ratio", this, ProgressWriteBuffer::coalescingRatio)
+                .description("Updates received per row written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a completion value and return the coalesced (max) value pending for
+     * this lesson.
+     */
+    public float submit(UUID userId, UUID lessonId, float completion) {
+        receivedCounter.increment();
+        Float merged = pending.merge(new Key(userId, lessonId), completion, Math::max);
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+        return merged;
+    }
+
+    /**
+     * Synchronously write the pending entry of one lesson with the same upsert,
+     * or only create the row when nothing is pending, so a following read in the
+     * caller's transaction finds it. Waits for a running batch flush, whose rows
+     * would otherwise still be uncommitted. The entry leaves the buffer only once
+     * the caller commits, so a rollback does not lose the heartbeat.
+     */
+    public void flush(UUID userId, UUID lessonId) {
+        Key key = new Key(userId, lessonId);
+        flushLock.lock();
+        try {
+            Float completion = pending.get(key);
+            if (completion == null) {
+                insertIfAbsent(key);
+                return;
+            }
+            List<Entry> entries = List.of(new Entry(key, completion));
+            flushTimer.record(() -> write(entries));
+            writtenCounter.increment();
+            removeAfterCommit(key, completion);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.progress-buffer.flush-interval:2000}")
+    public void flushScheduled() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+    }
+
+    /**
+     * Drain and write everything pending. Concurrent callers skip while a flush
+     * is already running; new updates simply wait for the next one.
+     */
+    public void flush() {
+        if (pending.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Entry> drained = new ArrayList<>(pending.size());
+            for (Key key : pending.keySet()) {
+                Float completion = pending.remove(key);
+                if (completion != null) {
+                    drained.add(new Entry(key, completion));
+                }
+            }
+            for (int from = 0; from < drained.size(); from += batchSize) {
+                List<Entry> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+                try {
+                    flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> write(batch)));
+                    writtenCounter.increment(batch.size());
+                } catch (Exception e) {
+                    failedCounter.increment(batch.size());
+                    log.error("Failed to flush {} buffered progress rows, re-queueing", batch.size(), e);
+                    batch.forEach(entry -> pending.merge(entry.key, entry.completion, Math::max));
+                }
+            }
+            if (!drained.isEmpty()) {
+                log.debug("Flushed {} buffered progress rows", drained.size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void removeAfterCommit(Key key, Float completion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.remove(key, completion);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Keeps a higher value that arrived meanwhile
+                pending.remove(key, completion);
+            }
+        });
+    }
+
+    private void write(List<Entry> entries) {
+        Timestamp now = Timestamp.from(OffsetDateTime.now().toInstant());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, entry.key.userId);
+            ps.setObject(3, entry.key.lessonId);
+            ps.setFloat(4, entry.completion);
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+            ps.setObject(7, entry.key.userId);
+            ps.setObject(8, entry.key.userId);
+        });
+    }
+
+    private void insertIfAbsent(Key key) {
+        Timestamp now = Timestamp.from(OffsetDateTime.now().toInstant());
+        jdbcTemplate.update(INSERT_IF_ABSENT_SQL, UUID.randomUUID(), key.userId, key.lessonId,
+                now, now, key.userId, key.userId);
+    }
+
+    private double coalescingRatio() {
+        double written = writtenCounter.count();
+        return written == 0 ? 0d : receivedCounter.count() / written;
+    }
+
+    private static final class Key {
+        private final UUID userId;
+        private final UUID lessonId;
+
+        Key(UUID userId, UUID lessonId) {
+            this.userId = userId;
+            this.lessonId = lessonId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return userId.equals(other.userId) && lessonId.equals(other.lessonId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, lessonId);
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final float completion;
+
+        Entry(Key key, float completion) {
+            this.key = key;
+            this.completion = completion;
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.techhub.app.courseservice.service.impl;
 
 import com.techhub.app.courseservice.dto.response.SkillDTO;
 import com.techhub.app.courseservice.entity.Skill;
+import com.techhub.app.courseservice.repository.CourseRepository;
 import com.techhub.app.courseservice.repository.SkillRepository;
 import com.techhub.app.courseservice.service.SkillService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -15,6 +17,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SkillServiceImpl implements SkillService {
     private final SkillRepository skillRepository;
+    private final CourseRepository courseRepository;
 
     @Override
     public SkillDTO createSkill(final SkillDTO skillDTO) {
@@ -37,18 +40,31 @@ public class SkillServiceImpl implements SkillService {
     }
 
     @Override
+    @Transactional
     public SkillDTO updateSkill(UUID id, SkillDTO skillDTO) {
         return skillRepository.findById(id).map(skill -> {
             skill.setName(skillDTO.getName());
             skill.setThumbnail(skillDTO.getThumbnail());
             skill.setCategory(skillDTO.getCategory());
-            return toDTO(skillRepository.save(skill));
+            SkillDTO updated = toDTO(skillRepository.saveAndFlush(skill));
+            refreshCourseSearch(courseRepository.findIdsBySkillId(id));
+            return updated;
         }).orElse(null);
     }
 
     @Override
+    @Transactional
     public void deleteSkill(UUID id) {
+        List<UUID> courseIds = courseRepository.findIdsBySkillId(id);
         skillRepository.deleteById(id);
+        skillRepository.flush();
+        refreshCourseSearch(courseIds);
+    }
+
+    private void refreshCourseSearch(List<UUID> courseIds) {
+        if (!courseIds.isEmpty()) {
+            courseRepository.refreshSearchVectors(courseIds);
+        }
     }
 
     private SkillDTO toDTO(final Skill skill) {
@@ -2,10 +2,12 @@ package com.techhub.app.courseservice.service.impl;
 
 import com.techhub.app.courseservice.dto.response.TagDTO;
 import com.techhub.app.courseservice.entity.Tag;
+import com.techhub.app.courseservice.repository.CourseRepository;
 import com.techhub.app.courseservice.repository.TagRepository;
 import com.techhub.app.courseservice.service.TagService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -16,6 +18,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TagServiceImpl implements TagService {
     private final TagRepository tagRepository;
+    private final CourseRepository courseRepository;
 
     @Override
     public TagDTO createTag(TagDTO tagDTO) {
@@ -40,17 +43,30 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Transactional
     public TagDTO updateTag(UUID id, TagDTO tagDTO) {
         return tagRepository.findById(id).map(tag -> {
             tag.setName(tagDTO.getName());
             tag.setUpdated(OffsetDateTime.now());
-            return toDTO(tagRepository.save(tag));
+            TagDTO updated = toDTO(tagRepository.saveAndFlush(tag));
+            refreshCourseSearch(courseRepository.findIdsByTagId(id));
+            return updated;
         }).orElse(null);
     }
 
     @Override
+    @Transactional
     public void deleteTag(UUID id) {
+        List<UUID> courseIds = courseRepository.findIdsByTagId(id);
         tagRepository.deleteById(id);
+        tagRepository.flush();
+        refreshCourseSearch(courseIds);
+    }
+
+    private void refreshCourseSearch(List<UUID> courseIds) {
+        if (!courseIds.isEmpty()) {
+            courseRepository.refreshSearchVectors(courseIds);
+        }
     }
 
     private TagDTO toDTO(Tag tag) {
@@ -0,0 +1,195 @@
+package com.techhub.app.courseservice.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressWriteBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProgressWriteBuffer buffer;
+
+    // lesson id -> completion of every upserted row, in write order
+    private final List<Map<UUID, Float>> writes = new ArrayList<>();
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        buffer = new ProgressWriteBuffer(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 500, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void submit_coalescesToHighestCompletion() {
+        UUID lessonId = UUID.randomUUID();
+
+        buffer.submit(userId, lessonId, 0.4f);
+        float merged = buffer.submit(userId, lessonId, 0.2f);
+
+        assertThat(merged).isEqualTo(0.4f);
+    }
+
+    @Test
+    void flush_writesCoalescedEntriesInBatches() throws Exception {
+        recordWrites();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        buffer.submit(userId, first, 0.3f);
+        buffer.submit(userId, first, 0.6f);
+        buffer.submit(userId, second, 0.5f);
+        buffer.submit(userId, third, 0.1f);
+
+        buffer.flush();
+
+        assertThat(writes).hasSize(2); // batch-size 2
+        Map<UUID, Float> written = new HashMap<>();
+        writes.forEach(written::putAll);
+        assertThat(written).containsEntry(first, 0.6f).containsEntry(second, 0.5f).containsEntry(third, 0.1f);
+
+        writes.clear();
+        buffer.flush();
+        assertThat(writes).isEmpty();
+    }
+
+    @Test
+    void flush_requeuesFailedBatch() throws Exception {
+        UUID lessonId = UUID.randomUUID();
+        buffer.submit(userId, lessonId, 0.5f);
+        doAnswer(invocation -> {
+            throw new IllegalStateException("database unavailable");
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+
+        buffer.flush();
+
+        recordWrites();
+        buffer.flush();
+        assertThat(writes).containsExactly(Map.of(lessonId, 0.5f));
+    }
+
+    @Test
+    void flushLesson_withoutPendingEntryOnlyCreatesMissingRow() {
+        UUID lessonId = UUID.randomUUID();
+
+        buffer.flush(userId, lessonId);
+
+        verify(jdbcTemplate).update(contains("ON CONFLICT (user_id, lesson_id) DO NOTHING"),
+                any(), eq(userId), eq(lessonId), any(), any(), any(), any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void flushLesson_keepsEntryUntilCallerCommits() throws Exception {
+        recordWrites();
+        UUID lessonId = UUID.randomUUID();
+        buffer.submit(userId, lessonId, 0.7f);
+        TransactionSynchronizationManager.initSynchronization();
+
+        buffer.flush(userId, lessonId);
+
+        assertThat(writes).containsExactly(Map.of(lessonId, 0.7f));
+        // Still pending: a rollback must not lose it
+        assertThat(buffer.submit(userId, lessonId, 0f)).isEqualTo(0.7f);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        writes.clear();
+        buffer.flush();
+        assertThat(writes).isEmpty();
+    }
+
+    @Test
+    void flushLesson_afterCommitKeepsHigherValueSubmittedMeanwhile() throws Exception {
+        recordWrites();
+        UUID lessonId = UUID.randomUUID();
+        buffer.submit(userId, lessonId, 0.4f);
+        TransactionSynchronizationManager.initSynchronization();
+
+        buffer.flush(userId, lessonId);
+        buffer.submit(userId, lessonId, 0.9f);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        writes.clear();
+        buffer.flush();
+        assertThat(writes).containsExactly(Map.of(lessonId, 0.9f));
+    }
+
+    /**
+     * Run the statement setter of every batch against a mock statement and
+     * record the (lesson, completion) values it binds
+     */
+    @SuppressWarnings("unchecked")
+    private void recordWrites() throws Exception {
+        doAnswer(invocation -> {
+            Collection<Object> entries = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            Map<UUID, Float> batch = new HashMap<>();
+            for (Object entry : entries) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                setter.setValues(ps, entry);
+                UUID[] lesson = new UUID[1];
+                float[] completion = new float[1];
+                verifyBinding(ps, lesson, completion);
+                batch.put(lesson[0], completion[0]);
+            }
+            writes.add(batch);
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static void verifyBinding(PreparedStatement ps, UUID[] lesson, float[] completion) throws Exception {
+        ArgumentCaptor<Object> lessonCaptor = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Float> completionCaptor = ArgumentCaptor.forClass(Float.class);
+        verify(ps).setObject(eq(3), lessonCaptor.capture());
+        verify(ps).setFloat(eq(4), completionCaptor.capture());
+        lesson[0] = (UUID) lessonCaptor.getValue();
+        completion[0] = completionCaptor.getValue();
+    }
+}
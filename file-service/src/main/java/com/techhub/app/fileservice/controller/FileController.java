@@ -1,5 +1,7 @@
 package com.techhub.app.fileservice.controller;
 
+import com.techhub.app.commonservice.exception.BadRequestException;
+import com.techhub.app.commonservice.sql.CursorPage;
 import com.techhub.app.fileservice.dto.response.FileResponse;
 import com.techhub.app.fileservice.dto.response.FileStatisticsResponse;
 import com.techhub.app.fileservice.service.FileManagementService;
@@ -197,6 +199,32 @@ public class FileController {
         }
     }
 
+    // Keyset mode: selected whenever a cursor parameter is sent (empty for the first page)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<Map<String, Object>> listFilesByCursor(
+            @RequestParam UUID userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        log.info("Listing files for user: {} (cursor)", userId);
+
+        try {
+            CursorPage<FileResponse> files = fileManagementService.getFilesByUser(userId, cursor, size, includeTotal);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("status", "success");
+            result.put("data", files);
+
+            return ResponseEntity.ok(result);
+
+        } catch (BadRequestException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("status", "error");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getStatistics(@RequestParam UUID userId) {
         log.info("Getting file statistics for user: {}", userId);
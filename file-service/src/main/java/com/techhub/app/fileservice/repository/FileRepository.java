@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +22,14 @@ public interface FileRepository extends JpaRepository<FileEntity, UUID> {
 
         Page<FileEntity> findByUserIdAndIsActive(UUID userId, String isActive, Pageable pageable);
 
+        // Keyset page ordered by (created, id) DESC; see commonservice.sql.Cursor
+        @Query("SELECT f FROM FileEntity f WHERE f.userId = :userId AND f.isActive = :isActive " +
+                        "AND (f.created < :afterCreated OR (f.created = :afterCreated AND f.id < :afterId)) " +
+                        "ORDER BY f.created DESC, f.id DESC")
+        List<FileEntity> findPageAfter(@Param("userId") UUID userId, @Param("isActive") String isActive,
+                        @Param("afterCreated") LocalDateTime afterCreated, @Param("afterId") UUID afterId,
+                        Pageable pageable);
+
         List<FileEntity> findByUserIdAndFolderIdAndIsActive(UUID userId, UUID folderId, String isActive);
 
         Page<FileEntity> findByUserIdAndFolderIdAndIsActive(UUID userId, UUID folderId, String isActive,
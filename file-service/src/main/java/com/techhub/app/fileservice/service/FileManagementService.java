@@ -1,5 +1,6 @@
 package com.techhub.app.fileservice.service;
 
+import com.techhub.app.commonservice.sql.CursorPage;
 import com.techhub.app.fileservice.dto.response.FileResponse;
 import com.techhub.app.fileservice.dto.response.FileStatisticsResponse;
 import com.techhub.app.fileservice.enums.FileTypeEnum;
@@ -24,6 +25,8 @@ public interface FileManagementService {
 
     Page<FileResponse> getFilesByUser(UUID userId, Pageable pageable);
 
+    CursorPage<FileResponse> getFilesByUser(UUID userId, String cursor, int size, boolean includeTotal);
+
     Page<FileResponse> getFilesByType(UUID userId, FileTypeEnum fileType, Pageable pageable);
 
     Page<FileResponse> searchFiles(UUID userId, String keyword, Pageable pageable);
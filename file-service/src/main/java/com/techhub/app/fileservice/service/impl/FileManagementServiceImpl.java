@@ -2,6 +2,9 @@ package com.techhub.app.fileservice.service.impl;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.techhub.app.commonservice.exception.BadRequestException;
+import com.techhub.app.commonservice.sql.Cursor;
+import com.techhub.app.commonservice.sql.CursorPage;
 import com.techhub.app.fileservice.dto.response.FileResponse;
 import com.techhub.app.fileservice.dto.response.FileStatisticsResponse;
 import com.techhub.app.fileservice.entity.FileEntity;
@@ -14,6 +17,7 @@ import com.techhub.app.fileservice.service.FileManagementService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -145,6 +149,24 @@ public class FileManagementServiceImpl implements FileManagementService {
         return files.map(this::mapToResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<FileResponse> getFilesByUser(UUID userId, String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > 100) {
+            throw new BadRequestException("Page size must be between 1 and 100");
+        }
+        Cursor after = Cursor.decode(cursor);
+        List<FileEntity> rows = fileRepository.findPageAfter(userId, "Y", after.getCreatedLocal(), after.getId(),
+                PageRequest.of(0, size + 1));
+        CursorPage<FileResponse> page = CursorPage.fromLookahead(rows, size,
+                file -> Cursor.of(file.getCreated(), file.getId()))
+                .map(this::mapToResponse);
+        if (includeTotal) {
+            page.withTotalElements(fileRepository.countByUserId(userId, "Y"));
+        }
+        return page;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<FileResponse> getFilesByType(UUID userId, FileTypeEnum fileType, Pageable pageable) {
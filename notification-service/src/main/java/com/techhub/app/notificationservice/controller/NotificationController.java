@@ -2,6 +2,7 @@ package com.techhub.app.notificationservice.controller;
 
 import com.techhub.app.commonservice.context.UserContext;
 import com.techhub.app.commonservice.exception.UnauthorizedException;
+import com.techhub.app.commonservice.sql.CursorPage;
 import com.techhub.app.notificationservice.dto.ApiResponse;
 import com.techhub.app.notificationservice.dto.NotificationResponse;
 import com.techhub.app.notificationservice.service.NotificationService;
@@ -35,6 +36,19 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(page));
     }
 
+    // Keyset mode: selected whenever a cursor parameter is sent (empty for the first page)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> getNotificationsByCursor(
+            @RequestParam("cursor") String cursor,
+            @RequestParam(value = "read", required = false) Boolean read,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        UUID currentUserId = requireUser();
+        CursorPage<NotificationResponse> page = notificationService.getNotifications(currentUserId, read, cursor,
+                size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<ApiResponse<NotificationResponse>> markAsRead(@PathVariable UUID notificationId) {
         UUID currentUserId = requireUser();
@@ -6,9 +6,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,8 +21,22 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     Page<Notification> findByUserIdAndIsActiveTrueAndRead(UUID userId, boolean read, Pageable pageable);
 
+    // Keyset page ordered by (created, id) DESC; see commonservice.sql.Cursor
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.userId = :userId AND n.isActive = true " +
+            "AND (:read IS NULL OR n.read = :read) " +
+            "AND (n.created < :afterCreated OR (n.created = :afterCreated AND n.id < :afterId)) " +
+            "ORDER BY n.created DESC, n.id DESC")
+    List<Notification> findPageAfter(@Param("userId") UUID userId,
+                                     @Param("read") Boolean read,
+                                     @Param("afterCreated") OffsetDateTime afterCreated,
+                                     @Param("afterId") UUID afterId,
+                                     Pageable pageable);
+
     Optional<Notification> findByIdAndUserIdAndIsActiveTrue(UUID id, UUID userId);
 
+    long countByUserIdAndIsActiveTrue(UUID userId);
+
     long countByUserIdAndIsActiveTrueAndRead(UUID userId, boolean read);
 
     @Modifying
@@ -1,5 +1,6 @@
 package com.techhub.app.notificationservice.service;
 
+import com.techhub.app.commonservice.sql.CursorPage;
 import com.techhub.app.notificationservice.dto.NotificationResponse;
 import com.techhub.app.notificationservice.entity.Notification;
 import org.springframework.data.domain.Page;
@@ -11,6 +12,9 @@ public interface NotificationService {
 
     Page<NotificationResponse> getNotifications(UUID userId, Boolean read, Pageable pageable);
 
+    CursorPage<NotificationResponse> getNotifications(UUID userId, Boolean read, String cursor, int size,
+                                                      boolean includeTotal);
+
     NotificationResponse markAsRead(UUID notificationId, UUID userId);
 
     int markAllAsRead(UUID userId);
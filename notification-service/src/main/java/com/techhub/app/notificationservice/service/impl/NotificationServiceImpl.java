@@ -1,6 +1,9 @@
 package com.techhub.app.notificationservice.service.impl;
 
+import com.techhub.app.commonservice.exception.BadRequestException;
 import com.techhub.app.commonservice.exception.NotFoundException;
+import com.techhub.app.commonservice.sql.Cursor;
+import com.techhub.app.commonservice.sql.CursorPage;
 import com.techhub.app.notificationservice.dto.NotificationResponse;
 import com.techhub.app.notificationservice.entity.Notification;
 import com.techhub.app.notificationservice.mapper.NotificationMapper;
@@ -9,11 +12,13 @@ import com.techhub.app.notificationservice.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -36,6 +41,30 @@ public class NotificationServiceImpl implements NotificationService {
         return page.map(notificationMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> getNotifications(UUID userId, Boolean read, String cursor, int size,
+                                                             boolean includeTotal) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User id is required to fetch notifications");
+        }
+        if (size < 1 || size > 100) {
+            throw new BadRequestException("Page size must be between 1 and 100");
+        }
+        Cursor after = Cursor.decode(cursor);
+        List<Notification> rows = notificationRepository.findPageAfter(userId, read, after.getCreated(),
+                after.getId(), PageRequest.of(0, size + 1));
+        CursorPage<NotificationResponse> page = CursorPage.fromLookahead(rows, size,
+                notification -> Cursor.of(notification.getCreated(), notification.getId()))
+                .map(notificationMapper::toResponse);
+        if (includeTotal) {
+            page.withTotalElements(read == null
+                    ? notificationRepository.countByUserIdAndIsActiveTrue(userId)
+                    : notificationRepository.countByUserIdAndIsActiveTrueAndRead(userId, read));
+        }
+        return page;
+    }
+
     @Override
     @Transactional
     public NotificationResponse markAsRead(UUID notificationId, UUID userId) {
@@ -1,113 +1,313 @@
 package com.techhub.app.proxyclient.cache;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Cache service for storing and retrieving permission check results
- * Cache key format: "permission:{userId}:{url}:{method}"
- * TTL: 5 minutes
+ * Two-tier cache of permission decisions.
+ * Local tier: size-bounded Caffeine cache with a short TTL, per proxy instance.
+ * Shared tier: Redis, key "permission:e:{globalVersion}:{userVersion}:{userId}:{routeTemplate}:{method}".
+ * Keys use the route template (see {@link PermissionRouteTemplate}) rather than
+ * the raw URL so all resources behind one endpoint share an entry.
+ * Invalidation is O(1): it bumps the global ("permission:v:global") or user
+ * ("permission:v:user:{userId}") version counter, so older entries are never
+ * read again. They expire on their TTL; {@link #sweepStaleEntries()} removes
+ * them earlier with a non-blocking SCAN.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PermissionCacheService {
 
+    private static final String CACHE_PREFIX = "permission:";
+    private static final String ENTRY_PREFIX = CACHE_PREFIX + "e:";
+    private static final String VERSION_PREFIX = CACHE_PREFIX + "v:";
+    private static final String GLOBAL_VERSION_KEY = VERSION_PREFIX + "global";
+    private static final String USER_VERSION_PREFIX = VERSION_PREFIX + "user:";
+    private static final String GLOBAL_VERSION_CACHE_KEY = "global";
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Boolean> localCache;
+    private final Cache<String, Long> versionCache;
+    private final Duration redisTtl;
+    private final Duration userVersionTtl;
+    private final int sweepBatchSize;
+    private final AtomicLong generation = new AtomicLong();
 
-    private static final String CACHE_PREFIX = "permission:";
-    private static final long CACHE_TTL_MINUTES = 5;
+    private final Counter localHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter missCounter;
+    private final Counter sweptCounter;
 
-    /**
-     * Generate cache key for permission check
-     */
-    private String generateKey(UUID userId, String url, String method) {
-        return CACHE_PREFIX + userId + ":" + url + ":" + method;
+    public PermissionCacheService(RedisTemplate<String, Object> redisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.permission-cache.local.max-size:10000}") long localMaxSize,
+            @Value("${app.permission-cache.local.ttl:30s}") Duration localTtl,
+            @Value("${app.permission-cache.redis-ttl:5m}") Duration redisTtl,
+            @Value("${app.permission-cache.version-refresh:10s}") Duration versionRefresh,
+            @Value("${app.permission-cache.sweep-batch-size:500}") int sweepBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisTtl = redisTtl;
+        // A user counter must outlive every entry written under it, or a reset
+        // to 0 could resurrect an old entry
+        this.userVersionTtl = redisTtl.multipliedBy(2).compareTo(Duration.ofDays(1)) > 0
+                ? redisTtl.multipliedBy(2)
+                : Duration.ofDays(1);
+        this.sweepBatchSize = sweepBatchSize;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        // Versions bumped by other instances are picked up within versionRefresh
+        // even if this instance missed the invalidation event
+        this.versionCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(versionRefresh)
+                .build();
+
+        this.localHitCounter = lookupCounter(meterRegistry, "local_hit");
+        this.redisHitCounter = lookupCounter(meterRegistry, "redis_hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.sweptCounter = Counter.builder("proxy.permission.cache.swept")
+                .description("Stale permission entries removed from Redis by the sweeper")
+                .register(meterRegistry);
+        Gauge.builder("proxy.permission.cache.local.size", localCache, Cache::estimatedSize)
+                .description("Permission decisions held in the local tier")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("proxy.permission.cache.lookups")
+                .description("Permission cache lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private String localKey(UUID userId, String routeTemplate, String method) {
+        return userId + ":" + routeTemplate + ":" + method;
+    }
+
+    private String entryKey(long[] versions, UUID userId, String routeTemplate, String method) {
+        return ENTRY_PREFIX + versions[0] + ":" + versions[1] + ":" + localKey(userId, routeTemplate, method);
     }
 
     /**
-     * Get cached permission result
-     * 
+     * Get cached permission result, promoting Redis hits into the local tier.
+     *
      * @return Boolean if cached, null if not found
      */
-    public Boolean getPermission(UUID userId, String url, String method) {
-        try {
-            String key = generateKey(userId, url, method);
-            log.info("🔑 [PermissionCacheService] Generated cache key: {}", key);
+    public Boolean getPermission(UUID userId, String routeTemplate, String method) {
+        String localKey = localKey(userId, routeTemplate, method);
+        Boolean local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            localHitCounter.increment();
+            return local;
+        }
 
+        try {
+            String key = entryKey(resolveVersions(userId), userId, routeTemplate, method);
             Object value = redisTemplate.opsForValue().get(key);
-            log.info("📦 [PermissionCacheService] Redis get result: {}", value);
-
             if (value instanceof Boolean) {
-                log.info("✅ [PermissionCacheService] Cache HIT for permission: {} = {}", key, value);
+                redisHitCounter.increment();
+                localCache.put(localKey, (Boolean) value);
+                log.debug("Permission cache Redis hit: {} = {}", key, value);
                 return (Boolean) value;
             }
-
-            log.info("❌ [PermissionCacheService] Cache MISS for permission: {}", key);
-            return null;
         } catch (Exception e) {
-            log.error("❌ [PermissionCacheService] Redis error getting permission for user {} on {} {} - Error: {}",
-                    userId, method, url, e.getMessage(), e);
-            return null;
+            log.error("Redis error getting permission for user {} on {} {} - Error: {}",
+                    userId, method, routeTemplate, e.getMessage());
         }
+
+        missCounter.increment();
+        log.debug("Permission cache miss: {}", localKey);
+        return null;
     }
 
     /**
-     * Cache permission result with 5 minutes TTL
+     * Invalidation generation; read it before resolving a miss and pass it to
+     * {@link #cachePermission} so a decision computed before an invalidation is
+     * not written back afterwards.
      */
-    public void cachePermission(UUID userId, String url, String method, boolean allowed) {
-        try {
-            String key = generateKey(userId, url, method);
-            log.info("💾 [PermissionCacheService] Caching permission: {} = {} (TTL: {} min)", key, allowed,
-                    CACHE_TTL_MINUTES);
-
-            redisTemplate.opsForValue().set(key, allowed, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+    public long currentGeneration() {
+        return generation.get();
+    }
 
-            log.info("✅ [PermissionCacheService] Cached successfully: {}", key);
+    /**
+     * Cache permission result in both tiers, unless an invalidation happened
+     * since {@code observedGeneration} was read.
+     */
+    public void cachePermission(UUID userId, String routeTemplate, String method, boolean allowed,
+            long observedGeneration) {
+        if (generation.get() != observedGeneration) {
+            log.debug("Skipping stale permission cache write for user {} on {} {}", userId, method, routeTemplate);
+            return;
+        }
+        localCache.put(localKey(userId, routeTemplate, method), allowed);
+        try {
+            String key = entryKey(resolveVersions(userId), userId, routeTemplate, method);
+            redisTemplate.opsForValue().set(key, allowed, redisTtl);
         } catch (Exception e) {
-            log.error("❌ [PermissionCacheService] Redis error caching permission for user {} on {} {} - Error: {}",
-                    userId, method, url, e.getMessage(), e);
+            log.error("Redis error caching permission for user {} on {} {} - Error: {}",
+                    userId, method, routeTemplate, e.getMessage());
         }
     }
 
     /**
-     * Clear all cached permissions for a specific user
-     * Called when user's roles or permissions are updated
+     * Invalidate all cached permissions for a specific user by bumping their
+     * version counter. Called when user's roles or permissions are updated.
      */
     public void clearUserPermissions(UUID userId) {
+        generation.incrementAndGet();
+        String prefix = userId + ":";
+        localCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        versionCache.invalidate(userId.toString());
         try {
-            String pattern = CACHE_PREFIX + userId + ":*";
-            var keys = redisTemplate.keys(pattern);
-
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.info("Cleared {} cached permissions for user {}", keys.size(), userId);
-            }
+            String versionKey = USER_VERSION_PREFIX + userId;
+            Long version = stringRedisTemplate.opsForValue().increment(versionKey);
+            stringRedisTemplate.expire(versionKey, userVersionTtl);
+            log.info("Invalidated cached permissions for user {} (version {})", userId, version);
         } catch (Exception e) {
-            log.error("Error clearing permissions cache for user {}", userId, e);
+            log.error("Error invalidating permissions cache for user {}", userId, e);
         }
     }
 
     /**
-     * Clear all cached permissions
-     * Called when role or permission definitions are updated
+     * Invalidate all cached permissions by bumping the global version counter.
+     * Called when role or permission definitions are updated.
      */
     public void clearAllPermissions() {
+        generation.incrementAndGet();
+        localCache.invalidateAll();
+        versionCache.invalidateAll();
         try {
-            String pattern = CACHE_PREFIX + "*";
-            var keys = redisTemplate.keys(pattern);
+            Long version = stringRedisTemplate.opsForValue().increment(GLOBAL_VERSION_KEY);
+            log.info("Invalidated all cached permissions (global version {})", version);
+        } catch (Exception e) {
+            log.error("Error invalidating all permissions cache", e);
+        }
+    }
+
+    /**
+     * Delete Redis entries written under an outdated global or user version,
+     * walking the keyspace with SCAN and removing keys with UNLINK so Redis is
+     * never blocked. Safe to run concurrently with lookups.
+     *
+     * @return number of keys removed
+     */
+    public long sweepStaleEntries() {
+        long globalVersion = readVersion(GLOBAL_VERSION_KEY);
+        Map<String, Long> userVersions = new HashMap<>();
+        List<String> stale = new ArrayList<>(sweepBatchSize);
+        long removed = 0;
+
+        ScanOptions options = ScanOptions.scanOptions().match(CACHE_PREFIX + "*").count(sweepBatchSize).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                if (key.startsWith(VERSION_PREFIX)) {
+                    continue;
+                }
+                if (isStale(key, globalVersion, userVersions)) {
+                    stale.add(key);
+                }
+                if (stale.size() >= sweepBatchSize) {
+                    removed += unlink(stale);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error sweeping stale permission cache entries", e);
+        }
+        removed += unlink(stale);
+        if (removed > 0) {
+            sweptCounter.increment(removed);
+            log.info("Swept {} stale permission cache entries", removed);
+        }
+        return removed;
+    }
 
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.info("Cleared all {} cached permissions", keys.size());
+    private boolean isStale(String key, long globalVersion, Map<String, Long> userVersions) {
+        if (!key.startsWith(ENTRY_PREFIX)) {
+            // Entry from the pre-versioning key format
+            return true;
+        }
+        String[] parts = key.substring(ENTRY_PREFIX.length()).split(":", 4);
+        if (parts.length < 4) {
+            return true;
+        }
+        try {
+            long entryGlobal = Long.parseLong(parts[0]);
+            long entryUser = Long.parseLong(parts[1]);
+            if (entryGlobal < globalVersion) {
+                return true;
             }
+            long userVersion = userVersions.computeIfAbsent(parts[2],
+                    userId -> readVersion(USER_VERSION_PREFIX + userId));
+            return entryUser < userVersion;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        try {
+            Long count = stringRedisTemplate.unlink(keys);
+            return count != null ? count : 0;
         } catch (Exception e) {
-            log.error("Error clearing all permissions cache", e);
+            log.error("Error unlinking {} stale permission cache entries", keys.size(), e);
+            return 0;
+        } finally {
+            keys.clear();
+        }
+    }
+
+    /**
+     * Current [global, user] versions, read from Redis with one MGET and then
+     * held locally for {@code app.permission-cache.version-refresh}.
+     */
+    private long[] resolveVersions(UUID userId) {
+        String userKey = userId.toString();
+        Long global = versionCache.getIfPresent(GLOBAL_VERSION_CACHE_KEY);
+        Long user = versionCache.getIfPresent(userKey);
+        if (global != null && user != null) {
+            return new long[] { global, user };
         }
+        List<String> values = stringRedisTemplate.opsForValue()
+                .multiGet(List.of(GLOBAL_VERSION_KEY, USER_VERSION_PREFIX + userId));
+        global = parseVersion(values != null ? values.get(0) : null);
+        user = parseVersion(values != null ? values.get(1) : null);
+        versionCache.put(GLOBAL_VERSION_CACHE_KEY, global);
+        versionCache.put(userKey, user);
+        return new long[] { global, user };
+    }
+
+    private long readVersion(String key) {
+        return parseVersion(stringRedisTemplate.opsForValue().get(key));
+    }
+
+    private static long parseVersion(String value) {
+        return value != null ? Long.parseLong(value) : 0L;
     }
 }
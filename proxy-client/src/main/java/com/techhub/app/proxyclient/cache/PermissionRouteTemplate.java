@@ -0,0 +1,41 @@
+package com.techhub.app.proxyclient.cache;
+
+import java.util.regex.Pattern;
+
+/**
+ * Collapses concrete request paths into route templates for permission cache
+ * keys, e.g. "/api/courses/3f2b.../lessons/12" -> "/api/courses/{id}/lessons/{id}".
+ * Permissions are matched with Ant patterns whose variable segments accept any
+ * value, so every path sharing a template gets the same decision.
+ */
+public final class PermissionRouteTemplate {
+
+    private static final String PLACEHOLDER = "{id}";
+    private static final Pattern UUID_SEGMENT = Pattern
+            .compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("\\d+");
+
+    private PermissionRouteTemplate() {
+    }
+
+    public static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        String[] segments = path.split("/", -1);
+        StringBuilder template = new StringBuilder(path.length());
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                template.append('/');
+            }
+            String segment = segments[i];
+            template.append(isIdentifier(segment) ? PLACEHOLDER : segment);
+        }
+        return template.toString();
+    }
+
+    private static boolean isIdentifier(String segment) {
+        return !segment.isEmpty()
+                && (NUMERIC_SEGMENT.matcher(segment).matches() || UUID_SEGMENT.matcher(segment).matches());
+    }
+}
@@ -17,6 +17,15 @@ public interface BlogServiceClient {
                                        @RequestParam(name = "includeDrafts", defaultValue = "false") boolean includeDrafts,
                                        @RequestHeader(value = "Authorization", required = false) String authHeader);
 
+    @GetMapping(value = "/api/blogs", params = "cursor")
+    ResponseEntity<String> getBlogsByCursor(@RequestParam("cursor") String cursor,
+                                            @RequestParam(defaultValue = "10") int size,
+                                            @RequestParam(name = "keyword", required = false) String keyword,
+                                            @RequestParam(name = "tags", required = false) List<String> tags,
+                                            @RequestParam(name = "includeDrafts", defaultValue = "false") boolean includeDrafts,
+                                            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                            @RequestHeader(value = "Authorization", required = false) String authHeader);
+
     @PostMapping("/api/blogs")
     ResponseEntity<String> createBlog(@RequestBody Object createRequest,
                                       @RequestHeader("Authorization") String authHeader);
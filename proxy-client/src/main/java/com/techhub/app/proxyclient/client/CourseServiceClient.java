@@ -2,6 +2,7 @@ package com.techhub.app.proxyclient.client;
 
 import java.util.UUID;
 
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,23 +19,34 @@ public interface CourseServiceClient {
 
         // Get instructor's own courses (all statuses)
         @GetMapping("/api/courses/my-courses")
-        ResponseEntity<String> getMyCourses(@RequestParam(defaultValue = "0") int page,
+        Response getMyCourses(@RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false) String search,
                         @RequestHeader("Authorization") String authHeader);
 
         // Course core operations
         @GetMapping("/api/courses")
-        ResponseEntity<String> getAllCourses(@RequestParam(defaultValue = "0") int page,
+        Response getAllCourses(@RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false) String search);
 
+        @GetMapping(value = "/api/courses", params = "cursor")
+        Response getCoursesByCursor(@RequestParam("cursor") String cursor,
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(required = false) String search,
+                        @RequestParam(defaultValue = "false") boolean includeTotal);
+
+        @GetMapping("/api/courses/search")
+        Response searchCourses(@RequestParam("q") String query,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "10") int size);
+
         @PostMapping("/api/courses")
         ResponseEntity<String> createCourse(@RequestBody Object createRequest,
                         @RequestHeader("Authorization") String authHeader);
 
         @GetMapping("/api/courses/{courseId}")
-        ResponseEntity<String> getCourseById(@PathVariable String courseId,
+        Response getCourseById(@PathVariable String courseId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
         @PutMapping("/api/courses/{courseId}")
@@ -52,7 +64,7 @@ public interface CourseServiceClient {
                         @RequestHeader("Authorization") String authHeader);
 
         @GetMapping("/api/courses/{courseId}/chapters")
-        ResponseEntity<String> getCourseChapters(@PathVariable String courseId,
+        Response getCourseChapters(@PathVariable String courseId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
         @PostMapping("/api/courses/{courseId}/chapters")
@@ -72,7 +84,7 @@ public interface CourseServiceClient {
                         @RequestHeader("Authorization") String authHeader);
 
         @GetMapping("/api/courses/{courseId}/chapters/{chapterId}/lessons/{lessonId}/detail")
-        ResponseEntity<String> getLesson(@PathVariable String courseId,
+        Response getLesson(@PathVariable String courseId,
                         @PathVariable String chapterId,
                         @PathVariable String lessonId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
@@ -120,7 +132,7 @@ public interface CourseServiceClient {
 
         // Progress tracking
         @GetMapping("/api/courses/{courseId}/progress")
-        ResponseEntity<String> getCourseProgress(@PathVariable String courseId,
+        Response getCourseProgress(@PathVariable String courseId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
         @PutMapping("/api/courses/{courseId}/lessons/{lessonId}/progress")
@@ -129,6 +141,12 @@ public interface CourseServiceClient {
                         @RequestBody Object request,
                         @RequestHeader("Authorization") String authHeader);
 
+        @PutMapping("/api/courses/{courseId}/lessons/{lessonId}/progress/delta")
+        ResponseEntity<String> updateLessonProgressDelta(@PathVariable String courseId,
+                        @PathVariable String lessonId,
+                        @RequestBody Object request,
+                        @RequestHeader("Authorization") String authHeader);
+
         @PostMapping("/api/courses/{courseId}/lessons/{lessonId}/progress/complete")
         ResponseEntity<String> markLessonComplete(@PathVariable String courseId,
                         @PathVariable String lessonId,
@@ -136,7 +154,7 @@ public interface CourseServiceClient {
 
         // Ratings
         @GetMapping("/api/courses/{courseId}/ratings")
-        ResponseEntity<String> getCourseRating(@PathVariable String courseId,
+        Response getCourseRating(@PathVariable String courseId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
         @PostMapping("/api/courses/{courseId}/ratings")
@@ -146,7 +164,7 @@ public interface CourseServiceClient {
 
         // Comments
         @GetMapping("/api/courses/{courseId}/comments")
-        ResponseEntity<String> getCourseComments(@PathVariable String courseId,
+        Response getCourseComments(@PathVariable String courseId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
         @PostMapping("/api/courses/{courseId}/comments")
@@ -155,7 +173,7 @@ public interface CourseServiceClient {
                         @RequestHeader("Authorization") String authHeader);
 
         @GetMapping("/api/courses/{courseId}/lessons/{lessonId}/comments")
-        ResponseEntity<String> getLessonComments(@PathVariable String courseId,
+        Response getLessonComments(@PathVariable String courseId,
                         @PathVariable String lessonId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
@@ -166,7 +184,7 @@ public interface CourseServiceClient {
                         @RequestHeader("Authorization") String authHeader);
 
         @GetMapping("/api/courses/{courseId}/lessons/{lessonId}/workspace/comments")
-        ResponseEntity<String> getWorkspaceComments(@PathVariable String courseId,
+        Response getWorkspaceComments(@PathVariable String courseId,
                         @PathVariable String lessonId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
@@ -183,7 +201,7 @@ public interface CourseServiceClient {
 
         // Exercises (Legacy single exercise endpoints)
         @GetMapping("/api/courses/{courseId}/lessons/{lessonId}/exercise")
-        ResponseEntity<String> getExercise(@PathVariable String courseId,
+        Response getExercise(@PathVariable String courseId,
                         @PathVariable String lessonId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
@@ -201,7 +219,7 @@ public interface CourseServiceClient {
 
         // Exercises (New multiple exercises endpoints)
         @GetMapping("/api/courses/{courseId}/lessons/{lessonId}/exercises")
-        ResponseEntity<String> getExercises(@PathVariable String courseId,
+        Response getExercises(@PathVariable String courseId,
                         @PathVariable String lessonId,
                         @RequestHeader(value = "Authorization", required = false) String authHeader);
 
@@ -226,7 +244,7 @@ public interface CourseServiceClient {
 
         // Workspace IDE
         @GetMapping("/api/courses/{courseId}/lessons/{lessonId}/workspace")
-        ResponseEntity<String> getWorkspace(@PathVariable String courseId,
+        Response getWorkspace(@PathVariable String courseId,
                         @PathVariable String lessonId,
                         @RequestHeader("Authorization") String authHeader);
 
@@ -241,10 +259,10 @@ public interface CourseServiceClient {
         ResponseEntity<String> createSkill(@RequestBody Object skillDTO);
 
         @GetMapping("/api/courses/skills/{id}")
-        ResponseEntity<String> getSkill(@PathVariable("id") UUID id);
+        Response getSkill(@PathVariable("id") UUID id);
 
         @GetMapping("/api/courses/skills")
-        ResponseEntity<String> getAllSkills();
+        Response getAllSkills();
 
         @PutMapping("/api/courses/skills/{id}")
         ResponseEntity<String> updateSkill(@PathVariable("id") UUID id, @RequestBody Object skillDTO);
@@ -257,10 +275,10 @@ public interface CourseServiceClient {
         ResponseEntity<String> createTag(@RequestBody Object tagDTO);
 
         @GetMapping("/api/courses/tags/{id}")
-        ResponseEntity<String> getTag(@PathVariable("id") UUID id);
+        Response getTag(@PathVariable("id") UUID id);
 
         @GetMapping("/api/courses/tags")
-        ResponseEntity<String> getAllTags();
+        Response getAllTags();
 
         @PutMapping("/api/courses/tags/{id}")
         ResponseEntity<String> updateTag(@PathVariable("id") UUID id, @RequestBody Object tagDTO);
@@ -1,5 +1,6 @@
 package com.techhub.app.proxyclient.client;
 
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -32,18 +33,25 @@ public interface FileServiceClient {
                         @RequestParam(value = "description", required = false) String description);
 
         @GetMapping("/api/files/{fileId}")
-        ResponseEntity<Map<String, Object>> getFile(
+        Response getFile(
                         @PathVariable("fileId") UUID fileId,
                         @RequestParam("userId") UUID userId);
 
         @GetMapping("/api/files")
-        ResponseEntity<Map<String, Object>> listFiles(
+        Response listFiles(
                         @RequestParam("userId") UUID userId,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "20") int size);
 
+        @GetMapping(value = "/api/files", params = "cursor")
+        Response listFilesByCursor(
+                        @RequestParam("userId") UUID userId,
+                        @RequestParam("cursor") String cursor,
+                        @RequestParam(defaultValue = "20") int size,
+                        @RequestParam(defaultValue = "false") boolean includeTotal);
+
         @GetMapping("/api/files/folder/{folderId}")
-        ResponseEntity<Map<String, Object>> getFilesByFolder(
+        Response getFilesByFolder(
                         @PathVariable("folderId") UUID folderId,
                         @RequestParam("userId") UUID userId);
 
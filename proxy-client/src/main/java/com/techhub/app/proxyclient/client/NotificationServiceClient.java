@@ -14,6 +14,14 @@ public interface NotificationServiceClient {
             @RequestParam(required = false) Boolean read,
             @RequestHeader("Authorization") String authHeader);
 
+    @GetMapping(value = "/api/notifications", params = "cursor")
+    ResponseEntity<Object> getNotificationsByCursor(
+            @RequestParam("cursor") String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader("Authorization") String authHeader);
+
     @GetMapping("/api/notifications/count/unread")
     ResponseEntity<Object> getUnreadCount(@RequestHeader("Authorization") String authHeader);
 
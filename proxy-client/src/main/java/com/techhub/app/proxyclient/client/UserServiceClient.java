@@ -195,6 +195,10 @@ public interface UserServiceClient {
                         @PathVariable String permissionId,
                         @RequestHeader("Authorization") String authHeader);
 
+        @GetMapping("/api/users/{userId}/permissions/snapshot")
+        ResponseEntity<String> getPermissionSnapshot(@PathVariable String userId,
+                        @RequestHeader("Authorization") String authHeader);
+
         // Permission check endpoint
         @PostMapping("/api/users/{userId}/permissions/check")
         ResponseEntity<String> checkPermission(@PathVariable String userId,
@@ -0,0 +1,42 @@
+package com.techhub.app.proxyclient.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Pooled, load-balanced WebClient for the non-blocking gateway path.
+ * Built from the @LoadBalanced builder so service ids resolve via Eureka.
+ * Response timeouts are applied per route by ReactiveProxyRouter.
+ */
+@Configuration
+@EnableConfigurationProperties(ProxyRouteProperties.class)
+public class GatewayWebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider gatewayConnectionProvider(ProxyRouteProperties properties) {
+        return ConnectionProvider.builder("proxy-gateway")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient gatewayWebClient(WebClient.Builder webClientBuilder,
+            ConnectionProvider gatewayConnectionProvider,
+            ProxyRouteProperties properties) {
+        HttpClient httpClient = HttpClient.create(gatewayConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis());
+        // clone() keeps the load balancer filter and codec limits of the shared builder
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.techhub.app.proxyclient.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings for the non-blocking gateway path (see ReactiveProxyRouter).
+ * Read from application.yml with prefix "app.proxy.gateway".
+ */
+@Data
+@ConfigurationProperties(prefix = "app.proxy.gateway")
+public class ProxyRouteProperties {
+
+    /**
+     * Maximum connections in the shared downstream connection pool.
+     */
+    private int maxConnections = 500;
+
+    /**
+     * How long a request may wait for a pooled connection before failing.
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Idle pooled connections are closed after this long.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    /**
+     * Response timeout for routes that do not set their own.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Concurrency limit for routes that do not set their own.
+     */
+    private int maxConcurrent = 200;
+
+    /**
+     * Routes keyed by logical name (e.g. "ai", "payment").
+     */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+
+        /**
+         * Eureka service id, resolved through the load balancer.
+         */
+        private String serviceId;
+
+        /**
+         * In-flight requests allowed to this service; requests over the limit
+         * are rejected with 503 instead of queueing behind a slow service.
+         */
+        private Integer maxConcurrent;
+
+        private Duration responseTimeout;
+    }
+}
@@ -1,6 +1,6 @@
 package com.techhub.app.proxyclient.controller;
 
-import com.techhub.app.proxyclient.client.AiServiceClient;
+import com.techhub.app.proxyclient.routing.ReactiveProxyRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,66 +12,72 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
+/**
+ * AI-SERVICE proxy on the non-blocking gateway path: generation calls can take
+ * tens of seconds and must not hold servlet threads other services need.
+ */
 @RestController
 @RequestMapping("/api/proxy/ai")
 @RequiredArgsConstructor
 public class AiProxyController {
 
-    private final AiServiceClient aiServiceClient;
+    private final ReactiveProxyRouter proxyRouter;
 
     @PostMapping("/exercises/generate")
-    public ResponseEntity<String> generateExercises(@RequestBody Object request,
+    public Mono<ResponseEntity<byte[]>> generateExercises(@RequestBody Object request,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.generateExercises(request, authHeader);
+        return post("/api/ai/exercises/generate", request, authHeader);
     }
 
     @PostMapping("/learning-paths/generate")
-    public ResponseEntity<String> generateLearningPaths(@RequestBody Object request,
+    public Mono<ResponseEntity<byte[]>> generateLearningPaths(@RequestBody Object request,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.generateLearningPath(request, authHeader);
+        return post("/api/ai/learning-paths/generate", request, authHeader);
     }
 
     @PostMapping("/recommendations/realtime")
-    public ResponseEntity<String> recommendRealtime(@RequestBody Object request,
+    public Mono<ResponseEntity<byte[]>> recommendRealtime(@RequestBody Object request,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.recommendRealtime(request, authHeader);
+        return post("/api/ai/recommendations/realtime", request, authHeader);
     }
 
     @PostMapping("/recommendations/scheduled")
-    public ResponseEntity<String> recommendScheduled(@RequestBody Object request,
+    public Mono<ResponseEntity<byte[]>> recommendScheduled(@RequestBody Object request,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.recommendScheduled(request, authHeader);
+        return post("/api/ai/recommendations/scheduled", request, authHeader);
     }
 
     @PostMapping("/chat/messages")
-    public ResponseEntity<String> chat(@RequestBody Object request,
+    public Mono<ResponseEntity<byte[]>> chat(@RequestBody Object request,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.chat(request, authHeader);
+        return post("/api/ai/chat/messages", request, authHeader);
     }
 
     @PostMapping("/admin/reindex-courses")
-    public ResponseEntity<String> reindexCourses(
+    public Mono<ResponseEntity<byte[]>> reindexCourses(
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.reindexCourses(authHeader);
+        return post("/api/ai/admin/reindex-courses", null, authHeader);
     }
 
     @PostMapping("/admin/reindex-lessons")
-    public ResponseEntity<String> reindexLessons(
+    public Mono<ResponseEntity<byte[]>> reindexLessons(
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.reindexLessons(authHeader);
+        return post("/api/ai/admin/reindex-lessons", null, authHeader);
     }
 
     @PostMapping("/admin/reindex-all")
-    public ResponseEntity<String> reindexAll(
+    public Mono<ResponseEntity<byte[]>> reindexAll(
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.reindexAll(authHeader);
+        return post("/api/ai/admin/reindex-all", null, authHeader);
     }
 
     @GetMapping("/admin/qdrant-stats")
-    public ResponseEntity<String> getQdrantStats(
+    public Mono<ResponseEntity<byte[]>> getQdrantStats(
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.getQdrantStats(authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.get().uri("/api/ai/admin/qdrant-stats"));
     }
 
     // ============================================
@@ -79,59 +85,80 @@ public class AiProxyController {
     // ============================================
 
     @GetMapping("/drafts/exercises")
-    public ResponseEntity<String> getExerciseDrafts(
+    public Mono<ResponseEntity<byte[]>> getExerciseDrafts(
             @RequestParam java.util.UUID lessonId,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.getExerciseDrafts(lessonId, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.get().uri(uri -> uri.path("/api/ai/drafts/exercises")
+                        .queryParam("lessonId", lessonId)
+                        .build()));
     }
 
     @PostMapping("/drafts/exercises/batch")
-    public ResponseEntity<String> getExerciseDraftsBatch(
+    public Mono<ResponseEntity<byte[]>> getExerciseDraftsBatch(
             @RequestBody Object request,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.getExerciseDraftsBatch(request, authHeader);
+        return post("/api/ai/drafts/exercises/batch", request, authHeader);
     }
 
     @GetMapping("/drafts/exercises/latest")
-    public ResponseEntity<String> getLatestExerciseDraft(
+    public Mono<ResponseEntity<byte[]>> getLatestExerciseDraft(
             @RequestParam java.util.UUID lessonId,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.getLatestExerciseDraft(lessonId, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.get().uri(uri -> uri.path("/api/ai/drafts/exercises/latest")
+                        .queryParam("lessonId", lessonId)
+                        .build()));
     }
 
     @GetMapping("/drafts/{taskId}")
-    public ResponseEntity<String> getDraftById(
+    public Mono<ResponseEntity<byte[]>> getDraftById(
             @PathVariable String taskId,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.getDraftById(taskId, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.get().uri("/api/ai/drafts/{taskId}", taskId));
+    }
+
+    @GetMapping("/tasks/{taskId}")
+    public Mono<ResponseEntity<byte[]>> getTask(
+            @PathVariable String taskId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.get().uri("/api/ai/tasks/{taskId}", taskId));
     }
 
     @GetMapping("/drafts/learning-paths")
-    public ResponseEntity<String> getLearningPathDrafts(
+    public Mono<ResponseEntity<byte[]>> getLearningPathDrafts(
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.getLearningPathDrafts(authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.get().uri("/api/ai/drafts/learning-paths"));
     }
 
     @PostMapping("/drafts/{taskId}/approve-exercise")
-    public ResponseEntity<String> approveExerciseDraft(
+    public Mono<ResponseEntity<byte[]>> approveExerciseDraft(
             @PathVariable String taskId,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.approveExerciseDraft(taskId, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.post().uri("/api/ai/drafts/{taskId}/approve-exercise", taskId));
     }
 
     @PostMapping("/drafts/{taskId}/approve-learning-path")
-    public ResponseEntity<String> approveLearningPathDraft(
+    public Mono<ResponseEntity<byte[]>> approveLearningPathDraft(
             @PathVariable String taskId,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.approveLearningPathDraft(taskId, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.post().uri("/api/ai/drafts/{taskId}/approve-learning-path", taskId));
     }
 
     @PostMapping("/drafts/{taskId}/reject")
-    public ResponseEntity<String> rejectDraft(
+    public Mono<ResponseEntity<byte[]>> rejectDraft(
             @PathVariable String taskId,
             @RequestParam(required = false, defaultValue = "No reason provided") String reason,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.rejectDraft(taskId, reason, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.post().uri(uri -> uri.path("/api/ai/drafts/{taskId}/reject")
+                        .queryParam("reason", "{reason}")
+                        .build(taskId, reason)));
     }
 
     // ============================================
@@ -139,32 +166,49 @@ public class AiProxyController {
     // ============================================
 
     @PostMapping("/chat/sessions")
-    public ResponseEntity<String> createSession(
+    public Mono<ResponseEntity<byte[]>> createSession(
             @RequestParam java.util.UUID userId,
             @RequestParam(required = false) String mode,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.createSession(userId, mode, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.post().uri(uri -> uri.path("/api/ai/chat/sessions")
+                        .queryParam("userId", userId)
+                        .queryParamIfPresent("mode", java.util.Optional.ofNullable(mode))
+                        .build()));
     }
 
     @GetMapping("/chat/sessions")
-    public ResponseEntity<String> getUserSessions(
+    public Mono<ResponseEntity<byte[]>> getUserSessions(
             @RequestParam java.util.UUID userId,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.getUserSessions(userId, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.get().uri(uri -> uri.path("/api/ai/chat/sessions")
+                        .queryParam("userId", userId)
+                        .build()));
     }
 
     @GetMapping("/chat/sessions/{sessionId}/messages")
-    public ResponseEntity<String> getSessionMessages(
+    public Mono<ResponseEntity<byte[]>> getSessionMessages(
             @PathVariable java.util.UUID sessionId,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.getSessionMessages(sessionId, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.get().uri("/api/ai/chat/sessions/{sessionId}/messages", sessionId));
     }
 
     @DeleteMapping("/chat/sessions/{sessionId}")
-    public ResponseEntity<String> deleteSession(
+    public Mono<ResponseEntity<byte[]>> deleteSession(
             @PathVariable java.util.UUID sessionId,
             @RequestParam java.util.UUID userId,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return aiServiceClient.deleteSession(sessionId, userId, authHeader);
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader,
+                client -> client.delete().uri(uri -> uri.path("/api/ai/chat/sessions/{sessionId}")
+                        .queryParam("userId", userId)
+                        .build(sessionId)));
+    }
+
+    private Mono<ResponseEntity<byte[]>> post(String path, Object body, String authHeader) {
+        return proxyRouter.exchange(ReactiveProxyRouter.AI, authHeader, client -> body != null
+                ? client.post().uri(path).bodyValue(body)
+                : client.post().uri(path));
     }
 }
@@ -37,6 +37,19 @@ public class BlogProxyController {
         return blogServiceClient.getAllBlogs(page, size, keyword, normalizedTags, includeDrafts, authHeader);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<String> getBlogsByCursor(@RequestParam String cursor,
+                                                   @RequestParam(defaultValue = "10") int size,
+                                                   @RequestParam(required = false) String keyword,
+                                                   @RequestParam(required = false) List<String> tags,
+                                                   @RequestParam(name = "includeDrafts", defaultValue = "false") boolean includeDrafts,
+                                                   @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                                   @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        List<String> normalizedTags = normalizeTags(tags);
+        return blogServiceClient.getBlogsByCursor(cursor, size, keyword, normalizedTags, includeDrafts, includeTotal,
+                authHeader);
+    }
+
     @GetMapping("/tags")
     public ResponseEntity<String> getTags() {
         return blogServiceClient.getTags();
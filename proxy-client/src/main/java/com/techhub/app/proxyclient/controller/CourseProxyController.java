@@ -1,7 +1,11 @@
 package com.techhub.app.proxyclient.controller;
 
 import com.techhub.app.proxyclient.client.CourseServiceClient;
+import com.techhub.app.proxyclient.streaming.ProxyResponseStreamer;
 import lombok.RequiredArgsConstructor;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.UUID;
 
 import org.springframework.http.ResponseEntity;
@@ -22,22 +26,44 @@ import org.springframework.web.bind.annotation.RestController;
 public class CourseProxyController {
 
     private final CourseServiceClient courseServiceClient;
+    // Read endpoints stream the downstream body instead of buffering it
+    private final ProxyResponseStreamer proxyResponseStreamer;
 
     // Get instructor's own courses for Manage page (all statuses including DRAFT)
     @GetMapping("/my-courses")
-    public ResponseEntity<String> getMyCourses(@RequestParam(defaultValue = "0") int page,
+    public void getMyCourses(@RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
-            @RequestHeader("Authorization") String authHeader) {
-        return courseServiceClient.getMyCourses(page, size, search, authHeader);
+            @RequestHeader("Authorization") String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getMyCourses(page, size, search, authHeader), response);
     }
 
     // Course core operations
     @GetMapping
-    public ResponseEntity<String> getAllCourses(@RequestParam(defaultValue = "0") int page,
+    public void getAllCourses(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String search,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getAllCourses(page, size, search), response);
+    }
+
+    @GetMapping(params = "cursor")
+    public void getCoursesByCursor(@RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getCoursesByCursor(cursor, size, search, includeTotal),
+                response);
+    }
+
+    @GetMapping("/search")
+    public void searchCourses(@RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String search) {
-        return courseServiceClient.getAllCourses(page, size, search);
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.searchCourses(query, cursor, size), response);
     }
 
     @PostMapping
@@ -47,9 +73,10 @@ public class CourseProxyController {
     }
 
     @GetMapping("/{courseId}")
-    public ResponseEntity<String> getCourseById(@PathVariable String courseId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getCourseById(courseId, authHeader);
+    public void getCourseById(@PathVariable String courseId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getCourseById(courseId, authHeader), response);
     }
 
     @PutMapping("/{courseId}")
@@ -74,9 +101,10 @@ public class CourseProxyController {
 
     // Chapter management
     @GetMapping("/{courseId}/chapters")
-    public ResponseEntity<String> getCourseChapters(@PathVariable String courseId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getCourseChapters(courseId, authHeader);
+    public void getCourseChapters(@PathVariable String courseId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getCourseChapters(courseId, authHeader), response);
     }
 
     @PostMapping("/{courseId}/chapters")
@@ -103,11 +131,12 @@ public class CourseProxyController {
 
     // Lesson management
     @GetMapping("/{courseId}/chapters/{chapterId}/lessons/{lessonId}/detail")
-    public ResponseEntity<String> getLesson(@PathVariable String courseId,
+    public void getLesson(@PathVariable String courseId,
             @PathVariable String chapterId,
             @PathVariable String lessonId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getLesson(courseId, chapterId, lessonId, authHeader);
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getLesson(courseId, chapterId, lessonId, authHeader), response);
     }
 
     @PostMapping("/{courseId}/chapters/{chapterId}/lessons")
@@ -166,9 +195,10 @@ public class CourseProxyController {
 
     // Progress tracking
     @GetMapping("/{courseId}/progress")
-    public ResponseEntity<String> getCourseProgress(@PathVariable String courseId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getCourseProgress(courseId, authHeader);
+    public void getCourseProgress(@PathVariable String courseId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getCourseProgress(courseId, authHeader), response);
     }
 
     @PutMapping("/{courseId}/lessons/{lessonId}/progress")
@@ -179,6 +209,14 @@ public class CourseProxyController {
         return courseServiceClient.updateLessonProgress(courseId, lessonId, request, authHeader);
     }
 
+    @PutMapping("/{courseId}/lessons/{lessonId}/progress/delta")
+    public ResponseEntity<String> updateLessonProgressDelta(@PathVariable String courseId,
+            @PathVariable String lessonId,
+            @RequestBody Object request,
+            @RequestHeader("Authorization") String authHeader) {
+        return courseServiceClient.updateLessonProgressDelta(courseId, lessonId, request, authHeader);
+    }
+
     @PostMapping("/{courseId}/lessons/{lessonId}/progress/complete")
     public ResponseEntity<String> markLessonComplete(@PathVariable String courseId,
             @PathVariable String lessonId,
@@ -188,9 +226,10 @@ public class CourseProxyController {
 
     // Ratings
     @GetMapping("/{courseId}/ratings")
-    public ResponseEntity<String> getCourseRating(@PathVariable String courseId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getCourseRating(courseId, authHeader);
+    public void getCourseRating(@PathVariable String courseId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getCourseRating(courseId, authHeader), response);
     }
 
     @PostMapping("/{courseId}/ratings")
@@ -202,9 +241,10 @@ public class CourseProxyController {
 
     // Comments
     @GetMapping("/{courseId}/comments")
-    public ResponseEntity<String> getCourseComments(@PathVariable String courseId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getCourseComments(courseId, authHeader);
+    public void getCourseComments(@PathVariable String courseId,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getCourseComments(courseId, authHeader), response);
     }
 
     @PostMapping("/{courseId}/comments")
@@ -215,10 +255,11 @@ public class CourseProxyController {
     }
 
     @GetMapping("/{courseId}/lessons/{lessonId}/comments")
-    public ResponseEntity<String> getLessonComments(@PathVariable String courseId,
+    public void getLessonComments(@PathVariable String courseId,
             @PathVariable String lessonId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getLessonComments(courseId, lessonId, authHeader);
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getLessonComments(courseId, lessonId, authHeader), response);
     }
 
     @PostMapping("/{courseId}/lessons/{lessonId}/comments")
@@ -230,10 +271,11 @@ public class CourseProxyController {
     }
 
     @GetMapping("/{courseId}/lessons/{lessonId}/workspace/comments")
-    public ResponseEntity<String> getWorkspaceComments(@PathVariable String courseId,
+    public void getWorkspaceComments(@PathVariable String courseId,
             @PathVariable String lessonId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getWorkspaceComments(courseId, lessonId, authHeader);
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getWorkspaceComments(courseId, lessonId, authHeader), response);
     }
 
     @PostMapping("/{courseId}/lessons/{lessonId}/workspace/comments")
@@ -253,10 +295,11 @@ public class CourseProxyController {
 
     // Exercises (Legacy single exercise endpoints)
     @GetMapping("/{courseId}/lessons/{lessonId}/exercise")
-    public ResponseEntity<String> getExercise(@PathVariable String courseId,
+    public void getExercise(@PathVariable String courseId,
             @PathVariable String lessonId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getExercise(courseId, lessonId, authHeader);
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getExercise(courseId, lessonId, authHeader), response);
     }
 
     @PutMapping("/{courseId}/lessons/{lessonId}/exercise")
@@ -277,10 +320,11 @@ public class CourseProxyController {
 
     // Exercises (New multiple exercises endpoints)
     @GetMapping("/{courseId}/lessons/{lessonId}/exercises")
-    public ResponseEntity<String> getExercises(@PathVariable String courseId,
+    public void getExercises(@PathVariable String courseId,
             @PathVariable String lessonId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return courseServiceClient.getExercises(courseId, lessonId, authHeader);
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getExercises(courseId, lessonId, authHeader), response);
     }
 
     @PostMapping("/{courseId}/lessons/{lessonId}/exercises")
@@ -310,10 +354,11 @@ public class CourseProxyController {
 
     // Workspace
     @GetMapping("/{courseId}/lessons/{lessonId}/workspace")
-    public ResponseEntity<String> getWorkspace(@PathVariable String courseId,
+    public void getWorkspace(@PathVariable String courseId,
             @PathVariable String lessonId,
-            @RequestHeader("Authorization") String authHeader) {
-        return courseServiceClient.getWorkspace(courseId, lessonId, authHeader);
+            @RequestHeader("Authorization") String authHeader,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getWorkspace(courseId, lessonId, authHeader), response);
     }
 
     @PutMapping("/{courseId}/lessons/{lessonId}/workspace")
@@ -332,13 +377,14 @@ public class CourseProxyController {
     }
 
     @GetMapping("/skills/{id}")
-    public ResponseEntity<String> getSkill(@PathVariable UUID id) {
-        return courseServiceClient.getSkill(id);
+    public void getSkill(@PathVariable UUID id,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getSkill(id), response);
     }
 
     @GetMapping("/skills")
-    public ResponseEntity<String> getAllSkills() {
-        return courseServiceClient.getAllSkills();
+    public void getAllSkills(HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getAllSkills(), response);
     }
 
     @PutMapping("/skills/{id}")
@@ -357,13 +403,14 @@ public class CourseProxyController {
     }
 
     @GetMapping("/tags/{id}")
-    public ResponseEntity<String> getTag(@PathVariable UUID id) {
-        return courseServiceClient.getTag(id);
+    public void getTag(@PathVariable UUID id,
+            HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getTag(id), response);
     }
 
     @GetMapping("/tags")
-    public ResponseEntity<String> getAllTags() {
-        return courseServiceClient.getAllTags();
+    public void getAllTags(HttpServletResponse response) throws IOException {
+        proxyResponseStreamer.stream(courseServiceClient.getAllTags(), response);
     }
 
     @PutMapping("/tags/{id}")
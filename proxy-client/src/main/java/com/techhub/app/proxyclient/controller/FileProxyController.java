@@ -1,12 +1,15 @@
 package com.techhub.app.proxyclient.controller;
 
 import com.techhub.app.proxyclient.client.FileServiceClient;
+import com.techhub.app.proxyclient.streaming.ProxyResponseStreamer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -18,6 +21,8 @@ import java.util.UUID;
 public class FileProxyController {
 
     private final FileServiceClient fileServiceClient;
+    // File reads stream the downstream body instead of decoding it into a Map
+    private final ProxyResponseStreamer proxyResponseStreamer;
 
     // ==================== FILE MANAGEMENT ====================
 
@@ -64,15 +69,15 @@ public class FileProxyController {
     }
 
     @GetMapping("/{fileId}")
-    public ResponseEntity<Map<String, Object>> getFile(
+    public void getFile(
             @PathVariable UUID fileId,
-            @RequestParam UUID userId) {
+            @RequestParam UUID userId,
+            HttpServletResponse response) throws IOException {
         log.info("[PROXY] Getting file: {} for user: {}", fileId, userId);
 
         try {
-            ResponseEntity<Map<String, Object>> response = fileServiceClient.getFile(fileId, userId);
+            proxyResponseStreamer.stream(fileServiceClient.getFile(fileId, userId), response);
             log.info("[PROXY] File retrieved: {}", fileId);
-            return response;
         } catch (Exception e) {
             log.error("[PROXY] Error getting file: {}", e.getMessage(), e);
             throw e;
@@ -80,32 +85,44 @@ public class FileProxyController {
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> listFiles(
+    public void listFiles(
             @RequestParam UUID userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletResponse response) throws IOException {
         log.info("[PROXY] Listing files for user: {}", userId);
 
         try {
-            ResponseEntity<Map<String, Object>> response = fileServiceClient.listFiles(userId, page, size);
+            proxyResponseStreamer.stream(fileServiceClient.listFiles(userId, page, size), response);
             log.info("[PROXY] Files listed for user: {}", userId);
-            return response;
         } catch (Exception e) {
             log.error("[PROXY] Error listing files: {}", e.getMessage(), e);
             throw e;
         }
     }
 
+    @GetMapping(params = "cursor")
+    public void listFilesByCursor(
+            @RequestParam UUID userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            HttpServletResponse response) throws IOException {
+        log.info("[PROXY] Listing files for user: {} (cursor)", userId);
+        proxyResponseStreamer.stream(fileServiceClient.listFilesByCursor(userId, cursor, size, includeTotal),
+                response);
+    }
+
     @GetMapping("/folder/{folderId}")
-    public ResponseEntity<Map<String, Object>> getFilesByFolder(
+    public void getFilesByFolder(
             @PathVariable UUID folderId,
-            @RequestParam UUID userId) {
+            @RequestParam UUID userId,
+            HttpServletResponse response) throws IOException {
         log.info("[PROXY] Getting files in folder: {} for user: {}", folderId, userId);
 
         try {
-            ResponseEntity<Map<String, Object>> response = fileServiceClient.getFilesByFolder(folderId, userId);
+            proxyResponseStreamer.stream(fileServiceClient.getFilesByFolder(folderId, userId), response);
             log.info("[PROXY] Files retrieved for folder: {}", folderId);
-            return response;
         } catch (Exception e) {
             log.error("[PROXY] Error getting files by folder: {}", e.getMessage(), e);
             throw e;
@@ -26,6 +26,17 @@ public class NotificationProxyController {
         return response;
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<Object> getNotificationsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader("Authorization") String authHeader) {
+        log.debug("🔔 [PROXY] GET /notifications - cursor: {}, size: {}, read: {}", cursor, size, read);
+        return notificationServiceClient.getNotificationsByCursor(cursor, size, read, includeTotal, authHeader);
+    }
+
     @GetMapping("/count/unread")
     public ResponseEntity<Object> getUnreadCount(@RequestHeader("Authorization") String authHeader) {
         log.debug("🔔 [PROXY] GET /notifications/count/unread");
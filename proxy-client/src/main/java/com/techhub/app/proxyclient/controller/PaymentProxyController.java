@@ -1,29 +1,42 @@
 package com.techhub.app.proxyclient.controller;
 
-import com.techhub.app.proxyclient.client.PaymentServiceClient;
+import com.techhub.app.proxyclient.routing.ReactiveProxyRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * PAYMENT-SERVICE proxy on the non-blocking gateway path: payment providers
+ * can be slow to answer and must not hold servlet threads other services need.
+ */
 @RestController
 @RequestMapping("/api/proxy/payments")
 @RequiredArgsConstructor
 public class PaymentProxyController {
 
-    private final PaymentServiceClient paymentServiceClient;
+    private final ReactiveProxyRouter proxyRouter;
 
     // ===== PAYPAL ENDPOINTS =====
 
     @PostMapping("/paypal/create")
-    public ResponseEntity<String> createPayPalOrder(
+    public Mono<ResponseEntity<byte[]>> createPayPalOrder(
             @RequestParam Double amount,
             @RequestParam(required = false) String userId,
             @RequestParam(required = false) String courseId) {
-        return paymentServiceClient.createPayPalOrder(amount, userId, courseId);
+        return proxyRouter.exchange(ReactiveProxyRouter.PAYMENT, null,
+                client -> client.post().uri(uri -> uri.path("/api/v1/payment/paypal/create")
+                        .queryParam("amount", amount)
+                        .queryParamIfPresent("userId", Optional.ofNullable(userId))
+                        .queryParamIfPresent("courseId", Optional.ofNullable(courseId))
+                        .build()));
     }
 
     @GetMapping("/paypal/success")
@@ -48,13 +61,29 @@ public class PaymentProxyController {
     // ===== VNPAY ENDPOINTS =====
 
     @GetMapping("/vn-pay")
-    public ResponseEntity<String> createVnPayPayment(
+    public Mono<ResponseEntity<byte[]>> createVnPayPayment(
             @RequestParam(value = "amount", required = false) String amount,
             @RequestParam(value = "bankCode", required = false) String bankCode,
             @RequestParam(value = "orderInfo", required = false) String orderInfo,
             @RequestParam(value = "userId", required = false) String userId,
             @RequestParam(value = "courseId", required = false) String courseId) {
-        return paymentServiceClient.createVnPayPayment(amount, bankCode, orderInfo, userId, courseId);
+        // Values go through URI variables so free text (orderInfo) is fully encoded
+        Map<String, String> params = new HashMap<>();
+        params.put("amount", amount);
+        params.put("bankCode", bankCode);
+        params.put("orderInfo", orderInfo);
+        params.put("userId", userId);
+        params.put("courseId", courseId);
+        return proxyRouter.exchange(ReactiveProxyRouter.PAYMENT, null,
+                client -> client.get().uri(uri -> {
+                    uri.path("/api/v1/payment/vn-pay");
+                    params.forEach((name, value) -> {
+                        if (value != null) {
+                            uri.queryParam(name, "{" + name + "}");
+                        }
+                    });
+                    return uri.build(params);
+                }));
     }
 
     @GetMapping("/vn-pay-callback")
@@ -68,31 +97,39 @@ public class PaymentProxyController {
     // ===== GENERIC PAYMENT ENDPOINTS =====
 
     @PostMapping("/create")
-    public ResponseEntity<String> createPayment(@RequestBody Object paymentRequest,
-                                              @RequestHeader("Authorization") String authHeader) {
-        return paymentServiceClient.createPayment(paymentRequest, authHeader);
+    public Mono<ResponseEntity<byte[]>> createPayment(@RequestBody Object paymentRequest,
+                                                     @RequestHeader("Authorization") String authHeader) {
+        return proxyRouter.exchange(ReactiveProxyRouter.PAYMENT, authHeader,
+                client -> client.post().uri("/api/payments/create").bodyValue(paymentRequest));
     }
 
     @GetMapping("/{paymentId}")
-    public ResponseEntity<String> getPaymentStatus(@PathVariable String paymentId,
-                                                  @RequestHeader("Authorization") String authHeader) {
-        return paymentServiceClient.getPaymentStatus(paymentId, authHeader);
+    public Mono<ResponseEntity<byte[]>> getPaymentStatus(@PathVariable String paymentId,
+                                                         @RequestHeader("Authorization") String authHeader) {
+        return proxyRouter.exchange(ReactiveProxyRouter.PAYMENT, authHeader,
+                client -> client.get().uri("/api/payments/{paymentId}", paymentId));
     }
 
     @PostMapping("/callback/momo")
-    public ResponseEntity<String> momoCallback(@RequestBody Object callbackData) {
-        return paymentServiceClient.momoCallback(callbackData);
+    public Mono<ResponseEntity<byte[]>> momoCallback(@RequestBody Object callbackData) {
+        return proxyRouter.exchange(ReactiveProxyRouter.PAYMENT, null,
+                client -> client.post().uri("/api/payments/callback/momo").bodyValue(callbackData));
     }
 
     @PostMapping("/callback/zalopay")
-    public ResponseEntity<String> zalopayCallback(@RequestBody Object callbackData) {
-        return paymentServiceClient.zalopayCallback(callbackData);
+    public Mono<ResponseEntity<byte[]>> zalopayCallback(@RequestBody Object callbackData) {
+        return proxyRouter.exchange(ReactiveProxyRouter.PAYMENT, null,
+                client -> client.post().uri("/api/payments/callback/zalopay").bodyValue(callbackData));
     }
 
     @GetMapping("/history")
-    public ResponseEntity<String> getPaymentHistory(@RequestParam(defaultValue = "0") int page,
-                                                   @RequestParam(defaultValue = "10") int size,
-                                                   @RequestHeader("Authorization") String authHeader) {
-        return paymentServiceClient.getPaymentHistory(page, size, authHeader);
+    public Mono<ResponseEntity<byte[]>> getPaymentHistory(@RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "10") int size,
+                                                          @RequestHeader("Authorization") String authHeader) {
+        return proxyRouter.exchange(ReactiveProxyRouter.PAYMENT, authHeader,
+                client -> client.get().uri(uri -> uri.path("/api/payments/history")
+                        .queryParam("page", page)
+                        .queryParam("size", size)
+                        .build()));
     }
 }
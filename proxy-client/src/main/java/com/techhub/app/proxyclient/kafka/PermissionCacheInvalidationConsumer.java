@@ -3,6 +3,7 @@ package com.techhub.app.proxyclient.kafka;
 import com.techhub.app.commonservice.kafka.KafkaTopics;
 import com.techhub.app.commonservice.kafka.event.PermissionEvent;
 import com.techhub.app.proxyclient.cache.PermissionCacheService;
+import com.techhub.app.proxyclient.security.PermissionSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -10,7 +11,9 @@ import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 /**
- * Kafka consumer to listen for permission update events and invalidate cache
+ * Kafka consumer to listen for permission update events and invalidate both
+ * tiers of {@link PermissionCacheService} and the compiled snapshots of
+ * {@link PermissionSnapshotService}
  * 
  * Event types:
  * - USER_PERMISSION_UPDATED: Clear cache for specific user
@@ -23,8 +26,17 @@ import org.springframework.stereotype.Component;
 public class PermissionCacheInvalidationConsumer {
 
     private final PermissionCacheService permissionCacheService;
+    private final PermissionSnapshotService permissionSnapshotService;
 
-    @KafkaListener(topics = KafkaTopics.PERMISSION_UPDATED_TOPIC, groupId = "proxy-client-permission-cache-group", containerFactory = "kafkaListenerContainerFactory")
+    // Each proxy instance keeps a local near-cache, so every instance needs every
+    // event: the group id is unique per instance (broadcast) and starts at latest.
+    @KafkaListener(topics = KafkaTopics.PERMISSION_UPDATED_TOPIC,
+            groupId = "${app.permission-cache.invalidation-group:proxy-client-permission-cache-${random.uuid}}",
+            containerFactory = "kafkaListenerContainerFactory",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.value.default.type=com.techhub.app.commonservice.kafka.event.PermissionEvent"
+            })
     public void handlePermissionUpdated(PermissionEvent event, Acknowledgment acknowledgment) {
         try {
             log.info("Received permission update event: type={}, userId={}, roleId={}",
@@ -63,6 +75,7 @@ public class PermissionCacheInvalidationConsumer {
     private void handleUserPermissionUpdated(PermissionEvent event) {
         try {
             if (event.getUserId() != null) {
+                permissionSnapshotService.invalidate(event.getUserId());
                 permissionCacheService.clearUserPermissions(event.getUserId());
                 log.info("Cleared permission cache for user: {}", event.getUserId());
             }
@@ -76,6 +89,7 @@ public class PermissionCacheInvalidationConsumer {
      */
     private void handleGlobalPermissionUpdated(PermissionEvent event) {
         try {
+            permissionSnapshotService.invalidateAll();
             permissionCacheService.clearAllPermissions();
             log.info("Cleared all permission cache due to {} update", event.getEventType());
         } catch (Exception e) {
@@ -0,0 +1,253 @@
+package com.techhub.app.proxyclient.routing;
+
+import com.techhub.app.proxyclient.config.ProxyRouteProperties;
+import com.techhub.app.proxyclient.streaming.ProxyResponseStreamer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Non-blocking gateway path. Controllers return the {@link Mono} from
+ * {@link #exchange}, so the servlet thread is released while the downstream
+ * call is in flight (Spring MVC completes the response asynchronously).
+ * JWT and permission checks still run in JwtAuthenticationFilter before the
+ * controller is reached.
+ * Each route has its own concurrency limit: when a slow service has used up
+ * its permits further requests to it fail fast with 503, and requests to
+ * other services are unaffected.
+ */
+@Component
+@Slf4j
+public class ReactiveProxyRouter {
+
+    public static final String AI = "ai";
+    public static final String PAYMENT = "payment";
+
+    private final Map<String, Route> routes = new HashMap<>();
+
+    public ReactiveProxyRouter(@Qualifier("gatewayWebClient") WebClient gatewayWebClient,
+            ProxyRouteProperties properties,
+            MeterRegistry meterRegistry) {
+        properties.getRoutes().forEach((name, config) -> {
+            int maxConcurrent = config.getMaxConcurrent() != null
+                    ? config.getMaxConcurrent()
+                    : properties.getMaxConcurrent();
+            Duration responseTimeout = config.getResponseTimeout() != null
+                    ? config.getResponseTimeout()
+                    : properties.getResponseTimeout();
+            WebClient client = gatewayWebClient.mutate()
+                    .baseUrl("http://" + config.getServiceId())
+                    .build();
+            Route route = new Route(name, client, maxConcurrent, responseTimeout, meterRegistry);
+            routes.put(name, route);
+            log.info("Gateway route '{}' -> {} (max concurrent {}, response timeout {})",
+                    name, config.getServiceId(), maxConcurrent, responseTimeout);
+        });
+    }
+
+    /**
+     * Send a request on a route and relay the downstream response.
+     *
+     * @param routeName  configured route, e.g. {@link #AI}
+     * @param authHeader Authorization header to forward, may be null
+     * @param request    builds the request from the route's client (base URL already set)
+     */
+    public Mono<ResponseEntity<byte[]>> exchange(String routeName, String authHeader,
+            Function<WebClient, WebClient.RequestHeadersSpec<?>> request) {
+        Route route = route(routeName);
+        // Read the servlet request now, on the request thread; it is not
+        // available once the exchange continues on a Netty thread
+        HttpHeaders forwarded = forwardedHeaders(authHeader);
+
+        return Mono.defer(() -> {
+            if (!route.permits.tryAcquire()) {
+                route.busyCounter.increment();
+                log.warn("Gateway route '{}' saturated ({} in flight), rejecting request", route.name,
+                        route.maxConcurrent);
+                return Mono.just(error(HttpStatus.SERVICE_UNAVAILABLE, "Service busy",
+                        "Too many concurrent requests to this service, please retry shortly"));
+            }
+            return Mono.defer(() -> request.apply(route.client)
+                    .headers(headers -> headers.addAll(forwarded))
+                    .httpRequest(httpRequest -> {
+                        HttpClientRequest nativeRequest = httpRequest.getNativeRequest();
+                        nativeRequest.responseTimeout(route.responseTimeout);
+                    })
+                    .exchangeToMono(response -> response.toEntity(byte[].class)))
+                    .map(ReactiveProxyRouter::relay)
+                    .onErrorResume(e -> Mono.just(failure(route, e)))
+                    .doFinally(signal -> route.permits.release());
+        });
+    }
+
+    /**
+     * The route's pooled, load-balanced client (base URL already set), for
+     * callers that handle the exchange themselves such as {@link SseRelay}.
+     */
+    WebClient client(String routeName) {
+        return route(routeName).client;
+    }
+
+    private Route route(String routeName) {
+        Route route = routes.get(routeName);
+        if (route == null) {
+            throw new IllegalArgumentException("Unknown gateway route: " + routeName);
+        }
+        return route;
+    }
+
+    private static ResponseEntity<byte[]> relay(ResponseEntity<byte[]> downstream) {
+        HttpHeaders headers = new HttpHeaders();
+        downstream.getHeaders().forEach((name, values) -> {
+            if (ProxyResponseStreamer.isForwardedHeader(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        return ResponseEntity.status(downstream.getStatusCodeValue())
+                .headers(headers)
+                .body(downstream.getBody());
+    }
+
+    private static ResponseEntity<byte[]> failure(Route route, Throwable e) {
+        if (isPoolAcquireTimeout(e)) {
+            route.busyCounter.increment();
+            log.warn("Gateway route '{}' could not acquire a connection: {}", route.name, e.getMessage());
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Service busy",
+                    "No connection available to this service, please retry shortly");
+        }
+        if (hasCause(e, ReadTimeoutException.class) || hasCause(e, TimeoutException.class)) {
+            route.timeoutCounter.increment();
+            log.warn("Gateway route '{}' timed out: {}", route.name, e.getMessage());
+            return error(HttpStatus.GATEWAY_TIMEOUT, "Gateway timeout", "The service did not respond in time");
+        }
+        route.errorCounter.increment();
+        log.error("Gateway route '{}' failed: {}", route.name, e.getMessage());
+        return error(HttpStatus.BAD_GATEWAY, "Bad gateway", "The service is unavailable");
+    }
+
+    private static boolean isPoolAcquireTimeout(Throwable e) {
+        // Reactor Netty shades reactor-pool, so match the exception by name
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            if ("PoolAcquireTimeoutException".equals(current.getClass().getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<byte[]> error(HttpStatus status, String error, String message) {
+        String body = "{\"error\":\"" + error + "\",\"message\":\"" + message + "\"}";
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Same user context headers the Feign request interceptor adds (see FeignConfig).
+     * Must be called on the servlet request thread.
+     */
+    static HttpHeaders forwardedHeaders(String authHeader) {
+        HttpHeaders headers = new HttpHeaders();
+        if (authHeader != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+        }
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
+                .getRequestAttributes();
+        if (attributes == null) {
+            return headers;
+        }
+        HttpServletRequest request = attributes.getRequest();
+
+        Object userId = request.getAttribute("userId");
+        if (userId != null) {
+            headers.set("X-User-Id", userId.toString());
+        }
+        Object userEmail = request.getAttribute("userEmail");
+        if (userEmail != null) {
+            headers.set("X-User-Email", userEmail.toString());
+        }
+        Object userRoles = request.getAttribute("userRoles");
+        if (userRoles != null) {
+            @SuppressWarnings("unchecked")
+            List<String> roles = (List<String>) userRoles;
+            headers.set("X-User-Roles", String.join(",", roles));
+        }
+        String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+        if (userAgent != null) {
+            headers.set(HttpHeaders.USER_AGENT, userAgent);
+        }
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null) {
+            headers.set("X-Forwarded-For", xForwardedFor);
+        }
+        headers.set("X-Request-Source", "proxy-client");
+        return headers;
+    }
+
+    private static final class Route {
+        private final String name;
+        private final WebClient client;
+        private final int maxConcurrent;
+        private final Duration responseTimeout;
+        private final Semaphore permits;
+        private final Counter busyCounter;
+        private final Counter timeoutCounter;
+        private final Counter errorCounter;
+
+        Route(String name, WebClient client, int maxConcurrent, Duration responseTimeout,
+                MeterRegistry meterRegistry) {
+            this.name = name;
+            this.client = client;
+            this.maxConcurrent = maxConcurrent;
+            this.responseTimeout = responseTimeout;
+            this.permits = new Semaphore(maxConcurrent);
+            this.busyCounter = failureCounter(meterRegistry, name, "busy");
+            this.timeoutCounter = failureCounter(meterRegistry, name, "timeout");
+            this.errorCounter = failureCounter(meterRegistry, name, "error");
+            Gauge.builder("proxy.gateway.inflight", permits, p -> maxConcurrent - p.availablePermits())
+                    .description("Requests in flight per gateway route")
+                    .tag("route", name)
+                    .register(meterRegistry);
+        }
+
+        private static Counter failureCounter(MeterRegistry meterRegistry, String route, String reason) {
+            return Counter.builder("proxy.gateway.failures")
+                    .description("Gateway requests answered by the proxy instead of the service")
+                    .tag("route", route)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.techhub.app.proxyclient.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Relays a downstream Server-Sent Events stream to the client.
+ * Events are decoded once by the SSE codec and passed through unchanged.
+ * Demand is bounded ({@code prefetch}), so a slow client slows the upstream
+ * read instead of growing a buffer. When the client disconnects, Spring MVC
+ * cancels the subscription, which closes the downstream connection; ai-service
+ * in turn cancels its OpenAI request. Heartbeat comments are sent while the
+ * upstream is silent so a closed browser is noticed without waiting for the
+ * next token.
+ */
+@Component
+@Slf4j
+public class SseRelay {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<ServerSentEvent<String>>() {
+            };
+    private static final ServerSentEvent<String> HEARTBEAT = ServerSentEvent.<String>builder()
+            .comment("keep-alive")
+            .build();
+    private static final String DONE_EVENT = "done";
+
+    private final ReactiveProxyRouter proxyRouter;
+    private final MeterRegistry meterRegistry;
+    private final int prefetch;
+    private final Duration heartbeatInterval;
+    private final Semaphore streams;
+
+    public SseRelay(ReactiveProxyRouter proxyRouter,
+            MeterRegistry meterRegistry,
+            @Value("${app.proxy.sse.prefetch:32}") int prefetch,
+            @Value("${app.proxy.sse.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${app.proxy.sse.max-concurrent-streams:500}") int maxConcurrentStreams) {
+        this.proxyRouter = proxyRouter;
+        this.meterRegistry = meterRegistry;
+        this.prefetch = prefetch;
+        this.heartbeatInterval = heartbeatInterval;
+        this.streams = new Semaphore(maxConcurrentStreams);
+        Gauge.builder("proxy.sse.active", streams, s -> maxConcurrentStreams - s.availablePermits())
+                .description("SSE streams currently relayed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream on a gateway route and relay its events.
+     *
+     * @param routeName  configured route, e.g. {@link ReactiveProxyRouter#AI}
+     * @param authHeader Authorization header to forward, may be null
+     * @param request    builds the request from the route's client (base URL already set)
+     */
+    public Flux<ServerSentEvent<String>> relay(String routeName, String authHeader,
+            Function<WebClient, WebClient.RequestHeadersSpec<?>> request) {
+        WebClient client = proxyRouter.client(routeName);
+        HttpHeaders forwarded = ReactiveProxyRouter.forwardedHeaders(authHeader);
+
+        return Flux.defer(() -> {
+            if (!streams.tryAcquire()) {
+                streamCounter(routeName, "rejected").increment();
+                log.warn("Rejecting SSE stream on route '{}': too many concurrent streams", routeName);
+                return Flux.just(errorEvent("Too many concurrent streams, please retry shortly"));
+            }
+            StreamStats stats = new StreamStats(System.nanoTime());
+            Flux<ServerSentEvent<String>> upstream = Flux.defer(() -> request.apply(client)
+                    .headers(headers -> headers.addAll(forwarded))
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .retrieve()
+                    .bodyToFlux(SSE_TYPE))
+                    .limitRate(prefetch)
+                    .filter(event -> event.data() != null)
+                    .doOnNext(stats::onEvent);
+
+            return withHeartbeat(upstream)
+                    .onErrorResume(error -> {
+                        log.warn("SSE stream on route '{}' failed: {}", routeName, error.getMessage());
+                        stats.failed = true;
+                        return Flux.just(errorEvent("Streaming error: " + error.getMessage()));
+                    })
+                    .doFinally(signal -> {
+                        streams.release();
+                        record(routeName, stats, signal);
+                    });
+        });
+    }
+
+    private Flux<ServerSentEvent<String>> withHeartbeat(Flux<ServerSentEvent<String>> events) {
+        return events.publish(shared -> Flux.merge(shared,
+                Flux.interval(heartbeatInterval)
+                        .map(tick -> HEARTBEAT)
+                        .takeUntilOther(shared.ignoreElements())));
+    }
+
+    private void record(String routeName, StreamStats stats, SignalType signal) {
+        String outcome = stats.failed ? "error" : signal == SignalType.CANCEL ? "cancel" : "complete";
+        streamCounter(routeName, outcome).increment();
+
+        long elapsedNanos = System.nanoTime() - stats.startNanos;
+        if (stats.firstEventNanos > 0) {
+            Timer.builder("proxy.sse.first-event")
+                    .description("Time from opening a stream to its first event (time to first token)")
+                    .tag("route", routeName)
+                    .register(meterRegistry)
+                    .record(stats.firstEventNanos - stats.startNanos, TimeUnit.NANOSECONDS);
+        }
+        if (stats.tokens > 0 && elapsedNanos > 0) {
+            DistributionSummary.builder("proxy.sse.tokens.rate")
+                    .description("Token events relayed per second, per stream")
+                    .baseUnit("tokens/s")
+                    .tag("route", routeName)
+                    .register(meterRegistry)
+                    .record(stats.tokens * 1_000_000_000d / elapsedNanos);
+        }
+        log.debug("SSE stream on route '{}' ended ({}): {} tokens in {} ms", routeName, outcome, stats.tokens,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private Counter streamCounter(String routeName, String outcome) {
+        return Counter.builder("proxy.sse.streams")
+                .description("SSE streams by outcome")
+                .tag("route", routeName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static ServerSentEvent<String> errorEvent(String message) {
+        return ServerSentEvent.<String>builder()
+                .event("error")
+                .data(message)
+                .build();
+    }
+
+    private static final class StreamStats {
+        private final long startNanos;
+        private long firstEventNanos;
+        private long tokens;
+        private volatile boolean failed;
+
+        StreamStats(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void onEvent(ServerSentEvent<String> event) {
+            if (DONE_EVENT.equals(event.event())) {
+                return;
+            }
+            if (firstEventNanos == 0) {
+                firstEventNanos = System.nanoTime();
+            }
+            tokens++;
+        }
+    }
+}
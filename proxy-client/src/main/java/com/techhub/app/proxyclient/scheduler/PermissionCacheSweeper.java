@@ -0,0 +1,29 @@
+package com.techhub.app.proxyclient.scheduler;
+
+import com.techhub.app.proxyclient.cache.PermissionCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically removes permission cache entries orphaned by version bumps,
+ * so Redis memory does not wait for their TTL after bulk invalidations.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionCacheSweeper {
+
+    private final PermissionCacheService permissionCacheService;
+
+    @Scheduled(fixedDelayString = "${app.permission-cache.sweep-interval:600000}",
+            initialDelayString = "${app.permission-cache.sweep-initial-delay:120000}")
+    public void sweep() {
+        try {
+            permissionCacheService.sweepStaleEntries();
+        } catch (Exception e) {
+            log.error("Error sweeping permission cache", e);
+        }
+    }
+}
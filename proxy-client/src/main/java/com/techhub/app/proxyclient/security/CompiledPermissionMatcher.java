@@ -0,0 +1,166 @@
+package com.techhub.app.proxyclient.security;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A user's effective permission patterns compiled into one path-segment trie
+ * per HTTP method. Evaluates like user-service's check (Ant pattern match or
+ * case-insensitive equality) without scanning every pattern:
+ * literal segments are hash lookups, "*" and "{var}" segments share a single
+ * wildcard branch, "**" may consume any number of segments, and other
+ * segment patterns (e.g. "v{n}", "*.png") are matched per segment.
+ * Trailing-slash patterns and paths fall back to {@link AntPathMatcher}.
+ */
+public final class CompiledPermissionMatcher {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final long version;
+    private final Map<String, Node> roots = new HashMap<>();
+    private final Map<String, Set<String>> exactUrls = new HashMap<>();
+    private final Map<String, List<String>> patternsByMethod = new HashMap<>();
+
+    private CompiledPermissionMatcher(long version) {
+        this.version = version;
+    }
+
+    public static CompiledPermissionMatcher compile(long version, List<Rule> rules) {
+        CompiledPermissionMatcher matcher = new CompiledPermissionMatcher(version);
+        for (Rule rule : rules) {
+            matcher.add(rule.method.toUpperCase(Locale.ROOT), rule.url);
+        }
+        return matcher;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean matches(String method, String path) {
+        String key = method.toUpperCase(Locale.ROOT);
+        Set<String> exact = exactUrls.get(key);
+        if (exact != null && exact.contains(path.toLowerCase(Locale.ROOT))) {
+            return true;
+        }
+        if (path.length() > 1 && path.endsWith("/")) {
+            return patternsByMethod.getOrDefault(key, Collections.emptyList()).stream()
+                    .anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+        }
+        Node root = roots.get(key);
+        return root != null && root.match(tokenize(path), 0);
+    }
+
+    private void add(String method, String pattern) {
+        exactUrls.computeIfAbsent(method, m -> new HashSet<>()).add(pattern.toLowerCase(Locale.ROOT));
+        patternsByMethod.computeIfAbsent(method, m -> new ArrayList<>()).add(pattern);
+        if (pattern.length() > 1 && pattern.endsWith("/")) {
+            // Only a trailing-slash path can match; handled by the fallback scan
+            return;
+        }
+        Node node = roots.computeIfAbsent(method, m -> new Node());
+        for (String segment : tokenize(pattern)) {
+            node = node.child(segment);
+        }
+        node.terminal = true;
+    }
+
+    private static String[] tokenize(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}'
+                && segment.indexOf(':') < 0 && segment.indexOf('{', 1) < 0;
+    }
+
+    private static boolean isPatterned(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<String, Node> patterned = new HashMap<>();
+        private Node anySegment;
+        private Node anyDepth;
+        private boolean terminal;
+
+        Node child(String segment) {
+            if ("**".equals(segment)) {
+                if (anyDepth == null) {
+                    anyDepth = new Node();
+                }
+                return anyDepth;
+            }
+            if ("*".equals(segment) || isVariable(segment)) {
+                if (anySegment == null) {
+                    anySegment = new Node();
+                }
+                return anySegment;
+            }
+            if (isPatterned(segment)) {
+                return patterned.computeIfAbsent(segment, s -> new Node());
+            }
+            return literals.computeIfAbsent(segment, s -> new Node());
+        }
+
+        boolean match(String[] segments, int index) {
+            if (index == segments.length) {
+                if (terminal) {
+                    return true;
+                }
+            } else {
+                String segment = segments[index];
+                Node literal = literals.get(segment);
+                if (literal != null && literal.match(segments, index + 1)) {
+                    return true;
+                }
+                if (anySegment != null && anySegment.match(segments, index + 1)) {
+                    return true;
+                }
+                for (Map.Entry<String, Node> entry : patterned.entrySet()) {
+                    if (PATH_MATCHER.match(entry.getKey(), segment)
+                            && entry.getValue().match(segments, index + 1)) {
+                        return true;
+                    }
+                }
+            }
+            if (anyDepth != null) {
+                for (int next = index; next <= segments.length; next++) {
+                    if (anyDepth.match(segments, next)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    public static final class Rule {
+        private final String method;
+        private final String url;
+
+        public Rule(String method, String url) {
+            this.method = method;
+            this.url = url;
+        }
+    }
+}
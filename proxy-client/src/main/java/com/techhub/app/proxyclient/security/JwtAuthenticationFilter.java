@@ -1,5 +1,6 @@
 package com.techhub.app.proxyclient.security;
 
+import com.techhub.app.commonservice.jwt.JwtPrincipal;
 import com.techhub.app.commonservice.jwt.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +17,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -54,11 +56,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = authHeader.substring(7);
 
         try {
-            // Validate JWT token - ONLY validation point in the system
-            if (jwtUtil.validateToken(jwt)) {
-                UUID userId = jwtUtil.getUserIdFromToken(jwt);
-                String email = jwtUtil.getEmailFromToken(jwt);
-                List<String> roles = jwtUtil.getRolesFromToken(jwt);
+            // Validate JWT token - ONLY validation point in the system (parsed once)
+            Optional<JwtPrincipal> principal = jwtUtil.verify(jwt);
+            if (principal.isPresent()) {
+                UUID userId = principal.get().getUserId();
+                String email = principal.get().getEmail();
+                List<String> roles = principal.get().getRoles();
 
                 // Set authentication context
                 List<SimpleGrantedAuthority> authorities = roles.stream()
@@ -1,6 +1,8 @@
 package com.techhub.app.proxyclient.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techhub.app.proxyclient.cache.PermissionCacheService;
+import com.techhub.app.proxyclient.cache.PermissionRouteTemplate;
 import com.techhub.app.proxyclient.client.UserServiceClient;
 import com.techhub.app.proxyclient.dto.PermissionCheckRequest;
 import lombok.RequiredArgsConstructor;
@@ -17,55 +19,75 @@ import java.util.UUID;
 public class PermissionGatewayService {
 
     private final UserServiceClient userServiceClient;
+    private final PermissionCacheService permissionCacheService;
+    private final PermissionSnapshotService permissionSnapshotService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Check if user has permission to access URL with method
-     * Real-time permission check without caching for security
      * Flow:
-     * 1. Call User Service directly via REST
-     * 2. Return result immediately
+     * 1. Evaluate the user's compiled permission snapshot in-process
+     * 2. If no snapshot can be loaded: local near-cache, then Redis, keyed by
+     * user + route template + method
+     * 3. On a miss, call User Service and cache the decision
+     * Entries are dropped on permission update events (see
+     * PermissionCacheInvalidationConsumer); failed checks are never cached.
      */
     public boolean hasPermission(UUID userId, String url, String method, String authHeader) {
-        log.info("🔍 [PermissionGatewayService] ========== PERMISSION CHECK START ==========");
-        log.info("🔍 [PermissionGatewayService] UserId: {}, Method: {}, URL: {}", userId, method, url);
+        CompiledPermissionMatcher matcher = permissionSnapshotService.getMatcher(userId, authHeader);
+        if (matcher != null) {
+            boolean allowed = matcher.matches(method, url);
+            log.debug("[PermissionGatewayService] Snapshot v{} decision for {} {} {}: {}", matcher.getVersion(),
+                    userId, method, url, allowed);
+            return allowed;
+        }
+
+        String routeTemplate = PermissionRouteTemplate.normalize(url);
+        Boolean cached = permissionCacheService.getPermission(userId, routeTemplate, method);
+        if (cached != null) {
+            log.debug("[PermissionGatewayService] Cached decision for {} {} {}: {}", userId, method, routeTemplate,
+                    cached);
+            return cached;
+        }
+
+        long generation = permissionCacheService.currentGeneration();
+        Boolean allowed = checkRemote(userId, url, method, authHeader);
+        if (allowed == null) {
+            log.warn("⚠️ [PermissionGatewayService] Unexpected response, denying access");
+            return false;
+        }
+        permissionCacheService.cachePermission(userId, routeTemplate, method, allowed, generation);
+        return allowed;
+    }
+
+    private Boolean checkRemote(UUID userId, String url, String method, String authHeader) {
+        log.debug("🌐 [PermissionGatewayService] Calling User Service: POST /api/users/{}/permissions/check ({} {})",
+                userId, method, url);
 
         try {
-            // Call User Service directly - no cache for real-time permission enforcement
-            log.info("🌐 [PermissionGatewayService] Calling User Service REST API...");
             PermissionCheckRequest req = new PermissionCheckRequest(url, method);
-            log.info("🌐 [PermissionGatewayService] Request: POST /api/users/{}/permissions/check", userId);
-
             ResponseEntity<String> response = userServiceClient.checkPermission(userId.toString(), req, authHeader);
 
-            log.info("📥 [PermissionGatewayService] Response: {} - {}", response.getStatusCode(), response.getBody());
-
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 Map<?, ?> body = objectMapper.readValue(response.getBody(), Map.class);
                 Object data = body.get("data");
 
                 if (data instanceof Boolean) {
                     boolean allowed = (Boolean) data;
-                    log.info("✅ [PermissionGatewayService] Result: {} ({})",
-                            allowed, allowed ? "ALLOWED ✅" : "DENIED ❌");
-                    log.info("🔍 [PermissionGatewayService] ========== PERMISSION CHECK END ==========");
+                    log.info("✅ [PermissionGatewayService] {} {} for user {}: {}", method, url, userId,
+                            allowed ? "ALLOWED ✅" : "DENIED ❌");
                     return allowed;
-                } else {
-                    log.error("❌ [PermissionGatewayService] Invalid data type: expected Boolean, got {}",
-                            data != null ? data.getClass().getName() : "null");
                 }
+                log.error("❌ [PermissionGatewayService] Invalid data type: expected Boolean, got {}",
+                        data != null ? data.getClass().getName() : "null");
             } else {
                 log.error("❌ [PermissionGatewayService] Invalid response - Status: {}, Body: {}",
                         response.getStatusCode(), response.getBody());
             }
-
-            log.warn("⚠️ [PermissionGatewayService] Unexpected response, denying access");
-            log.info("🔍 [PermissionGatewayService] ========== PERMISSION CHECK END ==========");
-            return false;
+            return null;
         } catch (Exception e) {
             log.error("❌ [PermissionGatewayService] Exception during permission check: {}", e.getMessage(), e);
-            log.info("🔍 [PermissionGatewayService] ========== PERMISSION CHECK END ==========");
-            return false;
+            return null;
         }
     }
 }
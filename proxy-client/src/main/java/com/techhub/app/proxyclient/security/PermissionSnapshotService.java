@@ -0,0 +1,134 @@
+package com.techhub.app.proxyclient.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techhub.app.proxyclient.client.UserServiceClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user {@link CompiledPermissionMatcher}s built from user-service's
+ * permission snapshot endpoint. Entries are bounded and expire after a TTL,
+ * and are dropped on permission update events (see
+ * PermissionCacheInvalidationConsumer).
+ */
+@Service
+@Slf4j
+public class PermissionSnapshotService {
+
+    private final UserServiceClient userServiceClient;
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, CompiledPermissionMatcher> matchers;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter loadCounter;
+    private final Counter failureCounter;
+
+    public PermissionSnapshotService(UserServiceClient userServiceClient,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.permission-snapshot.max-size:20000}") long maxSize,
+            @Value("${app.permission-snapshot.ttl:5m}") Duration ttl) {
+        this.userServiceClient = userServiceClient;
+        this.objectMapper = objectMapper;
+        this.matchers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        this.hitCounter = snapshotCounter(meterRegistry, "hit");
+        this.loadCounter = snapshotCounter(meterRegistry, "load");
+        this.failureCounter = snapshotCounter(meterRegistry, "failure");
+        Gauge.builder("proxy.permission.snapshot.size", matchers, Cache::estimatedSize)
+                .description("Compiled permission snapshots held in memory")
+                .register(meterRegistry);
+    }
+
+    private static Counter snapshotCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("proxy.permission.snapshot.lookups")
+                .description("Permission snapshot lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compiled matcher for the user, loading the snapshot on a miss.
+     *
+     * @return the matcher, or null if the snapshot could not be loaded
+     */
+    public CompiledPermissionMatcher getMatcher(UUID userId, String authHeader) {
+        CompiledPermissionMatcher matcher = matchers.getIfPresent(userId);
+        if (matcher != null) {
+            hitCounter.increment();
+            return matcher;
+        }
+
+        long observedGeneration = generation.get();
+        matcher = load(userId, authHeader);
+        if (matcher == null) {
+            failureCounter.increment();
+            return null;
+        }
+        loadCounter.increment();
+        if (generation.get() == observedGeneration) {
+            matchers.put(userId, matcher);
+        }
+        return matcher;
+    }
+
+    public void invalidate(UUID userId) {
+        generation.incrementAndGet();
+        matchers.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        matchers.invalidateAll();
+    }
+
+    private CompiledPermissionMatcher load(UUID userId, String authHeader) {
+        try {
+            ResponseEntity<String> response = userServiceClient.getPermissionSnapshot(userId.toString(), authHeader);
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                log.warn("Permission snapshot request for user {} returned {}", userId, response.getStatusCode());
+                return null;
+            }
+
+            JsonNode data = objectMapper.readTree(response.getBody()).path("data");
+            JsonNode rulesNode = data.path("rules");
+            if (!rulesNode.isArray()) {
+                log.warn("Permission snapshot for user {} has no rules array", userId);
+                return null;
+            }
+
+            List<CompiledPermissionMatcher.Rule> rules = new ArrayList<>(rulesNode.size());
+            for (JsonNode rule : rulesNode) {
+                String method = rule.path("method").asText(null);
+                String url = rule.path("url").asText(null);
+                if (method != null && url != null) {
+                    rules.add(new CompiledPermissionMatcher.Rule(method, url));
+                }
+            }
+            long version = data.path("version").asLong();
+            log.debug("Loaded permission snapshot for user {} (version {}, {} rules)", userId, version, rules.size());
+            return CompiledPermissionMatcher.compile(version, rules);
+        } catch (Exception e) {
+            log.error("Failed to load permission snapshot for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+}
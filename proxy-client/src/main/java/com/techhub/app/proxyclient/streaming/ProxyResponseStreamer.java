@@ -0,0 +1,88 @@
+package com.techhub.app.proxyclient.streaming;
+
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pass-through for Feign methods declared to return {@link Response}: copies
+ * the downstream status, headers and body to the servlet response in fixed
+ * size chunks, so the payload is never materialised as a String or Map.
+ * Downstream error statuses are forwarded as-is (Feign's error decoder is not
+ * involved for raw responses).
+ */
+@Component
+@Slf4j
+public class ProxyResponseStreamer {
+
+    // Hop-by-hop headers are per connection; CORS headers are owned by the gateway
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization");
+    private static final String CORS_HEADER_PREFIX = "access-control-";
+
+    private final int bufferSize;
+    private final Counter bytesCounter;
+
+    public ProxyResponseStreamer(MeterRegistry meterRegistry,
+            @Value("${app.proxy.streaming.buffer-size:8192}") int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.bytesCounter = Counter.builder("proxy.streaming.bytes")
+                .description("Response bytes streamed through the gateway without buffering")
+                .register(meterRegistry);
+    }
+
+    public void stream(Response downstream, HttpServletResponse response) throws IOException {
+        try (downstream) {
+            response.setStatus(downstream.status());
+            for (Map.Entry<String, Collection<String>> header : downstream.headers().entrySet()) {
+                String name = header.getKey();
+                if (name == null || !isForwardedHeader(name)) {
+                    continue;
+                }
+                for (String value : header.getValue()) {
+                    response.addHeader(name, value);
+                }
+            }
+
+            if (downstream.body() == null) {
+                return;
+            }
+            long copied = 0;
+            byte[] buffer = new byte[bufferSize];
+            try (InputStream in = downstream.body().asInputStream()) {
+                OutputStream out = response.getOutputStream();
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    copied += read;
+                }
+                out.flush();
+            } finally {
+                bytesCounter.increment(copied);
+            }
+            log.debug("Streamed {} bytes (status {}) from {}", copied, downstream.status(),
+                    downstream.request() != null ? downstream.request().url() : "downstream");
+        }
+    }
+
+    /**
+     * Whether a downstream response header should be passed on to the client.
+     */
+    public static boolean isForwardedHeader(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return !SKIPPED_HEADERS.contains(lower) && !lower.startsWith(CORS_HEADER_PREFIX);
+    }
+}
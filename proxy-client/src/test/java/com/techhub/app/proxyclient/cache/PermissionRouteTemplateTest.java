@@ -0,0 +1,56 @@
+package com.techhub.app.proxyclient.cache;
+
+import com.techhub.app.proxyclient.security.CompiledPermissionMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionRouteTemplateTest {
+
+    private static final String COURSE_ID = "3f2b6a1e-9c4d-4e8f-a1b2-c3d4e5f6a7b8";
+
+    @Test
+    void normalize_replacesNumericAndUuidSegments() {
+        assertThat(PermissionRouteTemplate.normalize("/api/courses/" + COURSE_ID + "/lessons/12"))
+                .isEqualTo("/api/courses/{id}/lessons/{id}");
+        assertThat(PermissionRouteTemplate.normalize("/api/courses/" + COURSE_ID.toUpperCase()))
+                .isEqualTo("/api/courses/{id}");
+    }
+
+    @Test
+    void normalize_keepsOtherSegmentsAndSlashes() {
+        assertThat(PermissionRouteTemplate.normalize("/api/v1/courses/abc12/")).isEqualTo("/api/v1/courses/abc12/");
+        assertThat(PermissionRouteTemplate.normalize("/api//courses")).isEqualTo("/api//courses");
+        assertThat(PermissionRouteTemplate.normalize("/api/courses/12-draft")).isEqualTo("/api/courses/12-draft");
+    }
+
+    @Test
+    void normalize_emptyPathIsRoot() {
+        assertThat(PermissionRouteTemplate.normalize(null)).isEqualTo("/");
+        assertThat(PermissionRouteTemplate.normalize("")).isEqualTo("/");
+        assertThat(PermissionRouteTemplate.normalize("/")).isEqualTo("/");
+    }
+
+    @Test
+    void normalize_templateGetsTheSameDecisionAsTheConcretePath() {
+        CompiledPermissionMatcher matcher = CompiledPermissionMatcher.compile(1L, List.of(
+                new CompiledPermissionMatcher.Rule("GET", "/api/courses/{courseId}/lessons/{lessonId}"),
+                new CompiledPermissionMatcher.Rule("GET", "/api/enrollments/*"),
+                new CompiledPermissionMatcher.Rule("GET", "/api/admin/**")));
+        List<String> paths = List.of(
+                "/api/courses/" + COURSE_ID + "/lessons/12",
+                "/api/courses/" + COURSE_ID + "/chapters/12",
+                "/api/enrollments/42",
+                "/api/enrollments/42/progress",
+                "/api/admin/users/" + COURSE_ID,
+                "/api/users/42");
+
+        for (String path : paths) {
+            assertThat(matcher.matches("GET", PermissionRouteTemplate.normalize(path)))
+                    .as(path)
+                    .isEqualTo(matcher.matches("GET", path));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.techhub.app.proxyclient.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The compiled matcher must decide exactly like user-service's
+ * PermissionServiceImpl: same method, then Ant match or case-insensitive
+ * equality against every pattern.
+ */
+class CompiledPermissionMatcherTest {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final List<String[]> RULES = List.of(
+            new String[]{"GET", "/"},
+            new String[]{"GET", "/api/courses"},
+            new String[]{"GET", "/api/courses/{courseId}"},
+            new String[]{"GET", "/api/courses/{courseId}/lessons/*"},
+            new String[]{"PUT", "/api/courses/{id:[0-9]+}"},
+            new String[]{"POST", "/api/courses/**/edit"},
+            new String[]{"GET", "/api/admin/**"},
+            new String[]{"GET", "/api/**/lessons/**"},
+            new String[]{"GET", "/api/v{n}/health"},
+            new String[]{"GET", "/api/files/*.png"},
+            new String[]{"GET", "/api/c?rts"},
+            new String[]{"DELETE", "/API/Users/Me"},
+            new String[]{"DELETE", "/api/users/"},
+            new String[]{"POST", "/api/notifications/"});
+
+    private static final List<String> PATHS = List.of(
+            "/",
+            "/api",
+            "/api/courses",
+            "/API/COURSES",
+            "/api/Courses",
+            "/api/courses/",
+            "/api/courses/12",
+            "/api/courses/abc",
+            "/api/courses/12/",
+            "/api/courses/3f2b6a1e-9c4d-4e8f-a1b2-c3d4e5f6a7b8/lessons/5",
+            "/api/courses/12/lessons",
+            "/api/courses/12/lessons/5/extra",
+            "/api/courses/edit",
+            "/api/courses/12/chapters/3/edit",
+            "/api/courses/12/edit/more",
+            "/api/admin",
+            "/api/admin/users/12",
+            "/api/admin/",
+            "/api/lessons",
+            "/api/x/y/lessons/z",
+            "/api/v1/health",
+            "/api/v/health",
+            "/api/health",
+            "/api/files/a.png",
+            "/api/files/a.jpg",
+            "/api/files/dir/a.png",
+            "/api/carts",
+            "/api/carrts",
+            "/api/users/me",
+            "/api/users/",
+            "/api/users",
+            "/api/notifications/",
+            "/api/notifications");
+
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "DELETE", "PATCH");
+
+    @Test
+    void matches_agreesWithPermissionServiceForEveryMethodAndPath() {
+        CompiledPermissionMatcher matcher = CompiledPermissionMatcher.compile(1L, rules(RULES));
+
+        for (String method : METHODS) {
+            for (String path : PATHS) {
+                assertThat(matcher.matches(method, path))
+                        .as("%s %s", method, path)
+                        .isEqualTo(reference(RULES, method, path));
+            }
+        }
+    }
+
+    @Test
+    void matches_eachPatternAloneAgreesWithPermissionService() {
+        // A single rule per matcher exercises every trie branch in isolation
+        for (String[] rule : RULES) {
+            List<String[]> single = List.<String[]>of(rule);
+            CompiledPermissionMatcher matcher = CompiledPermissionMatcher.compile(1L, rules(single));
+            for (String path : PATHS) {
+                assertThat(matcher.matches(rule[0], path))
+                        .as("%s %s against %s", rule[0], path, rule[1])
+                        .isEqualTo(reference(single, rule[0], path));
+            }
+        }
+    }
+
+    @Test
+    void matches_methodIsCaseInsensitiveAndMustMatch() {
+        CompiledPermissionMatcher matcher = CompiledPermissionMatcher.compile(1L,
+                List.of(new CompiledPermissionMatcher.Rule("get", "/api/courses/{id}")));
+
+        assertThat(matcher.matches("GET", "/api/courses/12")).isTrue();
+        assertThat(matcher.matches("get", "/api/courses/12")).isTrue();
+        assertThat(matcher.matches("POST", "/api/courses/12")).isFalse();
+    }
+
+    @Test
+    void matches_literalComparisonIsCaseSensitiveExceptForWholeUrlEquality() {
+        CompiledPermissionMatcher matcher = CompiledPermissionMatcher.compile(1L,
+                List.of(new CompiledPermissionMatcher.Rule("GET", "/api/Courses/{id}"),
+                        new CompiledPermissionMatcher.Rule("GET", "/api/Tags")));
+
+        assertThat(matcher.matches("GET", "/api/courses/12")).isFalse();
+        assertThat(matcher.matches("GET", "/api/Courses/12")).isTrue();
+        assertThat(matcher.matches("GET", "/API/TAGS")).isTrue();
+    }
+
+    @Test
+    void matches_emptySnapshotDeniesEverything() {
+        CompiledPermissionMatcher matcher = CompiledPermissionMatcher.compile(7L, List.of());
+
+        assertThat(matcher.getVersion()).isEqualTo(7L);
+        assertThat(matcher.matches("GET", "/")).isFalse();
+        assertThat(matcher.matches("GET", "/api/courses")).isFalse();
+    }
+
+    /**
+     * PermissionServiceImpl.hasPermission, minus the repository lookups
+     */
+    private static boolean reference(List<String[]> rules, String method, String url) {
+        return rules.stream()
+                .filter(rule -> rule[0].equals(method))
+                .anyMatch(rule -> PATH_MATCHER.match(rule[1], url) || rule[1].equalsIgnoreCase(url));
+    }
+
+    private static List<CompiledPermissionMatcher.Rule> rules(List<String[]> rules) {
+        List<CompiledPermissionMatcher.Rule> compiled = new ArrayList<>();
+        for (String[] rule : rules) {
+            compiled.add(new CompiledPermissionMatcher.Rule(rule[0], rule[1]));
+        }
+        return compiled;
+    }
+}
@@ -231,15 +231,18 @@ CREATE TABLE courses (
     updated TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     created_by UUID REFERENCES users(id),
     updated_by UUID REFERENCES users(id),
-    is_active VARCHAR(1) NOT NULL DEFAULT 'Y' CHECK (is_active IN ('Y', 'N'))
+    is_active VARCHAR(1) NOT NULL DEFAULT 'Y' CHECK (is_active IN ('Y', 'N')),
+    search_vector TSVECTOR
 );
 CREATE INDEX idx_courses_instructor_id ON courses(instructor_id);
 CREATE INDEX idx_courses_status ON courses(status);
 CREATE INDEX idx_courses_level ON courses(level);
 CREATE INDEX idx_courses_language ON courses(language);
 CREATE INDEX idx_courses_title_trgm ON courses USING GIN (title gin_trgm_ops);
+CREATE INDEX idx_courses_search_vector ON courses USING GIN (search_vector);
 CREATE INDEX idx_courses_is_active ON courses(is_active);
 CREATE INDEX idx_courses_created ON courses(created);
+CREATE INDEX idx_courses_created_id ON courses(created DESC, id DESC);
 CREATE INDEX idx_courses_objectives_gin ON courses USING GIN (objectives);
 CREATE INDEX idx_courses_requirements_gin ON courses USING GIN (requirements);
 -- Chapters Table
@@ -424,6 +427,19 @@ CREATE UNIQUE INDEX uniq_ratings_user_target ON ratings(user_id, target_id, targ
 CREATE INDEX idx_ratings_target_id_type ON ratings(target_id, target_type);
 CREATE INDEX idx_ratings_score ON ratings(score);
 CREATE INDEX idx_ratings_is_active ON ratings(is_active);
+-- Course Stats (materialized enrollment/rating counters, reconciled periodically)
+CREATE TABLE course_stats (
+    course_id UUID PRIMARY KEY REFERENCES courses(id) ON DELETE CASCADE,
+    enrollment_count BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_1 BIGINT NOT NULL DEFAULT 0,
+    rating_2 BIGINT NOT NULL DEFAULT 0,
+    rating_3 BIGINT NOT NULL DEFAULT 0,
+    rating_4 BIGINT NOT NULL DEFAULT 0,
+    rating_5 BIGINT NOT NULL DEFAULT 0,
+    updated TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
 -- Submissions
 CREATE TABLE submissions (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -574,6 +590,7 @@ CREATE INDEX idx_blogs_author_id ON blogs(author_id);
 CREATE INDEX idx_blogs_status ON blogs(status);
 CREATE INDEX idx_blogs_title_trgm ON blogs USING GIN (title gin_trgm_ops);
 CREATE INDEX idx_blogs_is_active ON blogs(is_active);
+CREATE INDEX idx_blogs_created_id ON blogs(created DESC, id DESC);
 -- Forums
 CREATE TABLE forums (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -817,6 +834,7 @@ CREATE TABLE notifications (
 CREATE INDEX idx_notifications_user_id ON notifications(user_id);
 CREATE INDEX idx_notifications_read ON notifications(read);
 CREATE INDEX idx_notifications_created ON notifications(created);
+CREATE INDEX idx_notifications_user_created ON notifications(user_id, created DESC, id DESC);
 CREATE INDEX idx_notifications_is_active ON notifications(is_active);
 -- Analytics Table (Partitioned)
 CREATE TABLE analytics (
@@ -855,6 +873,7 @@ CREATE TABLE recommendations (
 );
 CREATE INDEX idx_recommendations_user_id ON recommendations(user_id);
 CREATE INDEX idx_recommendations_generated_at ON recommendations(generated_at);
+CREATE INDEX idx_recommendations_user_generated_at ON recommendations(user_id, generated_at DESC);
 CREATE INDEX idx_recommendations_is_active ON recommendations(is_active);
 -- Translations
 CREATE TABLE translations (
@@ -882,6 +901,8 @@ CREATE TABLE chat_sessions (
     started_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     ended_at TIMESTAMP WITH TIME ZONE,
     context JSONB,
+    summary TEXT,
+    summarized_until TIMESTAMP WITH TIME ZONE,
     created TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     created_by UUID REFERENCES users(id),
@@ -906,6 +927,7 @@ CREATE TABLE chat_messages (
 );
 CREATE INDEX idx_chat_messages_session_id ON chat_messages(session_id);
 CREATE INDEX idx_chat_messages_timestamp ON chat_messages(timestamp);
+CREATE INDEX idx_chat_messages_session_timestamp ON chat_messages(session_id, timestamp);
 CREATE INDEX idx_chat_messages_is_active ON chat_messages(is_active);
 -- Audit Logs
 CREATE TABLE audit_logs (
@@ -1020,6 +1042,7 @@ CREATE INDEX idx_files_file_type ON files(file_type);
 CREATE INDEX idx_files_cloudinary_public_id ON files(cloudinary_public_id);
 CREATE INDEX idx_files_tags_gin ON files USING GIN (tags);
 CREATE INDEX idx_files_created ON files(created);
+CREATE INDEX idx_files_user_created ON files(user_id, created DESC, id DESC);
 CREATE INDEX idx_files_is_active ON files(is_active);
 CREATE INDEX idx_files_reference ON files(reference_id, reference_type);
 CREATE INDEX idx_files_name_trgm ON files USING GIN (name gin_trgm_ops);
@@ -1058,6 +1081,13 @@ CREATE TABLE ai_generation_tasks (
     request_payload JSONB,
     result_payload JSONB,
     error_message TEXT,
+    priority INTEGER NOT NULL DEFAULT 0,
+    progress INTEGER NOT NULL DEFAULT 0,
+    progress_message VARCHAR(255),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    started_at TIMESTAMP WITH TIME ZONE,
+    heartbeat_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
     created TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     created_by UUID REFERENCES users(id),
@@ -1070,7 +1100,27 @@ CREATE INDEX idx_ai_generation_tasks_target_reference ON ai_generation_tasks(tar
 CREATE INDEX idx_ai_generation_tasks_created ON ai_generation_tasks(created);
 CREATE INDEX idx_ai_generation_tasks_is_active ON ai_generation_tasks(is_active);
 CREATE INDEX idx_ai_generation_tasks_target_status ON ai_generation_tasks(target_reference, status, task_type);
+-- Job engine queue: next PENDING task by priority, then submission order
+CREATE INDEX idx_ai_generation_tasks_queue ON ai_generation_tasks(status, priority DESC, created);
 CREATE TRIGGER trg_update_ai_generation_tasks BEFORE UPDATE ON ai_generation_tasks FOR EACH ROW EXECUTE PROCEDURE update_updated();
+-- Embedding cache: vectors keyed by '{model_id}:{sha256 of normalized text}', stored as little-endian float32
+CREATE TABLE ai_embedding_cache (
+    cache_key VARCHAR(200) PRIMARY KEY,
+    model_id VARCHAR(128) NOT NULL,
+    dimensions INTEGER NOT NULL,
+    vector BYTEA NOT NULL,
+    created TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_ai_embedding_cache_model_id ON ai_embedding_cache(model_id);
+-- Incremental vector sync: what was last indexed into Qdrant per course/lesson
+CREATE TABLE ai_vector_sync_state (
+    kind VARCHAR(16) NOT NULL,
+    entity_id UUID NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    source_updated TIMESTAMP WITH TIME ZONE NOT NULL,
+    indexed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (kind, entity_id)
+);
 CREATE TRIGGER trg_update_file_folders
 BEFORE UPDATE ON file_folders
 FOR EACH ROW EXECUTE PROCEDURE update_updated();
@@ -200,6 +200,9 @@ public class DatabaseInitializer implements CommandLineRunner {
                         Permission readMyCoursesPerm = createPermission("COURSE_MY_COURSES", "Read my courses",
                                         "/api/courses/my-courses",
                                         PermissionMethod.GET, "COURSES");
+                        Permission searchCoursesPerm = createPermission("COURSE_SEARCH", "Search courses",
+                                        "/api/courses/search",
+                                        PermissionMethod.GET, "COURSES");
                         Permission readCoursePerm = createPermission("COURSE_READ", "Read course by ID",
                                         "/api/courses/{id}",
                                         PermissionMethod.GET, "COURSES");
@@ -267,6 +270,11 @@ public class DatabaseInitializer implements CommandLineRunner {
                                         "Mark lesson complete",
                                         "/api/courses/{courseId}/lessons/{lessonId}/progress/complete",
                                         PermissionMethod.POST, "COURSES");
+                        Permission updateLessonProgressDeltaPerm = createPermission(
+                                        "COURSE_LESSON_PROGRESS_DELTA",
+                                        "Update lesson progress (delta response)",
+                                        "/api/courses/{courseId}/lessons/{lessonId}/progress/delta",
+                                        PermissionMethod.PUT, "COURSES");
 
                         // ==================== COURSE RATINGS ====================
                         Permission getCourseRatingPerm = createPermission("COURSE_RATING_READ", "Get course rating",
@@ -502,6 +510,10 @@ public class DatabaseInitializer implements CommandLineRunner {
                         Permission recommendScheduledPerm = createPermission("AI_RECOMMEND_SCHEDULED",
                                         "Recommend scheduled",
                                         "/api/ai/recommendations/scheduled", PermissionMethod.POST, "AI");
+                        Permission aiTaskDetailPerm = createPermission("AI_TASK_DETAIL", "Get AI Task Status",
+                                        "/api/ai/tasks/{taskId}", PermissionMethod.GET, "AI");
+                        Permission aiTaskEventsPerm = createPermission("AI_TASK_EVENTS", "Stream AI Task Progress",
+                                        "/api/ai/tasks/{taskId}/events", PermissionMethod.GET, "AI");
                         Permission aiChatPerm = createPermission("AI_CHAT", "AI Chat", "/api/ai/chat/messages",
                                         PermissionMethod.POST, "AI");
                         Permission aiChatSessionsPerm = createPermission("AI_CHAT_SESSIONS", "Get AI Chat Sessions",
@@ -619,7 +631,8 @@ public class DatabaseInitializer implements CommandLineRunner {
                                         getBlogTagsPerm,
                                         getBlogCommentsPerm, addBlogCommentPerm, deleteBlogCommentPerm,
                                         // Course Management
-                                        createCoursePerm, readCoursesPerm, readMyCoursesPerm, readCoursePerm,
+                                        createCoursePerm, readCoursesPerm, readMyCoursesPerm, searchCoursesPerm,
+                                        readCoursePerm,
                                         updateCoursePerm,
                                         deleteCoursePerm,
                                         enrollCoursePerm,
@@ -631,6 +644,7 @@ public class DatabaseInitializer implements CommandLineRunner {
                                         createLessonAssetPerm, updateLessonAssetPerm, deleteLessonAssetPerm,
                                         // Course Progress
                                         getCourseProgressPerm, updateLessonProgressPerm, markLessonCompletePerm,
+                                        updateLessonProgressDeltaPerm,
                                         // Course Ratings
                                         getCourseRatingPerm, submitCourseRatingPerm,
                                         // Course Comments
@@ -671,7 +685,7 @@ public class DatabaseInitializer implements CommandLineRunner {
                                         listFileUsagesPerm,
                                         // AI Services
                                         generateExercisesPerm, generateLearningPathPerm, recommendRealtimePerm,
-                                        recommendScheduledPerm,
+                                        recommendScheduledPerm, aiTaskDetailPerm, aiTaskEventsPerm,
                                         aiChatPerm, aiChatSessionsPerm, aiChatSessionCreatePerm,
                                         aiChatSessionDetailPerm, aiChatSessionDeletePerm, aiChatSessionMessagesPerm,
                                         // AI Drafts
@@ -715,7 +729,8 @@ public class DatabaseInitializer implements CommandLineRunner {
                                         "BLOG_READ_ALL", "BLOG_READ", "BLOG_TAGS",
                                         "BLOG_COMMENT_READ", "BLOG_COMMENT_CREATE",
                                         // Course - Full CRUD
-                                        "COURSE_CREATE", "COURSE_READ_ALL", "COURSE_MY_COURSES", "COURSE_READ",
+                                        "COURSE_CREATE", "COURSE_READ_ALL", "COURSE_MY_COURSES", "COURSE_SEARCH",
+                                        "COURSE_READ",
                                         "COURSE_UPDATE",
                                         "COURSE_DELETE",
                                         "COURSE_CHAPTER_READ", "COURSE_CHAPTER_CREATE", "COURSE_CHAPTER_UPDATE",
@@ -764,6 +779,7 @@ public class DatabaseInitializer implements CommandLineRunner {
                                         "AI_RECOMMEND_SCHEDULED", "AI_CHAT", "AI_CHAT_SESSIONS",
                                         "AI_CHAT_SESSION_CREATE",
                                         "AI_CHAT_SESSION_DETAIL", "AI_CHAT_SESSION_DELETE", "AI_CHAT_SESSION_MESSAGES",
+                                        "AI_TASK_DETAIL", "AI_TASK_EVENTS",
                                         // AI Drafts - Instructor can manage drafts
                                         "AI_DRAFTS_EXERCISES", "AI_DRAFTS_EXERCISES_LATEST", "AI_DRAFTS_DETAIL",
                                         "AI_DRAFTS_LEARNING_PATHS", "AI_DRAFTS_APPROVE_EXERCISE",
@@ -789,10 +805,10 @@ public class DatabaseInitializer implements CommandLineRunner {
                                         "BLOG_READ_ALL", "BLOG_READ", "BLOG_TAGS", "BLOG_COMMENT_READ",
                                         "BLOG_COMMENT_CREATE",
                                         // Course - Read and enroll
-                                        "COURSE_READ_ALL", "COURSE_READ", "COURSE_ENROLL",
+                                        "COURSE_READ_ALL", "COURSE_SEARCH", "COURSE_READ", "COURSE_ENROLL",
                                         "COURSE_CHAPTER_READ", "COURSE_LESSON_READ",
                                         "COURSE_PROGRESS_READ", "COURSE_LESSON_PROGRESS_UPDATE",
-                                        "COURSE_LESSON_COMPLETE",
+                                        "COURSE_LESSON_COMPLETE", "COURSE_LESSON_PROGRESS_DELTA",
                                         "COURSE_RATING_READ", "COURSE_RATING_CREATE",
                                         "COURSE_COMMENT_READ", "COURSE_COMMENT_CREATE",
                                         "COURSE_LESSON_COMMENT_READ", "COURSE_LESSON_COMMENT_CREATE",
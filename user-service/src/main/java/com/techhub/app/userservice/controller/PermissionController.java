@@ -4,6 +4,7 @@ import com.techhub.app.commonservice.payload.GlobalResponse;
 import com.techhub.app.userservice.dto.request.PermissionCheckRequest;
 import com.techhub.app.userservice.dto.request.UserPermissionRequest;
 import com.techhub.app.userservice.dto.response.PermissionResponse;
+import com.techhub.app.userservice.dto.response.PermissionSnapshotResponse;
 import com.techhub.app.userservice.service.PermissionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +48,23 @@ public class PermissionController {
         }
     }
 
+    @GetMapping("/snapshot")
+    public ResponseEntity<GlobalResponse<PermissionSnapshotResponse>> getPermissionSnapshot(
+            @PathVariable UUID userId,
+            HttpServletRequest request) {
+        try {
+            PermissionSnapshotResponse snapshot = permissionService.getPermissionSnapshot(userId);
+            return ResponseEntity.ok(
+                    GlobalResponse.success("Permission snapshot retrieved", snapshot)
+                            .withPath(request.getRequestURI()));
+        } catch (Exception e) {
+            log.error("Failed to build permission snapshot for {}", userId, e);
+            return ResponseEntity.badRequest()
+                    .body(GlobalResponse.<PermissionSnapshotResponse>error(e.getMessage(), 400)
+                            .withPath(request.getRequestURI()));
+        }
+    }
+
     @PostMapping("/check")
     public ResponseEntity<GlobalResponse<Boolean>> checkPermission(
             @PathVariable UUID userId,
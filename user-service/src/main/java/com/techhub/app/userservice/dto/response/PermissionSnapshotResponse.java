@@ -0,0 +1,29 @@
+package com.techhub.app.userservice.dto.response;
+
+import com.techhub.app.userservice.enums.PermissionMethod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Effective permission set of a user, evaluated locally by the gateway.
+ * {@code version} is a fingerprint of the rule set and changes whenever the
+ * rules do.
+ */
+@Data
+@Builder
+public class PermissionSnapshotResponse {
+    private UUID userId;
+    private long version;
+    private List<Rule> rules;
+
+    @Data
+    @AllArgsConstructor
+    public static class Rule {
+        private PermissionMethod method;
+        private String url;
+    }
+}
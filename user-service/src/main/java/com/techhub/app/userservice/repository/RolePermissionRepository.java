@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +18,9 @@ public interface RolePermissionRepository extends JpaRepository<RolePermission,
     @Query("SELECT rp.permissionId FROM RolePermission rp WHERE rp.roleId = :roleId AND rp.isActive = true")
     List<UUID> findPermissionIdsByRoleId(@Param("roleId") UUID roleId);
 
+    @Query("SELECT DISTINCT rp.permissionId FROM RolePermission rp WHERE rp.roleId IN :roleIds AND rp.isActive = true")
+    List<UUID> findPermissionIdsByRoleIdIn(@Param("roleIds") Collection<UUID> roleIds);
+
     List<RolePermission> findByRoleIdAndIsActiveTrue(UUID roleId);
 
     List<RolePermission> findByRoleIdAndIsActive(UUID roleId, Boolean isActive);
@@ -1,6 +1,7 @@
 package com.techhub.app.userservice.service;
 
 import com.techhub.app.userservice.dto.response.PermissionResponse;
+import com.techhub.app.userservice.dto.response.PermissionSnapshotResponse;
 import com.techhub.app.userservice.dto.response.RoleResponse;
 import com.techhub.app.userservice.enums.PermissionMethod;
 
@@ -13,6 +14,8 @@ public interface PermissionService {
 
         boolean hasPermission(UUID userId, String url, PermissionMethod method);
 
+        PermissionSnapshotResponse getPermissionSnapshot(UUID userId);
+
         PermissionResponse upsertUserPermission(UUID userId, UUID permissionId, boolean allowed, boolean active,
                         UUID actorId);
 
@@ -1,7 +1,9 @@
 package com.techhub.app.userservice.service.impl;
 
 import com.techhub.app.commonservice.exception.NotFoundException;
+import com.techhub.app.commonservice.kafka.publisher.PermissionEventPublisher;
 import com.techhub.app.userservice.dto.response.PermissionResponse;
+import com.techhub.app.userservice.dto.response.PermissionSnapshotResponse;
 import com.techhub.app.userservice.dto.response.RoleResponse;
 import com.techhub.app.userservice.entity.Permission;
 import com.techhub.app.userservice.entity.Role;
@@ -21,9 +23,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.AntPathMatcher;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +37,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 @Service
 @RequiredArgsConstructor
@@ -43,6 +50,7 @@ public class PermissionServiceImpl implements PermissionService {
     private final PermissionRepository permissionRepository;
     private final UserPermissionRepository userPermissionRepository;
     private final UserRoleRepository userRoleRepository;
+    private final PermissionEventPublisher permissionEventPublisher;
 
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
@@ -114,6 +122,34 @@ public class PermissionServiceImpl implements PermissionService {
         return hasPermission;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PermissionSnapshotResponse getPermissionSnapshot(UUID userId) {
+        EffectivePermissionState state = buildEffectivePermissionState(userId);
+        List<Permission> permissions = state.allowedPermissionIds.isEmpty()
+                ? List.of()
+                : permissionRepository.findByIdIn(state.allowedPermissionIds);
+
+        List<PermissionSnapshotResponse.Rule> rules = permissions.stream()
+                .filter(permission -> Boolean.TRUE.equals(permission.getIsActive()))
+                .filter(permission -> permission.getMethod() != null && permission.getUrl() != null)
+                .map(permission -> new PermissionSnapshotResponse.Rule(permission.getMethod(), permission.getUrl()))
+                .distinct()
+                .sorted(Comparator.comparing((PermissionSnapshotResponse.Rule rule) -> rule.getMethod().name())
+                        .thenComparing(PermissionSnapshotResponse.Rule::getUrl))
+                .collect(Collectors.toList());
+
+        CRC32 fingerprint = new CRC32();
+        rules.forEach(rule -> fingerprint.update(
+                (rule.getMethod().name() + " " + rule.getUrl() + "\n").getBytes(StandardCharsets.UTF_8)));
+
+        return PermissionSnapshotResponse.builder()
+                .userId(userId)
+                .version(fingerprint.getValue())
+                .rules(rules)
+                .build();
+    }
+
     @Override
     @Transactional
     public PermissionResponse upsertUserPermission(UUID userId, UUID permissionId, boolean allowed, boolean active,
@@ -141,6 +177,7 @@ public class PermissionServiceImpl implements PermissionService {
         }
 
         userPermissionRepository.save(userPermission);
+        publishAfterCommit(() -> permissionEventPublisher.publishUserPermissionUpdated(userId));
 
         return toPermissionResponse(permission, "USER_OVERRIDE", allowed);
     }
@@ -154,6 +191,7 @@ public class PermissionServiceImpl implements PermissionService {
         userPermission.setIsActive(false);
         userPermission.setUpdatedBy(actorId);
         userPermissionRepository.save(userPermission);
+        publishAfterCommit(() -> permissionEventPublisher.publishUserPermissionUpdated(userId));
     }
 
     // ===== Admin: Permissions =====
@@ -208,6 +246,8 @@ public class PermissionServiceImpl implements PermissionService {
         permission.setUpdated(LocalDateTime.now());
         permission.setUpdatedBy(actorId);
         Permission saved = permissionRepository.save(permission);
+        publishAfterCommit(() -> permissionEventPublisher.publishPermissionUpdated(permissionId, url,
+                method != null ? method.name() : null));
         return toPermissionResponse(saved, "ROLE", Boolean.TRUE);
     }
 
@@ -242,7 +282,8 @@ public class PermissionServiceImpl implements PermissionService {
             up.setUpdatedBy(actorId);
             userPermissionRepository.save(up);
         });
-
+        publishAfterCommit(() -> permissionEventPublisher.publishPermissionUpdated(permissionId,
+                permission.getUrl(), permission.getMethod() != null ? permission.getMethod().name() : null));
     }
 
     // ===== Admin: Roles =====
@@ -314,6 +355,7 @@ public class PermissionServiceImpl implements PermissionService {
                 assignPermissionsToRole(saved.getId(), permissionIds, actorId);
             }
         }
+        publishAfterCommit(() -> permissionEventPublisher.publishRolePermissionUpdated(roleId, saved.getName()));
 
         return toRoleResponse(saved);
     }
@@ -356,6 +398,7 @@ public class PermissionServiceImpl implements PermissionService {
             ur.setUpdatedBy(actorId);
             userRoleRepository.save(ur);
         });
+        publishAfterCommit(() -> permissionEventPublisher.publishRolePermissionUpdated(roleId, role.getName()));
 
         log.info("[SERVICE] deleteRole completed successfully");
     }
@@ -385,6 +428,7 @@ public class PermissionServiceImpl implements PermissionService {
                 rolePermissionRepository.save(rp);
             }
         }
+        publishAfterCommit(() -> permissionEventPublisher.publishRolePermissionUpdated(roleId, role.getName()));
     }
 
     @Override
@@ -396,6 +440,7 @@ public class PermissionServiceImpl implements PermissionService {
         rp.setUpdated(LocalDateTime.now());
         rp.setUpdatedBy(actorId);
         rolePermissionRepository.save(rp);
+        publishAfterCommit(() -> permissionEventPublisher.publishRolePermissionUpdated(roleId, null));
     }
 
     @Override
@@ -438,6 +483,7 @@ public class PermissionServiceImpl implements PermissionService {
             userRole.setUpdatedBy(actorId);
             userRoleRepository.save(userRole);
         }
+        publishAfterCommit(() -> permissionEventPublisher.publishUserPermissionUpdated(userId));
     }
 
     @Override
@@ -449,6 +495,32 @@ public class PermissionServiceImpl implements PermissionService {
         userRole.setUpdated(LocalDateTime.now());
         userRole.setUpdatedBy(actorId);
         userRoleRepository.save(userRole);
+        publishAfterCommit(() -> permissionEventPublisher.publishUserPermissionUpdated(userId));
+    }
+
+    /**
+     * Publish a permission cache invalidation once the surrounding transaction
+     * commits, so gateways cannot re-cache the pre-commit decision. Publishing
+     * failures are logged and never fail the admin operation.
+     */
+    private void publishAfterCommit(Runnable publish) {
+        Runnable safePublish = () -> {
+            try {
+                publish.run();
+            } catch (Exception e) {
+                log.error("Failed to publish permission update event", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safePublish.run();
+                }
+            });
+        } else {
+            safePublish.run();
+        }
     }
 
     private EffectivePermissionState buildEffectivePermissionState(UUID userId) {
@@ -468,11 +540,11 @@ public class PermissionServiceImpl implements PermissionService {
             }
         }
 
-        // Allow-set built from role permissions
+        // Allow-set built from role permissions (one query for all roles)
         Set<UUID> allowedPermissions = new HashSet<>();
         Map<UUID, String> sources = new HashMap<>();
-        for (UUID roleId : roleIds) {
-            List<UUID> permissionIds = rolePermissionRepository.findPermissionIdsByRoleId(roleId);
+        if (!roleIds.isEmpty()) {
+            List<UUID> permissionIds = rolePermissionRepository.findPermissionIdsByRoleIdIn(roleIds);
             allowedPermissions.addAll(permissionIds);
             permissionIds.forEach(id -> sources.putIfAbsent(id, "ROLE"));
         }
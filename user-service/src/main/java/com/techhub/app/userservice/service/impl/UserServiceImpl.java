@@ -5,6 +5,7 @@ import com.techhub.app.commonservice.exception.ConflictException;
 import com.techhub.app.commonservice.exception.ForbiddenException;
 import com.techhub.app.commonservice.exception.NotFoundException;
 import com.techhub.app.commonservice.exception.UnauthorizedException;
+import com.techhub.app.commonservice.kafka.publisher.PermissionEventPublisher;
 import com.techhub.app.userservice.dto.request.ChangePasswordRequest;
 import com.techhub.app.userservice.dto.request.CreateUserRequest;
 import com.techhub.app.userservice.dto.request.ForgotPasswordRequest;
@@ -30,6 +31,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -50,6 +53,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final OTPService otpService;
+    private final PermissionEventPublisher permissionEventPublisher;
 
     @Override
     @Transactional
@@ -189,6 +193,7 @@ public class UserServiceImpl implements UserService {
         // Update roles if provided
         if (request.getRoles() != null && !request.getRoles().isEmpty()) {
             assignRoles(saved, request.getRoles());
+            publishAfterCommit(() -> permissionEventPublisher.publishUserPermissionUpdated(saved.getId()));
         }
 
         log.info("User {} updated", saved.getId());
@@ -210,6 +215,7 @@ public class UserServiceImpl implements UserService {
             role.setUpdated(LocalDateTime.now());
         });
         userRoleRepository.saveAll(roles);
+        publishAfterCommit(() -> permissionEventPublisher.publishUserPermissionUpdated(userId));
 
         log.info("User {} soft deleted", userId);
     }
@@ -489,6 +495,30 @@ public class UserServiceImpl implements UserService {
         log.info("Assigned roles {} to user {}", roleNames, user.getId());
     }
 
+    /**
+     * Role changes drop the user's cached permission decisions in the gateway,
+     * once the change is committed
+     */
+    private void publishAfterCommit(Runnable publish) {
+        Runnable safePublish = () -> {
+            try {
+                publish.run();
+            } catch (Exception e) {
+                log.error("Failed to publish permission update event", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safePublish.run();
+                }
+            });
+        } else {
+            safePublish.run();
+        }
+    }
+
     private User findActiveUserById(UUID userId) {
         return userRepository.findById(userId)
                 .filter(User::getIsActive)
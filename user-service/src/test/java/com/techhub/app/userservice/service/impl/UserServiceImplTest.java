@@ -0,0 +1,127 @@
+package com.techhub.app.userservice.service.impl;
+
+import com.techhub.app.commonservice.kafka.publisher.PermissionEventPublisher;
+import com.techhub.app.userservice.dto.request.UpdateUserRequest;
+import com.techhub.app.userservice.entity.Role;
+import com.techhub.app.userservice.entity.User;
+import com.techhub.app.userservice.entity.UserRole;
+import com.techhub.app.userservice.repository.RoleRepository;
+import com.techhub.app.userservice.repository.UserRepository;
+import com.techhub.app.userservice.repository.UserRoleRepository;
+import com.techhub.app.userservice.service.EmailService;
+import com.techhub.app.userservice.service.OTPService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private RoleRepository roleRepository;
+    @Mock
+    private UserRoleRepository userRoleRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private OTPService otpService;
+    @Mock
+    private PermissionEventPublisher permissionEventPublisher;
+
+    private UserServiceImpl userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, roleRepository, userRoleRepository,
+                passwordEncoder, emailService, otpService, permissionEventPublisher);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("learner@techhub.vn");
+        user.setUserRoles(new ArrayList<>());
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void updateUser_publishesPermissionUpdateWhenRolesChange() {
+        stubRoleAssignment("INSTRUCTOR");
+
+        userService.updateUser(user.getId(), rolesRequest("INSTRUCTOR"));
+
+        verify(permissionEventPublisher).publishUserPermissionUpdated(user.getId());
+    }
+
+    @Test
+    void updateUser_publishesOnlyAfterCommit() {
+        stubRoleAssignment("INSTRUCTOR");
+        TransactionSynchronizationManager.initSynchronization();
+
+        userService.updateUser(user.getId(), rolesRequest("INSTRUCTOR"));
+
+        verify(permissionEventPublisher, never()).publishUserPermissionUpdated(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(permissionEventPublisher).publishUserPermissionUpdated(user.getId());
+    }
+
+    @Test
+    void updateUser_withoutRolesDoesNotPublish() {
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.updateUser(user.getId(), new UpdateUserRequest());
+
+        verify(permissionEventPublisher, never()).publishUserPermissionUpdated(any());
+    }
+
+    @Test
+    void deleteUser_publishesPermissionUpdate() {
+        when(userRoleRepository.findByUserId(user.getId())).thenReturn(List.of(new UserRole()));
+
+        userService.deleteUser(user.getId());
+
+        verify(permissionEventPublisher).publishUserPermissionUpdated(user.getId());
+    }
+
+    private void stubRoleAssignment(String roleName) {
+        Role role = new Role();
+        role.setId(UUID.randomUUID());
+        role.setName(roleName);
+        when(userRepository.save(user)).thenReturn(user);
+        when(userRoleRepository.findByUserId(user.getId())).thenReturn(new ArrayList<>());
+        when(roleRepository.findByName(roleName)).thenReturn(Optional.of(role));
+        when(userRoleRepository.findByUserIdAndRoleId(user.getId(), role.getId())).thenReturn(Optional.empty());
+    }
+
+    private static UpdateUserRequest rolesRequest(String... roles) {
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setRoles(List.of(roles));
+        return request;
+    }
+}